@@ -1,21 +1,56 @@
 package ar.com.kfgodel.nary.api;
 
 import ar.com.kfgodel.nary.api.arity.MultiElement;
+import ar.com.kfgodel.nary.api.async.AsyncNary;
+import ar.com.kfgodel.nary.api.bitmap.BitmapNary;
+import ar.com.kfgodel.nary.api.delimited.DelimitedSchema;
+import ar.com.kfgodel.nary.api.io.Decoder;
+import ar.com.kfgodel.nary.api.io.Encoder;
+import ar.com.kfgodel.nary.api.io.WalkOptions;
+import ar.com.kfgodel.nary.api.paging.PageFetcher;
+import ar.com.kfgodel.nary.api.persistent.PersistentNary;
+import ar.com.kfgodel.nary.impl.BlockFileNary;
+import ar.com.kfgodel.nary.impl.DeferredNary;
+import ar.com.kfgodel.nary.impl.DelimitedFileNary;
 import ar.com.kfgodel.nary.impl.EmptyNary;
+import ar.com.kfgodel.nary.impl.FourElementNary;
+import ar.com.kfgodel.nary.impl.FutureBasedAsyncNary;
 import ar.com.kfgodel.nary.impl.OneElementNary;
+import ar.com.kfgodel.nary.impl.PersistentVectorNary;
+import ar.com.kfgodel.nary.impl.RoaringBitmapNary;
 import ar.com.kfgodel.nary.impl.StreamBasedNary;
+import ar.com.kfgodel.nary.impl.ThreeElementNary;
+import ar.com.kfgodel.nary.impl.TwoElementNary;
+import ar.com.kfgodel.nary.impl.others.BlockFile;
+import ar.com.kfgodel.nary.impl.others.DirectoryWalkSpliterator;
 import ar.com.kfgodel.nary.impl.others.EnumerationSpliterator;
 import ar.com.kfgodel.nary.impl.others.OneElementSupplierSpliterator;
+import ar.com.kfgodel.nary.impl.others.PrefetchingPageSpliterator;
+import ar.com.kfgodel.nary.impl.others.QueueDrainSpliterator;
+import ar.com.kfgodel.nary.impl.others.RoaringBitmap;
+import ar.com.kfgodel.nary.impl.others.SortedDifferenceSpliterator;
+import ar.com.kfgodel.nary.impl.others.SortedIntersectionSpliterator;
+import ar.com.kfgodel.nary.impl.others.SortedMergeSpliterator;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -112,6 +147,7 @@ public interface Nary<T> extends MultiElement<T> {
 
   /**
    * Creates a nary containing the given elements.<br>
+   * Up to four elements are stored in fields, so the nary can be operated more than once
    *
    * @param element     The first mandatory element
    * @param additionals The optional extra elements
@@ -119,11 +155,21 @@ public interface Nary<T> extends MultiElement<T> {
    * @return The created nary
    */
   static <T> Nary<T> ofNonNullable(T element, T... additionals) {
-    Nary<T> elementNary = ofNonNullable(element);
     if (additionals == null || additionals.length == 0) {
       // It's only one element
-      return elementNary;
+      return ofNonNullable(element);
+    }
+    switch (additionals.length) {
+      case 1:
+        return TwoElementNary.create(element, additionals[0]);
+      case 2:
+        return ThreeElementNary.create(element, additionals[0], additionals[1]);
+      case 3:
+        return FourElementNary.create(element, additionals[0], additionals[1], additionals[2]);
+      default:
+        break;
     }
+    Nary<T> elementNary = ofNonNullable(element);
     Nary<T> additionalsNary = from(additionals);
     return elementNary.concat(additionalsNary);
   }
@@ -152,9 +198,25 @@ public interface Nary<T> extends MultiElement<T> {
    * @return A reusable nary
    */
   static <T> Unary<T> from(Optional<? extends T> nativeOptional) {
-    return nativeOptional
-      .<Unary<T>>map(Nary::ofNonNullable)
-      .orElseGet(Nary::empty);
+    if (nativeOptional.isPresent()) {
+      return ofNonNullable(nativeOptional.get());
+    }
+    return empty();
+  }
+
+  /**
+   * Creates a nary that opens its source stream only when a terminal operation needs the elements.<br>
+   * The supplier is called again on each traversal, so the nary can be operated multiple times. This is
+   * useful for sources that are expensive to open (like {@code () -> Files.lines(path)}) or naries that
+   * may be discarded without being consumed.<br>
+   * Closing the returned nary closes the opened streams that were not already closed
+   *
+   * @param sourceOpener The supplier of a new source stream for each traversal
+   * @param <T>          The expected element types
+   * @return The new nary
+   */
+  static <T> Nary<T> defer(Supplier<? extends Stream<? extends T>> sourceOpener) {
+    return DeferredNary.create(sourceOpener);
   }
 
   /**
@@ -218,13 +280,24 @@ public interface Nary<T> extends MultiElement<T> {
   }
 
   /**
-   * Creates a nary from an array
+   * Creates a nary from an array.<br>
+   * Arrays of two to four elements are copied to fields, so the nary can be operated more than once
    *
    * @param array The original array
    * @param <T>   The expected array element type
    * @return a new nary
    */
   static <T> Nary<T> from(T[] array) {
+    switch (array.length) {
+      case 2:
+        return TwoElementNary.create(array[0], array[1]);
+      case 3:
+        return ThreeElementNary.create(array[0], array[1], array[2]);
+      case 4:
+        return FourElementNary.create(array[0], array[1], array[2], array[3]);
+      default:
+        break;
+    }
     Stream<T> asStream = Arrays.stream(array);
     return from(asStream);
   }
@@ -252,4 +325,263 @@ public interface Nary<T> extends MultiElement<T> {
   static <K, V> Nary<Map.Entry<K, V>> from(Map<K, V> map) {
     return from(map.entrySet().stream());
   }
+
+  /**
+   * Creates a lazy nary that takes its elements from a paginated source.<br>
+   * The first page is requested when the first element is needed, and while a page is consumed the next
+   * one is fetched in background on the common {@link ForkJoinPool}.<br>
+   * Pages stop being requested once the nary stops being consumed (like on {@link #findFirstNary()} or
+   * {@link #anyMatch(java.util.function.Predicate)}), or when it's closed
+   *
+   * @param fetcher The source of pages
+   * @param <C>     The type of continuation token
+   * @param <T>     The type of fetched elements
+   * @return The new nary
+   */
+  static <C, T> Nary<T> paged(PageFetcher<C, T> fetcher) {
+    return paged(fetcher, 1, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a lazy nary that takes its elements from a paginated source, fetching up to the given amount of
+   * pages ahead of the one being consumed.<br>
+   * Fetchers that block on I/O should be given their own executor instead of the common pool
+   *
+   * @param fetcher          The source of pages
+   * @param maxInFlightPages The maximum amount of pages requested but not yet consumed
+   * @param executor         The executor used to fetch pages in background
+   * @param <C>              The type of continuation token
+   * @param <T>              The type of fetched elements
+   * @return The new nary
+   */
+  static <C, T> Nary<T> paged(PageFetcher<C, T> fetcher, int maxInFlightPages, Executor executor) {
+    PrefetchingPageSpliterator<C, T> spliterator = PrefetchingPageSpliterator.create(fetcher, maxInFlightPages, executor);
+    Stream<T> stream = StreamSupport.stream(spliterator, false)
+      .onClose(spliterator::cancel);
+    return from(stream);
+  }
+
+  /**
+   * Creates an async nary from a source that produces its elements asynchronously.<br>
+   * Operations can be added to the returned nary without blocking, and they are executed
+   * once the elements are available
+   *
+   * @param source The stage that completes with the elements
+   * @param <T>    The expected element types
+   * @return The new async nary
+   */
+  static <T> AsyncNary<T> fromAsync(CompletionStage<? extends Iterable<T>> source) {
+    return FutureBasedAsyncNary.create(source);
+  }
+
+  /**
+   * Creates a persistent nary with the given elements.<br>
+   * The returned nary can be extended with {@link PersistentNary#add(Object)},
+   * {@link PersistentNary#addAll(Iterable)} or {@link PersistentNary#concat(Stream)} multiple times, each one
+   * creating a new nary that shares
+   * the common elements with this one
+   *
+   * @param elements The initial elements (if any)
+   * @param <T>      The expected element types
+   * @return The new persistent nary
+   */
+  @SafeVarargs
+  static <T> PersistentNary<T> persistent(T... elements) {
+    // Copied so the generic array is not exposed beyond this method
+    List<T> initialElements = new ArrayList<>(elements.length);
+    for (T element : elements) {
+      initialElements.add(element);
+    }
+    return PersistentVectorNary.<T>empty().addAll(initialElements);
+  }
+
+  /**
+   * Creates a bitmap nary with the given ids, for sets of ints that would take too much memory as boxed
+   * integers.<br>
+   * The ids are treated as a set: repeated ones are kept once, and they are iterated in ascending order
+   *
+   * @param ids The ids to include
+   * @return The new bitmap nary
+   */
+  static BitmapNary from(int[] ids) {
+    return bitmapFrom(Arrays.stream(ids));
+  }
+
+  /**
+   * Creates a bitmap nary with the ids of the given stream, which is consumed.<br>
+   * Ids sorted in ascending order are added in one pass without buffering them
+   *
+   * @param ids The stream of ids to include
+   * @return The new bitmap nary
+   * @see #from(int[])
+   */
+  static BitmapNary bitmapFrom(IntStream ids) {
+    try (IntStream stream = ids) {
+      return RoaringBitmapNary.create(RoaringBitmap.create(stream.spliterator()));
+    }
+  }
+
+  /**
+   * Creates a nary with the elements of a binary file written with {@link #writeTo(Path, Encoder)}.<br>
+   * The file is memory mapped and its elements are decoded as they are consumed. Its index of blocks
+   * allows parallel streams to split it by blocks, and {@link #skip(long)} to start decoding at the block
+   * of the first wanted element. The nary can be traversed any number of times
+   *
+   * @param file    The path of the file to read
+   * @param decoder The function that reads each element from its bytes
+   * @param <T>     The type of the elements
+   * @return The new nary
+   */
+  static <T> Nary<T> read(Path file, Decoder<T> decoder) {
+    return BlockFileNary.create(BlockFile.open(file), decoder);
+  }
+
+  /**
+   * Creates a parallel nary with an element for each record of a delimited text file (like CSV or TSV).<br>
+   * The file is split in byte ranges at record boundaries (line breaks inside quotes are not boundaries),
+   * and each range is parsed by a different thread. Fields are read from the bytes of the file through a
+   * reused record, so only the fields read as strings create one. The file is opened again on each
+   * traversal, so the nary can be operated multiple times
+   *
+   * @param file   The path of the file to read
+   * @param schema The format of the file and the function that creates an element from each record
+   * @param <T>    The type of the elements
+   * @return The new nary
+   */
+  static <T> Nary<T> fromDelimited(Path file, DelimitedSchema<T> schema) {
+    return DelimitedFileNary.create(file, schema);
+  }
+
+  /**
+   * Creates a nary with the paths of the tree under the given directory, including itself, in the same
+   * order as {@link java.nio.file.Files#walk(Path, java.nio.file.FileVisitOption...)}.<br>
+   * Under {@link #parallel()} the traversal is split by subdirectory, so different subtrees are listed by
+   * different threads. The tree is walked again on each traversal
+   *
+   * @param root The directory to walk
+   * @return The new nary
+   */
+  static Nary<Path> walk(Path root) {
+    return walk(root, WalkOptions.unlimited());
+  }
+
+  /**
+   * Creates a nary with the paths of the tree under the given directory that are included by the options
+   *
+   * @param root    The directory to walk
+   * @param options The depth and names of the included paths
+   * @return The new nary
+   * @see #walk(Path)
+   */
+  static Nary<Path> walk(Path root, WalkOptions options) {
+    return defer(() -> StreamSupport.stream(DirectoryWalkSpliterator.create(root, options), false));
+  }
+
+  /**
+   * Creates a lazy nary that takes its elements from a blocking queue as they are consumed.<br>
+   * When all the elements are consumed, the available ones are taken in batches with
+   * {@link BlockingQueue#drainTo(java.util.Collection, int)}, so consumers contend for the queue lock once per
+   * batch. Short-circuiting operations (like {@link #limit(long)}) take elements one by one, leaving the rest
+   * in the queue. The nary ends when the poison pill is taken (without including it), or when no element
+   * arrives during the poll timeout. Elements taken but not consumed are put back at the tail of the queue
+   *
+   * @param queue       The queue to take the elements from
+   * @param pollTimeout The max time to wait for an element when the queue is empty
+   * @param poisonPill  The element that marks the end of the nary
+   * @param <T>         The type of the elements
+   * @return The new nary
+   */
+  static <T> Nary<T> fromQueue(BlockingQueue<? extends T> queue, Duration pollTimeout, T poisonPill) {
+    return from(QueueDrainSpliterator.create(queue, pollTimeout, poisonPill));
+  }
+
+  /**
+   * Creates a nary with all the elements of the given naries, which must be sorted by the given comparator,
+   * keeping them sorted.<br>
+   * Only the current element of each source is kept in memory, and the sources are read as the result
+   * is consumed, so short-circuiting operations (like {@link #findFirstNary()}) stop reading them.
+   * Equal elements keep the order of their sources
+   *
+   * @param comparator The comparator that sorts all the sources
+   * @param sources    The sorted naries to merge
+   * @param <T>        The expected element types
+   * @return The new sorted nary
+   */
+  @SafeVarargs
+  static <T> Nary<T> mergeSorted(Comparator<? super T> comparator, Nary<? extends T>... sources) {
+    // The sources are copied so the generic array is not passed on
+    List<Nary<? extends T>> sourceList = new ArrayList<>(sources.length);
+    for (Nary<? extends T> source : sources) {
+      sourceList.add(source);
+    }
+    Stream<T> merged = StreamSupport.stream(SortedMergeSpliterator.merging(comparator, sourceList), false)
+      .onClose(() -> sourceList.forEach(Stream::close));
+    return from(merged);
+  }
+
+  /**
+   * Creates a sorted nary with the elements present in any of the given naries, which must be sorted by the
+   * given comparator. Elements that are equal according to the comparator are included only once.<br>
+   * As with {@link #mergeSorted(Comparator, Nary[])}, sources are read lazily keeping only their current element
+   *
+   * @param comparator The comparator that sorts all the sources
+   * @param sources    The sorted naries to join
+   * @param <T>        The expected element types
+   * @return The new sorted nary
+   */
+  @SafeVarargs
+  static <T> Nary<T> unionSorted(Comparator<? super T> comparator, Nary<? extends T>... sources) {
+    List<Nary<? extends T>> sourceList = new ArrayList<>(sources.length);
+    for (Nary<? extends T> source : sources) {
+      sourceList.add(source);
+    }
+    Stream<T> union = StreamSupport.stream(SortedMergeSpliterator.joining(comparator, sourceList), false)
+      .onClose(() -> sourceList.forEach(Stream::close));
+    return from(union);
+  }
+
+  /**
+   * Creates a sorted nary with the elements present in all the given naries, which must be sorted by the
+   * given comparator. Elements that are equal according to the comparator are included only once.<br>
+   * Sources are read lazily keeping only their current element, and reading stops once any of them ends
+   *
+   * @param comparator The comparator that sorts all the sources
+   * @param sources    The sorted naries to intersect
+   * @param <T>        The expected element types
+   * @return The new sorted nary
+   */
+  @SafeVarargs
+  static <T> Nary<T> intersectSorted(Comparator<? super T> comparator, Nary<? extends T>... sources) {
+    List<Nary<? extends T>> sourceList = new ArrayList<>(sources.length);
+    for (Nary<? extends T> source : sources) {
+      sourceList.add(source);
+    }
+    Stream<T> intersection = StreamSupport.stream(SortedIntersectionSpliterator.create(comparator, sourceList), false)
+      .onClose(() -> sourceList.forEach(Stream::close));
+    return from(intersection);
+  }
+
+  /**
+   * Creates a sorted nary with the elements of the first nary that are not present in any of the excluded
+   * ones. All of them must be sorted by the given comparator. Elements that are equal according to the
+   * comparator are included only once.<br>
+   * Sources are read lazily keeping only their current element
+   *
+   * @param comparator The comparator that sorts all the sources
+   * @param included   The sorted nary with the candidate elements
+   * @param excluded   The sorted naries with the elements to remove
+   * @param <T>        The expected element types
+   * @return The new sorted nary
+   */
+  @SafeVarargs
+  static <T> Nary<T> differenceSorted(Comparator<? super T> comparator, Nary<? extends T> included, Nary<? extends T>... excluded) {
+    List<Nary<? extends T>> excludedList = new ArrayList<>(excluded.length);
+    for (Nary<? extends T> source : excluded) {
+      excludedList.add(source);
+    }
+    Stream<T> difference = StreamSupport.stream(SortedDifferenceSpliterator.create(comparator, included, excludedList), false)
+      .onClose(included::close)
+      .onClose(() -> excludedList.forEach(Stream::close));
+    return from(difference);
+  }
 }
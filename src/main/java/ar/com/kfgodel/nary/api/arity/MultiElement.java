@@ -2,18 +2,45 @@ package ar.com.kfgodel.nary.api.arity;
 
 import ar.com.kfgodel.nary.api.Nary;
 import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.caching.CacheSpec;
+import ar.com.kfgodel.nary.api.caching.MemoizedFunction;
+import ar.com.kfgodel.nary.api.columnar.BatchNary;
+import ar.com.kfgodel.nary.api.columnar.BatchSchema;
 import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.indexing.NaryIndex;
+import ar.com.kfgodel.nary.api.io.BinaryFormat;
+import ar.com.kfgodel.nary.api.io.ChannelWriteOptions;
+import ar.com.kfgodel.nary.api.io.Decoder;
+import ar.com.kfgodel.nary.api.io.Encoder;
+import ar.com.kfgodel.nary.api.joining.CoGroup;
+import ar.com.kfgodel.nary.api.joining.JoinOptions;
+import ar.com.kfgodel.nary.api.offheap.OffHeapNary;
+import ar.com.kfgodel.nary.api.offheap.RecordLayout;
+import ar.com.kfgodel.nary.api.offheap.RecordView;
+import ar.com.kfgodel.nary.api.pipeline.PipelinedNary;
+import ar.com.kfgodel.nary.api.windowing.TimeWindow;
 
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 /**
@@ -141,6 +168,36 @@ public interface MultiElement<T> extends Iterable<T>, NaryStream<T> {
    */
   Unary<T> findLast();
 
+  /**
+   * Returns the first element of this nary without consuming it.<br>
+   * On a stream based nary, only the first element is read from the source and it's kept so later
+   * operations still see it
+   *
+   * @return The optional first element
+   */
+  Unary<T> head();
+
+  /**
+   * Returns a nary with all the elements of this instance except the first one.<br>
+   * The first element is discarded only when the rest are needed, so the source is not read in advance.
+   * If {@link #head()} or {@link #peekAhead(int)} were used before, the already read first element is
+   * discarded instead
+   *
+   * @return The nary with the rest of the elements
+   */
+  Nary<T> tail();
+
+  /**
+   * Looks at up to the given amount of first elements without consuming them.<br>
+   * On a stream based nary only the looked elements are read from the source and kept, so later operations
+   * still see them
+   *
+   * @param amount The maximum amount of elements to look at
+   * @return A list with the first elements, or less if this nary doesn't have as many
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  List<T> peekAhead(int amount) throws IllegalArgumentException;
+
   /**
    * Alternative to {@link Stream#reduce(BinaryOperator)} that returns {@link Unary} instead of {@link java.util.Optional}
    *
@@ -208,6 +265,294 @@ public interface MultiElement<T> extends Iterable<T>, NaryStream<T> {
    */
   <U> Nary<U> mapFilteringNullResult(Function<? super T, ? extends U> mapper);
 
+  /**
+   * Replaces each element of this instance with the 0 or more results that the mapper pushes to the
+   * given consumer.<br>
+   * This is an alternative to {@link Stream#flatMap(Function)} that doesn't need to create a stream for each
+   * element, and it's more efficient when each element is replaced by few results.<br>
+   * <br>
+   * For instance, to expand each number into itself and its negation:
+   * <pre>{@code
+   *     Nary<Integer> expanded = numbers.mapMulti((number, downstream) -> {
+   *       downstream.accept(number);
+   *       downstream.accept(-number);
+   *     });
+   * }</pre>
+   *
+   * @param <R>    The type of the results
+   * @param mapper A function that receives each element and the consumer to push its results
+   * @return a Nary with the pushed results in the order they were pushed
+   */
+  <R> Nary<R> mapMulti(BiConsumer<? super T, ? super Consumer<R>> mapper);
+
+  /**
+   * Combines each element of this nary with each element of the other nary that has the same key, discarding
+   * the elements without a match (an inner join).<br>
+   * The other nary is consumed to build a compact hash table by key, so it should be the smaller one. This nary
+   * is streamed, keeping its order, laziness and parallelism. Keys are compared with equals
+   *
+   * @param other      The nary to look for matches
+   * @param keyOfThis  The function that extracts the key of the elements of this nary
+   * @param keyOfOther The function that extracts the key of the elements of the other nary
+   * @param combiner   The function that combines each pair of matching elements
+   * @param <U>        The type of elements of the other nary
+   * @param <K>        The type of shared key
+   * @param <R>        The type of combined results
+   * @return A nary with the combination of each match
+   */
+  <U, K, R> Nary<R> join(Nary<U> other,
+                         Function<? super T, ? extends K> keyOfThis,
+                         Function<? super U, ? extends K> keyOfOther,
+                         BiFunction<? super T, ? super U, ? extends R> combiner);
+
+  /**
+   * Same as {@link #join(Nary, Function, Function, BiFunction)} but using the given options to limit the
+   * amount of elements of the other nary kept in memory
+   *
+   * @param options The options describing how elements are kept while joining
+   * @return A nary with the combination of each match
+   */
+  <U, K, R> Nary<R> join(Nary<U> other,
+                         Function<? super T, ? extends K> keyOfThis,
+                         Function<? super U, ? extends K> keyOfOther,
+                         BiFunction<? super T, ? super U, ? extends R> combiner,
+                         JoinOptions options);
+
+  /**
+   * Combines each element of this nary with each element of the other nary that has the same key, or with an
+   * empty unary if there's none (a left join).<br>
+   * As with {@link #join(Nary, Function, Function, BiFunction)} the other nary is kept in a hash table, and
+   * this one is streamed
+   *
+   * @param other      The nary to look for matches
+   * @param keyOfThis  The function that extracts the key of the elements of this nary
+   * @param keyOfOther The function that extracts the key of the elements of the other nary
+   * @param combiner   The function that combines each element with a match, or with empty
+   * @param <U>        The type of elements of the other nary
+   * @param <K>        The type of shared key
+   * @param <R>        The type of combined results
+   * @return A nary with at least one result for each element of this nary
+   */
+  <U, K, R> Nary<R> leftJoin(Nary<U> other,
+                             Function<? super T, ? extends K> keyOfThis,
+                             Function<? super U, ? extends K> keyOfOther,
+                             BiFunction<? super T, Unary<U>, ? extends R> combiner);
+
+  /**
+   * Same as {@link #leftJoin(Nary, Function, Function, BiFunction)} but using the given options to limit the
+   * amount of elements of the other nary kept in memory
+   *
+   * @param options The options describing how elements are kept while joining
+   * @return A nary with at least one result for each element of this nary
+   */
+  <U, K, R> Nary<R> leftJoin(Nary<U> other,
+                             Function<? super T, ? extends K> keyOfThis,
+                             Function<? super U, ? extends K> keyOfOther,
+                             BiFunction<? super T, Unary<U>, ? extends R> combiner,
+                             JoinOptions options);
+
+  /**
+   * Groups the elements of this nary and the other by their key, creating one group for each key present in any
+   * of them.<br>
+   * Groups follow the order in which keys first appear in this nary, followed by the keys only present in the
+   * other. Both naries are consumed to build the groups
+   *
+   * @param other      The nary to group with this
+   * @param keyOfThis  The function that extracts the key of the elements of this nary
+   * @param keyOfOther The function that extracts the key of the elements of the other nary
+   * @param <U>        The type of elements of the other nary
+   * @param <K>        The type of shared key
+   * @return A nary with a group for each key
+   */
+  <U, K> Nary<CoGroup<K, T, U>> coGroup(Nary<U> other,
+                                        Function<? super T, ? extends K> keyOfThis,
+                                        Function<? super U, ? extends K> keyOfOther);
+
+  /**
+   * Creates an index of the elements of this nary by the given key, to find the elements of a key without
+   * scanning all of them on each lookup.<br>
+   * This is a terminal operation. If this nary is parallel the index is built in parallel
+   *
+   * @param keyExtractor The function that extracts the key of each element
+   * @param <K>          The type of key
+   * @return An immutable index with all the elements of this nary
+   */
+  <K> NaryIndex<K, T> indexBy(Function<? super T, ? extends K> keyExtractor);
+
+  /**
+   * Replaces each element with the accumulation of the identity and all the elements up to it (an inclusive
+   * prefix scan), like the running totals of a sum.<br>
+   * Sequential naries are scanned lazily. Parallel naries of known size are scanned in parallel, which
+   * requires the operator to be associative and consumes all the elements before returning
+   *
+   * @param identity The initial value of the accumulation
+   * @param operator The associative function that accumulates each element into the previous result
+   * @return A nary with one accumulated result for each element
+   */
+  Nary<T> scan(T identity, BinaryOperator<T> operator);
+
+  /**
+   * Same as {@link #scan(Object, BinaryOperator)} but accumulating a primitive long from each element,
+   * without boxing them while scanning
+   *
+   * @param identity The initial value of the accumulation
+   * @param mapper   The function that converts each element to a long
+   * @param operator The associative function that accumulates each value into the previous result
+   * @return A nary with one accumulated result for each element
+   */
+  Nary<Long> scanLong(long identity, ToLongFunction<? super T> mapper, LongBinaryOperator operator);
+
+  /**
+   * Same as {@link #scan(Object, BinaryOperator)} but accumulating a primitive double from each element,
+   * without boxing them while scanning
+   *
+   * @param identity The initial value of the accumulation
+   * @param mapper   The function that converts each element to a double
+   * @param operator The associative function that accumulates each value into the previous result
+   * @return A nary with one accumulated result for each element
+   */
+  Nary<Double> scanDouble(double identity, ToDoubleFunction<? super T> mapper, DoubleBinaryOperator operator);
+
+  /**
+   * Groups the elements of this nary by the tumbling window of time in which they are consumed, as told by
+   * the clock.<br>
+   * Windows are aligned to the epoch, and a window is produced when the first element of a later one
+   * arrives or this nary ends, so it works lazily over infinite naries. Windows without elements are not
+   * produced. The latest time seen acts as a watermark: elements that arrive while the clock is behind it
+   * are late, and they are added to the open window instead of the one of their time, which was already
+   * produced
+   *
+   * @param windowSize The duration of each window, as a whole amount of milliseconds (at least 1)
+   * @param clock      The clock that tells the time of each element
+   * @return A nary with a window for each period of time with elements
+   */
+  Nary<TimeWindow<List<T>>> windowByTime(Duration windowSize, Clock clock);
+
+  /**
+   * Aggregates the elements of this nary by the tumbling window of time in which they are consumed, using
+   * the system clock.<br>
+   * Only the accumulation of the open window is kept, so the used memory doesn't depend on the amount of
+   * elements in each window (for aggregations like counting or summing)
+   *
+   * @param windowSize The duration of each window, as a whole amount of milliseconds (at least 1)
+   * @param collector  The aggregation of the elements of each window
+   * @param <R>        The type of aggregated value
+   * @return A nary with a window for each period of time with elements
+   * @see #windowByTime(Duration, Clock)
+   */
+  <R> Nary<TimeWindow<R>> tumblingAggregate(Duration windowSize, Collector<? super T, ?, R> collector);
+
+  /**
+   * Aggregates the elements of this nary by the tumbling window of time in which they are consumed, as
+   * told by the clock
+   *
+   * @param windowSize The duration of each window, as a whole amount of milliseconds (at least 1)
+   * @param clock      The clock that tells the time of each element
+   * @param collector  The aggregation of the elements of each window
+   * @param <R>        The type of aggregated value
+   * @return A nary with a window for each period of time with elements
+   * @see #windowByTime(Duration, Clock)
+   */
+  <R> Nary<TimeWindow<R>> tumblingAggregate(Duration windowSize, Clock clock, Collector<? super T, ?, R> collector);
+
+  /**
+   * Groups each consecutive amount of elements of this nary in a list.<br>
+   * The last list may have less elements if this nary ends before completing it
+   *
+   * @param windowSize The amount of elements of each list
+   * @return A nary with the lists of elements
+   */
+  Nary<List<T>> windowByCount(int windowSize);
+
+  /**
+   * Aggregates each consecutive amount of elements of this nary, keeping only the accumulation of the
+   * open window
+   *
+   * @param windowSize The amount of elements of each window
+   * @param collector  The aggregation of the elements of each window
+   * @param <R>        The type of aggregated value
+   * @return A nary with the aggregation of each window
+   * @see #windowByCount(int)
+   */
+  <R> Nary<R> tumblingAggregate(int windowSize, Collector<? super T, ?, R> collector);
+
+  /**
+   * Stores the elements of this nary by columns, as described by the schema, so aggregations over their
+   * fields loop over primitive arrays instead of visiting each element.<br>
+   * This is a terminal operation. Elements are created back from their columns when the batch is used as a
+   * normal nary
+   *
+   * @param schema The columns to extract and how to create an element from them
+   * @return A batch with a row for each element of this nary
+   */
+  BatchNary<T> toBatch(BatchSchema<T> schema);
+
+  /**
+   * Stores the elements of this nary as fixed size records outside the java heap, writing the fields of
+   * each element into its record.<br>
+   * This is a terminal operation. The returned nary keeps the memory until it's closed
+   *
+   * @param layout The fields of each record
+   * @param writer The function that writes the fields of an element into its empty record
+   * @return A nary with a record for each element of this nary
+   */
+  OffHeapNary toOffHeap(RecordLayout layout, BiConsumer<? super T, ? super RecordView> writer);
+
+  /**
+   * Writes the elements of this nary to a binary file, in uncompressed blocks of 64KB that can be read
+   * back with {@link Nary#read(Path, Decoder)}.<br>
+   * This is a terminal operation. The file is replaced atomically once all the elements are written, so a
+   * failed writing leaves any previous version of the file untouched
+   *
+   * @param file    The path of the file to write
+   * @param encoder The function that writes the bytes of each element
+   * @return The number of written elements
+   */
+  long writeTo(Path file, Encoder<? super T> encoder);
+
+  /**
+   * Writes the elements of this nary to a binary file, grouped in blocks as the format describes
+   *
+   * @param file    The path of the file to write
+   * @param encoder The function that writes the bytes of each element
+   * @param format  The size and compression of the blocks
+   * @return The number of written elements
+   * @see #writeTo(Path, Encoder)
+   */
+  long writeTo(Path file, Encoder<? super T> encoder, BinaryFormat format);
+
+  /**
+   * Writes the encoded elements of this nary to the channel, one after the other without any framing.<br>
+   * Elements are encoded into batches of 256KB, and each batch is written with a single (gathering, if the
+   * channel supports it) write. This is a terminal operation. The channel is left open
+   *
+   * @param channel The channel to write to
+   * @param encoder The function that writes the bytes of each element
+   * @return The number of written elements
+   */
+  long writeTo(WritableByteChannel channel, Encoder<? super T> encoder);
+
+  /**
+   * Writes the encoded elements of this nary to the channel, in batches as the options describe
+   *
+   * @param channel The channel to write to
+   * @param encoder The function that writes the bytes of each element
+   * @param options The size of the batches and the thread that writes them
+   * @return The number of written elements
+   * @see #writeTo(WritableByteChannel, Encoder)
+   */
+  long writeTo(WritableByteChannel channel, Encoder<? super T> encoder, ChannelWriteOptions options);
+
+  /**
+   * Adds the elements of this nary to the queue, in order, waiting for room when the queue is full, so a
+   * slower consumer of the queue slows down this nary instead of growing the queue.<br>
+   * This is a terminal operation
+   *
+   * @param queue The queue to add the elements to
+   * @return The number of added elements
+   */
+  long drainInto(BlockingQueue<? super T> queue);
+
   /**
    * Makes a normal {@link java.util.stream.Stream#flatMap(Function)} transformation but accepts {@link Optional}
    * as result for the mapper instead of {@link java.util.stream.Stream}.<br>
@@ -223,6 +568,49 @@ public interface MultiElement<T> extends Iterable<T>, NaryStream<T> {
    */
   <U> Nary<U> flatMapOptional(Function<? super T, Optional<U>> mapper);
 
+  /**
+   * Maps each element of this instance caching the results of the mapping function, so elements that
+   * repeat are mapped only once.<br>
+   * The cache is bounded as indicated by the spec and is only used by the returned nary. To share
+   * results between naries use {@link #mapCached(MemoizedFunction)}
+   *
+   * @param <R>       The type of the mapping results
+   * @param mapper    An expensive mapping function whose result depends only on its argument
+   * @param cacheSpec The description of the cache bounds
+   * @return A nary with the mapped results
+   */
+  <R> Nary<R> mapCached(Function<? super T, ? extends R> mapper, CacheSpec cacheSpec);
+
+  /**
+   * Maps each element of this instance with the given memoized function, reusing the results
+   * already cached by it (possibly from other naries).<br>
+   * The function is safe to use on parallel naries
+   *
+   * @param <R>      The type of the mapping results
+   * @param memoized The caching mapping function, whose statistics can be checked after the mapping
+   * @return A nary with the mapped results
+   */
+  <R> Nary<R> mapCached(MemoizedFunction<? super T, ? extends R> memoized);
+
+  /**
+   * Creates a nary with the elements of this instance where subsequent element-wise operations
+   * ({@link #map(Function)}, {@link #filter(java.util.function.Predicate)}, etc) are executed as a pipeline,
+   * each one on its own thread, preserving the order of the elements.<br>
+   * This is useful to overlap a slow sequential source with CPU-heavy operations.
+   * This nary, as stream, will be consumed by the returned nary
+   *
+   * @return The nary where operations are pipelined
+   */
+  PipelinedNary<T> pipelined();
+
+  /**
+   * Same as {@link #pipelined()} but indicating the capacity of the queues that connect the stages
+   *
+   * @param queueCapacity The max amount of elements waiting between two stages
+   * @return The nary where operations are pipelined
+   */
+  PipelinedNary<T> pipelined(int queueCapacity);
+
   /**
    * Treats this instance as having a single element. Returns an object that can be used to extend the operations
    * available once we know there are not more elements than 1.<br>
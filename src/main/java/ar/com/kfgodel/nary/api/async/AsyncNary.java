@@ -0,0 +1,86 @@
+package ar.com.kfgodel.nary.api.async;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+/**
+ * This type represents a nary whose elements are not available yet, because they are produced by
+ * an asynchronous source.<br>
+ * Operations can be composed without blocking the calling thread, and they are executed once
+ * the elements arrive (on the thread that completes the source). Terminal operations return a
+ * {@link CompletableFuture} that completes with their result.<br>
+ * As with {@link Nary}, an instance can be consumed only once.
+ * <p>
+ * Date: 19/10/26 - 16:10
+ *
+ * @param <T> Type of the expected elements
+ */
+public interface AsyncNary<T> {
+
+  /**
+   * @param mapper The function to apply to each element once available
+   * @param <R>    The type of mapped elements
+   * @return An async nary with the mapped elements
+   * @see Nary#map(Function)
+   */
+  <R> AsyncNary<R> thenMap(Function<? super T, ? extends R> mapper);
+
+  /**
+   * @param predicate The condition to keep elements once available
+   * @return An async nary with the elements that match the predicate
+   * @see Nary#filter(Predicate)
+   */
+  AsyncNary<T> thenFilter(Predicate<? super T> predicate);
+
+  /**
+   * @param mapper The function to apply to each element once available, filtering null results out
+   * @param <R>    The type of mapped elements
+   * @return An async nary with the non null mapped elements
+   * @see Nary#mapFilteringNullResult(Function)
+   */
+  <R> AsyncNary<R> thenMapFilteringNullResult(Function<? super T, ? extends R> mapper);
+
+  /**
+   * Treats the elements, once available, as having at most 1 element
+   *
+   * @return A future that completes with the only element, or exceptionally with
+   * {@link ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException} if there are more than one
+   * @see Nary#unique()
+   */
+  CompletableFuture<Unary<T>> thenUnique();
+
+  /**
+   * @return A future that completes with the first element, if any
+   * @see Nary#findFirstNary()
+   */
+  CompletableFuture<Unary<T>> thenFindFirst();
+
+  /**
+   * @return A future that completes with all the elements in a list
+   * @see Nary#collectToList()
+   */
+  CompletableFuture<List<T>> thenCollectToList();
+
+  /**
+   * @param collector The reduction to apply to the elements once available
+   * @param <R>       The type of result
+   * @param <A>       The type of intermediate accumulation
+   * @return A future that completes with the result of the reduction
+   * @see Nary#collect(Collector)
+   */
+  <R, A> CompletableFuture<R> thenCollect(Collector<? super T, A, R> collector);
+
+  /**
+   * Creates a nary that blocks waiting for the elements, but only when a terminal operation is
+   * executed on it. Any failure of the source is rethrown at that moment
+   *
+   * @return The nary to access the elements synchronously
+   */
+  Nary<T> blocking();
+}
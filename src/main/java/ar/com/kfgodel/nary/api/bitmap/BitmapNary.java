@@ -0,0 +1,52 @@
+package ar.com.kfgodel.nary.api.bitmap;
+
+import ar.com.kfgodel.nary.api.Nary;
+
+import java.util.stream.IntStream;
+
+/**
+ * This type represents an immutable set of ints kept in a compressed bitmap, suited for large sets of ids.<br>
+ * Ids are stored by chunks of 2^16 consecutive values, each one as a sorted array or as a bitmap depending on
+ * how dense it is, so a dense set takes about one bit per possible id and a sparse one about two bytes per id.<br>
+ * Elements are always distinct and iterated in ascending order. Counting and membership don't need to
+ * iterate the elements, and set operations with other bitmap naries work chunk by chunk.<br>
+ * Unlike stream based naries, an instance can be operated multiple times.
+ * <p>
+ * Date: 20/10/26 - 04:36
+ */
+public interface BitmapNary extends Nary<Integer> {
+
+  /**
+   * @return true if the given id is part of this set
+   */
+  boolean contains(int id);
+
+  /**
+   * Creates the intersection of this set and the other. Neither instance is modified
+   *
+   * @param other The set to intersect with
+   * @return A new set with the ids present in both
+   */
+  BitmapNary and(BitmapNary other);
+
+  /**
+   * Creates the union of this set and the other. Neither instance is modified
+   *
+   * @param other The set to unite with
+   * @return A new set with the ids present in any of them
+   */
+  BitmapNary or(BitmapNary other);
+
+  /**
+   * Creates the difference between this set and the other. Neither instance is modified
+   *
+   * @param other The set with the ids to exclude
+   * @return A new set with the ids of this set that are not present in the other
+   */
+  BitmapNary andNot(BitmapNary other);
+
+  /**
+   * @return A stream of the ids in ascending order, without boxing them
+   */
+  IntStream ints();
+}
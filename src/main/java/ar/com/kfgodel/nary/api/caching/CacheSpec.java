@@ -0,0 +1,107 @@
+package ar.com.kfgodel.nary.api.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * This type describes how a cache used to memoize mapping results should be bounded.<br>
+ * Instances are immutable, each modifier method returns a new spec.
+ * <p>
+ * Date: 19/10/26 - 12:10
+ */
+public final class CacheSpec {
+
+  private static final int DEFAULT_STRIPES = 16;
+
+  private long maximumSize;
+  private Duration expireAfterWrite;
+  private int stripes;
+  private Clock clock;
+
+  /**
+   * Creates a spec for a cache that keeps at most the given amount of results, discarding
+   * the least recently used when full
+   *
+   * @param maximumSize The max amount of cached results
+   * @return The new spec
+   */
+  public static CacheSpec maximumSize(long maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("The cache needs room for at least 1 element: " + maximumSize);
+    }
+    CacheSpec spec = new CacheSpec();
+    spec.maximumSize = maximumSize;
+    spec.stripes = DEFAULT_STRIPES;
+    spec.clock = Clock.systemUTC();
+    return spec;
+  }
+
+  /**
+   * @param duration The time a result is kept since it was computed
+   * @return A copy of this spec that also discards results older than the given duration
+   */
+  public CacheSpec expiringAfterWrite(Duration duration) {
+    CacheSpec copy = copy();
+    copy.expireAfterWrite = duration;
+    return copy;
+  }
+
+  /**
+   * @param stripes The amount of independently locked segments. More stripes reduce contention
+   *                between threads but make the least recently used order more approximated
+   * @return A copy of this spec with the given amount of stripes
+   */
+  public CacheSpec withStripes(int stripes) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("The cache needs at least 1 stripe: " + stripes);
+    }
+    CacheSpec copy = copy();
+    copy.stripes = stripes;
+    return copy;
+  }
+
+  /**
+   * @param clock The clock used to measure the age of the results
+   * @return A copy of this spec using the given clock (useful for tests)
+   */
+  public CacheSpec withClock(Clock clock) {
+    CacheSpec copy = copy();
+    copy.clock = clock;
+    return copy;
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * @return The max age of a result, or null if results don't expire
+   */
+  public Duration getExpireAfterWrite() {
+    return expireAfterWrite;
+  }
+
+  public int getStripes() {
+    return stripes;
+  }
+
+  public Clock getClock() {
+    return clock;
+  }
+
+  private CacheSpec copy() {
+    CacheSpec copy = new CacheSpec();
+    copy.maximumSize = maximumSize;
+    copy.expireAfterWrite = expireAfterWrite;
+    copy.stripes = stripes;
+    copy.clock = clock;
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheSpec{maximumSize=" + maximumSize
+      + ", expireAfterWrite=" + expireAfterWrite
+      + ", stripes=" + stripes + "}";
+  }
+}
@@ -0,0 +1,61 @@
+package ar.com.kfgodel.nary.api.caching;
+
+/**
+ * This type represents a snapshot of the usage statistics of a memoizing cache
+ * <p>
+ * Date: 19/10/26 - 12:18
+ */
+public final class CacheStats {
+
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  public static CacheStats create(long hitCount, long missCount, long evictionCount) {
+    CacheStats stats = new CacheStats();
+    stats.hitCount = hitCount;
+    stats.missCount = missCount;
+    stats.evictionCount = evictionCount;
+    return stats;
+  }
+
+  /**
+   * @return The times a result was taken from the cache (including results still being computed by other thread)
+   */
+  public long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return The times a result had to be computed
+   */
+  public long missCount() {
+    return missCount;
+  }
+
+  /**
+   * @return The amount of results discarded because of size or age
+   */
+  public long evictionCount() {
+    return evictionCount;
+  }
+
+  public long requestCount() {
+    return hitCount + missCount;
+  }
+
+  /**
+   * @return The ratio of requests that were hits, or 1 if there were no requests
+   */
+  public double hitRate() {
+    long requestCount = requestCount();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStats{hitCount=" + hitCount
+      + ", missCount=" + missCount
+      + ", evictionCount=" + evictionCount + "}";
+  }
+}
@@ -0,0 +1,42 @@
+package ar.com.kfgodel.nary.api.caching;
+
+import ar.com.kfgodel.nary.impl.caching.StripedLruMemoizedFunction;
+
+import java.util.function.Function;
+
+/**
+ * This type represents a function that caches its results so repeated arguments are not computed again.<br>
+ * It's safe to use from parallel naries, and concurrent calls with the same argument wait for a single
+ * computation instead of repeating it.<br>
+ * An instance can be shared between naries to reuse results across them.
+ * <p>
+ * Date: 19/10/26 - 12:22
+ *
+ * @param <T> Type of the function argument
+ * @param <R> Type of the function result
+ */
+public interface MemoizedFunction<T, R> extends Function<T, R> {
+
+  /**
+   * @return The usage statistics of the cache backing this function
+   */
+  CacheStats stats();
+
+  /**
+   * Discards all the cached results
+   */
+  void invalidateAll();
+
+  /**
+   * Creates a function that caches the results of the given one, bounded as indicated by the spec
+   *
+   * @param function  The function whose results are cached
+   * @param cacheSpec The description of the cache bounds
+   * @param <T>       Type of the function argument
+   * @param <R>       Type of the function result
+   * @return The new memoized function
+   */
+  static <T, R> MemoizedFunction<T, R> create(Function<? super T, ? extends R> function, CacheSpec cacheSpec) {
+    return StripedLruMemoizedFunction.create(function, cacheSpec);
+  }
+}
@@ -0,0 +1,102 @@
+package ar.com.kfgodel.nary.api.columnar;
+
+import ar.com.kfgodel.nary.api.Nary;
+
+import java.util.OptionalDouble;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * This type represents a nary whose elements are stored by columns, with the values of each field of all the
+ * elements in one array (a struct of arrays).<br>
+ * Column operations (filters, streams and aggregations over a column) loop over the arrays without creating
+ * the elements. Aggregations over unfiltered batches use unrolled loops. Elements are only created from their
+ * row values when this is used as a normal nary.<br>
+ * Filtering doesn't copy the columns, it keeps the positions of the selected rows instead.<br>
+ * Unlike stream based naries, an instance can be operated multiple times.
+ * <p>
+ * Date: 20/10/26 - 05:55
+ *
+ * @param <T> Type of the elements stored in the batch
+ */
+public interface BatchNary<T> extends Nary<T> {
+
+  /**
+   * @return The amount of rows in this batch
+   */
+  int size();
+
+  /**
+   * Selects the rows whose value in the given int column matches the condition
+   *
+   * @param column    The name of the column to test
+   * @param condition The condition to match
+   * @return A batch with the selected rows, sharing the columns of this one
+   * @throws IllegalArgumentException if there's no int column with the name
+   */
+  BatchNary<T> whereInt(String column, IntPredicate condition) throws IllegalArgumentException;
+
+  /**
+   * @see #whereInt(String, IntPredicate)
+   */
+  BatchNary<T> whereLong(String column, LongPredicate condition) throws IllegalArgumentException;
+
+  /**
+   * @see #whereInt(String, IntPredicate)
+   */
+  BatchNary<T> whereDouble(String column, DoublePredicate condition) throws IllegalArgumentException;
+
+  /**
+   * @return The values of the int column with the given name, in row order
+   * @throws IllegalArgumentException if there's no int column with the name
+   */
+  IntStream ints(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The values of the long column with the given name, in row order
+   * @throws IllegalArgumentException if there's no long column with the name
+   */
+  LongStream longs(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The values of the double column with the given name, in row order
+   * @throws IllegalArgumentException if there's no double column with the name
+   */
+  DoubleStream doubles(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The sum of the values of the int or long column with the given name
+   * @throws IllegalArgumentException if there's no int or long column with the name
+   */
+  long sumLong(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The sum of the values of the numeric column with the given name
+   * @throws IllegalArgumentException if there's no numeric column with the name
+   */
+  double sumDouble(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The smallest value of the double column with the given name, or empty if there are no rows
+   * @throws IllegalArgumentException if there's no double column with the name
+   */
+  OptionalDouble minDouble(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The greatest value of the double column with the given name, or empty if there are no rows
+   * @throws IllegalArgumentException if there's no double column with the name
+   */
+  OptionalDouble maxDouble(String column) throws IllegalArgumentException;
+
+  /**
+   * Multiplies the values of both columns in each row and adds the products
+   *
+   * @return The dot product of the double columns with the given names
+   * @throws IllegalArgumentException if any of the names has no double column
+   */
+  double dotProduct(String column, String otherColumn) throws IllegalArgumentException;
+}
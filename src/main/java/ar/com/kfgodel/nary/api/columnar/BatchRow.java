@@ -0,0 +1,34 @@
+package ar.com.kfgodel.nary.api.columnar;
+
+/**
+ * This type represents the values of one row of a batch, used to create its element when it's needed.<br>
+ * Values are read from the batch columns by name, and each getter must match the type of its column
+ * <p>
+ * Date: 20/10/26 - 05:41
+ */
+public interface BatchRow {
+
+  /**
+   * @return The value of the int column with the given name
+   * @throws IllegalArgumentException if the batch has no int column with that name
+   */
+  int getInt(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The value of the long column with the given name
+   * @throws IllegalArgumentException if the batch has no long column with that name
+   */
+  long getLong(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The value of the double column with the given name
+   * @throws IllegalArgumentException if the batch has no double column with that name
+   */
+  double getDouble(String column) throws IllegalArgumentException;
+
+  /**
+   * @return The value of the object column with the given name
+   * @throws IllegalArgumentException if the batch has no object column with that name
+   */
+  <V> V getObject(String column) throws IllegalArgumentException;
+}
@@ -0,0 +1,93 @@
+package ar.com.kfgodel.nary.api.columnar;
+
+import ar.com.kfgodel.nary.impl.others.BatchColumn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This type describes how the elements of a nary are stored in a batch: the columns extracted from each
+ * element, and how an element is created back from the values of a row.<br>
+ * Numeric columns are stored in primitive arrays. Only the columns defined here are kept, so the row factory
+ * can only use them.<br>
+ * Instances are immutable, each modifier method returns a new schema.
+ * <p>
+ * Date: 20/10/26 - 05:47
+ *
+ * @param <T> Type of the elements stored in the batch
+ */
+public final class BatchSchema<T> {
+
+  private List<BatchColumn<T>> columns;
+  private Function<? super BatchRow, ? extends T> rowFactory;
+
+  /**
+   * Creates a schema without columns
+   *
+   * @param rowFactory The function that creates an element from the values of its row
+   * @param <T>        The type of elements
+   * @return The new schema
+   */
+  public static <T> BatchSchema<T> create(Function<? super BatchRow, ? extends T> rowFactory) {
+    BatchSchema<T> schema = new BatchSchema<>();
+    schema.columns = Collections.emptyList();
+    schema.rowFactory = rowFactory;
+    return schema;
+  }
+
+  public BatchSchema<T> withInt(String name, ToIntFunction<? super T> extractor) {
+    return adding(BatchColumn.ofInt(name, extractor));
+  }
+
+  public BatchSchema<T> withLong(String name, ToLongFunction<? super T> extractor) {
+    return adding(BatchColumn.ofLong(name, extractor));
+  }
+
+  public BatchSchema<T> withDouble(String name, ToDoubleFunction<? super T> extractor) {
+    return adding(BatchColumn.ofDouble(name, extractor));
+  }
+
+  public BatchSchema<T> withObject(String name, Function<? super T, ?> extractor) {
+    return adding(BatchColumn.ofObject(name, extractor));
+  }
+
+  public List<BatchColumn<T>> getColumns() {
+    return columns;
+  }
+
+  public Function<? super BatchRow, ? extends T> getRowFactory() {
+    return rowFactory;
+  }
+
+  private BatchSchema<T> adding(BatchColumn<T> column) {
+    for (BatchColumn<T> existing : columns) {
+      if (existing.name().equals(column.name())) {
+        throw new IllegalArgumentException("The schema already has a column named '" + column.name() + "'");
+      }
+    }
+    List<BatchColumn<T>> extendedColumns = new ArrayList<>(columns.size() + 1);
+    extendedColumns.addAll(columns);
+    extendedColumns.add(column);
+    BatchSchema<T> copy = new BatchSchema<>();
+    copy.columns = Collections.unmodifiableList(extendedColumns);
+    copy.rowFactory = rowFactory;
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("BatchSchema{");
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(columns.get(i).name()).append(':').append(columns.get(i).typeName());
+    }
+    return builder.append('}').toString();
+  }
+}
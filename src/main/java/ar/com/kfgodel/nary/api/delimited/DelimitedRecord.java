@@ -0,0 +1,51 @@
+package ar.com.kfgodel.nary.api.delimited;
+
+/**
+ * This type represents the fields of one record of a delimited text file, used to create its element.<br>
+ * Fields are read by their position in the record, starting at 0. Numeric getters parse the bytes of the
+ * field without creating a string for it.<br>
+ * The same instance is reused for every record of a file range, so it's only valid during the call that
+ * receives it
+ * <p>
+ * Date: 20/10/26 - 12:10
+ */
+public interface DelimitedRecord {
+
+  /**
+   * @return The amount of fields in this record
+   */
+  int fieldCount();
+
+  /**
+   * @return true if the field has no characters
+   * @throws IllegalArgumentException if the record has no field at that position
+   */
+  boolean isEmpty(int field) throws IllegalArgumentException;
+
+  /**
+   * @return The text of the field, without its quotes
+   * @throws IllegalArgumentException if the record has no field at that position
+   */
+  String getString(int field) throws IllegalArgumentException;
+
+  /**
+   * @return The value of the field parsed as an int
+   * @throws NumberFormatException    if the field is not an int
+   * @throws IllegalArgumentException if the record has no field at that position
+   */
+  int getInt(int field) throws IllegalArgumentException;
+
+  /**
+   * @return The value of the field parsed as a long
+   * @throws NumberFormatException    if the field is not a long
+   * @throws IllegalArgumentException if the record has no field at that position
+   */
+  long getLong(int field) throws IllegalArgumentException;
+
+  /**
+   * @return The value of the field parsed as a double
+   * @throws NumberFormatException    if the field is not a double
+   * @throws IllegalArgumentException if the record has no field at that position
+   */
+  double getDouble(int field) throws IllegalArgumentException;
+}
@@ -0,0 +1,136 @@
+package ar.com.kfgodel.nary.api.delimited;
+
+import java.util.function.Function;
+
+/**
+ * This type describes the format of a delimited text file (like CSV or TSV) and how each of its records
+ * is converted to an element.<br>
+ * Records are separated by line breaks (with or without a carriage return) and their fields by the delimiter.
+ * A field starting with the quote character can contain delimiters and line breaks, and a doubled quote
+ * inside it stands for one quote. The file must be encoded in UTF-8 or ASCII, and the delimiter and quote
+ * must be ASCII characters.<br>
+ * Instances are immutable, each modifier method returns a new schema.
+ * <p>
+ * Date: 20/10/26 - 12:14
+ *
+ * @param <T> Type of the elements created from the records
+ */
+public final class DelimitedSchema<T> {
+
+  private char delimiter;
+  private char quote;
+  private boolean quoted;
+  private boolean skippingHeader;
+  private Function<? super DelimitedRecord, ? extends T> recordMapper;
+
+  /**
+   * Creates a schema for comma separated fields that may be quoted with double quotes
+   *
+   * @param recordMapper The function that creates an element from the fields of a record
+   * @param <T>          The type of the elements
+   * @return The new schema
+   */
+  public static <T> DelimitedSchema<T> csv(Function<? super DelimitedRecord, ? extends T> recordMapper) {
+    DelimitedSchema<T> schema = new DelimitedSchema<>();
+    schema.delimiter = ',';
+    schema.quote = '"';
+    schema.quoted = true;
+    schema.recordMapper = recordMapper;
+    return schema;
+  }
+
+  /**
+   * Creates a schema for tab separated fields without quotes
+   *
+   * @param recordMapper The function that creates an element from the fields of a record
+   * @param <T>          The type of the elements
+   * @return The new schema
+   */
+  public static <T> DelimitedSchema<T> tsv(Function<? super DelimitedRecord, ? extends T> recordMapper) {
+    return DelimitedSchema.<T>csv(recordMapper).withDelimiter('\t').withoutQuotes();
+  }
+
+  /**
+   * @param delimiter The character that separates the fields of a record
+   * @return A copy of this schema with the given delimiter
+   */
+  public DelimitedSchema<T> withDelimiter(char delimiter) {
+    checkAscii(delimiter);
+    DelimitedSchema<T> copy = copy();
+    copy.delimiter = delimiter;
+    return copy;
+  }
+
+  /**
+   * @param quote The character that encloses fields with delimiters or line breaks
+   * @return A copy of this schema with the given quote
+   */
+  public DelimitedSchema<T> withQuote(char quote) {
+    checkAscii(quote);
+    DelimitedSchema<T> copy = copy();
+    copy.quote = quote;
+    copy.quoted = true;
+    return copy;
+  }
+
+  /**
+   * @return A copy of this schema where no character is treated as a quote
+   */
+  public DelimitedSchema<T> withoutQuotes() {
+    DelimitedSchema<T> copy = copy();
+    copy.quoted = false;
+    return copy;
+  }
+
+  /**
+   * @return A copy of this schema that ignores the first record of the file
+   */
+  public DelimitedSchema<T> skippingHeader() {
+    DelimitedSchema<T> copy = copy();
+    copy.skippingHeader = true;
+    return copy;
+  }
+
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  public boolean hasQuotes() {
+    return quoted;
+  }
+
+  public char getQuote() {
+    return quote;
+  }
+
+  public boolean isSkippingHeader() {
+    return skippingHeader;
+  }
+
+  public Function<? super DelimitedRecord, ? extends T> getRecordMapper() {
+    return recordMapper;
+  }
+
+  private DelimitedSchema<T> copy() {
+    DelimitedSchema<T> copy = new DelimitedSchema<>();
+    copy.delimiter = delimiter;
+    copy.quote = quote;
+    copy.quoted = quoted;
+    copy.skippingHeader = skippingHeader;
+    copy.recordMapper = recordMapper;
+    return copy;
+  }
+
+  private static void checkAscii(char character) {
+    if (character > 127 || character == '\n' || character == '\r') {
+      throw new IllegalArgumentException("Only ASCII characters other than line breaks can separate fields: "
+        + (int) character);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DelimitedSchema{delimiter=" + delimiter + ", quote=" + (quoted ? String.valueOf(quote) : "none")
+      + ", skippingHeader=" + skippingHeader + "}";
+  }
+}
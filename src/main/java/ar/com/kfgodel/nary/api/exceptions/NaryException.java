@@ -16,4 +16,14 @@ public class NaryException extends RuntimeException {
     super(message);
   }
 
+  /**
+   * Creates a new instance indicating the error message and the original cause
+   *
+   * @param message A description of what went wrong
+   * @param cause   The original exception that caused this one
+   */
+  public NaryException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
 }
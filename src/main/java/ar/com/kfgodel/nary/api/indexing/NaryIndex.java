@@ -0,0 +1,57 @@
+package ar.com.kfgodel.nary.api.indexing;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+
+/**
+ * This type represents an immutable index of the elements of a nary by a key, that allows finding the
+ * elements of a key without scanning all of them.<br>
+ * Elements of the same key are kept in the order they had on the original nary. Keys are compared with equals,
+ * and null is a valid key.<br>
+ * Unlike the nary it was built from, an index can be queried multiple times and from different threads
+ * <p>
+ * Date: 20/10/26 - 02:20
+ *
+ * @param <K> Type of the keys
+ * @param <T> Type of indexed elements
+ */
+public interface NaryIndex<K, T> {
+
+  /**
+   * Returns the elements that have the given key
+   *
+   * @param key The key to look up
+   * @return A nary with the elements of the key, or empty if there's none
+   */
+  Nary<T> lookup(K key);
+
+  /**
+   * Returns the only element that has the given key, with the same semantics as {@link Nary#unique()}
+   *
+   * @param key The key to look up
+   * @return A unary with the element of the key, or empty if there's none
+   * @throws MoreThanOneElementException if the key has more than one element
+   */
+  Unary<T> lookupUnique(K key) throws MoreThanOneElementException;
+
+  /**
+   * @return true if at least one element has the given key
+   */
+  boolean containsKey(K key);
+
+  /**
+   * @return A nary with each key once, in the order they first appeared on the original nary
+   */
+  Nary<K> keys();
+
+  /**
+   * @return The amount of different keys
+   */
+  int keyCount();
+
+  /**
+   * @return The amount of indexed elements
+   */
+  int size();
+}
@@ -0,0 +1,63 @@
+package ar.com.kfgodel.nary.api.io;
+
+/**
+ * This type describes how the records of a nary binary file are grouped in blocks.<br>
+ * Records are written in blocks of about the given size, and an index of the blocks at the end of the file
+ * allows reading them in parallel or skipping them. Each block can be compressed independently.<br>
+ * Instances are immutable, each modifier method returns a new format.
+ * <p>
+ * Date: 20/10/26 - 09:12
+ */
+public final class BinaryFormat {
+
+  private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+  private boolean compressed;
+  private int blockSize;
+
+  /**
+   * @return A format with uncompressed blocks of 64KB
+   */
+  public static BinaryFormat uncompressed() {
+    BinaryFormat format = new BinaryFormat();
+    format.blockSize = DEFAULT_BLOCK_SIZE;
+    return format;
+  }
+
+  /**
+   * @return A format with blocks of 64KB compressed with deflate
+   */
+  public static BinaryFormat deflated() {
+    BinaryFormat format = uncompressed();
+    format.compressed = true;
+    return format;
+  }
+
+  /**
+   * @param bytes The uncompressed size after which a block is completed. Bigger blocks compress better, smaller
+   *              ones allow finer parallelism and skipping
+   * @return A copy of this format with the given block size
+   */
+  public BinaryFormat withBlockSize(int bytes) {
+    if (bytes < 1) {
+      throw new IllegalArgumentException("Blocks need at least 1 byte: " + bytes);
+    }
+    BinaryFormat copy = new BinaryFormat();
+    copy.compressed = compressed;
+    copy.blockSize = bytes;
+    return copy;
+  }
+
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  @Override
+  public String toString() {
+    return "BinaryFormat{compressed=" + compressed + ", blockSize=" + blockSize + "}";
+  }
+}
@@ -0,0 +1,63 @@
+package ar.com.kfgodel.nary.api.io;
+
+/**
+ * This type describes how the encoded elements of a nary are written to a channel.<br>
+ * Elements are encoded into direct buffers that are written together, with a single gathering write, each
+ * time a batch of the given size is completed. Optionally the batches are written by a separate thread, so
+ * the next batch is encoded while the previous one is being written.<br>
+ * Instances are immutable, each modifier method returns new options.
+ * <p>
+ * Date: 20/10/26 - 11:05
+ */
+public final class ChannelWriteOptions {
+
+  private static final int DEFAULT_BATCH_SIZE = 256 * 1024;
+
+  private int batchSize;
+  private boolean writingInBackground;
+
+  /**
+   * @return Options that write batches of 256KB from the encoding thread
+   */
+  public static ChannelWriteOptions defaults() {
+    return inBatchesOf(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates options that write to the channel each time the given amount of bytes is encoded
+   *
+   * @param bytes The size of each batch. Bigger batches need less writes but more memory
+   * @return The new options
+   */
+  public static ChannelWriteOptions inBatchesOf(int bytes) {
+    if (bytes < 1) {
+      throw new IllegalArgumentException("Batches need at least 1 byte: " + bytes);
+    }
+    ChannelWriteOptions options = new ChannelWriteOptions();
+    options.batchSize = bytes;
+    return options;
+  }
+
+  /**
+   * @return A copy of these options that writes the batches from a separate thread, while the elements of
+   * the next batch are encoded
+   */
+  public ChannelWriteOptions writingInBackground() {
+    ChannelWriteOptions copy = inBatchesOf(batchSize);
+    copy.writingInBackground = true;
+    return copy;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public boolean isWritingInBackground() {
+    return writingInBackground;
+  }
+
+  @Override
+  public String toString() {
+    return "ChannelWriteOptions{batchSize=" + batchSize + ", writingInBackground=" + writingInBackground + "}";
+  }
+}
@@ -0,0 +1,58 @@
+package ar.com.kfgodel.nary.api.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This type represents the pair of functions that convert elements to bytes and back
+ * <p>
+ * Date: 20/10/26 - 09:07
+ *
+ * @param <T> Type of converted elements
+ */
+public interface Codec<T> extends Encoder<T>, Decoder<T> {
+
+  /**
+   * Creates a codec from the functions of each direction
+   *
+   * @param encoder The function that writes an element
+   * @param decoder The function that reads it back
+   * @param <T>     The type of elements
+   * @return The new codec
+   */
+  static <T> Codec<T> of(Encoder<? super T> encoder, Decoder<? extends T> decoder) {
+    return new Codec<T>() {
+      @Override
+      public void encode(T element, DataOutput output) throws IOException {
+        encoder.encode(element, output);
+      }
+
+      @Override
+      public T decode(DataInput input) throws IOException {
+        return decoder.decode(input);
+      }
+    };
+  }
+
+  /**
+   * @return A codec for strings as modified UTF-8, up to 65535 bytes each
+   */
+  static Codec<String> utf8() {
+    return of((String element, DataOutput output) -> output.writeUTF(element), DataInput::readUTF);
+  }
+
+  /**
+   * @return A codec for longs as 8 bytes each
+   */
+  static Codec<Long> longs() {
+    return of((Long element, DataOutput output) -> output.writeLong(element), DataInput::readLong);
+  }
+
+  /**
+   * @return A codec for ints as 4 bytes each
+   */
+  static Codec<Integer> ints() {
+    return of((Integer element, DataOutput output) -> output.writeInt(element), DataInput::readInt);
+  }
+}
@@ -0,0 +1,24 @@
+package ar.com.kfgodel.nary.api.io;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * This type represents the function that reads an element from its binary representation
+ * <p>
+ * Date: 20/10/26 - 09:04
+ *
+ * @param <T> Type of decoded elements
+ */
+@FunctionalInterface
+public interface Decoder<T> {
+
+  /**
+   * Reads the bytes of one element, as written by its {@link Encoder}
+   *
+   * @param input The input with the bytes of the element
+   * @return The decoded element
+   * @throws IOException if the input fails or has less bytes than needed
+   */
+  T decode(DataInput input) throws IOException;
+}
@@ -0,0 +1,24 @@
+package ar.com.kfgodel.nary.api.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This type represents the function that writes the binary representation of an element
+ * <p>
+ * Date: 20/10/26 - 09:02
+ *
+ * @param <T> Type of encoded elements
+ */
+@FunctionalInterface
+public interface Encoder<T> {
+
+  /**
+   * Writes the bytes that represent the element
+   *
+   * @param element The element to encode
+   * @param output  The output where bytes are written
+   * @throws IOException if the output fails
+   */
+  void encode(T element, DataOutput output) throws IOException;
+}
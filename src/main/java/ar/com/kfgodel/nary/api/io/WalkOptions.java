@@ -0,0 +1,96 @@
+package ar.com.kfgodel.nary.api.io;
+
+/**
+ * This type describes which paths of a directory tree are included when it's walked.<br>
+ * By default every path at any depth is included (starting with the walked directory itself, at depth 0).
+ * The glob is matched against the file name of each path as it's visited, and it doesn't prevent
+ * traversing the directories that don't match.<br>
+ * The amount of directories kept open at the same time, even by parallel traversals, is bounded.<br>
+ * Instances are immutable, each modifier method returns new options.
+ * <p>
+ * Date: 20/10/26 - 14:02
+ */
+public final class WalkOptions {
+
+  private static final int DEFAULT_MAX_OPEN_DIRECTORIES = 16;
+
+  private int maxDepth;
+  private String glob;
+  private int maxOpenDirectories;
+
+  /**
+   * @return Options that include every path of the tree
+   */
+  public static WalkOptions unlimited() {
+    WalkOptions options = new WalkOptions();
+    options.maxDepth = Integer.MAX_VALUE;
+    options.maxOpenDirectories = DEFAULT_MAX_OPEN_DIRECTORIES;
+    return options;
+  }
+
+  /**
+   * @param maxDepth The max amount of levels below the walked directory that are visited. 0 visits only
+   *                 the walked directory, 1 also its direct entries
+   * @return A copy of these options limited to the given depth
+   */
+  public WalkOptions withMaxDepth(int maxDepth) {
+    if (maxDepth < 0) {
+      throw new IllegalArgumentException("The depth can't be negative: " + maxDepth);
+    }
+    WalkOptions copy = copy();
+    copy.maxDepth = maxDepth;
+    return copy;
+  }
+
+  /**
+   * @param glob The pattern (as in {@link java.nio.file.FileSystem#getPathMatcher(String)}) that the file
+   *             names of the included paths must match, like {@code "*.{java,kt}"}
+   * @return A copy of these options that only includes the matching paths
+   */
+  public WalkOptions matching(String glob) {
+    WalkOptions copy = copy();
+    copy.glob = glob;
+    return copy;
+  }
+
+  /**
+   * @param maxOpenDirectories The max amount of directories that are listed at the same time
+   * @return A copy of these options with the given bound
+   */
+  public WalkOptions withMaxOpenDirectories(int maxOpenDirectories) {
+    if (maxOpenDirectories < 1) {
+      throw new IllegalArgumentException("The walk needs to open at least 1 directory: " + maxOpenDirectories);
+    }
+    WalkOptions copy = copy();
+    copy.maxOpenDirectories = maxOpenDirectories;
+    return copy;
+  }
+
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * @return The glob of the included file names, or null if all are included
+   */
+  public String getGlob() {
+    return glob;
+  }
+
+  public int getMaxOpenDirectories() {
+    return maxOpenDirectories;
+  }
+
+  private WalkOptions copy() {
+    WalkOptions copy = new WalkOptions();
+    copy.maxDepth = maxDepth;
+    copy.glob = glob;
+    copy.maxOpenDirectories = maxOpenDirectories;
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return "WalkOptions{maxDepth=" + maxDepth + ", glob=" + glob + ", maxOpenDirectories=" + maxOpenDirectories + "}";
+  }
+}
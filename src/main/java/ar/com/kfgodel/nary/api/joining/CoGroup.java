@@ -0,0 +1,51 @@
+package ar.com.kfgodel.nary.api.joining;
+
+import java.util.List;
+
+/**
+ * This type represents the elements of two naries that share the same key.<br>
+ * One of the sides may be empty if the key is only present on the other
+ * <p>
+ * Date: 20/10/26 - 00:52
+ *
+ * @param <K> Type of the shared key
+ * @param <T> Type of the elements of the first nary
+ * @param <U> Type of the elements of the other nary
+ */
+public final class CoGroup<K, T, U> {
+
+  private K key;
+  private List<T> elements;
+  private List<U> otherElements;
+
+  public static <K, T, U> CoGroup<K, T, U> create(K key, List<T> elements, List<U> otherElements) {
+    CoGroup<K, T, U> group = new CoGroup<>();
+    group.key = key;
+    group.elements = elements;
+    group.otherElements = otherElements;
+    return group;
+  }
+
+  public K key() {
+    return key;
+  }
+
+  /**
+   * @return The elements of the first nary with this key, in their original order
+   */
+  public List<T> elements() {
+    return elements;
+  }
+
+  /**
+   * @return The elements of the other nary with this key, in their original order
+   */
+  public List<U> otherElements() {
+    return otherElements;
+  }
+
+  @Override
+  public String toString() {
+    return "CoGroup{key=" + key + ", elements=" + elements + ", otherElements=" + otherElements + "}";
+  }
+}
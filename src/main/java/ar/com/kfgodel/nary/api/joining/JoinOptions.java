@@ -0,0 +1,100 @@
+package ar.com.kfgodel.nary.api.joining;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This type describes how the elements of the other side of a join are kept while the join is done.<br>
+ * By default they are all kept in memory. When a memory budget is given and the other side exceeds it, both
+ * sides are partitioned by key into temporary files that are joined one partition at a time (a grace hash join).
+ * Spilled elements must be {@link java.io.Serializable}.<br>
+ * Instances are immutable, each modifier method returns new options.
+ * <p>
+ * Date: 20/10/26 - 00:40
+ */
+public final class JoinOptions {
+
+  private static final int DEFAULT_PARTITIONS = 16;
+
+  private long maxInMemoryElements;
+  private Path spillDirectory;
+  private int partitions;
+
+  /**
+   * @return Options that keep all the elements in memory
+   */
+  public static JoinOptions inMemory() {
+    JoinOptions options = new JoinOptions();
+    options.maxInMemoryElements = Long.MAX_VALUE;
+    options.spillDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+    options.partitions = DEFAULT_PARTITIONS;
+    return options;
+  }
+
+  /**
+   * Creates options that spill to disk when the other side of the join has more than the given amount of
+   * elements
+   *
+   * @param maxInMemoryElements The max amount of elements kept in memory
+   * @return The new options
+   */
+  public static JoinOptions spillingAfter(long maxInMemoryElements) {
+    if (maxInMemoryElements < 1) {
+      throw new IllegalArgumentException("The join needs room for at least 1 element: " + maxInMemoryElements);
+    }
+    JoinOptions options = inMemory();
+    options.maxInMemoryElements = maxInMemoryElements;
+    return options;
+  }
+
+  /**
+   * @param directory The directory where the temporary partition files are created
+   * @return A copy of these options using the given directory
+   */
+  public JoinOptions spillingTo(Path directory) {
+    JoinOptions copy = copy();
+    copy.spillDirectory = directory;
+    return copy;
+  }
+
+  /**
+   * @param partitions The amount of partitions each side is split into when spilled. Each partition of the
+   *                   other side should fit in memory
+   * @return A copy of these options with the given amount of partitions
+   */
+  public JoinOptions withPartitions(int partitions) {
+    if (partitions < 1) {
+      throw new IllegalArgumentException("The join needs at least 1 partition: " + partitions);
+    }
+    JoinOptions copy = copy();
+    copy.partitions = partitions;
+    return copy;
+  }
+
+  public long getMaxInMemoryElements() {
+    return maxInMemoryElements;
+  }
+
+  public Path getSpillDirectory() {
+    return spillDirectory;
+  }
+
+  public int getPartitions() {
+    return partitions;
+  }
+
+  private JoinOptions copy() {
+    JoinOptions copy = new JoinOptions();
+    copy.maxInMemoryElements = maxInMemoryElements;
+    copy.spillDirectory = spillDirectory;
+    copy.partitions = partitions;
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return "JoinOptions{maxInMemoryElements=" + maxInMemoryElements
+      + ", spillDirectory=" + spillDirectory
+      + ", partitions=" + partitions + "}";
+  }
+}
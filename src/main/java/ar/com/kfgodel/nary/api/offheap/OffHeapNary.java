@@ -0,0 +1,41 @@
+package ar.com.kfgodel.nary.api.offheap;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+/**
+ * This type represents a nary of fixed size records stored outside the java heap, so large and long lived
+ * collections don't add to heap size or GC pauses.<br>
+ * Elements are {@link RecordView}s that read the fields in place. Iteration reuses one view per thread
+ * instead of creating an object per record, so elements should be mapped to their values before keeping them.
+ * Only {@link #collectToList()} and {@link #collectToSet()} create a fixed view per record. Parallel streams
+ * are split at record boundaries.<br>
+ * Unlike stream based naries, an instance can be operated multiple times until it's closed. Closing it
+ * drops the references to the buffers, so their memory is returned when the garbage collector frees them
+ * (direct buffers can't be freed explicitly without risking reads of freed memory). Operating it afterwards,
+ * or continuing a traversal started before, fails with a {@link NaryException}.
+ * <p>
+ * Date: 20/10/26 - 07:48
+ */
+public interface OffHeapNary extends Nary<RecordView> {
+
+  /**
+   * @return The layout of the stored records
+   */
+  RecordLayout layout();
+
+  /**
+   * Creates a view of one record, that can be kept while this nary is open
+   *
+   * @param index The position of the record, starting from 0
+   * @return A view fixed on the record
+   * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #count()}
+   * @throws NaryException             if this nary was closed
+   */
+  RecordView recordAt(long index) throws IndexOutOfBoundsException, NaryException;
+
+  /**
+   * @return true if {@link #close()} was called, and the memory is no longer referenced
+   */
+  boolean isClosed();
+}
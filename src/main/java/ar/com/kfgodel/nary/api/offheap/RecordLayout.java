@@ -0,0 +1,118 @@
+package ar.com.kfgodel.nary.api.offheap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This type describes the fields of a fixed size record stored off-heap: their names, primitive types and
+ * the offset of each one inside the record.<br>
+ * Fields are placed one after the other in the order they are added, without padding.<br>
+ * Instances are immutable, each modifier method returns a new layout.
+ * <p>
+ * Date: 20/10/26 - 07:30
+ */
+public final class RecordLayout {
+
+  private List<String> fieldNames;
+  private List<Class<?>> fieldTypes;
+  private Map<String, Integer> offsetByName;
+  private Map<String, Class<?>> typeByName;
+  private int recordSize;
+
+  /**
+   * @return A layout without fields
+   */
+  public static RecordLayout create() {
+    RecordLayout layout = new RecordLayout();
+    layout.fieldNames = Collections.emptyList();
+    layout.fieldTypes = Collections.emptyList();
+    layout.offsetByName = Collections.emptyMap();
+    layout.typeByName = Collections.emptyMap();
+    return layout;
+  }
+
+  public RecordLayout withByte(String name) {
+    return adding(name, byte.class, Byte.BYTES);
+  }
+
+  public RecordLayout withShort(String name) {
+    return adding(name, short.class, Short.BYTES);
+  }
+
+  public RecordLayout withInt(String name) {
+    return adding(name, int.class, Integer.BYTES);
+  }
+
+  public RecordLayout withLong(String name) {
+    return adding(name, long.class, Long.BYTES);
+  }
+
+  public RecordLayout withFloat(String name) {
+    return adding(name, float.class, Float.BYTES);
+  }
+
+  public RecordLayout withDouble(String name) {
+    return adding(name, double.class, Double.BYTES);
+  }
+
+  /**
+   * @return The amount of bytes taken by each record
+   */
+  public int recordSize() {
+    return recordSize;
+  }
+
+  /**
+   * Returns the position of the field inside the record, checking that it has the expected type
+   *
+   * @param name         The name of the field
+   * @param expectedType The primitive type of the field
+   * @return The offset in bytes from the start of the record
+   * @throws IllegalArgumentException if there's no field with the name and type
+   */
+  public int offsetOf(String name, Class<?> expectedType) throws IllegalArgumentException {
+    Integer offset = offsetByName.get(name);
+    if (offset == null || typeByName.get(name) != expectedType) {
+      throw new IllegalArgumentException("The record has no " + expectedType + " field named '" + name + "': " + this);
+    }
+    return offset;
+  }
+
+  private RecordLayout adding(String name, Class<?> type, int size) {
+    if (offsetByName.containsKey(name)) {
+      throw new IllegalArgumentException("The record already has a field named '" + name + "'");
+    }
+    RecordLayout copy = new RecordLayout();
+    copy.fieldNames = extended(fieldNames, name);
+    copy.fieldTypes = extended(fieldTypes, type);
+    copy.offsetByName = new HashMap<>(offsetByName);
+    copy.offsetByName.put(name, recordSize);
+    copy.typeByName = new HashMap<>(typeByName);
+    copy.typeByName.put(name, type);
+    copy.recordSize = recordSize + size;
+    return copy;
+  }
+
+  private static <E> List<E> extended(List<E> list, E element) {
+    List<E> extendedList = new ArrayList<>(list.size() + 1);
+    extendedList.addAll(list);
+    extendedList.add(element);
+    return Collections.unmodifiableList(extendedList);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("RecordLayout{");
+    for (int i = 0; i < fieldNames.size(); i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      String name = fieldNames.get(i);
+      builder.append(name).append(':').append(fieldTypes.get(i)).append('@').append(offsetByName.get(name));
+    }
+    return builder.append('}').toString();
+  }
+}
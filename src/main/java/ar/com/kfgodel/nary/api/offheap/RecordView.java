@@ -0,0 +1,41 @@
+package ar.com.kfgodel.nary.api.offheap;
+
+/**
+ * This type gives access to the fields of one record stored off-heap, reading and writing them in place.<br>
+ * When iterating an {@link OffHeapNary} the same instance is moved from record to record, so it must not be
+ * kept after the element is processed. Use {@link OffHeapNary#recordAt(long)} to get a view that stays on
+ * one record
+ * <p>
+ * Date: 20/10/26 - 07:41
+ */
+public interface RecordView {
+
+  /**
+   * @return The position of the current record, starting from 0
+   */
+  long index();
+
+  byte getByte(String field);
+
+  short getShort(String field);
+
+  int getInt(String field);
+
+  long getLong(String field);
+
+  float getFloat(String field);
+
+  double getDouble(String field);
+
+  RecordView putByte(String field, byte value);
+
+  RecordView putShort(String field, short value);
+
+  RecordView putInt(String field, int value);
+
+  RecordView putLong(String field, long value);
+
+  RecordView putFloat(String field, float value);
+
+  RecordView putDouble(String field, double value);
+}
@@ -0,0 +1,55 @@
+package ar.com.kfgodel.nary.api.paging;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.impl.others.ListPage;
+
+import java.util.List;
+
+/**
+ * This type represents one page of elements obtained from a paginated source, and the continuation
+ * needed to ask for the page that follows it (if any).<br>
+ * The last page of a source has an empty continuation.
+ * <p>
+ * Date: 19/10/26 - 10:12
+ *
+ * @param <C> Type of the continuation token (an offset, a cursor, etc)
+ * @param <T> Type of the elements contained in the page
+ */
+public interface Page<C, T> {
+
+  /**
+   * @return The elements contained in this page, in the order they should be consumed
+   */
+  List<T> elements();
+
+  /**
+   * @return The token to fetch the next page, or empty if this is the last page
+   */
+  Unary<C> continuation();
+
+  /**
+   * Creates a page that is followed by another one
+   *
+   * @param elements     The elements of this page
+   * @param continuation The token to fetch the next page
+   * @param <C>          Type of continuation
+   * @param <T>          Type of elements
+   * @return The created page
+   */
+  static <C, T> Page<C, T> of(List<T> elements, C continuation) {
+    return ListPage.create(elements, Nary.ofNonNullable(continuation));
+  }
+
+  /**
+   * Creates a page that is the last of its source
+   *
+   * @param elements The elements of this page
+   * @param <C>      Type of continuation
+   * @param <T>      Type of elements
+   * @return The created page
+   */
+  static <C, T> Page<C, T> last(List<T> elements) {
+    return ListPage.create(elements, Nary.empty());
+  }
+}
@@ -0,0 +1,25 @@
+package ar.com.kfgodel.nary.api.paging;
+
+import ar.com.kfgodel.nary.api.Unary;
+
+/**
+ * This type represents a paginated source of elements (offset or cursor based) that can be
+ * consumed as a {@link ar.com.kfgodel.nary.api.Nary} by fetching one page at a time.<br>
+ * Implementations may be called from a thread different from the one consuming the elements.
+ * <p>
+ * Date: 19/10/26 - 10:05
+ *
+ * @param <C> Type of the continuation token that identifies the next page
+ * @param <T> Type of the fetched elements
+ */
+@FunctionalInterface
+public interface PageFetcher<C, T> {
+
+  /**
+   * Fetches the page identified by the given continuation
+   *
+   * @param continuation The token returned by the previous page, or empty to fetch the first page
+   * @return The fetched page
+   */
+  Page<C, T> fetch(Unary<C> continuation);
+}
@@ -0,0 +1,69 @@
+package ar.com.kfgodel.nary.api.persistent;
+
+import ar.com.kfgodel.nary.api.Nary;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * This type represents an immutable nary that can be extended without affecting the original instance.<br>
+ * Adding elements creates a new instance that shares most of its structure with the original one, so
+ * different values derived from the same prefix don't duplicate it. This makes it suitable as an
+ * accumulated value that grows on each step (like a fold over events).<br>
+ * <br>
+ * Elements are stored in a trie of 32-wide nodes, so appending and accessing an element by its index
+ * take O(log32 n), and the size is known in O(1).<br>
+ * Unlike stream based naries, an instance can be operated multiple times.
+ * <p>
+ * Date: 19/10/26 - 19:50
+ *
+ * @param <T> Type of contained elements
+ */
+public interface PersistentNary<T> extends Nary<T> {
+
+  /**
+   * @return The amount of elements in this instance
+   */
+  int size();
+
+  /**
+   * Returns the element at the given position
+   *
+   * @param index The position of the element, starting from 0
+   * @return The element at the position
+   * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+   */
+  T elementAt(int index) throws IndexOutOfBoundsException;
+
+  /**
+   * Creates a new persistent nary with the elements of this instance followed by the given one.
+   * This instance is not modified
+   *
+   * @param element The element to add
+   * @return The extended nary
+   */
+  PersistentNary<T> add(T element);
+
+  /**
+   * Creates a new persistent nary with the elements of this instance followed by the given ones.
+   * This instance is not modified
+   *
+   * @param others The elements to add
+   * @return The extended nary
+   */
+  PersistentNary<T> addAll(Iterable<? extends T> others);
+
+  /**
+   * Creates a new persistent nary with the elements of this instance followed by the elements of the
+   * given stream. This instance is not modified.<br>
+   * The stream is consumed immediately to store its elements
+   *
+   * @param other The stream with the elements to add
+   * @return The extended nary
+   */
+  @Override
+  PersistentNary<T> concat(Stream<? extends T> other);
+
+  @Override
+  PersistentNary<T> concat(Optional<? extends T> other);
+}
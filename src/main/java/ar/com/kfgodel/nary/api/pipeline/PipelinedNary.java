@@ -0,0 +1,53 @@
+package ar.com.kfgodel.nary.api.pipeline;
+
+import ar.com.kfgodel.nary.api.Nary;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * This type represents a nary whose element-wise operations are executed as a pipeline, where each
+ * stage runs on its own thread and passes its results to the next one through a bounded queue.<br>
+ * This allows overlapping a slow sequential source (like a socket or an enumeration) with the stages that
+ * process its elements, something {@link java.util.stream.Stream#parallel()} can't do because it can only
+ * split the source. The encounter order of the elements is preserved.<br>
+ * <br>
+ * Only {@link #map(Function)}, {@link #filter(Predicate)}, {@link #peek(Consumer)},
+ * {@link #mapFilteringNullResult(Function)} and {@link #mapMulti(BiConsumer)} add stages, any other operation consumes the output of the
+ * pipeline on the calling thread.<br>
+ * Stage threads stop once all the elements are consumed, on failure, or when this nary is closed. If a
+ * short-circuiting operation is used through a derived nary (like after {@link #limit(long)}) the nary should
+ * be closed to stop them.
+ * <p>
+ * Date: 19/10/26 - 14:11
+ *
+ * @param <T> Type of contained elements
+ */
+public interface PipelinedNary<T> extends Nary<T> {
+
+  @Override
+  PipelinedNary<T> filter(Predicate<? super T> predicate);
+
+  @Override
+  <R> PipelinedNary<R> map(Function<? super T, ? extends R> mapper);
+
+  @Override
+  PipelinedNary<T> peek(Consumer<? super T> action);
+
+  @Override
+  <U> PipelinedNary<U> mapFilteringNullResult(Function<? super T, ? extends U> mapper);
+
+  @Override
+  <R> PipelinedNary<R> mapMulti(BiConsumer<? super T, ? super Consumer<R>> mapper);
+
+  /**
+   * Returns the activity of each stage of this pipeline, starting with the one that reads the source.<br>
+   * It can be called while the pipeline is running (from another thread) or after it finished
+   *
+   * @return The metrics of each stage, or empty if the pipeline was not started
+   */
+  List<StageMetrics> stageMetrics();
+}
@@ -0,0 +1,69 @@
+package ar.com.kfgodel.nary.api.pipeline;
+
+/**
+ * This type represents a snapshot of the activity of one stage of a pipelined nary.<br>
+ * Each stage sends its results to the next one through a bounded queue. A stage whose output queue
+ * is usually full produces faster than the next stage can consume, while an empty output queue indicates
+ * the stage itself (or one before it) is the bottleneck.
+ * <p>
+ * Date: 19/10/26 - 14:20
+ */
+public final class StageMetrics {
+
+  private String stageName;
+  private long processedElements;
+  private int outputQueueDepth;
+  private long maxOutputQueueDepth;
+  private int outputQueueCapacity;
+
+  public static StageMetrics create(String stageName, long processedElements, int outputQueueDepth,
+                                    long maxOutputQueueDepth, int outputQueueCapacity) {
+    StageMetrics metrics = new StageMetrics();
+    metrics.stageName = stageName;
+    metrics.processedElements = processedElements;
+    metrics.outputQueueDepth = outputQueueDepth;
+    metrics.maxOutputQueueDepth = maxOutputQueueDepth;
+    metrics.outputQueueCapacity = outputQueueCapacity;
+    return metrics;
+  }
+
+  /**
+   * @return A description of the stage ("source" for the stage reading the original elements)
+   */
+  public String stageName() {
+    return stageName;
+  }
+
+  /**
+   * @return The amount of elements this stage received and processed
+   */
+  public long processedElements() {
+    return processedElements;
+  }
+
+  /**
+   * @return The amount of elements waiting in the output queue of the stage when the snapshot was taken
+   */
+  public int outputQueueDepth() {
+    return outputQueueDepth;
+  }
+
+  /**
+   * @return The biggest amount of elements that were waiting in the output queue at the same time
+   */
+  public long maxOutputQueueDepth() {
+    return maxOutputQueueDepth;
+  }
+
+  public int outputQueueCapacity() {
+    return outputQueueCapacity;
+  }
+
+  @Override
+  public String toString() {
+    return "StageMetrics{" + stageName
+      + ", processed=" + processedElements
+      + ", queueDepth=" + outputQueueDepth + "/" + outputQueueCapacity
+      + ", maxQueueDepth=" + maxOutputQueueDepth + "}";
+  }
+}
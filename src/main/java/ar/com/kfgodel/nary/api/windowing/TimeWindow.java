@@ -0,0 +1,46 @@
+package ar.com.kfgodel.nary.api.windowing;
+
+import java.time.Instant;
+
+/**
+ * This type represents the aggregated value of the elements of a nary that arrived during a period of time.<br>
+ * The period includes its start and excludes its end
+ * <p>
+ * Date: 20/10/26 - 16:02
+ *
+ * @param <R> Type of the aggregated value
+ */
+public final class TimeWindow<R> {
+
+  private Instant start;
+  private Instant end;
+  private R value;
+
+  public static <R> TimeWindow<R> create(Instant start, Instant end, R value) {
+    TimeWindow<R> window = new TimeWindow<>();
+    window.start = start;
+    window.end = end;
+    window.value = value;
+    return window;
+  }
+
+  public Instant start() {
+    return start;
+  }
+
+  public Instant end() {
+    return end;
+  }
+
+  /**
+   * @return The aggregation of the elements of this window
+   */
+  public R value() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "TimeWindow{start=" + start + ", end=" + end + ", value=" + value + "}";
+  }
+}
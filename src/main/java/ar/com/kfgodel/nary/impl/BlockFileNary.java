@@ -0,0 +1,233 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.Decoder;
+import ar.com.kfgodel.nary.impl.others.BlockFile;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents a nary that decodes the records of a {@link BlockFile} as they are traversed.<br>
+ * Skipping uses the block index to start decoding at the block of the first wanted record, and parallel
+ * traversals are split at block boundaries
+ * <p>
+ * Date: 20/10/26 - 10:10
+ */
+public class BlockFileNary<T> extends NarySupport<T> {
+
+  private BlockFile file;
+  private Decoder<? extends T> decoder;
+  private long firstRecord;
+
+  public static <T> BlockFileNary<T> create(BlockFile file, Decoder<? extends T> decoder) {
+    return create(file, decoder, 0);
+  }
+
+  private static <T> BlockFileNary<T> create(BlockFile file, Decoder<? extends T> decoder, long firstRecord) {
+    BlockFileNary<T> nary = new BlockFileNary<>();
+    nary.file = file;
+    nary.decoder = decoder;
+    nary.firstRecord = firstRecord;
+    return nary;
+  }
+
+  @Override
+  public Nary<T> skip(long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException(Long.toString(n));
+    }
+    return create(file, decoder, Math.min(file.recordCount(), firstRecord + n));
+  }
+
+  @Override
+  public long count() {
+    return file.recordCount() - firstRecord;
+  }
+
+  @Override
+  public Unary<T> findLast() {
+    if (count() == 0) {
+      return Nary.empty();
+    }
+    return skip(count() - 1).findFirstNary();
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    if (count() > 1) {
+      List<T> firstTwo = limit(2).collectToList();
+      throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+        "treat it as an optional but found at least 2: " + Arrays.asList(firstTwo.get(0), firstTwo.get(1)));
+    }
+    return findFirstNary();
+  }
+
+  @Override
+  public List<T> collectToList() {
+    List<T> list = new ArrayList<>((int) Math.min(count(), Integer.MAX_VALUE));
+    forEach(list::add);
+    return list;
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  public Spliterator<T> spliterator() {
+    return new RecordSpliterator(firstRecord, file.recordCount());
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    // The mapped regions are released when collected
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ records: " + count() + ", blocks: " + file.blockCount() + " }";
+  }
+
+  /**
+   * Decodes a range of records, loading one block at a time
+   */
+  private class RecordSpliterator implements Spliterator<T> {
+    private long nextRecord;
+    private final long endRecord;
+    private ByteBuffer blockRecords;
+    private DataInputStream recordInput;
+
+    RecordSpliterator(long startRecord, long endRecord) {
+      this.nextRecord = startRecord;
+      this.endRecord = endRecord;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (nextRecord >= endRecord) {
+        return false;
+      }
+      if (blockRecords == null || !blockRecords.hasRemaining()) {
+        loadBlockOf(nextRecord);
+      }
+      action.accept(decodeNext());
+      return true;
+    }
+
+    private void loadBlockOf(long record) {
+      int block = file.blockOf(record);
+      blockRecords = file.recordsOf(block);
+      recordInput = new DataInputStream(new BufferInputStream(blockRecords));
+      // Records before the wanted one are skipped by their length, without decoding them
+      for (long skipped = file.firstRecordOf(block); skipped < record; skipped++) {
+        int length = BlockFile.readVarInt(blockRecords);
+        blockRecords.position(blockRecords.position() + length);
+      }
+    }
+
+    private T decodeNext() {
+      int length = BlockFile.readVarInt(blockRecords);
+      int recordEnd = blockRecords.position() + length;
+      int recordLimit = blockRecords.limit();
+      // The decoder can't read past its record
+      blockRecords.limit(recordEnd);
+      try {
+        return decoder.decode(recordInput);
+      } catch (IOException e) {
+        throw new NaryException("Failed to decode record " + nextRecord + " of the nary file", e);
+      } finally {
+        blockRecords.limit(recordLimit);
+        blockRecords.position(recordEnd);
+        nextRecord++;
+      }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      if (endRecord - nextRecord < 2) {
+        return null;
+      }
+      int currentBlock = file.blockOf(nextRecord);
+      int lastBlock = file.blockOf(endRecord - 1);
+      if (lastBlock == currentBlock) {
+        return null;
+      }
+      int middleBlock = (currentBlock + lastBlock + 1) >>> 1;
+      long middleRecord = file.firstRecordOf(middleBlock);
+      RecordSpliterator prefix = new RecordSpliterator(nextRecord, middleRecord);
+      prefix.blockRecords = blockRecords;
+      prefix.recordInput = recordInput;
+      nextRecord = middleRecord;
+      blockRecords = null;
+      recordInput = null;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return endRecord - nextRecord;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+  }
+
+  /**
+   * Reads the bytes of a buffer from its position, as an input stream
+   */
+  private static class BufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    BufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, read);
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
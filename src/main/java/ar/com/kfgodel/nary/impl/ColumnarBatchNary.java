@@ -0,0 +1,309 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.columnar.BatchNary;
+import ar.com.kfgodel.nary.api.columnar.BatchRow;
+import ar.com.kfgodel.nary.api.columnar.BatchSchema;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.impl.others.ColumnBatch;
+import ar.com.kfgodel.nary.impl.others.NumericKernels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * This type represents a batch nary backed by the arrays of a {@link ColumnBatch}.<br>
+ * A filtered instance shares the batch with the original one, keeping the indexes of its selected rows
+ * <p>
+ * Date: 20/10/26 - 06:18
+ */
+public class ColumnarBatchNary<T> extends NarySupport<T> implements BatchNary<T> {
+
+  private BatchSchema<T> schema;
+  private ColumnBatch<T> batch;
+  /**
+   * Indexes of the rows of the batch that are part of this nary, or null if all are
+   */
+  private int[] selectedRows;
+  private int size;
+
+  public static <T> ColumnarBatchNary<T> create(BatchSchema<T> schema, ColumnBatch<T> batch) {
+    return create(schema, batch, null, batch.rowCount());
+  }
+
+  private static <T> ColumnarBatchNary<T> create(BatchSchema<T> schema, ColumnBatch<T> batch, int[] selectedRows, int size) {
+    ColumnarBatchNary<T> nary = new ColumnarBatchNary<>();
+    nary.schema = schema;
+    nary.batch = batch;
+    nary.selectedRows = selectedRows;
+    nary.size = size;
+    return nary;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public BatchNary<T> whereInt(String column, IntPredicate condition) throws IllegalArgumentException {
+    int[] values = batch.intColumn(column);
+    return selecting(row -> condition.test(values[row]));
+  }
+
+  @Override
+  public BatchNary<T> whereLong(String column, LongPredicate condition) throws IllegalArgumentException {
+    long[] values = batch.longColumn(column);
+    return selecting(row -> condition.test(values[row]));
+  }
+
+  @Override
+  public BatchNary<T> whereDouble(String column, DoublePredicate condition) throws IllegalArgumentException {
+    double[] values = batch.doubleColumn(column);
+    return selecting(row -> condition.test(values[row]));
+  }
+
+  private BatchNary<T> selecting(IntPredicate rowCondition) {
+    int[] selected = new int[size];
+    int selectedCount = 0;
+    for (int position = 0; position < size; position++) {
+      int row = rowAt(position);
+      if (rowCondition.test(row)) {
+        selected[selectedCount++] = row;
+      }
+    }
+    return create(schema, batch, selected, selectedCount);
+  }
+
+  @Override
+  public IntStream ints(String column) throws IllegalArgumentException {
+    int[] values = batch.intColumn(column);
+    if (selectedRows == null) {
+      return Arrays.stream(values, 0, size);
+    }
+    return Arrays.stream(selectedRows, 0, size).map(row -> values[row]);
+  }
+
+  @Override
+  public LongStream longs(String column) throws IllegalArgumentException {
+    long[] values = batch.longColumn(column);
+    if (selectedRows == null) {
+      return Arrays.stream(values, 0, size);
+    }
+    return Arrays.stream(selectedRows, 0, size).mapToLong(row -> values[row]);
+  }
+
+  @Override
+  public DoubleStream doubles(String column) throws IllegalArgumentException {
+    double[] values = batch.doubleColumn(column);
+    if (selectedRows == null) {
+      return Arrays.stream(values, 0, size);
+    }
+    return Arrays.stream(selectedRows, 0, size).mapToDouble(row -> values[row]);
+  }
+
+  @Override
+  public long sumLong(String column) throws IllegalArgumentException {
+    Object values = batch.anyColumn(column);
+    if (values instanceof int[]) {
+      int[] ints = (int[]) values;
+      if (selectedRows == null) {
+        return NumericKernels.sum(ints, size);
+      }
+      long sum = 0;
+      for (int position = 0; position < size; position++) {
+        sum += ints[selectedRows[position]];
+      }
+      return sum;
+    }
+    if (values instanceof long[]) {
+      long[] longs = (long[]) values;
+      if (selectedRows == null) {
+        return NumericKernels.sum(longs, size);
+      }
+      long sum = 0;
+      for (int position = 0; position < size; position++) {
+        sum += longs[selectedRows[position]];
+      }
+      return sum;
+    }
+    throw new IllegalArgumentException("The batch column '" + column + "' is not of type int or long: "
+      + batch.columnNames());
+  }
+
+  @Override
+  public double sumDouble(String column) throws IllegalArgumentException {
+    Object values = batch.anyColumn(column);
+    if (values instanceof double[]) {
+      double[] doubles = (double[]) values;
+      if (selectedRows == null) {
+        return NumericKernels.sum(doubles, size);
+      }
+      // Selected values are summed with the same kernel, so the result doesn't depend on the selection
+      double[] selectedValues = new double[size];
+      for (int position = 0; position < size; position++) {
+        selectedValues[position] = doubles[selectedRows[position]];
+      }
+      return NumericKernels.sum(selectedValues, size);
+    }
+    if (values instanceof int[] || values instanceof long[]) {
+      return sumLong(column);
+    }
+    throw new IllegalArgumentException("The batch column '" + column + "' is not numeric: " + batch.columnNames());
+  }
+
+  @Override
+  public OptionalDouble minDouble(String column) throws IllegalArgumentException {
+    // Resolved first, so an unknown column fails even if the batch is empty
+    double[] values = batch.doubleColumn(column);
+    if (size == 0) {
+      return OptionalDouble.empty();
+    }
+    if (selectedRows == null) {
+      return OptionalDouble.of(NumericKernels.min(values, size));
+    }
+    return doubles(column).min();
+  }
+
+  @Override
+  public OptionalDouble maxDouble(String column) throws IllegalArgumentException {
+    double[] values = batch.doubleColumn(column);
+    if (size == 0) {
+      return OptionalDouble.empty();
+    }
+    if (selectedRows == null) {
+      return OptionalDouble.of(NumericKernels.max(values, size));
+    }
+    return doubles(column).max();
+  }
+
+  @Override
+  public double dotProduct(String column, String otherColumn) throws IllegalArgumentException {
+    double[] values = batch.doubleColumn(column);
+    double[] otherValues = batch.doubleColumn(otherColumn);
+    if (selectedRows == null) {
+      return NumericKernels.dot(values, otherValues, size);
+    }
+    double sum = 0;
+    for (int position = 0; position < size; position++) {
+      int row = selectedRows[position];
+      sum += values[row] * otherValues[row];
+    }
+    return sum;
+  }
+
+  private int rowAt(int position) {
+    return selectedRows == null ? position : selectedRows[position];
+  }
+
+  /**
+   * Creates the element of the row at the given position
+   */
+  private T elementAt(int position) {
+    return schema.getRowFactory().apply(new RowView(rowAt(position)));
+  }
+
+  @Override
+  public long count() {
+    return size;
+  }
+
+  @Override
+  public Unary<T> findLast() {
+    if (size == 0) {
+      return Nary.empty();
+    }
+    return OneElementNary.create(elementAt(size - 1));
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    switch (size) {
+      case 0:
+        return Nary.empty();
+      case 1:
+        return OneElementNary.create(elementAt(0));
+      default:
+        throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+          "treat it as an optional but found at least 2: " + Arrays.asList(elementAt(0), elementAt(1)));
+    }
+  }
+
+  @Override
+  public List<T> collectToList() {
+    List<T> list = new ArrayList<>(size);
+    for (int position = 0; position < size; position++) {
+      list.add(elementAt(position));
+    }
+    return list;
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    return IntStream.range(0, size).mapToObj(this::elementAt);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    // We have nothing to close
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ rows: " + size + ", columns: " + batch.columnNames() + " }";
+  }
+
+  /**
+   * The values of one row, read from the batch columns
+   */
+  private class RowView implements BatchRow {
+    private final int row;
+
+    RowView(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public int getInt(String column) throws IllegalArgumentException {
+      return batch.intColumn(column)[row];
+    }
+
+    @Override
+    public long getLong(String column) throws IllegalArgumentException {
+      return batch.longColumn(column)[row];
+    }
+
+    @Override
+    public double getDouble(String column) throws IllegalArgumentException {
+      return batch.doubleColumn(column)[row];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // The caller knows the type of values of the column
+    public <V> V getObject(String column) throws IllegalArgumentException {
+      return (V) batch.objectColumn(column)[row];
+    }
+  }
+}
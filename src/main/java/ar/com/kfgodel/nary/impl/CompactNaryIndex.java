@@ -0,0 +1,72 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.indexing.NaryIndex;
+import ar.com.kfgodel.nary.impl.others.CompactMultimap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This type implements an index that keeps its elements in a {@link CompactMultimap}, so lookups take
+ * constant time and don't allocate other than the returned nary.<br>
+ * The multimap is built once and never modified afterwards, which makes concurrent lookups safe
+ * <p>
+ * Date: 20/10/26 - 02:31
+ */
+public class CompactNaryIndex<K, T> implements NaryIndex<K, T> {
+
+  private CompactMultimap<K, T> elementsByKey;
+
+  /**
+   * Indexes the elements of the given nary. If the nary is parallel each thread indexes a part of it, and
+   * the partial indexes are merged keeping the original order
+   */
+  public static <K, T> CompactNaryIndex<K, T> create(Nary<T> elements, Function<? super T, ? extends K> keyExtractor) {
+    CompactNaryIndex<K, T> index = new CompactNaryIndex<>();
+    index.elementsByKey = elements.collect(CompactMultimap::create,
+      (partial, element) -> partial.put(keyExtractor.apply(element), element),
+      CompactMultimap::putAll);
+    return index;
+  }
+
+  @Override
+  public Nary<T> lookup(K key) {
+    return Nary.from(elementsByKey.valuesOf(key));
+  }
+
+  @Override
+  public Unary<T> lookupUnique(K key) throws MoreThanOneElementException {
+    return lookup(key).unique();
+  }
+
+  @Override
+  public boolean containsKey(K key) {
+    return elementsByKey.containsKey(key);
+  }
+
+  @Override
+  public Nary<K> keys() {
+    List<K> keys = new ArrayList<>(elementsByKey.keyCount());
+    elementsByKey.forEachKey(keys::add);
+    return Nary.from(keys);
+  }
+
+  @Override
+  public int keyCount() {
+    return elementsByKey.keyCount();
+  }
+
+  @Override
+  public int size() {
+    return elementsByKey.size();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{keys: " + keyCount() + ", elements: " + size() + "}";
+  }
+}
@@ -0,0 +1,181 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import com.google.common.base.MoreObjects;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents a nary whose source stream is opened only when a terminal operation needs its elements.<br>
+ * Each traversal opens a new stream from the supplier, so unlike a stream based nary, it can be operated
+ * multiple times. Derived naries (like the result of {@link #map(java.util.function.Function)}) are also
+ * lazy, but they can only be traversed once.<br>
+ * The stream of a traversal is closed once all its elements are consumed. Closing the nary closes every
+ * stream opened by it that was not closed yet (like the ones of short-circuited traversals)
+ * <p>
+ * Date: 19/10/26 - 21:05
+ */
+public class DeferredNary<T> extends NarySupport<T> {
+
+  private Supplier<? extends Stream<? extends T>> sourceOpener;
+  private Queue<Stream<? extends T>> openedSources;
+
+  public static <T> DeferredNary<T> create(Supplier<? extends Stream<? extends T>> sourceOpener) {
+    DeferredNary<T> nary = new DeferredNary<>();
+    nary.sourceOpener = sourceOpener;
+    nary.openedSources = new ConcurrentLinkedQueue<>();
+    return nary;
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    OpenedSource traversal = new OpenedSource();
+    // The supplier of the spliterator is only called when the terminal operation starts
+    return StreamSupport.stream(traversal::open, Spliterator.ORDERED, false)
+      .onClose(traversal::close);
+  }
+
+  @Override
+  public void close() {
+    Stream<? extends T> opened;
+    while ((opened = openedSources.poll()) != null) {
+      opened.close();
+    }
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    try (Stream<T> stream = asStream()) {
+      Iterator<T> iterator = stream.iterator();
+      if (!iterator.hasNext()) {
+        return Nary.empty();
+      }
+      T onlyElement = iterator.next();
+      if (iterator.hasNext()) {
+        throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+          "treat it as an optional but found at least 2: "
+          + Arrays.asList(onlyElement, iterator.next())
+        );
+      }
+      return OneElementNary.create(onlyElement); // Null is a valid value
+    }
+  }
+
+  @Override
+  public List<T> collectToList() {
+    return collect(Collectors.toList());
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+      .add("sourceOpener", sourceOpener)
+      .toString();
+  }
+
+  /**
+   * The source stream of one traversal, opened on demand and closed once all of its elements are consumed
+   */
+  private class OpenedSource {
+    private Stream<? extends T> stream;
+    /**
+     * Parts of the source (created by splitting it) that were not fully consumed yet
+     */
+    private final AtomicInteger pendingParts = new AtomicInteger(1);
+
+    @SuppressWarnings("unchecked") // The stream produces subtypes of T and it's read only
+    Spliterator<T> open() {
+      stream = sourceOpener.get();
+      openedSources.add(stream);
+      return new ClosingSpliterator((Spliterator<T>) stream.spliterator());
+    }
+
+    void close() {
+      if (stream != null && openedSources.remove(stream)) {
+        stream.close();
+      }
+    }
+
+    /**
+     * Closes the source when the last of its parts is consumed, so ordinary terminal operations don't
+     * leave it open
+     */
+    private class ClosingSpliterator implements Spliterator<T> {
+      private final Spliterator<T> part;
+      private boolean consumed;
+
+      ClosingSpliterator(Spliterator<T> part) {
+        this.part = part;
+      }
+
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        if (part.tryAdvance(action)) {
+          return true;
+        }
+        partConsumed();
+        return false;
+      }
+
+      @Override
+      public void forEachRemaining(Consumer<? super T> action) {
+        part.forEachRemaining(action);
+        partConsumed();
+      }
+
+      private void partConsumed() {
+        if (!consumed) {
+          consumed = true;
+          if (pendingParts.decrementAndGet() == 0) {
+            close();
+          }
+        }
+      }
+
+      @Override
+      public Spliterator<T> trySplit() {
+        Spliterator<T> prefix = part.trySplit();
+        if (prefix == null) {
+          return null;
+        }
+        pendingParts.incrementAndGet();
+        return new ClosingSpliterator(prefix);
+      }
+
+      @Override
+      public long estimateSize() {
+        return part.estimateSize();
+      }
+
+      @Override
+      public int characteristics() {
+        return part.characteristics();
+      }
+
+      @Override
+      public Comparator<? super T> getComparator() {
+        return part.getComparator();
+      }
+    }
+  }
+}
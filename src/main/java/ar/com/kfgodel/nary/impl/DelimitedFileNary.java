@@ -0,0 +1,109 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.delimited.DelimitedSchema;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.impl.others.DelimitedFile;
+import ar.com.kfgodel.nary.impl.others.DelimitedRangeSpliterator;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents a nary of the records of a delimited text file, parsed in parallel by byte ranges.<br>
+ * The file is opened when a terminal operation needs its elements, and each traversal opens it again, so
+ * the nary can be operated multiple times. A fully consumed traversal closes the file, and closing the nary
+ * closes the ones that were left open by short-circuiting operations
+ * <p>
+ * Date: 20/10/26 - 13:10
+ */
+public class DelimitedFileNary<T> extends NarySupport<T> {
+
+  private Path path;
+  private DelimitedSchema<T> schema;
+  private Queue<DelimitedFile> openedFiles;
+
+  public static <T> DelimitedFileNary<T> create(Path path, DelimitedSchema<T> schema) {
+    DelimitedFileNary<T> nary = new DelimitedFileNary<>();
+    nary.path = path;
+    nary.schema = schema;
+    nary.openedFiles = new ConcurrentLinkedQueue<>();
+    return nary;
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    OpenedFile traversal = new OpenedFile();
+    // The file is only opened when the terminal operation starts
+    return StreamSupport.stream(traversal::open, Spliterator.ORDERED, true)
+      .onClose(traversal::close);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return true;
+  }
+
+  @Override
+  public void close() {
+    DelimitedFile opened;
+    while ((opened = openedFiles.poll()) != null) {
+      opened.close();
+    }
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    List<T> firstTwo = limit(2).collectToList();
+    if (firstTwo.size() > 1) {
+      throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+        "treat it as an optional but found at least 2: " + Arrays.asList(firstTwo.get(0), firstTwo.get(1)));
+    }
+    return firstTwo.isEmpty() ? Nary.empty() : OneElementNary.create(firstTwo.get(0));
+  }
+
+  @Override
+  public List<T> collectToList() {
+    return collect(Collectors.toList());
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ path: " + path + ", schema: " + schema + " }";
+  }
+
+  /**
+   * The file of one traversal, opened on demand
+   */
+  private class OpenedFile {
+    private DelimitedFile file;
+
+    Spliterator<T> open() {
+      // Files of fully consumed traversals were already closed
+      openedFiles.removeIf(DelimitedFile::isClosed);
+      file = DelimitedFile.open(path);
+      openedFiles.add(file);
+      return DelimitedRangeSpliterator.create(file, schema);
+    }
+
+    void close() {
+      if (file != null && openedFiles.remove(file)) {
+        file.close();
+      }
+    }
+  }
+}
@@ -4,10 +4,13 @@ import ar.com.kfgodel.nary.api.Nary;
 import ar.com.kfgodel.nary.api.Unary;
 import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
 import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.windowing.TimeWindow;
 import ar.com.kfgodel.nary.impl.others.EmptyArray;
 import ar.com.kfgodel.nary.impl.others.EmptyIterator;
 import ar.com.kfgodel.nary.impl.others.EmptySpliterator;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -20,8 +23,10 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
@@ -160,6 +165,24 @@ public class EmptyNary extends NarySupport<Object> implements Unary<Object> {
     return this;
   }
 
+  @Override
+  public Unary<Object> head() {
+    return instance();
+  }
+
+  @Override
+  public Unary<Object> tail() {
+    return instance();
+  }
+
+  @Override
+  public List<Object> peekAhead(int amount) throws IllegalArgumentException {
+    if (amount < 0) {
+      throw new IllegalArgumentException("Can't look at a negative amount of elements: " + amount);
+    }
+    return Collections.emptyList();
+  }
+
   @Override
   public Unary<Object> findLast() {
     return this;
@@ -177,6 +200,52 @@ public class EmptyNary extends NarySupport<Object> implements Unary<Object> {
     return instance();
   }
 
+  @Override
+  public Nary<Object> scan(Object identity, BinaryOperator<Object> operator) {
+    return instance();
+  }
+
+  @Override
+  public Nary<Long> scanLong(long identity, ToLongFunction<? super Object> mapper, LongBinaryOperator operator) {
+    return instance();
+  }
+
+  @Override
+  public Nary<Double> scanDouble(double identity, ToDoubleFunction<? super Object> mapper, DoubleBinaryOperator operator) {
+    return instance();
+  }
+
+  @Override
+  public Nary<TimeWindow<List<Object>>> windowByTime(Duration windowSize, Clock clock) {
+    return instance();
+  }
+
+  @Override
+  public <R> Nary<TimeWindow<R>> tumblingAggregate(Duration windowSize, Collector<? super Object, ?, R> collector) {
+    return instance();
+  }
+
+  @Override
+  public <R> Nary<TimeWindow<R>> tumblingAggregate(Duration windowSize, Clock clock, Collector<? super Object, ?, R> collector) {
+    return instance();
+  }
+
+  @Override
+  public Nary<List<Object>> windowByCount(int windowSize) {
+    return instance();
+  }
+
+  @Override
+  public <R> Nary<R> tumblingAggregate(int windowSize, Collector<? super Object, ?, R> collector) {
+    return instance();
+  }
+
+  @Override
+  public <R> Nary<R> mapMulti(BiConsumer<? super Object, ? super Consumer<R>> mapper) {
+    // Ignore the mapper
+    return instance();
+  }
+
   @Override
   public DoubleStream flatMapToDouble(Function<? super Object, ? extends DoubleStream> mapper) {
     // Ignores the argument, returnd an empty stream
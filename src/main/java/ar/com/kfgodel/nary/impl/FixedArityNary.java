@@ -0,0 +1,184 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type is the base class for naries with a small and known amount of elements, each one stored in a field.<br>
+ * Instances are created by {@link Nary#ofNonNullable(Object, Object[])} and {@link Nary#from(Object[])}.<br>
+ * Because its elements are always available, instances can be operated multiple times (like a {@link OneElementNary})
+ * and most terminal operations are resolved directly, without the need of a stream.<br>
+ * Unlike {@link OneElementNary}, element-wise operations like {@link #map(Function)} and
+ * {@link #filter(Predicate)} return a stream based nary, so they are still applied lazily
+ * <p>
+ * Date: 19/10/26 - 19:02
+ */
+public abstract class FixedArityNary<T> extends NarySupport<T> {
+
+  /**
+   * @return The amount of elements of this instance
+   */
+  protected abstract int arity();
+
+  /**
+   * Returns the element at the given position
+   *
+   * @param index A position between 0 and {@link #arity()} - 1
+   * @return The element
+   */
+  protected abstract T elementAt(int index);
+
+  @Override
+  public long count() {
+    return arity();
+  }
+
+  @Override
+  public Unary<T> findLast() {
+    // Same as the stream reduction, a null result can't be represented
+    T last = Objects.requireNonNull(elementAt(arity() - 1), "The last element can't be null");
+    return OneElementNary.create(last);
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+      "treat it as an optional but found at least 2: " + Arrays.asList(elementAt(0), elementAt(1)));
+  }
+
+  @Override
+  public List<T> collectToList() {
+    List<T> list = new ArrayList<>(arity());
+    for (int i = 0; i < arity(); i++) {
+      list.add(elementAt(i));
+    }
+    return list;
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    Set<T> set = new HashSet<>();
+    for (int i = 0; i < arity(); i++) {
+      set.add(elementAt(i));
+    }
+    return set;
+  }
+
+  @Override
+  public void forEach(Consumer<? super T> action) {
+    for (int i = 0; i < arity(); i++) {
+      action.accept(elementAt(i));
+    }
+  }
+
+  @Override
+  public void forEachOrdered(Consumer<? super T> action) {
+    forEach(action);
+  }
+
+  @Override
+  public boolean anyMatch(Predicate<? super T> predicate) {
+    for (int i = 0; i < arity(); i++) {
+      if (predicate.test(elementAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean allMatch(Predicate<? super T> predicate) {
+    return !anyMatch(predicate.negate());
+  }
+
+  @Override
+  public boolean noneMatch(Predicate<? super T> predicate) {
+    return !anyMatch(predicate);
+  }
+
+  @Override
+  public Object[] toArray() {
+    Object[] array = new Object[arity()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = elementAt(i);
+    }
+    return array;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new FixedArityIterator();
+  }
+
+  @Override
+  public Spliterator<T> spliterator() {
+    return Spliterators.spliterator(iterator(), arity(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    // We have nothing to close
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append(getClass().getSimpleName());
+    builder.append("{ ");
+    for (int i = 0; i < arity(); i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(elementAt(i));
+    }
+    builder.append(" }");
+    return builder.toString();
+  }
+
+  /**
+   * Iterator that reads the elements of this instance by their position
+   */
+  private class FixedArityIterator implements Iterator<T> {
+    private int nextIndex;
+
+    @Override
+    public boolean hasNext() {
+      return nextIndex < arity();
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("This fixed arity iterator was already iterated");
+      }
+      return elementAt(nextIndex++);
+    }
+  }
+}
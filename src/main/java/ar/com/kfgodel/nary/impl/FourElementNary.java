@@ -0,0 +1,44 @@
+package ar.com.kfgodel.nary.impl;
+
+/**
+ * This type represents a nary with exactly four elements
+ * <p>
+ * Date: 19/10/26 - 19:18
+ */
+public class FourElementNary<T> extends FixedArityNary<T> {
+
+  private T first;
+  private T second;
+  private T third;
+  private T fourth;
+
+  public static <T> FourElementNary<T> create(T first, T second, T third, T fourth) {
+    FourElementNary<T> nary = new FourElementNary<>();
+    nary.first = first;
+    nary.second = second;
+    nary.third = third;
+    nary.fourth = fourth;
+    return nary;
+  }
+
+  @Override
+  protected int arity() {
+    return 4;
+  }
+
+  @Override
+  protected T elementAt(int index) {
+    switch (index) {
+      case 0:
+        return first;
+      case 1:
+        return second;
+      case 2:
+        return third;
+      case 3:
+        return fourth;
+      default:
+        throw new IndexOutOfBoundsException("Index " + index + " is not between 0 and 3");
+    }
+  }
+}
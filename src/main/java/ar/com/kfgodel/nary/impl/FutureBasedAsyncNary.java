@@ -0,0 +1,116 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.async.AsyncNary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import com.google.common.base.MoreObjects;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type implements an async nary as a future of a nary. Non terminal operations are added to the
+ * nary when it's available, and terminal operations are mapped to the future result
+ * <p>
+ * Date: 19/10/26 - 16:25
+ */
+public class FutureBasedAsyncNary<T> implements AsyncNary<T> {
+
+  private CompletableFuture<Nary<T>> futureNary;
+
+  public static <T> FutureBasedAsyncNary<T> create(CompletionStage<? extends Iterable<T>> source) {
+    CompletableFuture<Nary<T>> futureNary = new CompletableFuture<>();
+    source.whenComplete((elements, failure) -> {
+      if (failure != null) {
+        futureNary.completeExceptionally(failure);
+      } else if (elements == null) {
+        futureNary.completeExceptionally(new NaryException("The asynchronous source completed without elements (null iterable)"));
+      } else {
+        try {
+          futureNary.complete(Nary.from(elements));
+        } catch (RuntimeException e) {
+          // Exceptions thrown here would be swallowed and leave the nary incomplete forever
+          futureNary.completeExceptionally(e);
+        }
+      }
+    });
+    return create(futureNary);
+  }
+
+  private static <T> FutureBasedAsyncNary<T> create(CompletableFuture<Nary<T>> futureNary) {
+    FutureBasedAsyncNary<T> nary = new FutureBasedAsyncNary<>();
+    nary.futureNary = futureNary;
+    return nary;
+  }
+
+  @Override
+  public <R> AsyncNary<R> thenMap(Function<? super T, ? extends R> mapper) {
+    return create(futureNary.thenApply(nary -> nary.map(mapper)));
+  }
+
+  @Override
+  public AsyncNary<T> thenFilter(Predicate<? super T> predicate) {
+    return create(futureNary.thenApply(nary -> nary.filter(predicate)));
+  }
+
+  @Override
+  public <R> AsyncNary<R> thenMapFilteringNullResult(Function<? super T, ? extends R> mapper) {
+    return create(futureNary.thenApply(nary -> nary.mapFilteringNullResult(mapper)));
+  }
+
+  @Override
+  public CompletableFuture<Unary<T>> thenUnique() {
+    return futureNary.thenApply(Nary::unique);
+  }
+
+  @Override
+  public CompletableFuture<Unary<T>> thenFindFirst() {
+    return futureNary.thenApply(Nary::findFirstNary);
+  }
+
+  @Override
+  public CompletableFuture<List<T>> thenCollectToList() {
+    return futureNary.thenApply(Nary::collectToList);
+  }
+
+  @Override
+  public <R, A> CompletableFuture<R> thenCollect(Collector<? super T, A, R> collector) {
+    return futureNary.thenApply(nary -> nary.collect(collector));
+  }
+
+  @Override
+  public Nary<T> blocking() {
+    // The supplier is only called when a terminal operation starts
+    return Nary.from(StreamSupport.stream(() -> waitForNary().spliterator(), Spliterator.ORDERED, false));
+  }
+
+  private Nary<T> waitForNary() {
+    try {
+      return futureNary.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new NaryException("The asynchronous source failed", cause);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+      .add("futureNary", futureNary)
+      .toString();
+  }
+}
@@ -2,30 +2,73 @@ package ar.com.kfgodel.nary.impl;
 
 import ar.com.kfgodel.nary.api.Nary;
 import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.caching.CacheSpec;
+import ar.com.kfgodel.nary.api.caching.MemoizedFunction;
+import ar.com.kfgodel.nary.api.columnar.BatchNary;
+import ar.com.kfgodel.nary.api.columnar.BatchSchema;
 import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.indexing.NaryIndex;
+import ar.com.kfgodel.nary.api.io.BinaryFormat;
+import ar.com.kfgodel.nary.api.io.ChannelWriteOptions;
+import ar.com.kfgodel.nary.api.io.Encoder;
+import ar.com.kfgodel.nary.api.joining.CoGroup;
+import ar.com.kfgodel.nary.api.joining.JoinOptions;
+import ar.com.kfgodel.nary.api.offheap.OffHeapNary;
+import ar.com.kfgodel.nary.api.offheap.RecordLayout;
+import ar.com.kfgodel.nary.api.offheap.RecordView;
+import ar.com.kfgodel.nary.api.pipeline.PipelinedNary;
+import ar.com.kfgodel.nary.api.windowing.TimeWindow;
+import ar.com.kfgodel.nary.impl.others.BlockFileWriter;
+import ar.com.kfgodel.nary.impl.others.ChannelBatchWriter;
+import ar.com.kfgodel.nary.impl.others.ColumnBatch;
+import ar.com.kfgodel.nary.impl.others.CompactMultimap;
+import ar.com.kfgodel.nary.impl.others.CountWindowSpliterator;
+import ar.com.kfgodel.nary.impl.others.DoubleScanSpliterator;
+import ar.com.kfgodel.nary.impl.others.HashJoin;
+import ar.com.kfgodel.nary.impl.others.LongScanSpliterator;
+import ar.com.kfgodel.nary.impl.others.MapMultiSpliterator;
+import ar.com.kfgodel.nary.impl.others.OffHeapRecords;
+import ar.com.kfgodel.nary.impl.others.RecordFlyweight;
+import ar.com.kfgodel.nary.impl.others.ScanSpliterator;
+import ar.com.kfgodel.nary.impl.others.TimeWindowSpliterator;
+import ar.com.kfgodel.nary.impl.others.UnaryAccumulator;
 import com.google.common.collect.Iterators;
 
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -52,14 +95,256 @@ public abstract class NarySupport<T> implements Nary<T> {
 
   @Override
   public <U> Nary<U> mapFilteringNullResult(Function<? super T, ? extends U> mapper) {
-    return this.<U>map(mapper)
-      .filter(Objects::nonNull);
+    return this.mapMulti((T element, Consumer<U> downstream) -> {
+      U result = mapper.apply(element);
+      if (result != null) {
+        downstream.accept(result);
+      }
+    });
   }
 
   @Override
   public <U> Nary<U> flatMapOptional(Function<? super T, Optional<U>> mapper) throws MoreThanOneElementException {
-    return map(mapper)
-      .flatMap(Nary::from);
+    return this.mapMulti((T element, Consumer<U> downstream) -> mapper.apply(element).ifPresent(downstream));
+  }
+
+  @Override
+  public <R> Nary<R> mapMulti(BiConsumer<? super T, ? super Consumer<R>> mapper) {
+    Stream<T> source = asStream();
+    Spliterator<R> spliterator = MapMultiSpliterator.create(source.spliterator(), mapper);
+    return returningNaryDo(StreamSupport.stream(spliterator, source.isParallel())
+      .onClose(source::close));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked") // The array only contains elements of type T
+  public Nary<T> scan(T identity, BinaryOperator<T> operator) {
+    Stream<T> source = asStream();
+    boolean parallel = source.isParallel();
+    Spliterator<T> elements = source.spliterator();
+    if (parallel && hasKnownSizes(elements)) {
+      T[] prefixes = (T[]) StreamSupport.stream(elements, true).toArray();
+      if (prefixes.length > 0) {
+        // Associativity allows folding the identity into the first element before scanning the rest
+        prefixes[0] = operator.apply(identity, prefixes[0]);
+        Arrays.parallelPrefix(prefixes, operator);
+      }
+      return returningNaryDo(Arrays.stream(prefixes).parallel().onClose(source::close));
+    }
+    return returningNaryDo(StreamSupport.stream(ScanSpliterator.create(elements, identity, operator), false)
+      .onClose(source::close));
+  }
+
+  @Override
+  public Nary<Long> scanLong(long identity, ToLongFunction<? super T> mapper, LongBinaryOperator operator) {
+    Stream<T> source = asStream();
+    boolean parallel = source.isParallel();
+    Spliterator.OfLong values = source.mapToLong(mapper).spliterator();
+    if (parallel && hasKnownSizes(values)) {
+      long[] prefixes = StreamSupport.longStream(values, true).toArray();
+      if (prefixes.length > 0) {
+        prefixes[0] = operator.applyAsLong(identity, prefixes[0]);
+        Arrays.parallelPrefix(prefixes, operator);
+      }
+      return returningNaryDo(Arrays.stream(prefixes).parallel().boxed().onClose(source::close));
+    }
+    return returningNaryDo(StreamSupport.longStream(LongScanSpliterator.create(values, identity, operator), false)
+      .boxed()
+      .onClose(source::close));
+  }
+
+  @Override
+  public Nary<Double> scanDouble(double identity, ToDoubleFunction<? super T> mapper, DoubleBinaryOperator operator) {
+    Stream<T> source = asStream();
+    boolean parallel = source.isParallel();
+    Spliterator.OfDouble values = source.mapToDouble(mapper).spliterator();
+    if (parallel && hasKnownSizes(values)) {
+      double[] prefixes = StreamSupport.doubleStream(values, true).toArray();
+      if (prefixes.length > 0) {
+        prefixes[0] = operator.applyAsDouble(identity, prefixes[0]);
+        Arrays.parallelPrefix(prefixes, operator);
+      }
+      return returningNaryDo(Arrays.stream(prefixes).parallel().boxed().onClose(source::close));
+    }
+    return returningNaryDo(StreamSupport.doubleStream(DoubleScanSpliterator.create(values, identity, operator), false)
+      .boxed()
+      .onClose(source::close));
+  }
+
+  @Override
+  public Nary<TimeWindow<List<T>>> windowByTime(Duration windowSize, Clock clock) {
+    return tumblingAggregate(windowSize, clock, Collectors.toList());
+  }
+
+  @Override
+  public <R> Nary<TimeWindow<R>> tumblingAggregate(Duration windowSize, Collector<? super T, ?, R> collector) {
+    return tumblingAggregate(windowSize, Clock.systemUTC(), collector);
+  }
+
+  @Override
+  public <R> Nary<TimeWindow<R>> tumblingAggregate(Duration windowSize, Clock clock, Collector<? super T, ?, R> collector) {
+    Stream<T> source = asStream();
+    // Windows depend on the arrival order, so the source is consumed sequentially
+    return returningNaryDo(StreamSupport.stream(TimeWindowSpliterator.create(source.spliterator(), windowSize, clock, collector), false)
+      .onClose(source::close));
+  }
+
+  @Override
+  public Nary<List<T>> windowByCount(int windowSize) {
+    return tumblingAggregate(windowSize, Collectors.toList());
+  }
+
+  @Override
+  public <R> Nary<R> tumblingAggregate(int windowSize, Collector<? super T, ?, R> collector) {
+    Stream<T> source = asStream();
+    return returningNaryDo(StreamSupport.stream(CountWindowSpliterator.create(source.spliterator(), windowSize, collector), false)
+      .onClose(source::close));
+  }
+
+  /**
+   * Indicates if the size of the spliterator and its splits is known, so its elements can be collected into
+   * an array without resizing it
+   */
+  private static boolean hasKnownSizes(Spliterator<?> spliterator) {
+    return spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED);
+  }
+
+  @Override
+  public <U, K, R> Nary<R> join(Nary<U> other,
+                                Function<? super T, ? extends K> keyOfThis,
+                                Function<? super U, ? extends K> keyOfOther,
+                                BiFunction<? super T, ? super U, ? extends R> combiner) {
+    return join(other, keyOfThis, keyOfOther, combiner, JoinOptions.inMemory());
+  }
+
+  @Override
+  public <U, K, R> Nary<R> join(Nary<U> other,
+                                Function<? super T, ? extends K> keyOfThis,
+                                Function<? super U, ? extends K> keyOfOther,
+                                BiFunction<? super T, ? super U, ? extends R> combiner,
+                                JoinOptions options) {
+    return HashJoin.<T, U, K>create(keyOfThis, keyOfOther, options).inner(this, other, combiner);
+  }
+
+  @Override
+  public <U, K, R> Nary<R> leftJoin(Nary<U> other,
+                                    Function<? super T, ? extends K> keyOfThis,
+                                    Function<? super U, ? extends K> keyOfOther,
+                                    BiFunction<? super T, Unary<U>, ? extends R> combiner) {
+    return leftJoin(other, keyOfThis, keyOfOther, combiner, JoinOptions.inMemory());
+  }
+
+  @Override
+  public <U, K, R> Nary<R> leftJoin(Nary<U> other,
+                                    Function<? super T, ? extends K> keyOfThis,
+                                    Function<? super U, ? extends K> keyOfOther,
+                                    BiFunction<? super T, Unary<U>, ? extends R> combiner,
+                                    JoinOptions options) {
+    return HashJoin.<T, U, K>create(keyOfThis, keyOfOther, options).left(this, other, combiner);
+  }
+
+  @Override
+  public <U, K> Nary<CoGroup<K, T, U>> coGroup(Nary<U> other,
+                                               Function<? super T, ? extends K> keyOfThis,
+                                               Function<? super U, ? extends K> keyOfOther) {
+    CompactMultimap<K, T> thisByKey = this.collect(CompactMultimap::create,
+      (table, element) -> table.put(keyOfThis.apply(element), element),
+      CompactMultimap::putAll);
+    CompactMultimap<K, U> otherByKey = other.collect(CompactMultimap::create,
+      (table, element) -> table.put(keyOfOther.apply(element), element),
+      CompactMultimap::putAll);
+    List<CoGroup<K, T, U>> groups = new ArrayList<>(thisByKey.keyCount() + otherByKey.keyCount());
+    thisByKey.forEachKey(key -> groups.add(CoGroup.create(key, thisByKey.valuesOf(key), otherByKey.valuesOf(key))));
+    otherByKey.forEachKey(key -> {
+      if (!thisByKey.containsKey(key)) {
+        groups.add(CoGroup.create(key, new ArrayList<>(), otherByKey.valuesOf(key)));
+      }
+    });
+    return Nary.from(groups);
+  }
+
+  @Override
+  public BatchNary<T> toBatch(BatchSchema<T> schema) {
+    return ColumnarBatchNary.create(schema, ColumnBatch.create(schema.getColumns(), spliterator()));
+  }
+
+  @Override
+  public OffHeapNary toOffHeap(RecordLayout layout, BiConsumer<? super T, ? super RecordView> writer) {
+    OffHeapRecords records = OffHeapRecords.create(layout.recordSize());
+    RecordFlyweight newRecord = RecordFlyweight.create(layout, records);
+    // Records are appended one at a time, even if this nary is parallel
+    forEachOrdered(element -> writer.accept(element, newRecord.moveTo(records.append())));
+    return OffHeapRecordNary.create(layout, records);
+  }
+
+  @Override
+  public long writeTo(Path file, Encoder<? super T> encoder) {
+    return writeTo(file, encoder, BinaryFormat.uncompressed());
+  }
+
+  @Override
+  public long writeTo(Path file, Encoder<? super T> encoder, BinaryFormat format) {
+    try (BlockFileWriter<T> writer = BlockFileWriter.create(file, encoder, format)) {
+      // Records are appended one at a time, even if this nary is parallel
+      forEachOrdered(writer::write);
+      return writer.finish();
+    }
+  }
+
+  @Override
+  public long writeTo(WritableByteChannel channel, Encoder<? super T> encoder) {
+    return writeTo(channel, encoder, ChannelWriteOptions.defaults());
+  }
+
+  @Override
+  public long writeTo(WritableByteChannel channel, Encoder<? super T> encoder, ChannelWriteOptions options) {
+    try (ChannelBatchWriter<T> writer = ChannelBatchWriter.create(channel, encoder, options)) {
+      forEachOrdered(writer::write);
+      return writer.finish();
+    }
+  }
+
+  @Override
+  public long drainInto(BlockingQueue<? super T> queue) {
+    LongAdder added = new LongAdder();
+    forEachOrdered(element -> {
+      // Offering first avoids the interruptible wait while the queue has room
+      if (!queue.offer(element)) {
+        try {
+          queue.put(element);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new NaryException("Interrupted while waiting for room in the queue", e);
+        }
+      }
+      added.increment();
+    });
+    return added.sum();
+  }
+
+  @Override
+  public <K> NaryIndex<K, T> indexBy(Function<? super T, ? extends K> keyExtractor) {
+    return CompactNaryIndex.create(this, keyExtractor);
+  }
+
+  @Override
+  public <R> Nary<R> mapCached(Function<? super T, ? extends R> mapper, CacheSpec cacheSpec) {
+    return mapCached(MemoizedFunction.create(mapper, cacheSpec));
+  }
+
+  @Override
+  public <R> Nary<R> mapCached(MemoizedFunction<? super T, ? extends R> memoized) {
+    return map(memoized);
+  }
+
+  @Override
+  public PipelinedNary<T> pipelined() {
+    return pipelined(PipelineBasedNary.DEFAULT_QUEUE_CAPACITY);
+  }
+
+  @Override
+  public PipelinedNary<T> pipelined(int queueCapacity) {
+    return PipelineBasedNary.create(asStream(), queueCapacity);
   }
 
   @Override
@@ -262,6 +547,29 @@ public abstract class NarySupport<T> implements Nary<T> {
   }
 
 
+  @Override
+  public Unary<T> head() {
+    List<T> first = peekAhead(1);
+    if (first.isEmpty()) {
+      return Nary.empty();
+    }
+    return OneElementNary.create(first.get(0)); // Null is a valid value
+  }
+
+  @Override
+  public Nary<T> tail() {
+    return skip(1);
+  }
+
+  @Override
+  public List<T> peekAhead(int amount) throws IllegalArgumentException {
+    if (amount < 0) {
+      throw new IllegalArgumentException("Can't look at a negative amount of elements: " + amount);
+    }
+    // Reusable naries are not consumed by a new stream
+    return asStream().limit(amount).collect(Collectors.toList());
+  }
+
   @Override
   public Nary<T> distinct() {
     return returningNaryDo(asStream().distinct());
@@ -294,27 +602,64 @@ public abstract class NarySupport<T> implements Nary<T> {
 
   @Override
   public Unary<T> reduceNary(BinaryOperator<T> accumulator) {
-    return returningNaryDo(reduce(accumulator));
+    Stream<T> stream = asStream();
+    if (stream.isParallel()) {
+      // Partial results of parallel reductions are combined by the stream
+      return returningNaryDo(stream.reduce(accumulator));
+    }
+    UnaryAccumulator<T> result = UnaryAccumulator.reducing(accumulator);
+    stream.forEach(result);
+    return result.toUnary();
   }
 
   @Override
   public Unary<T> minNary(Comparator<? super T> comparator) {
-    return returningNaryDo(min(comparator));
+    Stream<T> stream = asStream();
+    if (stream.isParallel()) {
+      return returningNaryDo(stream.min(comparator));
+    }
+    UnaryAccumulator<T> result = UnaryAccumulator.keepingMin(comparator);
+    stream.forEach(result);
+    return result.toUnary();
   }
 
   @Override
   public Unary<T> maxNary(Comparator<? super T> comparator) {
-    return returningNaryDo(max(comparator));
+    Stream<T> stream = asStream();
+    if (stream.isParallel()) {
+      return returningNaryDo(stream.max(comparator));
+    }
+    UnaryAccumulator<T> result = UnaryAccumulator.keepingMax(comparator);
+    stream.forEach(result);
+    return result.toUnary();
   }
 
   @Override
   public Unary<T> findFirstNary() {
-    return returningNaryDo(findFirst());
+    Stream<T> stream = asStream();
+    if (stream.isParallel()) {
+      return returningNaryDo(stream.findFirst());
+    }
+    return takingFirst(stream);
   }
 
   @Override
   public Unary<T> findAnyNary() {
-    return returningNaryDo(findAny());
+    Stream<T> stream = asStream();
+    if (stream.isParallel()) {
+      return returningNaryDo(stream.findAny());
+    }
+    // Any element is the first one on sequential streams
+    return takingFirst(stream);
+  }
+
+  /**
+   * Pulls only the first element of the sequential stream, as the native short-circuiting terminal does
+   */
+  private Unary<T> takingFirst(Stream<T> stream) {
+    UnaryAccumulator<T> result = UnaryAccumulator.keepingFirst();
+    stream.spliterator().tryAdvance(result);
+    return result.toUnary();
   }
 
   @Override
@@ -0,0 +1,207 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.offheap.OffHeapNary;
+import ar.com.kfgodel.nary.api.offheap.RecordLayout;
+import ar.com.kfgodel.nary.api.offheap.RecordView;
+import ar.com.kfgodel.nary.impl.others.OffHeapRecords;
+import ar.com.kfgodel.nary.impl.others.RecordFlyweight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents an off-heap nary backed by {@link OffHeapRecords}.<br>
+ * Each traversal (and each of its splits) moves its own {@link RecordFlyweight} over the records
+ * <p>
+ * Date: 20/10/26 - 08:20
+ */
+public class OffHeapRecordNary extends NarySupport<RecordView> implements OffHeapNary {
+
+  private RecordLayout layout;
+  private OffHeapRecords records;
+  private volatile boolean closed;
+
+  public static OffHeapRecordNary create(RecordLayout layout, OffHeapRecords records) {
+    OffHeapRecordNary nary = new OffHeapRecordNary();
+    nary.layout = layout;
+    nary.records = records;
+    return nary;
+  }
+
+  @Override
+  public RecordLayout layout() {
+    return layout;
+  }
+
+  @Override
+  public RecordView recordAt(long index) throws IndexOutOfBoundsException, NaryException {
+    ensureOpen();
+    if (index < 0 || index >= records.count()) {
+      throw new IndexOutOfBoundsException("Index " + index + " is not between 0 and " + (records.count() - 1));
+    }
+    return RecordFlyweight.create(layout, records).moveTo(index);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public long count() {
+    ensureOpen();
+    return records.count();
+  }
+
+  @Override
+  public Unary<RecordView> findLast() {
+    long count = count();
+    if (count == 0) {
+      return Nary.empty();
+    }
+    return OneElementNary.create(recordAt(count - 1));
+  }
+
+  @Override
+  public Unary<RecordView> unique() throws MoreThanOneElementException {
+    long count = count();
+    if (count == 0) {
+      return Nary.empty();
+    }
+    if (count > 1) {
+      throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+        "treat it as an optional but found at least 2: " + Arrays.asList(recordAt(0), recordAt(1)));
+    }
+    return OneElementNary.create(recordAt(0));
+  }
+
+  /**
+   * Creates a fixed view for each record, instead of reusing one
+   */
+  @Override
+  public List<RecordView> collectToList() {
+    long count = count();
+    List<RecordView> views = new ArrayList<>((int) Math.min(count, Integer.MAX_VALUE));
+    for (long index = 0; index < count; index++) {
+      views.add(recordAt(index));
+    }
+    return views;
+  }
+
+  @Override
+  public Set<RecordView> collectToSet() {
+    return new LinkedHashSet<>(collectToList());
+  }
+
+  @Override
+  public Spliterator<RecordView> spliterator() {
+    ensureOpen();
+    return new RecordRangeSpliterator(0, records.count());
+  }
+
+  @Override
+  protected Stream<RecordView> asStream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return false;
+  }
+
+  /**
+   * Releases the records. Operating this nary afterwards fails, as does moving the views of traversals
+   * that were in progress
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    records.release();
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new NaryException("The off-heap nary was closed and its records released");
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ records: " + (closed ? "released" : records.count()) + ", layout: " + layout + " }";
+  }
+
+  /**
+   * Moves a flyweight over a range of records, splitting the range in halves
+   */
+  private class RecordRangeSpliterator implements Spliterator<RecordView> {
+    private long nextIndex;
+    private final long endIndex;
+    private RecordFlyweight flyweight;
+
+    RecordRangeSpliterator(long startIndex, long endIndex) {
+      this.nextIndex = startIndex;
+      this.endIndex = endIndex;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super RecordView> action) {
+      if (nextIndex >= endIndex) {
+        return false;
+      }
+      action.accept(flyweight().moveTo(nextIndex++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super RecordView> action) {
+      RecordFlyweight view = flyweight();
+      while (nextIndex < endIndex) {
+        action.accept(view.moveTo(nextIndex++));
+      }
+    }
+
+    private RecordFlyweight flyweight() {
+      if (flyweight == null) {
+        // Created by the traversing thread, so splits don't share it
+        flyweight = RecordFlyweight.create(layout, records);
+      }
+      return flyweight;
+    }
+
+    @Override
+    public Spliterator<RecordView> trySplit() {
+      long remaining = endIndex - nextIndex;
+      if (remaining < 2) {
+        return null;
+      }
+      long middle = nextIndex + remaining / 2;
+      RecordRangeSpliterator prefix = new RecordRangeSpliterator(nextIndex, middle);
+      nextIndex = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return endIndex - nextIndex;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+  }
+}
@@ -165,6 +165,16 @@ public class OneElementNary<T> extends NarySupport<T> implements Unary<T> {
     return this;
   }
 
+  @Override
+  public Unary<T> head() {
+    return this;
+  }
+
+  @Override
+  public Unary<T> tail() {
+    return Nary.empty();
+  }
+
   @Override
   public void forEach(Consumer<? super T> action) {
     action.accept(element);
@@ -0,0 +1,169 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.persistent.PersistentNary;
+import ar.com.kfgodel.nary.impl.others.PersistentVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents a persistent nary backed by a {@link PersistentVector}.<br>
+ * Each instance wraps one version of the vector, so extending it creates a new instance with the new
+ * version while this one remains unchanged
+ * <p>
+ * Date: 19/10/26 - 20:31
+ */
+public class PersistentVectorNary<T> extends NarySupport<T> implements PersistentNary<T> {
+
+  private static final PersistentVectorNary<Object> EMPTY = create(PersistentVector.empty());
+
+  private PersistentVector<T> vector;
+
+  @SuppressWarnings("unchecked") // The empty nary has no elements of any type
+  public static <T> PersistentVectorNary<T> empty() {
+    return (PersistentVectorNary<T>) EMPTY;
+  }
+
+  public static <T> PersistentVectorNary<T> create(PersistentVector<T> vector) {
+    PersistentVectorNary<T> nary = new PersistentVectorNary<>();
+    nary.vector = vector;
+    return nary;
+  }
+
+  @Override
+  public int size() {
+    return vector.size();
+  }
+
+  @Override
+  public T elementAt(int index) throws IndexOutOfBoundsException {
+    return vector.get(index);
+  }
+
+  @Override
+  public PersistentNary<T> add(T element) {
+    return create(vector.append(element));
+  }
+
+  @Override
+  public PersistentNary<T> addAll(Iterable<? extends T> others) {
+    return extendedWith(others.iterator());
+  }
+
+  /**
+   * Keeps the result persistent when several elements are added at once
+   */
+  @Override
+  @SafeVarargs
+  public final PersistentNary<T> add(T... others) {
+    // Copied so the generic array is not exposed beyond this method
+    List<T> elements = new ArrayList<>(others.length);
+    for (T other : others) {
+      elements.add(other);
+    }
+    return addAll(elements);
+  }
+
+  @Override
+  public PersistentNary<T> concat(Stream<? extends T> other) {
+    try (Stream<? extends T> stream = other) {
+      return extendedWith(stream.iterator());
+    }
+  }
+
+  @Override
+  public PersistentNary<T> concat(Optional<? extends T> other) {
+    if (!other.isPresent()) {
+      return this;
+    }
+    return create(vector.append(other.get()));
+  }
+
+  private PersistentNary<T> extendedWith(Iterator<? extends T> elements) {
+    PersistentVector<T> extended = vector.appendAll(elements);
+    if (extended == vector) {
+      return this;
+    }
+    return create(extended);
+  }
+
+  @Override
+  public long count() {
+    return vector.size();
+  }
+
+  @Override
+  public Unary<T> findLast() {
+    if (vector.size() == 0) {
+      return Nary.empty();
+    }
+    return OneElementNary.create(vector.get(vector.size() - 1));
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    switch (vector.size()) {
+      case 0:
+        return Nary.empty();
+      case 1:
+        return OneElementNary.create(vector.get(0)); // Null is a valid value
+      default:
+        throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+          "treat it as an optional but found at least 2: " + Arrays.asList(vector.get(0), vector.get(1)));
+    }
+  }
+
+  @Override
+  public List<T> collectToList() {
+    List<T> list = new ArrayList<>(vector.size());
+    forEach(list::add);
+    return list;
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator<T> spliterator() {
+    return vector.spliterator();
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    // We have nothing to close
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ size: " + vector.size() + " }";
+  }
+}
@@ -0,0 +1,194 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.pipeline.PipelinedNary;
+import ar.com.kfgodel.nary.api.pipeline.StageMetrics;
+import ar.com.kfgodel.nary.impl.others.PipelineStage;
+import ar.com.kfgodel.nary.impl.others.StagePipeline;
+import com.google.common.base.MoreObjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents a nary that executes its element-wise operations as a pipeline of stages,
+ * each one on its own thread.<br>
+ * Stages are only accumulated until an operation that is not element-wise is used. At that moment the
+ * pipeline is started and its output is consumed as a stream by the calling thread.<br>
+ * As with streams, an instance can only be consumed once
+ * <p>
+ * Date: 19/10/26 - 15:05
+ */
+public class PipelineBasedNary<T> extends NarySupport<T> implements PipelinedNary<T> {
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private Stream<?> sourceStream;
+  private List<PipelineStage> stages;
+  private int queueCapacity;
+  /**
+   * Written by the consumer thread and read by the threads that ask for the metrics
+   */
+  private volatile StagePipeline<T> startedPipeline;
+
+  public static <T> PipelineBasedNary<T> create(Stream<? extends T> source, int queueCapacity) {
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Stage queues need room for at least 1 element: " + queueCapacity);
+    }
+    return create(source, Collections.emptyList(), queueCapacity);
+  }
+
+  private static <T> PipelineBasedNary<T> create(Stream<?> source, List<PipelineStage> stages, int queueCapacity) {
+    PipelineBasedNary<T> nary = new PipelineBasedNary<>();
+    nary.sourceStream = source;
+    nary.stages = stages;
+    nary.queueCapacity = queueCapacity;
+    return nary;
+  }
+
+  @Override
+  public PipelinedNary<T> filter(Predicate<? super T> predicate) {
+    return addingStage("filter", (T element, Consumer<Object> next) -> {
+      if (predicate.test(element)) {
+        next.accept(element);
+      }
+    });
+  }
+
+  @Override
+  public <R> PipelinedNary<R> map(Function<? super T, ? extends R> mapper) {
+    return addingStage("map", (T element, Consumer<Object> next) -> next.accept(mapper.apply(element)));
+  }
+
+  @Override
+  public PipelinedNary<T> peek(Consumer<? super T> action) {
+    return addingStage("peek", (T element, Consumer<Object> next) -> {
+      action.accept(element);
+      next.accept(element);
+    });
+  }
+
+  @Override
+  public <U> PipelinedNary<U> mapFilteringNullResult(Function<? super T, ? extends U> mapper) {
+    return addingStage("mapFilteringNullResult", (T element, Consumer<Object> next) -> {
+      U result = mapper.apply(element);
+      if (result != null) {
+        next.accept(result);
+      }
+    });
+  }
+
+  @Override
+  @SuppressWarnings("unchecked") // Stage queues hold any type of element
+  public <R> PipelinedNary<R> mapMulti(BiConsumer<? super T, ? super Consumer<R>> mapper) {
+    return addingStage("mapMulti", (T element, Consumer<Object> next) -> mapper.accept(element, (Consumer<R>) next));
+  }
+
+  private <R> PipelinedNary<R> addingStage(String operationName, BiConsumer<T, Consumer<Object>> operation) {
+    List<PipelineStage> extendedStages = new ArrayList<>(stages.size() + 1);
+    extendedStages.addAll(stages);
+    extendedStages.add(PipelineStage.create(operationName + "#" + (extendedStages.size() + 1), operation));
+    return create(sourceStream, extendedStages, queueCapacity);
+  }
+
+  @Override
+  public List<StageMetrics> stageMetrics() {
+    StagePipeline<T> pipeline = startedPipeline;
+    if (pipeline == null) {
+      return Collections.emptyList();
+    }
+    return pipeline.metrics();
+  }
+
+  @Override
+  protected Stream<T> asStream() {
+    if (startedPipeline != null) {
+      throw new IllegalStateException("stream has already been operated upon or closed");
+    }
+    StagePipeline<T> pipeline = StagePipeline.create(sourceStream.spliterator(), stages, queueCapacity);
+    startedPipeline = pipeline;
+    return StreamSupport.stream(pipeline.start(), false)
+      .onClose(pipeline::cancel)
+      .onClose(sourceStream::close);
+  }
+
+  /**
+   * Executes a short-circuiting operation that may leave unconsumed elements, stopping the stage
+   * threads after it
+   */
+  private <R> R shortCircuiting(Function<Stream<T>, R> operation) {
+    try (Stream<T> stream = asStream()) {
+      return operation.apply(stream);
+    }
+  }
+
+  @Override
+  public boolean anyMatch(Predicate<? super T> predicate) {
+    return shortCircuiting(stream -> stream.anyMatch(predicate));
+  }
+
+  @Override
+  public boolean allMatch(Predicate<? super T> predicate) {
+    return shortCircuiting(stream -> stream.allMatch(predicate));
+  }
+
+  @Override
+  public boolean noneMatch(Predicate<? super T> predicate) {
+    return shortCircuiting(stream -> stream.noneMatch(predicate));
+  }
+
+  @Override
+  public Optional<T> findFirst() {
+    return shortCircuiting(Stream::findFirst);
+  }
+
+  @Override
+  public Optional<T> findAny() {
+    return shortCircuiting(Stream::findAny);
+  }
+
+  @Override
+  public Unary<T> findFirstNary() {
+    return shortCircuiting(stream -> Nary.from(stream).findFirstNary());
+  }
+
+  @Override
+  public Unary<T> findAnyNary() {
+    return shortCircuiting(stream -> Nary.from(stream).findAnyNary());
+  }
+
+  @Override
+  public Unary<T> unique() throws MoreThanOneElementException {
+    return shortCircuiting(stream -> Nary.from(stream).unique());
+  }
+
+  @Override
+  public List<T> collectToList() {
+    return collect(Collectors.toList());
+  }
+
+  @Override
+  public Set<T> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+      .add("stages", stages)
+      .add("sourceStream", sourceStream)
+      .toString();
+  }
+}
@@ -0,0 +1,131 @@
+package ar.com.kfgodel.nary.impl;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.bitmap.BitmapNary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.impl.others.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type represents a bitmap nary backed by a {@link RoaringBitmap}.<br>
+ * Set operations between instances of this type combine their bitmaps directly
+ * <p>
+ * Date: 20/10/26 - 04:48
+ */
+public class RoaringBitmapNary extends NarySupport<Integer> implements BitmapNary {
+
+  private RoaringBitmap bitmap;
+
+  public static RoaringBitmapNary create(RoaringBitmap bitmap) {
+    RoaringBitmapNary nary = new RoaringBitmapNary();
+    nary.bitmap = bitmap;
+    return nary;
+  }
+
+  @Override
+  public boolean contains(int id) {
+    return bitmap.contains(id);
+  }
+
+  @Override
+  public BitmapNary and(BitmapNary other) {
+    return create(bitmap.and(bitmapOf(other)));
+  }
+
+  @Override
+  public BitmapNary or(BitmapNary other) {
+    return create(bitmap.or(bitmapOf(other)));
+  }
+
+  @Override
+  public BitmapNary andNot(BitmapNary other) {
+    return create(bitmap.andNot(bitmapOf(other)));
+  }
+
+  private static RoaringBitmap bitmapOf(BitmapNary other) {
+    if (other instanceof RoaringBitmapNary) {
+      return ((RoaringBitmapNary) other).bitmap;
+    }
+    // Other implementations are converted, using their ascending order
+    return RoaringBitmap.create(other.ints().spliterator());
+  }
+
+  @Override
+  public IntStream ints() {
+    return StreamSupport.intStream(bitmap.spliterator(), false);
+  }
+
+  @Override
+  public long count() {
+    return bitmap.cardinality();
+  }
+
+  @Override
+  public Unary<Integer> findLast() {
+    return Nary.of(bitmap.last());
+  }
+
+  @Override
+  public Unary<Integer> unique() throws MoreThanOneElementException {
+    if (bitmap.cardinality() > 1) {
+      List<Integer> firstTwo = peekAhead(2);
+      throw new MoreThanOneElementException("Expecting only 1 element in the stream to " +
+        "treat it as an optional but found at least 2: " + Arrays.asList(firstTwo.get(0), firstTwo.get(1)));
+    }
+    return Nary.of(bitmap.first());
+  }
+
+  @Override
+  public List<Integer> collectToList() {
+    List<Integer> list = new ArrayList<>((int) Math.min(bitmap.cardinality(), Integer.MAX_VALUE));
+    forEach(list::add);
+    return list;
+  }
+
+  @Override
+  public Set<Integer> collectToSet() {
+    return collect(Collectors.toSet());
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator<Integer> spliterator() {
+    return bitmap.spliterator();
+  }
+
+  @Override
+  protected Stream<Integer> asStream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public boolean isParallel() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    // We have nothing to close
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ count: " + bitmap.cardinality() + " }";
+  }
+}
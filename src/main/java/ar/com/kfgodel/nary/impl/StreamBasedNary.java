@@ -3,14 +3,17 @@ package ar.com.kfgodel.nary.impl;
 import ar.com.kfgodel.nary.api.Nary;
 import ar.com.kfgodel.nary.api.Unary;
 import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.impl.others.PushbackSpliterator;
 import com.google.common.base.MoreObjects;
 
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This type represents a Nary with a stream as a source of elements.<br>
@@ -29,9 +32,23 @@ public class StreamBasedNary<T> extends NarySupport<T> {
   private Stream<? extends T> sourceStream;
   /**
    * Because optionals are not consumed, we can cache it to reuse everytime.
-   * In this way, once the stream is consumed we still can act as an optional
+   * In this way, once the stream is consumed we still can act as an optional.<br>
+   * It's only written while holding this instance lock, and being volatile, threads that see it
+   * also see the unary completely initialized without taking the lock
    */
-  private Unary<T> cachedUnary;
+  private volatile Unary<T> cachedUnary;
+  /**
+   * The error found when coercing to a unary. Once the stream is consumed it's the only possible result
+   */
+  private volatile MoreThanOneElementException coercionFailure;
+  /**
+   * The source of elements once they are looked at without consuming them
+   */
+  private PushbackSpliterator<T> pushbackSource;
+  /**
+   * Whether the stream was handed over to the nary returned by {@link #tail()}, so it can't be used by this one
+   */
+  private boolean handedOver;
 
   public static <T> StreamBasedNary<T> create(Stream<? extends T> source) {
     StreamBasedNary<T> nary = new StreamBasedNary<>();
@@ -41,12 +58,83 @@ public class StreamBasedNary<T> extends NarySupport<T> {
 
   @Override
   public Unary<T> unique() throws MoreThanOneElementException {
-    if (cachedUnary == null) {
-      this.cachedUnary = reduceStreamToUnary();
+    Unary<T> unary = cachedUnary;
+    if (unary != null) {
+      return unary;
+    }
+    return coerceToUnary();
+  }
+
+  /**
+   * Consumes the stream to cache it as a unary, making sure that only one thread consumes it
+   */
+  private synchronized Unary<T> coerceToUnary() {
+    if (cachedUnary != null) {
+      return cachedUnary;
+    }
+    if (coercionFailure != null) {
+      throw coercionFailure;
+    }
+    try {
+      cachedUnary = reduceStreamToUnary();
+    } catch (MoreThanOneElementException e) {
+      coercionFailure = e;
+      throw e;
     }
     return cachedUnary;
   }
 
+  @Override
+  public List<T> peekAhead(int amount) throws IllegalArgumentException {
+    if (amount < 0 || cachedUnary != null) {
+      // Once coerced it can be reused
+      return super.peekAhead(amount);
+    }
+    return pushbackSource().peek(amount);
+  }
+
+  @Override
+  public Nary<T> tail() {
+    if (cachedUnary != null) {
+      return super.tail();
+    }
+    Stream<T> remaining = handOverStream();
+    // The stream reads from the pushback source, so skipping its next element removes the head from the tail
+    pushbackSource.skipNext();
+    return returningNaryDo(remaining);
+  }
+
+  /**
+   * Gives the stream to a different nary, consuming this instance as a terminal operation would
+   */
+  @SuppressWarnings("unchecked") //NOSONAR squid:S1309 as T is not reified there's no way to check on runtime
+  private synchronized Stream<T> handOverStream() {
+    pushbackSource();
+    handedOver = true;
+    return (Stream<T>) sourceStream;
+  }
+
+  private void checkNotHandedOver() {
+    if (handedOver) {
+      throw new IllegalStateException("stream has already been operated upon or closed");
+    }
+  }
+
+  /**
+   * Replaces the source stream with one that allows looking at elements without consuming them
+   */
+  @SuppressWarnings("unchecked") //NOSONAR squid:S1309 as T is not reified there's no way to check on runtime
+  private synchronized PushbackSpliterator<T> pushbackSource() {
+    checkNotHandedOver();
+    if (pushbackSource == null) {
+      Stream<? extends T> originalStream = sourceStream;
+      pushbackSource = PushbackSpliterator.create((Spliterator<T>) originalStream.spliterator());
+      sourceStream = StreamSupport.stream(pushbackSource, originalStream.isParallel())
+        .onClose(originalStream::close);
+    }
+    return pushbackSource;
+  }
+
   @Override
   public List<T> collectToList() {
     return collect(Collectors.toList());
@@ -72,13 +160,25 @@ public class StreamBasedNary<T> extends NarySupport<T> {
     return OneElementNary.create(onlyElement); // Null is a valid value
   }
 
+  protected Stream<T> asStream() {
+    Unary<T> unary = cachedUnary;
+    if(unary != null){
+      // Once coerced, it can only be reused as optional
+      return unary;
+    }
+    return streamAfterPendingCoercion();
+  }
+
+  /**
+   * Waits for a coercion that may be in progress on another thread, so the stream is not consumed twice
+   */
   // Given the stream produces subtypes of T AND its read only it's safe to cast
   @SuppressWarnings("unchecked") //NOSONAR squid:S1309 as T is not reified there's no way to check on runtime
-  protected Stream<T> asStream() {
+  private synchronized Stream<T> streamAfterPendingCoercion() {
     if(cachedUnary != null){
-      // Once coerced, it can only be reused as optional
       return cachedUnary;
     }
+    checkNotHandedOver();
     return (Stream<T>) sourceStream;
   }
 
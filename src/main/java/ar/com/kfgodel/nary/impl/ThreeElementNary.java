@@ -0,0 +1,40 @@
+package ar.com.kfgodel.nary.impl;
+
+/**
+ * This type represents a nary with exactly three elements
+ * <p>
+ * Date: 19/10/26 - 19:16
+ */
+public class ThreeElementNary<T> extends FixedArityNary<T> {
+
+  private T first;
+  private T second;
+  private T third;
+
+  public static <T> ThreeElementNary<T> create(T first, T second, T third) {
+    ThreeElementNary<T> nary = new ThreeElementNary<>();
+    nary.first = first;
+    nary.second = second;
+    nary.third = third;
+    return nary;
+  }
+
+  @Override
+  protected int arity() {
+    return 3;
+  }
+
+  @Override
+  protected T elementAt(int index) {
+    switch (index) {
+      case 0:
+        return first;
+      case 1:
+        return second;
+      case 2:
+        return third;
+      default:
+        throw new IndexOutOfBoundsException("Index " + index + " is not between 0 and 2");
+    }
+  }
+}
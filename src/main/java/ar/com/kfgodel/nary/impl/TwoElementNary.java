@@ -0,0 +1,36 @@
+package ar.com.kfgodel.nary.impl;
+
+/**
+ * This type represents a nary with exactly two elements
+ * <p>
+ * Date: 19/10/26 - 19:14
+ */
+public class TwoElementNary<T> extends FixedArityNary<T> {
+
+  private T first;
+  private T second;
+
+  public static <T> TwoElementNary<T> create(T first, T second) {
+    TwoElementNary<T> nary = new TwoElementNary<>();
+    nary.first = first;
+    nary.second = second;
+    return nary;
+  }
+
+  @Override
+  protected int arity() {
+    return 2;
+  }
+
+  @Override
+  protected T elementAt(int index) {
+    switch (index) {
+      case 0:
+        return first;
+      case 1:
+        return second;
+      default:
+        throw new IndexOutOfBoundsException("Index " + index + " is not between 0 and 1");
+    }
+  }
+}
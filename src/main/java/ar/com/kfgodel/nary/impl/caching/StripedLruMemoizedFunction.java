@@ -0,0 +1,237 @@
+package ar.com.kfgodel.nary.impl.caching;
+
+import ar.com.kfgodel.nary.api.caching.CacheSpec;
+import ar.com.kfgodel.nary.api.caching.CacheStats;
+import ar.com.kfgodel.nary.api.caching.MemoizedFunction;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * This type implements a memoized function backed by a lock-striped cache.<br>
+ * Keys are distributed between independent segments, each one guarded by its own lock and keeping its
+ * entries in least recently used order. The computation of a missing result is done outside the lock, and
+ * other threads asking for the same key wait for it instead of computing it again.
+ * <p>
+ * Date: 19/10/26 - 12:35
+ */
+public class StripedLruMemoizedFunction<T, R> implements MemoizedFunction<T, R> {
+
+  private Function<? super T, ? extends R> function;
+  private Segment<T, R>[] segments;
+  private long expireAfterWriteMillis;
+  private Clock clock;
+  private LongAdder hitCount;
+  private LongAdder missCount;
+  private LongAdder evictionCount;
+
+  public static <T, R> StripedLruMemoizedFunction<T, R> create(Function<? super T, ? extends R> function, CacheSpec cacheSpec) {
+    StripedLruMemoizedFunction<T, R> memoized = new StripedLruMemoizedFunction<>();
+    memoized.function = function;
+    memoized.clock = cacheSpec.getClock();
+    memoized.expireAfterWriteMillis = cacheSpec.getExpireAfterWrite() == null ?
+      Long.MAX_VALUE : cacheSpec.getExpireAfterWrite().toMillis();
+    memoized.hitCount = new LongAdder();
+    memoized.missCount = new LongAdder();
+    memoized.evictionCount = new LongAdder();
+    int stripes = (int) Math.min(cacheSpec.getStripes(), cacheSpec.getMaximumSize());
+    long segmentCapacity = (cacheSpec.getMaximumSize() + stripes - 1) / stripes;
+    memoized.segments = newSegmentArray(stripes);
+    for (int i = 0; i < stripes; i++) {
+      memoized.segments[i] = new Segment<>(segmentCapacity, memoized.evictionCount);
+    }
+    return memoized;
+  }
+
+  @SuppressWarnings("unchecked") // Generic arrays can't be created, but the array only holds segments of T and R
+  private static <T, R> Segment<T, R>[] newSegmentArray(int size) {
+    return (Segment<T, R>[]) new Segment<?, ?>[size];
+  }
+
+  @Override
+  public R apply(T argument) {
+    Segment<T, R> segment = segmentFor(argument);
+    long now = clock.millis();
+    CompletableFuture<R> pendingResult;
+    CachedResult<R> computing = null;
+    segment.lock.lock();
+    try {
+      CachedResult<R> cached = segment.entries.get(argument);
+      if (cached != null && !isExpired(cached, now)) {
+        hitCount.increment();
+        pendingResult = cached.result;
+      } else {
+        if (cached != null) {
+          segment.remove(argument);
+          evictionCount.increment();
+        }
+        missCount.increment();
+        computing = new CachedResult<>(new CompletableFuture<>(), now);
+        pendingResult = computing.result;
+        segment.put(argument, computing);
+        removeExpired(segment, now);
+      }
+    } finally {
+      segment.lock.unlock();
+    }
+    if (computing != null) {
+      return compute(argument, segment, computing);
+    }
+    return waitFor(pendingResult);
+  }
+
+  private R compute(T argument, Segment<T, R> segment, CachedResult<R> computing) {
+    R result;
+    try {
+      result = function.apply(argument);
+    } catch (RuntimeException | Error e) {
+      // Failures are not cached, but threads waiting for this result receive it
+      computing.result.completeExceptionally(e);
+      segment.lock.lock();
+      try {
+        segment.remove(argument, computing);
+      } finally {
+        segment.lock.unlock();
+      }
+      throw e;
+    }
+    computing.result.complete(result);
+    return result;
+  }
+
+  private R waitFor(CompletableFuture<R> pendingResult) {
+    try {
+      return pendingResult.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new NaryException("Failed to compute the cached result", cause);
+    }
+  }
+
+  /**
+   * Discards expired entries starting from the oldest written, until a non expired one is found
+   */
+  private void removeExpired(Segment<T, R> segment, long now) {
+    if (expireAfterWriteMillis == Long.MAX_VALUE) {
+      return;
+    }
+    Iterator<Map.Entry<T, CachedResult<R>>> iterator = segment.writeOrder.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<T, CachedResult<R>> eldest = iterator.next();
+      if (!isExpired(eldest.getValue(), now)) {
+        return;
+      }
+      iterator.remove();
+      segment.entries.remove(eldest.getKey());
+      evictionCount.increment();
+    }
+  }
+
+  private boolean isExpired(CachedResult<R> cached, long now) {
+    return now - cached.writeTime >= expireAfterWriteMillis;
+  }
+
+  private Segment<T, R> segmentFor(T argument) {
+    int hash = argument == null ? 0 : argument.hashCode();
+    // Spread the high bits so keys with similar hashes don't end up in the same segment
+    hash ^= (hash >>> 16);
+    return segments[(hash & 0x7fffffff) % segments.length];
+  }
+
+  @Override
+  public CacheStats stats() {
+    return CacheStats.create(hitCount.sum(), missCount.sum(), evictionCount.sum());
+  }
+
+  @Override
+  public void invalidateAll() {
+    for (Segment<T, R> segment : segments) {
+      segment.lock.lock();
+      try {
+        segment.clear();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ " + function + ", " + stats() + " }";
+  }
+
+  /**
+   * A result that is being computed or was computed at the given time
+   */
+  private static class CachedResult<R> {
+    private final CompletableFuture<R> result;
+    private final long writeTime;
+
+    CachedResult(CompletableFuture<R> result, long writeTime) {
+      this.result = result;
+      this.writeTime = writeTime;
+    }
+  }
+
+  /**
+   * A portion of the cache guarded by its own lock, with its entries in access order for size eviction and
+   * in write order for expiration
+   */
+  private static class Segment<T, R> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<T, CachedResult<R>> writeOrder = new LinkedHashMap<>();
+    private final LinkedHashMap<T, CachedResult<R>> entries;
+
+    Segment(long capacity, LongAdder evictionCount) {
+      this.entries = new LinkedHashMap<T, CachedResult<R>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<T, CachedResult<R>> eldest) {
+          boolean full = size() > capacity;
+          if (full) {
+            writeOrder.remove(eldest.getKey());
+            evictionCount.increment();
+          }
+          return full;
+        }
+      };
+    }
+
+    /**
+     * Adds an entry for a key that is not present, so it's also the newest in write order
+     */
+    void put(T key, CachedResult<R> cached) {
+      writeOrder.put(key, cached);
+      entries.put(key, cached);
+    }
+
+    void remove(T key) {
+      writeOrder.remove(key);
+      entries.remove(key);
+    }
+
+    void remove(T key, CachedResult<R> cached) {
+      if (entries.remove(key, cached)) {
+        writeOrder.remove(key);
+      }
+    }
+
+    void clear() {
+      writeOrder.clear();
+      entries.clear();
+    }
+  }
+}
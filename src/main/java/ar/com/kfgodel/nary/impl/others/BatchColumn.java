@@ -0,0 +1,176 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This type defines a column of a batch: its name, the array type that stores its values, and how the value
+ * is extracted from an element.<br>
+ * Values are stored in primitive arrays when the column is numeric, so they can be processed without boxing
+ * <p>
+ * Date: 20/10/26 - 05:30
+ */
+public abstract class BatchColumn<T> {
+
+  private String name;
+
+  public static <T> BatchColumn<T> ofInt(String name, ToIntFunction<? super T> extractor) {
+    return named(name, new IntColumn<>(extractor));
+  }
+
+  public static <T> BatchColumn<T> ofLong(String name, ToLongFunction<? super T> extractor) {
+    return named(name, new LongColumn<>(extractor));
+  }
+
+  public static <T> BatchColumn<T> ofDouble(String name, ToDoubleFunction<? super T> extractor) {
+    return named(name, new DoubleColumn<>(extractor));
+  }
+
+  public static <T> BatchColumn<T> ofObject(String name, Function<? super T, ?> extractor) {
+    return named(name, new ObjectColumn<>(extractor));
+  }
+
+  private static <T> BatchColumn<T> named(String name, BatchColumn<T> column) {
+    column.name = name;
+    return column;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return The name of the type of the column values
+   */
+  public abstract String typeName();
+
+  /**
+   * @return A new array to store the given amount of values of this column
+   */
+  public abstract Object newArray(int capacity);
+
+  /**
+   * @return A copy of the given array of this column with the new capacity
+   */
+  public abstract Object resized(Object array, int capacity);
+
+  /**
+   * Stores the value of this column for the given element at the index of the array
+   */
+  public abstract void store(T element, Object array, int index);
+
+  private static final class IntColumn<T> extends BatchColumn<T> {
+    private final ToIntFunction<? super T> extractor;
+
+    IntColumn(ToIntFunction<? super T> extractor) {
+      this.extractor = extractor;
+    }
+
+    @Override
+    public String typeName() {
+      return "int";
+    }
+
+    @Override
+    public Object newArray(int capacity) {
+      return new int[capacity];
+    }
+
+    @Override
+    public Object resized(Object array, int capacity) {
+      return Arrays.copyOf((int[]) array, capacity);
+    }
+
+    @Override
+    public void store(T element, Object array, int index) {
+      ((int[]) array)[index] = extractor.applyAsInt(element);
+    }
+  }
+
+  private static final class LongColumn<T> extends BatchColumn<T> {
+    private final ToLongFunction<? super T> extractor;
+
+    LongColumn(ToLongFunction<? super T> extractor) {
+      this.extractor = extractor;
+    }
+
+    @Override
+    public String typeName() {
+      return "long";
+    }
+
+    @Override
+    public Object newArray(int capacity) {
+      return new long[capacity];
+    }
+
+    @Override
+    public Object resized(Object array, int capacity) {
+      return Arrays.copyOf((long[]) array, capacity);
+    }
+
+    @Override
+    public void store(T element, Object array, int index) {
+      ((long[]) array)[index] = extractor.applyAsLong(element);
+    }
+  }
+
+  private static final class DoubleColumn<T> extends BatchColumn<T> {
+    private final ToDoubleFunction<? super T> extractor;
+
+    DoubleColumn(ToDoubleFunction<? super T> extractor) {
+      this.extractor = extractor;
+    }
+
+    @Override
+    public String typeName() {
+      return "double";
+    }
+
+    @Override
+    public Object newArray(int capacity) {
+      return new double[capacity];
+    }
+
+    @Override
+    public Object resized(Object array, int capacity) {
+      return Arrays.copyOf((double[]) array, capacity);
+    }
+
+    @Override
+    public void store(T element, Object array, int index) {
+      ((double[]) array)[index] = extractor.applyAsDouble(element);
+    }
+  }
+
+  private static final class ObjectColumn<T> extends BatchColumn<T> {
+    private final Function<? super T, ?> extractor;
+
+    ObjectColumn(Function<? super T, ?> extractor) {
+      this.extractor = extractor;
+    }
+
+    @Override
+    public String typeName() {
+      return "Object";
+    }
+
+    @Override
+    public Object newArray(int capacity) {
+      return new Object[capacity];
+    }
+
+    @Override
+    public Object resized(Object array, int capacity) {
+      return Arrays.copyOf((Object[]) array, capacity);
+    }
+
+    @Override
+    public void store(T element, Object array, int index) {
+      ((Object[]) array)[index] = extractor.apply(element);
+    }
+  }
+}
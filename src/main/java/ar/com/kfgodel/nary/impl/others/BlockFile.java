@@ -0,0 +1,200 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * This type gives access to the blocks of a nary binary file, mapped into memory.<br>
+ * The file has a header with a magic number and the format flags, the blocks of length prefixed records,
+ * an index with the position and record count of each block, and a fixed size footer that locates the index.
+ * The file is mapped in regions of up to 1GB that start at block boundaries, so files bigger than one
+ * mapping can be read too. Mappings stay valid after the channel is closed
+ * <p>
+ * Date: 20/10/26 - 09:44
+ */
+public final class BlockFile {
+
+  static final int MAGIC = 0x4E415259; // NARY
+  static final int INDEX_MAGIC = 0x4E494458; // NIDX
+  static final byte VERSION = 1;
+  static final byte FLAG_DEFLATED = 1;
+  static final int HEADER_SIZE = Integer.BYTES + 2;
+  static final int FOOTER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+  static final int INDEX_ENTRY_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES * 3;
+
+  private static final long MAX_REGION_SIZE = 1L << 30;
+
+  private Path file;
+  private boolean compressed;
+  private long recordCount;
+  private long[] firstRecords;
+  private int[] storedLengths;
+  private int[] uncompressedLengths;
+  private MappedByteBuffer[] regions;
+  private int[] regionOfBlock;
+  private int[] positionInRegion;
+
+  public static BlockFile open(Path file) {
+    BlockFile blockFile = new BlockFile();
+    blockFile.file = file;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      blockFile.readStructure(channel);
+    } catch (IOException e) {
+      throw new NaryException("Failed to read the nary file " + file, e);
+    }
+    return blockFile;
+  }
+
+  public long recordCount() {
+    return recordCount;
+  }
+
+  public int blockCount() {
+    return firstRecords.length;
+  }
+
+  /**
+   * @return The index of the block that contains the given record
+   */
+  public int blockOf(long recordIndex) {
+    int position = Arrays.binarySearch(firstRecords, recordIndex);
+    return position >= 0 ? position : -position - 2;
+  }
+
+  public long firstRecordOf(int block) {
+    return firstRecords[block];
+  }
+
+  /**
+   * Returns the records of the block. Uncompressed blocks are a view of the mapped file, while compressed
+   * ones are inflated into a new buffer
+   *
+   * @return A buffer positioned at the first record of the block and limited at the end of its last one
+   */
+  public ByteBuffer recordsOf(int block) {
+    ByteBuffer stored = regions[regionOfBlock[block]].duplicate();
+    stored.position(positionInRegion[block]);
+    stored.limit(positionInRegion[block] + storedLengths[block]);
+    if (!compressed) {
+      return stored.slice();
+    }
+    byte[] storedBytes = new byte[storedLengths[block]];
+    stored.get(storedBytes);
+    byte[] records = new byte[uncompressedLengths[block]];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(storedBytes);
+      int inflated = 0;
+      while (inflated < records.length && !inflater.finished()) {
+        int count = inflater.inflate(records, inflated, records.length - inflated);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += count;
+      }
+      if (inflated != records.length) {
+        throw new NaryException("The block " + block + " of the nary file " + file + " is truncated");
+      }
+    } catch (DataFormatException e) {
+      throw new NaryException("The block " + block + " of the nary file " + file + " is corrupt", e);
+    } finally {
+      inflater.end();
+    }
+    return ByteBuffer.wrap(records);
+  }
+
+  /**
+   * Reads the length that precedes each record, in groups of 7 bits
+   */
+  public static int readVarInt(ByteBuffer records) {
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte group = records.get();
+      value |= (group & 0x7F) << shift;
+      if (group >= 0) {
+        return value;
+      }
+    }
+  }
+
+  private void readStructure(FileChannel channel) throws IOException {
+    long size = channel.size();
+    if (size < HEADER_SIZE + FOOTER_SIZE) {
+      throw notANaryFile();
+    }
+    ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+    if (header.getInt() != MAGIC || header.get() != VERSION) {
+      throw notANaryFile();
+    }
+    compressed = (header.get() & FLAG_DEFLATED) != 0;
+
+    ByteBuffer footer = readFully(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+    int blockCount = footer.getInt();
+    long indexOffset = footer.getLong();
+    recordCount = footer.getLong();
+    if (footer.getInt() != INDEX_MAGIC) {
+      throw notANaryFile();
+    }
+
+    ByteBuffer index = readFully(channel, indexOffset, blockCount * INDEX_ENTRY_SIZE);
+    long[] blockOffsets = new long[blockCount];
+    firstRecords = new long[blockCount];
+    storedLengths = new int[blockCount];
+    uncompressedLengths = new int[blockCount];
+    for (int block = 0; block < blockCount; block++) {
+      blockOffsets[block] = index.getLong();
+      firstRecords[block] = index.getLong();
+      index.getInt(); // The record count is implied by the first record of the next block
+      storedLengths[block] = index.getInt();
+      uncompressedLengths[block] = index.getInt();
+    }
+    mapRegions(channel, blockOffsets);
+  }
+
+  private void mapRegions(FileChannel channel, long[] blockOffsets) throws IOException {
+    List<MappedByteBuffer> mapped = new ArrayList<>();
+    regionOfBlock = new int[blockOffsets.length];
+    positionInRegion = new int[blockOffsets.length];
+    int block = 0;
+    while (block < blockOffsets.length) {
+      long regionStart = blockOffsets[block];
+      int regionEndBlock = block;
+      while (regionEndBlock < blockOffsets.length
+        && blockOffsets[regionEndBlock] + storedLengths[regionEndBlock] - regionStart <= Math.max(MAX_REGION_SIZE, storedLengths[block])) {
+        regionOfBlock[regionEndBlock] = mapped.size();
+        positionInRegion[regionEndBlock] = (int) (blockOffsets[regionEndBlock] - regionStart);
+        regionEndBlock++;
+      }
+      long regionEnd = blockOffsets[regionEndBlock - 1] + storedLengths[regionEndBlock - 1];
+      mapped.add(channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionEnd - regionStart));
+      block = regionEndBlock;
+    }
+    regions = mapped.toArray(new MappedByteBuffer[0]);
+  }
+
+  private ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer bytes = ByteBuffer.allocate(length);
+    while (bytes.hasRemaining()) {
+      if (channel.read(bytes, position + bytes.position()) < 0) {
+        throw notANaryFile();
+      }
+    }
+    bytes.flip();
+    return bytes;
+  }
+
+  private NaryException notANaryFile() {
+    return new NaryException("The file " + file + " is not a nary binary file");
+  }
+}
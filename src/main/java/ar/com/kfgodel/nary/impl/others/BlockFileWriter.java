@@ -0,0 +1,216 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.BinaryFormat;
+import ar.com.kfgodel.nary.api.io.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * This type writes the elements of a nary to a binary file readable with {@link BlockFile}, in one pass
+ * through a file channel.<br>
+ * Records are encoded into a block buffer, and each completed block is compressed (if the format says so)
+ * and written with a single channel write. The index of the blocks is kept in memory and written at the end.<br>
+ * The bytes go to a temporary file next to the target, which replaces the target with an atomic move when
+ * finished. If the writer is closed before that, only the temporary file is deleted, and any previous version
+ * of the target is left untouched
+ * <p>
+ * Date: 20/10/26 - 09:20
+ */
+public class BlockFileWriter<T> implements AutoCloseable {
+
+  private Path file;
+  private Path temporaryFile;
+  private FileChannel channel;
+  private Encoder<? super T> encoder;
+  private BinaryFormat format;
+  private ExposedBytes record;
+  private DataOutputStream recordOutput;
+  private ExposedBytes block;
+  private int blockRecords;
+  private ExposedBytes index;
+  private DataOutputStream indexOutput;
+  private int blockCount;
+  private long recordCount;
+  private long fileOffset;
+  private Deflater deflater;
+  private byte[] compressed;
+  private boolean finished;
+
+  public static <T> BlockFileWriter<T> create(Path file, Encoder<? super T> encoder, BinaryFormat format) {
+    BlockFileWriter<T> writer = new BlockFileWriter<>();
+    writer.file = file;
+    writer.encoder = encoder;
+    writer.format = format;
+    writer.record = new ExposedBytes(256);
+    writer.recordOutput = new DataOutputStream(writer.record);
+    writer.block = new ExposedBytes(format.getBlockSize() + 256);
+    writer.index = new ExposedBytes(BlockFile.INDEX_ENTRY_SIZE * 16);
+    writer.indexOutput = new DataOutputStream(writer.index);
+    if (format.isCompressed()) {
+      writer.deflater = new Deflater();
+      writer.compressed = new byte[format.getBlockSize() + 256];
+    }
+    try {
+      writer.temporaryFile = temporarySibling(file);
+      writer.channel = FileChannel.open(writer.temporaryFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      ByteBuffer header = ByteBuffer.allocate(BlockFile.HEADER_SIZE);
+      header.putInt(BlockFile.MAGIC).put(BlockFile.VERSION).put(format.isCompressed() ? BlockFile.FLAG_DEFLATED : 0);
+      header.flip();
+      writer.writeFully(header);
+      writer.fileOffset = BlockFile.HEADER_SIZE;
+    } catch (IOException e) {
+      writer.close();
+      throw new NaryException("Failed to create the nary file " + file, e);
+    }
+    return writer;
+  }
+
+  /**
+   * Adds the element as the next record of the file
+   */
+  public void write(T element) {
+    try {
+      record.reset();
+      encoder.encode(element, recordOutput);
+      writeVarInt(block, record.size());
+      block.write(record.array(), 0, record.size());
+      blockRecords++;
+      recordCount++;
+      if (block.size() >= format.getBlockSize()) {
+        writeBlock();
+      }
+    } catch (IOException e) {
+      throw new NaryException("Failed to write record " + recordCount + " to the nary file " + file, e);
+    }
+  }
+
+  /**
+   * Writes the pending block, the index and the footer, completing the file
+   *
+   * @return The amount of records written
+   */
+  public long finish() {
+    try {
+      writeBlock();
+      long indexOffset = fileOffset;
+      writeFully(ByteBuffer.wrap(index.array(), 0, index.size()));
+      ByteBuffer footer = ByteBuffer.allocate(BlockFile.FOOTER_SIZE);
+      footer.putInt(blockCount).putLong(indexOffset).putLong(recordCount).putInt(BlockFile.INDEX_MAGIC);
+      footer.flip();
+      writeFully(footer);
+      channel.close();
+      Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new NaryException("Failed to complete the nary file " + file, e);
+    }
+    finished = true;
+    return recordCount;
+  }
+
+  @Override
+  public void close() {
+    if (deflater != null) {
+      deflater.end();
+    }
+    if (finished) {
+      return;
+    }
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+      if (temporaryFile != null) {
+        Files.deleteIfExists(temporaryFile);
+      }
+    } catch (IOException e) {
+      // The incomplete file couldn't be removed, but the original failure is more relevant
+    }
+  }
+
+  /**
+   * Creates a unique path in the same directory as the given file, so it can be moved over it atomically
+   */
+  private static Path temporarySibling(Path file) {
+    Path absoluteFile = file.toAbsolutePath();
+    String temporaryName = "." + absoluteFile.getFileName() + "." + UUID.randomUUID() + ".tmp";
+    return absoluteFile.resolveSibling(temporaryName);
+  }
+
+  private void writeBlock() throws IOException {
+    if (blockRecords == 0) {
+      return;
+    }
+    byte[] payload = block.array();
+    int storedLength = block.size();
+    if (format.isCompressed()) {
+      payload = deflated(block.array(), block.size());
+      storedLength = deflater.getTotalOut();
+    }
+    writeFully(ByteBuffer.wrap(payload, 0, storedLength));
+    indexOutput.writeLong(fileOffset);
+    indexOutput.writeLong(recordCount - blockRecords);
+    indexOutput.writeInt(blockRecords);
+    indexOutput.writeInt(storedLength);
+    indexOutput.writeInt(block.size());
+    fileOffset += storedLength;
+    blockCount++;
+    blockRecords = 0;
+    block.reset();
+  }
+
+  private byte[] deflated(byte[] bytes, int length) {
+    deflater.reset();
+    deflater.setInput(bytes, 0, length);
+    deflater.finish();
+    int compressedLength = 0;
+    while (!deflater.finished()) {
+      if (compressedLength == compressed.length) {
+        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+      }
+      compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+    }
+    return compressed;
+  }
+
+  private void writeFully(ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  /**
+   * Writes the value in groups of 7 bits, with the high bit indicating that more groups follow
+   */
+  private static void writeVarInt(ByteArrayOutputStream output, int value) {
+    while ((value & ~0x7F) != 0) {
+      output.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    output.write(value);
+  }
+
+  /**
+   * A byte array stream that gives access to its array, to write it without copying
+   */
+  private static class ExposedBytes extends ByteArrayOutputStream {
+    ExposedBytes(int initialSize) {
+      super(initialSize);
+    }
+
+    byte[] array() {
+      return buf;
+    }
+  }
+}
@@ -0,0 +1,279 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.ChannelWriteOptions;
+import ar.com.kfgodel.nary.api.io.Encoder;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This type writes the encoded elements of a nary to a channel in batches, instead of one write per element.<br>
+ * Elements are encoded into pooled direct buffers (so the channel doesn't copy them to native memory), and
+ * once the batch size is reached all its buffers are passed to a single gathering write if the channel
+ * supports it. When the options ask for it, batches are handed to a separate thread that writes them while
+ * the next one is encoded.<br>
+ * The channel is not closed by this writer
+ * <p>
+ * Date: 20/10/26 - 11:20
+ */
+public class ChannelBatchWriter<T> implements AutoCloseable {
+
+  private WritableByteChannel channel;
+  private Encoder<? super T> encoder;
+  private int batchSize;
+  private DirectBufferPool pool;
+  private List<ByteBuffer> batch;
+  private int batchBytes;
+  private DataOutputStream output;
+  private long elementCount;
+  private BackgroundWriter background;
+
+  public static <T> ChannelBatchWriter<T> create(WritableByteChannel channel, Encoder<? super T> encoder,
+                                                 ChannelWriteOptions options) {
+    ChannelBatchWriter<T> writer = new ChannelBatchWriter<>();
+    writer.channel = channel;
+    writer.encoder = encoder;
+    writer.batchSize = options.getBatchSize();
+    writer.pool = DirectBufferPool.shared();
+    writer.batch = new ArrayList<>();
+    writer.output = new DataOutputStream(writer.new BatchOutput());
+    if (options.isWritingInBackground()) {
+      writer.background = writer.new BackgroundWriter();
+      writer.background.start();
+    }
+    return writer;
+  }
+
+  /**
+   * Encodes the element after the previous ones, writing the batch if it's complete
+   */
+  public void write(T element) {
+    try {
+      encoder.encode(element, output);
+    } catch (IOException e) {
+      throw new NaryException("Failed to encode element " + elementCount + " for the channel", e);
+    }
+    elementCount++;
+    if (batchBytes >= batchSize) {
+      writeBatch();
+    }
+  }
+
+  /**
+   * Writes the pending batch and waits for all the batches to be written
+   *
+   * @return The amount of written elements
+   */
+  public long finish() {
+    writeBatch();
+    if (background != null) {
+      background.finish();
+    }
+    return elementCount;
+  }
+
+  @Override
+  public void close() {
+    if (background != null) {
+      background.stop();
+    }
+    batch.forEach(pool::release);
+    batch.clear();
+  }
+
+  private void writeBatch() {
+    if (batchBytes == 0) {
+      return;
+    }
+    ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+    batch.clear();
+    batchBytes = 0;
+    for (ByteBuffer buffer : buffers) {
+      buffer.flip();
+    }
+    if (background != null) {
+      background.submit(buffers);
+    } else {
+      try {
+        writeAndRelease(buffers);
+      } catch (IOException e) {
+        throw new NaryException("Failed to write a batch of elements to the channel", e);
+      }
+    }
+  }
+
+  private void writeAndRelease(ByteBuffer[] buffers) throws IOException {
+    try {
+      if (channel instanceof GatheringByteChannel) {
+        GatheringByteChannel gathering = (GatheringByteChannel) channel;
+        ByteBuffer last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) {
+          gathering.write(buffers);
+        }
+      } else {
+        for (ByteBuffer buffer : buffers) {
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+        }
+      }
+    } finally {
+      for (ByteBuffer buffer : buffers) {
+        pool.release(buffer);
+      }
+    }
+  }
+
+  /**
+   * Copies the encoded bytes into the buffers of the batch, taking a new one from the pool when full
+   */
+  private class BatchOutput extends OutputStream {
+    private ByteBuffer current;
+
+    @Override
+    public void write(int b) {
+      writableBuffer().put((byte) b);
+      batchBytes++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      while (length > 0) {
+        ByteBuffer buffer = writableBuffer();
+        int copied = Math.min(length, buffer.remaining());
+        buffer.put(bytes, offset, copied);
+        batchBytes += copied;
+        offset += copied;
+        length -= copied;
+      }
+    }
+
+    private ByteBuffer writableBuffer() {
+      if (batch.isEmpty() || !current.hasRemaining()) {
+        current = pool.acquire();
+        batch.add(current);
+      }
+      return current;
+    }
+  }
+
+  /**
+   * Writes the submitted batches from its own thread, in the order they are submitted.<br>
+   * At most one batch waits to be written, so encoding blocks if the channel is slower
+   */
+  private class BackgroundWriter implements Runnable {
+    private static final long HAND_OVER_CHECK_MILLIS = 100;
+
+    private final ByteBuffer[] end = new ByteBuffer[0];
+    private final BlockingQueue<ByteBuffer[]> pending = new ArrayBlockingQueue<>(1);
+    private final Thread thread = new Thread(this, "nary-channel-writer");
+    private volatile Throwable failure;
+
+    void start() {
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    @Override
+    public void run() {
+      try {
+        ByteBuffer[] buffers;
+        while ((buffers = pending.take()) != end) {
+          if (failure != null) {
+            // The batches after a failure are discarded, the encoding side stops on its next submit
+            release(buffers);
+            continue;
+          }
+          try {
+            writeAndRelease(buffers);
+          } catch (IOException | RuntimeException | Error e) {
+            // Any failure is reported to the encoding side, and this thread keeps taking batches so it never blocks
+            failure = e;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    void submit(ByteBuffer[] buffers) {
+      checkFailure();
+      try {
+        handOver(buffers);
+      } catch (RuntimeException e) {
+        release(buffers);
+        throw e;
+      }
+    }
+
+    void finish() {
+      handOver(end);
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new NaryException("Interrupted while waiting for the batches to be written to the channel", e);
+      }
+      checkFailure();
+    }
+
+    /**
+     * Waits for the writer thread to take the previous batch, failing instead of blocking if it died
+     */
+    private void handOver(ByteBuffer[] buffers) {
+      try {
+        while (!pending.offer(buffers, HAND_OVER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+          if (!thread.isAlive()) {
+            checkFailure();
+            throw new NaryException("The thread writing to the channel stopped unexpectedly");
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new NaryException("Interrupted while waiting for a batch to be written to the channel", e);
+      }
+    }
+
+    /**
+     * Discards the batch that is waiting, and waits for the one being written
+     */
+    void stop() {
+      if (!thread.isAlive()) {
+        return;
+      }
+      ByteBuffer[] discarded = pending.poll();
+      if (discarded != null) {
+        release(discarded);
+      }
+      pending.offer(end);
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new NaryException("Interrupted while waiting for the batches to be written to the channel", e);
+      }
+    }
+
+    private void checkFailure() {
+      if (failure != null) {
+        throw new NaryException("Failed to write a batch of elements to the channel", failure);
+      }
+    }
+
+    private void release(ByteBuffer[] buffers) {
+      for (ByteBuffer buffer : buffers) {
+        pool.release(buffer);
+      }
+    }
+  }
+}
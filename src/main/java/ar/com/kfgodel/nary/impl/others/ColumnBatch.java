@@ -0,0 +1,105 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+
+/**
+ * This type implements the storage of a batch: one array per column, where the value of each row is at
+ * the row index.<br>
+ * Arrays are filled once when the batch is created and never modified afterwards
+ * <p>
+ * Date: 20/10/26 - 06:04
+ */
+public final class ColumnBatch<T> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private List<BatchColumn<T>> columns;
+  private Map<String, Integer> indexByName;
+  private Object[] arrays;
+  private int capacity;
+  private int rowCount;
+
+  /**
+   * Creates a batch with one row for each of the given elements
+   */
+  public static <T> ColumnBatch<T> create(List<BatchColumn<T>> columns, Spliterator<T> elements) {
+    ColumnBatch<T> batch = new ColumnBatch<>();
+    batch.columns = columns;
+    batch.indexByName = new HashMap<>();
+    batch.arrays = new Object[columns.size()];
+    long knownSize = elements.getExactSizeIfKnown();
+    batch.capacity = knownSize >= 0 && knownSize < Integer.MAX_VALUE ? (int) knownSize : INITIAL_CAPACITY;
+    for (int i = 0; i < columns.size(); i++) {
+      batch.indexByName.put(columns.get(i).name(), i);
+      batch.arrays[i] = columns.get(i).newArray(batch.capacity);
+    }
+    elements.forEachRemaining(batch::addRow);
+    return batch;
+  }
+
+  public int rowCount() {
+    return rowCount;
+  }
+
+  public int[] intColumn(String name) {
+    return (int[]) arrayOf(name, int[].class);
+  }
+
+  public long[] longColumn(String name) {
+    return (long[]) arrayOf(name, long[].class);
+  }
+
+  public double[] doubleColumn(String name) {
+    return (double[]) arrayOf(name, double[].class);
+  }
+
+  public Object[] objectColumn(String name) {
+    return (Object[]) arrayOf(name, Object[].class);
+  }
+
+  /**
+   * @return The array of the column, whatever its type is
+   * @throws IllegalArgumentException if there's no column with the name
+   */
+  public Object anyColumn(String name) throws IllegalArgumentException {
+    Integer index = indexByName.get(name);
+    if (index == null) {
+      throw new IllegalArgumentException("The batch has no column named '" + name + "': " + columnNames());
+    }
+    return arrays[index];
+  }
+
+  public List<String> columnNames() {
+    List<String> names = new ArrayList<>(columns.size());
+    for (BatchColumn<T> column : columns) {
+      names.add(column.name() + ":" + column.typeName());
+    }
+    return names;
+  }
+
+  private Object arrayOf(String name, Class<?> arrayType) {
+    Object array = anyColumn(name);
+    if (!arrayType.isInstance(array)) {
+      throw new IllegalArgumentException("The batch column '" + name + "' is not of type "
+        + arrayType.getComponentType().getSimpleName() + ": " + columnNames());
+    }
+    return array;
+  }
+
+  private void addRow(T element) {
+    if (rowCount == capacity) {
+      capacity = Math.max(INITIAL_CAPACITY, capacity * 2);
+      for (int i = 0; i < arrays.length; i++) {
+        arrays[i] = columns.get(i).resized(arrays[i], capacity);
+      }
+    }
+    for (int i = 0; i < arrays.length; i++) {
+      columns.get(i).store(element, arrays[i], rowCount);
+    }
+    rowCount++;
+  }
+}
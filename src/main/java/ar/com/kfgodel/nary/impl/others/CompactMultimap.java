@@ -0,0 +1,221 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * This type implements a multimap that keeps its keys in an open addressing table and its values in
+ * parallel arrays, avoiding an entry object and a collection per key.<br>
+ * Keys are placed using linear probing over arrays of keys and hashes. Each key slot points to the first
+ * and last of its values, and values are chained in insertion order by index, so lookups don't allocate.
+ * Null is a valid key and value.<br>
+ * Instances are not thread-safe, but they can be built in parallel as separate instances and then merged
+ * <p>
+ * Date: 20/10/26 - 00:12
+ */
+public class CompactMultimap<K, V> {
+
+  private static final int INITIAL_SLOTS = 16;
+  private static final int NO_VALUE = -1;
+  /**
+   * Marks the slot used by the null key, as null marks an empty slot
+   */
+  private static final Object NULL_KEY = new Object();
+
+  private Object[] slotKeys;
+  private int[] slotHashes;
+  private int[] slotFirstValue;
+  private int[] slotLastValue;
+  private int keyCount;
+  /**
+   * Keys and the index of their first value, in the order keys were added
+   */
+  private Object[] orderedKeys;
+  private int[] orderedFirstValues;
+
+  private Object[] values;
+  private int[] nextValueOfKey;
+  private int valueCount;
+
+  public static <K, V> CompactMultimap<K, V> create() {
+    CompactMultimap<K, V> multimap = new CompactMultimap<>();
+    multimap.initSlots(INITIAL_SLOTS);
+    multimap.orderedKeys = new Object[INITIAL_SLOTS];
+    multimap.orderedFirstValues = new int[INITIAL_SLOTS];
+    multimap.values = new Object[INITIAL_SLOTS];
+    multimap.nextValueOfKey = new int[INITIAL_SLOTS];
+    return multimap;
+  }
+
+  /**
+   * Adds a value for the given key, after the values already added for it
+   */
+  public void put(K key, V value) {
+    Object storedKey = key == null ? NULL_KEY : key;
+    int hash = spread(storedKey.hashCode());
+    int slot = findSlot(storedKey, hash);
+    if (slotKeys[slot] == null) {
+      if ((keyCount + 1) * 4 > slotKeys.length * 3) {
+        // Keep the load under 75% so probing sequences stay short
+        resizeSlots();
+        slot = findSlot(storedKey, hash);
+      }
+      slotKeys[slot] = storedKey;
+      slotHashes[slot] = hash;
+      slotFirstValue[slot] = NO_VALUE;
+    }
+    int valueIndex = addValue(value);
+    if (slotFirstValue[slot] == NO_VALUE) {
+      slotFirstValue[slot] = valueIndex;
+      addOrderedKey(storedKey, valueIndex);
+    } else {
+      nextValueOfKey[slotLastValue[slot]] = valueIndex;
+    }
+    slotLastValue[slot] = valueIndex;
+  }
+
+  /**
+   * Adds all the values of the given multimap to this one, keeping their order after the values of this instance
+   *
+   * @param other The multimap to add
+   * @return This instance
+   */
+  public CompactMultimap<K, V> putAll(CompactMultimap<K, V> other) {
+    other.forEachEntry(this::put);
+    return this;
+  }
+
+  /**
+   * Passes the values of the given key to the consumer in the order they were added
+   *
+   * @return true if the key has any value
+   */
+  @SuppressWarnings("unchecked") // Only values of type V are stored
+  public boolean forEachValue(K key, Consumer<? super V> action) {
+    Object storedKey = key == null ? NULL_KEY : key;
+    int slot = findSlot(storedKey, spread(storedKey.hashCode()));
+    if (slotKeys[slot] == null) {
+      return false;
+    }
+    for (int valueIndex = slotFirstValue[slot]; valueIndex != NO_VALUE; valueIndex = nextValueOfKey[valueIndex]) {
+      action.accept((V) values[valueIndex]);
+    }
+    return true;
+  }
+
+  /**
+   * @return A new list with the values of the given key in the order they were added, or empty if it has none
+   */
+  public List<V> valuesOf(K key) {
+    List<V> keyValues = new ArrayList<>();
+    forEachValue(key, keyValues::add);
+    return keyValues;
+  }
+
+  public boolean containsKey(K key) {
+    Object storedKey = key == null ? NULL_KEY : key;
+    return slotKeys[findSlot(storedKey, spread(storedKey.hashCode()))] != null;
+  }
+
+  /**
+   * Passes each key with each of its values, grouped by key in the order keys were added
+   */
+  @SuppressWarnings("unchecked") // Only keys of type K and values of type V are stored
+  public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+    for (int i = 0; i < keyCount; i++) {
+      K key = orderedKeys[i] == NULL_KEY ? null : (K) orderedKeys[i];
+      for (int valueIndex = orderedFirstValues[i]; valueIndex != NO_VALUE; valueIndex = nextValueOfKey[valueIndex]) {
+        action.accept(key, (V) values[valueIndex]);
+      }
+    }
+  }
+
+  /**
+   * Passes each key once, in the order keys were added
+   */
+  @SuppressWarnings("unchecked") // Only keys of type K are stored
+  public void forEachKey(Consumer<? super K> action) {
+    for (int i = 0; i < keyCount; i++) {
+      action.accept(orderedKeys[i] == NULL_KEY ? null : (K) orderedKeys[i]);
+    }
+  }
+
+  public int keyCount() {
+    return keyCount;
+  }
+
+  public int size() {
+    return valueCount;
+  }
+
+  private void addOrderedKey(Object storedKey, int firstValueIndex) {
+    if (keyCount == orderedKeys.length) {
+      int newLength = orderedKeys.length * 2;
+      orderedKeys = Arrays.copyOf(orderedKeys, newLength);
+      orderedFirstValues = Arrays.copyOf(orderedFirstValues, newLength);
+    }
+    orderedKeys[keyCount] = storedKey;
+    orderedFirstValues[keyCount] = firstValueIndex;
+    keyCount++;
+  }
+
+  private int addValue(V value) {
+    if (valueCount == values.length) {
+      int newLength = values.length * 2;
+      values = Arrays.copyOf(values, newLength);
+      nextValueOfKey = Arrays.copyOf(nextValueOfKey, newLength);
+    }
+    values[valueCount] = value;
+    nextValueOfKey[valueCount] = NO_VALUE;
+    return valueCount++;
+  }
+
+  /**
+   * Returns the slot of the given key, or the empty slot where it should be added
+   */
+  private int findSlot(Object storedKey, int hash) {
+    int mask = slotKeys.length - 1;
+    int slot = hash & mask;
+    while (slotKeys[slot] != null) {
+      if (slotHashes[slot] == hash && Objects.equals(slotKeys[slot], storedKey)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void resizeSlots() {
+    Object[] oldKeys = slotKeys;
+    int[] oldHashes = slotHashes;
+    int[] oldFirst = slotFirstValue;
+    int[] oldLast = slotLastValue;
+    initSlots(oldKeys.length * 2);
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldKeys[oldSlot] != null) {
+        int slot = findSlot(oldKeys[oldSlot], oldHashes[oldSlot]);
+        slotKeys[slot] = oldKeys[oldSlot];
+        slotHashes[slot] = oldHashes[oldSlot];
+        slotFirstValue[slot] = oldFirst[oldSlot];
+        slotLastValue[slot] = oldLast[oldSlot];
+      }
+    }
+  }
+
+  private void initSlots(int slotCount) {
+    slotKeys = new Object[slotCount];
+    slotHashes = new int[slotCount];
+    slotFirstValue = new int[slotCount];
+    slotLastValue = new int[slotCount];
+  }
+
+  private static int spread(int hashCode) {
+    // Mix the high bits so keys with similar hashes don't collide in the low bits used as index
+    int hash = hashCode * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
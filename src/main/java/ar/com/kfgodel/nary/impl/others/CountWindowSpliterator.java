@@ -0,0 +1,78 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * This type implements a spliterator that aggregates each consecutive group of the given amount of elements
+ * of a source (a tumbling window by count).<br>
+ * Only the accumulation of the open window is kept. The last window may have less elements if the source
+ * ends before completing it
+ * <p>
+ * Date: 20/10/26 - 16:25
+ */
+public class CountWindowSpliterator<T, A, R> implements Spliterator<R>, Consumer<T> {
+
+  private Spliterator<T> source;
+  private int windowSize;
+  private Collector<? super T, A, R> collector;
+  private A openWindow;
+  private int openWindowCount;
+
+  public static <T, A, R> CountWindowSpliterator<T, A, R> create(Spliterator<T> source, int windowSize,
+                                                                 Collector<? super T, A, R> collector) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Windows need at least 1 element: " + windowSize);
+    }
+    CountWindowSpliterator<T, A, R> spliterator = new CountWindowSpliterator<>();
+    spliterator.source = source;
+    spliterator.windowSize = windowSize;
+    spliterator.collector = collector;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super R> action) {
+    while (openWindowCount < windowSize && source.tryAdvance(this)) {
+      // Elements are accumulated until the window is complete
+    }
+    if (openWindowCount == 0) {
+      return false;
+    }
+    A accumulated = openWindow;
+    openWindow = null;
+    openWindowCount = 0;
+    action.accept(collector.finisher().apply(accumulated));
+    return true;
+  }
+
+  /**
+   * Adds an element of the source to the open window
+   */
+  @Override
+  public void accept(T element) {
+    if (openWindow == null) {
+      openWindow = collector.supplier().get();
+    }
+    collector.accumulator().accept(openWindow, element);
+    openWindowCount++;
+  }
+
+  @Override
+  public Spliterator<R> trySplit() {
+    // Windows depend on the position of the elements
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    long elements = source.estimateSize();
+    return elements == Long.MAX_VALUE ? elements : (elements + windowSize - 1) / windowSize;
+  }
+
+  @Override
+  public int characteristics() {
+    return source.characteristics() & (ORDERED | SIZED | IMMUTABLE);
+  }
+}
@@ -0,0 +1,198 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This type gives access to the bytes of a delimited text file being traversed by ranges.<br>
+ * All the ranges read through one channel with positional reads, which can be done concurrently. The channel
+ * is closed when every range created by splitting has been fully read, or when the traversal is closed
+ * <p>
+ * Date: 20/10/26 - 12:30
+ */
+public class DelimitedFile implements AutoCloseable {
+
+  private static final int SCAN_SIZE = 64 * 1024;
+
+  // States of the record parser, used to find a record boundary
+  private static final int FIELD_START = 0;
+  private static final int UNQUOTED = 1;
+  private static final int QUOTED = 2;
+  private static final int QUOTE_IN_QUOTED = 3;
+
+  private Path path;
+  private FileChannel channel;
+  private long size;
+  private AtomicInteger pendingRanges;
+  private AtomicBoolean closed;
+
+  /**
+   * Opens the file with a single range covering all of it
+   */
+  public static DelimitedFile open(Path path) {
+    DelimitedFile file = new DelimitedFile();
+    file.path = path;
+    try {
+      file.channel = FileChannel.open(path, StandardOpenOption.READ);
+      file.size = file.channel.size();
+    } catch (IOException e) {
+      throw new NaryException("Failed to open the delimited file " + path, e);
+    }
+    file.pendingRanges = new AtomicInteger(1);
+    file.closed = new AtomicBoolean();
+    return file;
+  }
+
+  /**
+   * Reads bytes starting at the given position of the file
+   *
+   * @return The amount of bytes read, or -1 at the end of the file
+   */
+  public int read(ByteBuffer target, long position) {
+    try {
+      return channel.read(target, position);
+    } catch (IOException e) {
+      throw new NaryException("Failed to read the delimited file " + path, e);
+    }
+  }
+
+  /**
+   * Finds the start of a record after the given middle position of a range, reading forward from the middle.<br>
+   * Whether the middle is inside a quoted field is unknown, so the scan follows each possible parsing state at
+   * the same time, with the rules of the record parser: a quote only opens a field at its start, and two quotes
+   * inside a quoted field are an escaped one. A line break where no state is inside quotes ends a record for
+   * all of them. If the range ends before that, the states left inside quotes are discarded, because a range
+   * always ends at a record boundary
+   *
+   * @param delimiter The field delimiter
+   * @param quote     The quote character, or a negative number if the file has no quotes
+   * @return The position after the line break that ends a record, or the end of the range if none is certain
+   */
+  public long recordStartAfter(long middle, long rangeEnd, int delimiter, int quote) {
+    boolean quoted = quote >= 0;
+    int[] states = quoted ? new int[]{FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED} : new int[]{UNQUOTED};
+    long[] firstRecordEnds = new long[states.length];
+    Arrays.fill(firstRecordEnds, rangeEnd);
+    ByteBuffer scanned = ByteBuffer.allocate(SCAN_SIZE);
+    long position = middle;
+    while (position < rangeEnd) {
+      scanned.clear();
+      scanned.limit((int) Math.min(SCAN_SIZE, rangeEnd - position));
+      int read = read(scanned, position);
+      if (read <= 0) {
+        break;
+      }
+      byte[] bytes = scanned.array();
+      for (int i = 0; i < read; i++) {
+        byte current = bytes[i];
+        boolean recordEndForAll = current == '\n';
+        for (int candidate = 0; candidate < states.length; candidate++) {
+          if (current == '\n' && states[candidate] != QUOTED) {
+            firstRecordEnds[candidate] = Math.min(firstRecordEnds[candidate], position + i + 1);
+          } else if (current == '\n') {
+            recordEndForAll = false;
+          }
+          states[candidate] = nextState(states[candidate], current, (byte) delimiter, quoted, (byte) quote);
+        }
+        if (recordEndForAll) {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+    return recordEndOfCompleteStates(states, firstRecordEnds, rangeEnd);
+  }
+
+  /**
+   * @return The parsing state after the given byte, following the rules of the record parser
+   */
+  private static int nextState(int state, byte current, byte delimiter, boolean quoted, byte quote) {
+    boolean isQuote = quoted && current == quote;
+    switch (state) {
+      case QUOTED:
+        return isQuote ? QUOTE_IN_QUOTED : QUOTED;
+      case QUOTE_IN_QUOTED:
+        if (isQuote) {
+          // It was an escaped quote
+          return QUOTED;
+        }
+        break;
+      case FIELD_START:
+        if (isQuote) {
+          return QUOTED;
+        }
+        break;
+      default:
+        // A quote in the middle of an unquoted field is just another character
+        break;
+    }
+    return current == delimiter || current == '\n' ? FIELD_START : UNQUOTED;
+  }
+
+  /**
+   * Chooses the record end found by the states that weren't left inside quotes at the end of the range
+   *
+   * @return The record end they all agree on, or the end of the range if they don't
+   */
+  private static long recordEndOfCompleteStates(int[] states, long[] firstRecordEnds, long rangeEnd) {
+    long recordEnd = -1;
+    for (int candidate = 0; candidate < states.length; candidate++) {
+      if (states[candidate] == QUOTED) {
+        continue;
+      }
+      if (recordEnd >= 0 && recordEnd != firstRecordEnds[candidate]) {
+        return rangeEnd;
+      }
+      recordEnd = firstRecordEnds[candidate];
+    }
+    return recordEnd >= 0 ? recordEnd : rangeEnd;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  /**
+   * Registers a new range, created by splitting an existing one
+   */
+  public void rangeSplit() {
+    pendingRanges.incrementAndGet();
+  }
+
+  /**
+   * Registers that a range was fully read, closing the file if it was the last one
+   */
+  public void rangeFinished() {
+    if (pendingRanges.decrementAndGet() == 0) {
+      close();
+    }
+  }
+
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Nothing was written, so there's nothing lost
+    }
+  }
+}
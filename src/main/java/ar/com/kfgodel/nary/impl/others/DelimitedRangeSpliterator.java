@@ -0,0 +1,315 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.delimited.DelimitedRecord;
+import ar.com.kfgodel.nary.api.delimited.DelimitedSchema;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * This type parses the records of a byte range of a delimited file, creating an element for each one.<br>
+ * Ranges always start at a record boundary. Splitting halves the range at the first record boundary after
+ * its middle, so each half can be parsed in parallel.<br>
+ * Bytes are read into a buffer owned by the range, and the fields of each record are located as offsets in
+ * that buffer by a reused {@link DelimitedRecord}, so no string is created unless a field is read as one.
+ * Blank lines are ignored
+ * <p>
+ * Date: 20/10/26 - 12:45
+ */
+public class DelimitedRangeSpliterator<T> implements Spliterator<T> {
+
+  private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+  private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+  private static final int INCOMPLETE = -1;
+
+  private DelimitedFile file;
+  private DelimitedSchema<T> schema;
+  private long readPosition;
+  private long end;
+  private boolean skippingFirstRecord;
+  private boolean started;
+  private boolean finished;
+  private byte[] buffer;
+  private int bufferStart;
+  private int bufferEnd;
+  private ParsedRecord record;
+
+  /**
+   * Creates a spliterator for all the records of the file
+   */
+  public static <T> DelimitedRangeSpliterator<T> create(DelimitedFile file, DelimitedSchema<T> schema) {
+    return create(file, schema, 0, file.size(), schema.isSkippingHeader());
+  }
+
+  private static <T> DelimitedRangeSpliterator<T> create(DelimitedFile file, DelimitedSchema<T> schema,
+                                                         long start, long end, boolean skippingFirstRecord) {
+    DelimitedRangeSpliterator<T> spliterator = new DelimitedRangeSpliterator<>();
+    spliterator.file = file;
+    spliterator.schema = schema;
+    spliterator.readPosition = start;
+    spliterator.end = end;
+    spliterator.skippingFirstRecord = skippingFirstRecord;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (!started) {
+      start();
+    }
+    Function<? super DelimitedRecord, ? extends T> recordMapper = schema.getRecordMapper();
+    while (parseNext()) {
+      if (!record.isBlank()) {
+        action.accept(recordMapper.apply(record));
+        return true;
+      }
+    }
+    if (!finished) {
+      finished = true;
+      file.rangeFinished();
+    }
+    return false;
+  }
+
+  private void start() {
+    started = true;
+    buffer = new byte[(int) Math.max(1, Math.min(INITIAL_BUFFER_SIZE, end - readPosition))];
+    record = new ParsedRecord();
+    if (skippingFirstRecord) {
+      parseNext();
+    }
+  }
+
+  /**
+   * Locates the fields of the next record, reading more bytes if needed
+   *
+   * @return false if the range has no more records
+   */
+  private boolean parseNext() {
+    while (true) {
+      boolean lastBytes = readPosition >= end;
+      if (bufferStart == bufferEnd && lastBytes) {
+        return false;
+      }
+      int recordEnd = record.parse(bufferStart, bufferEnd, lastBytes);
+      if (recordEnd != INCOMPLETE) {
+        bufferStart = recordEnd;
+        return true;
+      }
+      readMore();
+    }
+  }
+
+  /**
+   * Moves the incomplete record to the start of the buffer and fills the rest with the next bytes of the range
+   */
+  private void readMore() {
+    int pending = bufferEnd - bufferStart;
+    if (pending == buffer.length) {
+      // The record doesn't fit in the buffer
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    System.arraycopy(buffer, bufferStart, buffer, 0, pending);
+    bufferStart = 0;
+    bufferEnd = pending;
+    int wanted = (int) Math.min(buffer.length - bufferEnd, end - readPosition);
+    int read = file.read(ByteBuffer.wrap(buffer, bufferEnd, wanted), readPosition);
+    if (read < 0) {
+      throw new NaryException("The delimited file " + file.path() + " was truncated while being read");
+    }
+    bufferEnd += read;
+    readPosition += read;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (started || end - readPosition < 2 * MIN_SPLIT_SIZE) {
+      return null;
+    }
+    long middle = readPosition + (end - readPosition) / 2;
+    int quote = schema.hasQuotes() ? schema.getQuote() : -1;
+    long boundary = file.recordStartAfter(middle, end, schema.getDelimiter(), quote);
+    if (boundary >= end) {
+      return null;
+    }
+    DelimitedRangeSpliterator<T> prefix = create(file, schema, readPosition, boundary, skippingFirstRecord);
+    file.rangeSplit();
+    readPosition = boundary;
+    skippingFirstRecord = false;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    // The amount of records is unknown, but the bytes to parse are proportional to them
+    return end - readPosition + (bufferEnd - bufferStart);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | IMMUTABLE;
+  }
+
+  /**
+   * The fields of the last parsed record, as offsets in the buffer
+   */
+  private class ParsedRecord implements DelimitedRecord {
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] quotedFields = new boolean[16];
+    private int fieldCount;
+
+    /**
+     * @return The position after the record, or {@link #INCOMPLETE} if more bytes are needed to find its end
+     */
+    int parse(int from, int to, boolean lastBytes) {
+      byte delimiter = (byte) schema.getDelimiter();
+      boolean quotes = schema.hasQuotes();
+      byte quote = (byte) schema.getQuote();
+      fieldCount = 0;
+      int fieldStart = from;
+      boolean quotedField = false;
+      boolean insideQuotes = false;
+      for (int i = from; i < to; i++) {
+        byte current = buffer[i];
+        if (insideQuotes) {
+          if (current == quote) {
+            if (i + 1 == to && !lastBytes) {
+              // It can't be known yet if the quote is escaped by a second one
+              return INCOMPLETE;
+            }
+            if (i + 1 < to && buffer[i + 1] == quote) {
+              i++;
+            } else {
+              insideQuotes = false;
+            }
+          }
+        } else if (quotes && current == quote && i == fieldStart) {
+          insideQuotes = true;
+          quotedField = true;
+        } else if (current == delimiter) {
+          addField(fieldStart, i, quotedField);
+          fieldStart = i + 1;
+          quotedField = false;
+        } else if (current == '\n') {
+          addField(fieldStart, withoutCarriageReturn(fieldStart, i), quotedField);
+          return i + 1;
+        }
+      }
+      if (!lastBytes) {
+        return INCOMPLETE;
+      }
+      // The last record of the file may not end with a line break
+      addField(fieldStart, withoutCarriageReturn(fieldStart, to), quotedField);
+      return to;
+    }
+
+    private int withoutCarriageReturn(int fieldStart, int fieldEnd) {
+      return fieldEnd > fieldStart && buffer[fieldEnd - 1] == '\r' ? fieldEnd - 1 : fieldEnd;
+    }
+
+    private void addField(int start, int end, boolean quoted) {
+      if (fieldCount == fieldStarts.length) {
+        fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+        fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        quotedFields = Arrays.copyOf(quotedFields, fieldCount * 2);
+      }
+      if (quoted) {
+        // The value is between the quotes
+        start++;
+        if (end > start && buffer[end - 1] == schema.getQuote()) {
+          end--;
+        }
+      }
+      fieldStarts[fieldCount] = start;
+      fieldEnds[fieldCount] = end;
+      quotedFields[fieldCount] = quoted;
+      fieldCount++;
+    }
+
+    boolean isBlank() {
+      return fieldCount == 1 && !quotedFields[0] && fieldStarts[0] == fieldEnds[0];
+    }
+
+    @Override
+    public int fieldCount() {
+      return fieldCount;
+    }
+
+    @Override
+    public boolean isEmpty(int field) {
+      checkField(field);
+      return fieldStarts[field] == fieldEnds[field];
+    }
+
+    @Override
+    public String getString(int field) {
+      checkField(field);
+      String value = new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field], StandardCharsets.UTF_8);
+      if (quotedFields[field]) {
+        String quote = String.valueOf(schema.getQuote());
+        value = value.replace(quote + quote, quote);
+      }
+      return value;
+    }
+
+    @Override
+    public int getInt(int field) {
+      long value = getLong(field);
+      if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+        throw notParseableAs("an int", field);
+      }
+      return (int) value;
+    }
+
+    @Override
+    public long getLong(int field) {
+      checkField(field);
+      int start = fieldStarts[field];
+      int end = fieldEnds[field];
+      boolean negative = start < end && buffer[start] == '-';
+      int firstDigit = negative || (start < end && buffer[start] == '+') ? start + 1 : start;
+      if (firstDigit == end || end - firstDigit > 18) {
+        // Values that could overflow are left to the JDK
+        try {
+          return Long.parseLong(getString(field));
+        } catch (NumberFormatException e) {
+          throw notParseableAs("a long", field);
+        }
+      }
+      long value = 0;
+      for (int i = firstDigit; i < end; i++) {
+        int digit = buffer[i] - '0';
+        if (digit < 0 || digit > 9) {
+          throw notParseableAs("a long", field);
+        }
+        value = value * 10 + digit;
+      }
+      return negative ? -value : value;
+    }
+
+    @Override
+    public double getDouble(int field) {
+      try {
+        return Double.parseDouble(getString(field));
+      } catch (NumberFormatException e) {
+        throw notParseableAs("a double", field);
+      }
+    }
+
+    private NumberFormatException notParseableAs(String type, int field) {
+      return new NumberFormatException("The field " + field + " is not " + type + ": '" + getString(field) + "'");
+    }
+
+    private void checkField(int field) {
+      if (field < 0 || field >= fieldCount) {
+        throw new IllegalArgumentException("The record has no field " + field + ", it has " + fieldCount + " fields");
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This type keeps released direct buffers of a fixed size to be reused, as allocating direct memory is much
+ * slower than allocating heap arrays and it's only reclaimed when the buffers are garbage collected.<br>
+ * At most the given amount of buffers is kept, the ones released after that are left to the collector.
+ * Instances are thread-safe
+ * <p>
+ * Date: 20/10/26 - 11:12
+ */
+public class DirectBufferPool {
+
+  public static final int BUFFER_SIZE = 64 * 1024;
+  private static final DirectBufferPool SHARED = create(BUFFER_SIZE, 64);
+
+  private int bufferSize;
+  private int maxPooled;
+  private ConcurrentLinkedQueue<ByteBuffer> available;
+  private AtomicInteger pooled;
+
+  /**
+   * @return The pool of 64KB buffers shared by all the writers, that keeps up to 4MB
+   */
+  public static DirectBufferPool shared() {
+    return SHARED;
+  }
+
+  public static DirectBufferPool create(int bufferSize, int maxPooled) {
+    DirectBufferPool pool = new DirectBufferPool();
+    pool.bufferSize = bufferSize;
+    pool.maxPooled = maxPooled;
+    pool.available = new ConcurrentLinkedQueue<>();
+    pool.pooled = new AtomicInteger();
+    return pool;
+  }
+
+  /**
+   * @return A cleared buffer, reused if any was released
+   */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer = available.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+    pooled.decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Makes the buffer available to be acquired again. It must not be used after this call
+   */
+  public void release(ByteBuffer buffer) {
+    if (pooled.incrementAndGet() > maxPooled) {
+      pooled.decrementAndGet();
+      return;
+    }
+    available.offer(buffer);
+  }
+
+  public int bufferSize() {
+    return bufferSize;
+  }
+}
@@ -0,0 +1,233 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.WalkOptions;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * This type walks a directory tree depth first, in the same order as {@link Files#walk(Path, java.nio.file.FileVisitOption...)}.<br>
+ * The entries of each visited directory are listed at once (closing the directory right away) into a frame
+ * of a stack, and each directory entry is descended when it's reached. Splitting gives away the first half of
+ * the pending subdirectories of the outermost frame that has at least two, with every frame inside it, so
+ * the split keeps the encounter order. If no frame can be split, the next entries are visited ahead without
+ * being emitted, to find subdirectories to split.<br>
+ * Symbolic links are not followed
+ * <p>
+ * Date: 20/10/26 - 14:10
+ */
+public class DirectoryWalkSpliterator implements Spliterator<Path> {
+
+  /**
+   * Max amount of entries visited ahead while looking for subdirectories to split
+   */
+  private static final int MAX_VISITED_AHEAD = 1024;
+
+  private WalkOptions options;
+  private PathMatcher matcher;
+  private Semaphore openDirectories;
+  /**
+   * Entries already visited (and descended if directories) that must be emitted before the stack
+   */
+  private Deque<Path> visitedAhead;
+  private List<Frame> stack;
+
+  /**
+   * Creates a spliterator for the tree under the given directory
+   */
+  public static DirectoryWalkSpliterator create(Path root, WalkOptions options) {
+    if (!Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+      throw new NaryException("The path to walk doesn't exist: " + root);
+    }
+    DirectoryWalkSpliterator spliterator = createEmpty(options,
+      options.getGlob() == null ? null : root.getFileSystem().getPathMatcher("glob:" + options.getGlob()),
+      new Semaphore(options.getMaxOpenDirectories()));
+    List<Path> rootEntry = new ArrayList<>(1);
+    rootEntry.add(root);
+    spliterator.stack.add(new Frame(rootEntry, new boolean[]{isDirectory(root)}, 0, 1, 0));
+    return spliterator;
+  }
+
+  private static DirectoryWalkSpliterator createEmpty(WalkOptions options, PathMatcher matcher, Semaphore openDirectories) {
+    DirectoryWalkSpliterator spliterator = new DirectoryWalkSpliterator();
+    spliterator.options = options;
+    spliterator.matcher = matcher;
+    spliterator.openDirectories = openDirectories;
+    spliterator.visitedAhead = new ArrayDeque<>();
+    spliterator.stack = new ArrayList<>();
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Path> action) {
+    while (true) {
+      Path next = visitedAhead.isEmpty() ? visitNext() : visitedAhead.poll();
+      if (next == null) {
+        return false;
+      }
+      if (matches(next)) {
+        action.accept(next);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Takes the next entry of the stack, descending it if it's a directory
+   *
+   * @return The entry or null if the walk is complete
+   */
+  private Path visitNext() {
+    while (!stack.isEmpty()) {
+      Frame top = stack.get(stack.size() - 1);
+      if (top.next == top.end) {
+        stack.remove(stack.size() - 1);
+        continue;
+      }
+      int entry = top.next++;
+      Path path = top.entries.get(entry);
+      if (isDescendable(top, entry)) {
+        stack.add(list(path, top.depth + 1));
+      }
+      return path;
+    }
+    return null;
+  }
+
+  @Override
+  public Spliterator<Path> trySplit() {
+    for (int visited = 0; visited <= MAX_VISITED_AHEAD; visited++) {
+      for (int frameIndex = 0; frameIndex < stack.size(); frameIndex++) {
+        Frame frame = stack.get(frameIndex);
+        int splitEntry = middleDirectoryOf(frame);
+        if (splitEntry >= 0) {
+          return splitAt(frameIndex, splitEntry);
+        }
+      }
+      Path next = visitNext();
+      if (next == null) {
+        return null;
+      }
+      visitedAhead.add(next);
+    }
+    return null;
+  }
+
+  /**
+   * @return The index of the middle pending subdirectory of the frame, or -1 if it has less than two
+   */
+  private int middleDirectoryOf(Frame frame) {
+    int directories = 0;
+    for (int entry = frame.next; entry < frame.end; entry++) {
+      if (isDescendable(frame, entry)) {
+        directories++;
+      }
+    }
+    if (directories < 2) {
+      return -1;
+    }
+    int middle = directories / 2;
+    for (int entry = frame.next; ; entry++) {
+      if (isDescendable(frame, entry) && middle-- == 0) {
+        return entry;
+      }
+    }
+  }
+
+  /**
+   * Gives away everything before the given entry of the frame, which comes first in encounter order
+   */
+  private Spliterator<Path> splitAt(int frameIndex, int splitEntry) {
+    Frame frame = stack.get(frameIndex);
+    DirectoryWalkSpliterator prefix = createEmpty(options, matcher, openDirectories);
+    prefix.visitedAhead.addAll(visitedAhead);
+    visitedAhead.clear();
+    prefix.stack.add(new Frame(frame.entries, frame.directories, frame.next, splitEntry, frame.depth));
+    List<Frame> innerFrames = stack.subList(frameIndex + 1, stack.size());
+    prefix.stack.addAll(innerFrames);
+    innerFrames.clear();
+    frame.next = splitEntry;
+    return prefix;
+  }
+
+  private boolean isDescendable(Frame frame, int entry) {
+    return frame.directories[entry] && frame.depth < options.getMaxDepth();
+  }
+
+  private boolean matches(Path path) {
+    if (matcher == null) {
+      return true;
+    }
+    Path fileName = path.getFileName();
+    return fileName != null && matcher.matches(fileName);
+  }
+
+  /**
+   * Reads the entries of the directory, keeping it open only while it's read
+   */
+  private Frame list(Path directory, int depth) {
+    List<Path> entries = new ArrayList<>();
+    List<Boolean> directories = new ArrayList<>();
+    openDirectories.acquireUninterruptibly();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      for (Path entry : stream) {
+        entries.add(entry);
+        directories.add(isDirectory(entry));
+      }
+    } catch (IOException e) {
+      throw new NaryException("Failed to list the directory " + directory, e);
+    } finally {
+      openDirectories.release();
+    }
+    boolean[] directoryFlags = new boolean[directories.size()];
+    for (int i = 0; i < directoryFlags.length; i++) {
+      directoryFlags[i] = directories.get(i);
+    }
+    return new Frame(entries, directoryFlags, 0, entries.size(), depth);
+  }
+
+  private static boolean isDirectory(Path path) {
+    return Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS);
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | DISTINCT | NONNULL;
+  }
+
+  /**
+   * The pending entries of a listed directory. Split frames share the entries, each with its own range
+   */
+  private static class Frame {
+    private final List<Path> entries;
+    private final boolean[] directories;
+    private int next;
+    private final int end;
+    private final int depth;
+
+    Frame(List<Path> entries, boolean[] directories, int next, int end, int depth) {
+      this.entries = entries;
+      this.directories = directories;
+      this.next = next;
+      this.end = end;
+      this.depth = depth;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This type implements the double version of {@link ScanSpliterator}, accumulating on a primitive double
+ * so elements are not boxed while scanning
+ * <p>
+ * Date: 20/10/26 - 03:12
+ */
+public class DoubleScanSpliterator implements Spliterator.OfDouble, DoubleConsumer {
+
+  private static final int KEPT_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT;
+
+  private Spliterator.OfDouble source;
+  private DoubleBinaryOperator operator;
+  private double accumulated;
+
+  public static DoubleScanSpliterator create(Spliterator.OfDouble source, double identity, DoubleBinaryOperator operator) {
+    DoubleScanSpliterator spliterator = new DoubleScanSpliterator();
+    spliterator.source = source;
+    spliterator.operator = operator;
+    spliterator.accumulated = identity;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(DoubleConsumer action) {
+    if (!source.tryAdvance((DoubleConsumer) this)) {
+      return false;
+    }
+    action.accept(accumulated);
+    return true;
+  }
+
+  /**
+   * Accumulates a value of the source when advancing one by one
+   */
+  @Override
+  public void accept(double value) {
+    accumulated = operator.applyAsDouble(accumulated, value);
+  }
+
+  @Override
+  public void forEachRemaining(DoubleConsumer action) {
+    source.forEachRemaining((double value) -> {
+      accumulated = operator.applyAsDouble(accumulated, value);
+      action.accept(accumulated);
+    });
+  }
+
+  @Override
+  public Spliterator.OfDouble trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return source.characteristics() & KEPT_CHARACTERISTICS;
+  }
+}
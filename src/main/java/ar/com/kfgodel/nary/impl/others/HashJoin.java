@@ -0,0 +1,300 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.joining.JoinOptions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This type implements a hash join between a probe nary, that is streamed, and a build nary, whose elements
+ * are kept in a {@link CompactMultimap} by key.<br>
+ * The probe side keeps its laziness and parallelism, as each of its elements is replaced by its matches.
+ * If the build side exceeds the memory budget of the options, both sides are partitioned by key hash into
+ * temporary files, and each partition is joined separately when the result is consumed. In that case both
+ * sides are consumed when the join is created, and the results are grouped by partition instead of following
+ * the probe order
+ * <p>
+ * Date: 20/10/26 - 01:05
+ */
+public class HashJoin<T, U, K> {
+
+  private Function<? super T, ? extends K> probeKey;
+  private Function<? super U, ? extends K> buildKey;
+  private JoinOptions options;
+
+  public static <T, U, K> HashJoin<T, U, K> create(Function<? super T, ? extends K> probeKey,
+                                                    Function<? super U, ? extends K> buildKey,
+                                                    JoinOptions options) {
+    HashJoin<T, U, K> join = new HashJoin<>();
+    join.probeKey = probeKey;
+    join.buildKey = buildKey;
+    join.options = options;
+    return join;
+  }
+
+  /**
+   * Combines each probe element with each of its matches, discarding the ones without matches
+   */
+  public <R> Nary<R> inner(Nary<T> probe, Nary<U> build, BiFunction<? super T, ? super U, ? extends R> combiner) {
+    return execute(probe, build, (element, table, downstream) ->
+      table.forEachValue(probeKey.apply(element), match -> downstream.accept(combiner.apply(element, match))));
+  }
+
+  /**
+   * Combines each probe element with each of its matches, or with an empty unary if it has none
+   */
+  public <R> Nary<R> left(Nary<T> probe, Nary<U> build, BiFunction<? super T, Unary<U>, ? extends R> combiner) {
+    return execute(probe, build, (element, table, downstream) -> {
+      boolean matched = table.forEachValue(probeKey.apply(element),
+        match -> downstream.accept(combiner.apply(element, Nary.ofNonNullable(match))));
+      if (!matched) {
+        downstream.accept(combiner.apply(element, Nary.empty()));
+      }
+    });
+  }
+
+  private <R> Nary<R> execute(Nary<T> probe, Nary<U> build, Prober<T, U, K, R> prober) {
+    CompactMultimap<K, U> table;
+    if (options.getMaxInMemoryElements() == Long.MAX_VALUE) {
+      // Without a budget the table can be built in parallel if the source allows it
+      table = build.collect(CompactMultimap::create,
+        (partial, element) -> partial.put(buildKey.apply(element), element),
+        CompactMultimap::putAll);
+    } else {
+      Iterator<U> buildElements = build.iterator();
+      table = buildWithinBudget(buildElements);
+      if (buildElements.hasNext()) {
+        return spilled(probe, table, buildElements, prober);
+      }
+    }
+    return probe.mapMulti((T element, Consumer<R> downstream) -> prober.probe(element, table, downstream));
+  }
+
+  private CompactMultimap<K, U> buildWithinBudget(Iterator<U> buildElements) {
+    CompactMultimap<K, U> table = CompactMultimap.create();
+    while (table.size() < options.getMaxInMemoryElements() && buildElements.hasNext()) {
+      U element = buildElements.next();
+      table.put(buildKey.apply(element), element);
+    }
+    return table;
+  }
+
+  /**
+   * Writes both sides to partition files and returns a nary that joins them one partition at a time
+   */
+  private <R> Nary<R> spilled(Nary<T> probe, CompactMultimap<K, U> inMemory, Iterator<U> pendingBuild, Prober<T, U, K, R> prober) {
+    SpilledPartitions<U> buildPartitions = SpilledPartitions.create("build", options);
+    SpilledPartitions<T> probePartitions = SpilledPartitions.create("probe", options);
+    try {
+      inMemory.forEachEntry(buildPartitions::write);
+      while (pendingBuild.hasNext()) {
+        U element = pendingBuild.next();
+        buildPartitions.write(buildKey.apply(element), element);
+      }
+      buildPartitions.finishWriting();
+      for (T element : probe) {
+        probePartitions.write(probeKey.apply(element), element);
+      }
+      probePartitions.finishWriting();
+    } catch (RuntimeException e) {
+      buildPartitions.delete();
+      probePartitions.delete();
+      throw e;
+    }
+    PartitionJoinSpliterator<R> spliterator = new PartitionJoinSpliterator<>(buildPartitions, probePartitions, prober);
+    Stream<R> joined = StreamSupport.stream(spliterator, false)
+      .onClose(buildPartitions::delete)
+      .onClose(probePartitions::delete);
+    return Nary.from(joined);
+  }
+
+  /**
+   * Produces the results of one probe element using the table of the build side
+   */
+  @FunctionalInterface
+  private interface Prober<T, U, K, R> {
+    void probe(T element, CompactMultimap<K, U> table, Consumer<R> downstream);
+  }
+
+  /**
+   * Joins the spilled partitions in order, loading only one partition of the build side at a time
+   */
+  private class PartitionJoinSpliterator<R> extends Spliterators.AbstractSpliterator<R> {
+    private final SpilledPartitions<U> buildPartitions;
+    private final SpilledPartitions<T> probePartitions;
+    private final Prober<T, U, K, R> prober;
+    private final List<R> pendingResults = new ArrayList<>();
+    private int nextPending;
+    private int nextPartition;
+    private CompactMultimap<K, U> partitionTable;
+    private Iterator<T> partitionProbe;
+
+    PartitionJoinSpliterator(SpilledPartitions<U> buildPartitions, SpilledPartitions<T> probePartitions, Prober<T, U, K, R> prober) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED);
+      this.buildPartitions = buildPartitions;
+      this.probePartitions = probePartitions;
+      this.prober = prober;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+      while (nextPending == pendingResults.size()) {
+        pendingResults.clear();
+        nextPending = 0;
+        if (partitionProbe == null || !partitionProbe.hasNext()) {
+          if (!openNextPartition()) {
+            return false;
+          }
+          continue;
+        }
+        prober.probe(partitionProbe.next(), partitionTable, pendingResults::add);
+      }
+      action.accept(pendingResults.get(nextPending++));
+      return true;
+    }
+
+    private boolean openNextPartition() {
+      if (nextPartition == options.getPartitions()) {
+        return false;
+      }
+      int partition = nextPartition++;
+      partitionTable = CompactMultimap.create();
+      buildPartitions.read(partition).forEachRemaining(element -> partitionTable.put(buildKey.apply(element), element));
+      partitionProbe = probePartitions.read(partition);
+      return true;
+    }
+  }
+
+  /**
+   * Temporary files where the elements of one side are written, partitioned by the hash of their keys
+   */
+  private static class SpilledPartitions<E> {
+    private Path[] files;
+    private long[] counts;
+    private ObjectOutputStream[] writers;
+    private ObjectInputStream[] readers;
+
+    static <E> SpilledPartitions<E> create(String sideName, JoinOptions options) {
+      SpilledPartitions<E> partitions = new SpilledPartitions<>();
+      partitions.files = new Path[options.getPartitions()];
+      partitions.counts = new long[options.getPartitions()];
+      partitions.writers = new ObjectOutputStream[options.getPartitions()];
+      partitions.readers = new ObjectInputStream[options.getPartitions()];
+      try {
+        for (int i = 0; i < partitions.files.length; i++) {
+          partitions.files[i] = Files.createTempFile(options.getSpillDirectory(), "nary-join-" + sideName + "-", ".partition");
+          partitions.writers[i] = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(partitions.files[i])));
+        }
+      } catch (IOException e) {
+        partitions.delete();
+        throw new NaryException("Failed to create the join partition files", e);
+      }
+      return partitions;
+    }
+
+    void write(Object key, E element) {
+      int partition = ((key == null ? 0 : key.hashCode()) & 0x7fffffff) % files.length;
+      try {
+        writers[partition].writeObject(element);
+        // Elements are not referenced again, so the stream doesn't need to remember them
+        writers[partition].reset();
+      } catch (IOException e) {
+        throw new NaryException("Failed to spill a join element to " + files[partition], e);
+      }
+      counts[partition]++;
+    }
+
+    void finishWriting() {
+      for (int i = 0; i < writers.length; i++) {
+        try {
+          writers[i].close();
+        } catch (IOException e) {
+          throw new NaryException("Failed to spill the join elements to " + files[i], e);
+        }
+      }
+    }
+
+    /**
+     * Reads the elements of the partition as they are needed, deleting its file once all are read
+     */
+    Iterator<E> read(int partition) {
+      ObjectInputStream reader;
+      try {
+        reader = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(files[partition])));
+      } catch (IOException e) {
+        throw new NaryException("Failed to read the join partition " + files[partition], e);
+      }
+      writers[partition] = null;
+      readers[partition] = reader;
+      return new Iterator<E>() {
+        private long remaining = counts[partition];
+
+        @Override
+        public boolean hasNext() {
+          if (remaining == 0) {
+            deleteFile(partition);
+          }
+          return remaining > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // Only elements of type E are written
+        public E next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException("The join partition " + partition + " has no more elements");
+          }
+          remaining--;
+          try {
+            return (E) reader.readObject();
+          } catch (IOException | ClassNotFoundException e) {
+            throw new NaryException("Failed to read the join partition " + files[partition], e);
+          }
+        }
+      };
+    }
+
+    void delete() {
+      for (int i = 0; i < files.length; i++) {
+        deleteFile(i);
+      }
+    }
+
+    private void deleteFile(int partition) {
+      Path file = files[partition];
+      if (file == null) {
+        return;
+      }
+      files[partition] = null;
+      try {
+        if (writers[partition] != null) {
+          writers[partition].close();
+        }
+        if (readers[partition] != null) {
+          readers[partition].close();
+        }
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // A temporary file that can't be deleted is left to the OS
+      }
+    }
+  }
+}
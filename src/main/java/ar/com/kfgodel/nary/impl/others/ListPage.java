@@ -0,0 +1,42 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.paging.Page;
+import com.google.common.base.MoreObjects;
+
+import java.util.List;
+
+/**
+ * This type represents a page whose elements are stored in a list
+ * Date: 19/10/26 - 10:20
+ */
+public class ListPage<C, T> implements Page<C, T> {
+
+  private List<T> elements;
+  private Unary<C> continuation;
+
+  public static <C, T> ListPage<C, T> create(List<T> elements, Unary<C> continuation) {
+    ListPage<C, T> page = new ListPage<>();
+    page.elements = elements;
+    page.continuation = continuation;
+    return page;
+  }
+
+  @Override
+  public List<T> elements() {
+    return elements;
+  }
+
+  @Override
+  public Unary<C> continuation() {
+    return continuation;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+      .add("elements", elements)
+      .add("continuation", continuation)
+      .toString();
+  }
+}
@@ -0,0 +1,68 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Spliterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+
+/**
+ * This type implements the long version of {@link ScanSpliterator}, accumulating on a primitive long
+ * so elements are not boxed while scanning
+ * <p>
+ * Date: 20/10/26 - 03:12
+ */
+public class LongScanSpliterator implements Spliterator.OfLong, LongConsumer {
+
+  private static final int KEPT_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT;
+
+  private Spliterator.OfLong source;
+  private LongBinaryOperator operator;
+  private long accumulated;
+
+  public static LongScanSpliterator create(Spliterator.OfLong source, long identity, LongBinaryOperator operator) {
+    LongScanSpliterator spliterator = new LongScanSpliterator();
+    spliterator.source = source;
+    spliterator.operator = operator;
+    spliterator.accumulated = identity;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(LongConsumer action) {
+    if (!source.tryAdvance((LongConsumer) this)) {
+      return false;
+    }
+    action.accept(accumulated);
+    return true;
+  }
+
+  /**
+   * Accumulates a value of the source when advancing one by one
+   */
+  @Override
+  public void accept(long value) {
+    accumulated = operator.applyAsLong(accumulated, value);
+  }
+
+  @Override
+  public void forEachRemaining(LongConsumer action) {
+    source.forEachRemaining((long value) -> {
+      accumulated = operator.applyAsLong(accumulated, value);
+      action.accept(accumulated);
+    });
+  }
+
+  @Override
+  public Spliterator.OfLong trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return source.characteristics() & KEPT_CHARACTERISTICS;
+  }
+}
@@ -0,0 +1,92 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * This type implements a spliterator that replaces each element of a source with the 0 or more results
+ * a mapper pushes for it.<br>
+ * When traversed in bulk, results are pushed straight to the consumer. Only when advanced one
+ * by one, results of the same source element are kept until they are consumed
+ * <p>
+ * Date: 19/10/26 - 18:10
+ */
+public class MapMultiSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+
+  private static final int DROPPED_CHARACTERISTICS = SIZED | SUBSIZED | DISTINCT | SORTED | NONNULL;
+
+  private Spliterator<T> source;
+  private BiConsumer<? super T, ? super Consumer<R>> mapper;
+  private List<R> pendingResults;
+  private Consumer<R> pendingCollector;
+  private int nextPending;
+
+  public static <T, R> MapMultiSpliterator<T, R> create(Spliterator<T> source, BiConsumer<? super T, ? super Consumer<R>> mapper) {
+    MapMultiSpliterator<T, R> spliterator = new MapMultiSpliterator<>();
+    spliterator.source = source;
+    spliterator.mapper = mapper;
+    spliterator.pendingResults = new ArrayList<>(2);
+    spliterator.pendingCollector = spliterator.pendingResults::add;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super R> action) {
+    while (!hasPendingResults()) {
+      pendingResults.clear();
+      nextPending = 0;
+      if (!source.tryAdvance(this)) {
+        return false;
+      }
+    }
+    action.accept(pendingResults.get(nextPending++));
+    return true;
+  }
+
+  /**
+   * Receives an element of the source when advancing one by one, and keeps its results
+   */
+  @Override
+  public void accept(T element) {
+    mapper.accept(element, pendingCollector);
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super R> action) {
+    while (hasPendingResults()) {
+      action.accept(pendingResults.get(nextPending++));
+    }
+    Consumer<R> downstream = action::accept;
+    source.forEachRemaining(element -> mapper.accept(element, downstream));
+  }
+
+  @Override
+  public Spliterator<R> trySplit() {
+    if (hasPendingResults()) {
+      // Pending results come before any split of the source
+      return null;
+    }
+    Spliterator<T> prefix = source.trySplit();
+    if (prefix == null) {
+      return null;
+    }
+    return create(prefix, mapper);
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return source.characteristics() & ~DROPPED_CHARACTERISTICS;
+  }
+
+  private boolean hasPendingResults() {
+    return nextPending < pendingResults.size();
+  }
+}
@@ -0,0 +1,180 @@
+package ar.com.kfgodel.nary.impl.others;
+
+/**
+ * This type implements the numeric loops used to aggregate primitive arrays.<br>
+ * Loops are unrolled by 4 into independent accumulators, so consecutive iterations don't wait on each other
+ * and the JIT can use several execution units (or vector instructions when it auto-vectorizes them).
+ * Double sums are compensated on each lane, so combining the partial results at the end doesn't lose the
+ * precision a sequential sum would lose
+ * <p>
+ * Date: 20/10/26 - 07:02
+ */
+public class NumericKernels {
+
+  private static final int LANES = 4;
+
+  private NumericKernels() {
+    // Only static methods
+  }
+
+  public static long sum(int[] values, int length) {
+    long sum0 = 0;
+    long sum1 = 0;
+    long sum2 = 0;
+    long sum3 = 0;
+    int i = 0;
+    for (int unrolledEnd = length - LANES + 1; i < unrolledEnd; i += LANES) {
+      sum0 += values[i];
+      sum1 += values[i + 1];
+      sum2 += values[i + 2];
+      sum3 += values[i + 3];
+    }
+    for (; i < length; i++) {
+      sum0 += values[i];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  public static long sum(long[] values, int length) {
+    long sum0 = 0;
+    long sum1 = 0;
+    long sum2 = 0;
+    long sum3 = 0;
+    int i = 0;
+    for (int unrolledEnd = length - LANES + 1; i < unrolledEnd; i += LANES) {
+      sum0 += values[i];
+      sum1 += values[i + 1];
+      sum2 += values[i + 2];
+      sum3 += values[i + 3];
+    }
+    for (; i < length; i++) {
+      sum0 += values[i];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  /**
+   * Sums the first values with a compensated (Kahan-Babuska) sum, like {@link java.util.stream.DoubleStream#sum()},
+   * so the result doesn't depend on how the values are distributed in lanes
+   *
+   * @return The sum, or the infinity the values overflow to
+   */
+  public static double sum(double[] values, int length) {
+    double sum0 = 0;
+    double sum1 = 0;
+    double sum2 = 0;
+    double sum3 = 0;
+    double error0 = 0;
+    double error1 = 0;
+    double error2 = 0;
+    double error3 = 0;
+    int i = 0;
+    for (int unrolledEnd = length - LANES + 1; i < unrolledEnd; i += LANES) {
+      double next0 = sum0 + values[i];
+      double next1 = sum1 + values[i + 1];
+      double next2 = sum2 + values[i + 2];
+      double next3 = sum3 + values[i + 3];
+      error0 += roundingError(sum0, values[i], next0);
+      error1 += roundingError(sum1, values[i + 1], next1);
+      error2 += roundingError(sum2, values[i + 2], next2);
+      error3 += roundingError(sum3, values[i + 3], next3);
+      sum0 = next0;
+      sum1 = next1;
+      sum2 = next2;
+      sum3 = next3;
+    }
+    for (; i < length; i++) {
+      double next0 = sum0 + values[i];
+      error0 += roundingError(sum0, values[i], next0);
+      sum0 = next0;
+    }
+    // Lanes are combined with the same compensation
+    double total = sum0;
+    double error = (error0 + error1) + (error2 + error3);
+    double next = total + sum1;
+    error += roundingError(total, sum1, next);
+    total = next;
+    next = total + sum2;
+    error += roundingError(total, sum2, next);
+    total = next;
+    next = total + sum3;
+    error += roundingError(total, sum3, next);
+    total = next;
+    double compensated = total + error;
+    if (Double.isNaN(compensated) && Double.isInfinite(total)) {
+      // The errors of infinite sums are NaN, but the plain sum is right
+      return total;
+    }
+    return compensated;
+  }
+
+  /**
+   * @return The part of the value that was lost when adding it to the sum
+   */
+  private static double roundingError(double sum, double value, double newSum) {
+    if (Math.abs(sum) >= Math.abs(value)) {
+      return (sum - newSum) + value;
+    }
+    return (value - newSum) + sum;
+  }
+
+  /**
+   * @return The smallest of the first values, or NaN if any of them is (as {@link Math#min(double, double)})
+   */
+  public static double min(double[] values, int length) {
+    double min0 = Double.POSITIVE_INFINITY;
+    double min1 = Double.POSITIVE_INFINITY;
+    double min2 = Double.POSITIVE_INFINITY;
+    double min3 = Double.POSITIVE_INFINITY;
+    int i = 0;
+    for (int unrolledEnd = length - LANES + 1; i < unrolledEnd; i += LANES) {
+      min0 = Math.min(min0, values[i]);
+      min1 = Math.min(min1, values[i + 1]);
+      min2 = Math.min(min2, values[i + 2]);
+      min3 = Math.min(min3, values[i + 3]);
+    }
+    for (; i < length; i++) {
+      min0 = Math.min(min0, values[i]);
+    }
+    return Math.min(Math.min(min0, min1), Math.min(min2, min3));
+  }
+
+  /**
+   * @return The greatest of the first values, or NaN if any of them is (as {@link Math#max(double, double)})
+   */
+  public static double max(double[] values, int length) {
+    double max0 = Double.NEGATIVE_INFINITY;
+    double max1 = Double.NEGATIVE_INFINITY;
+    double max2 = Double.NEGATIVE_INFINITY;
+    double max3 = Double.NEGATIVE_INFINITY;
+    int i = 0;
+    for (int unrolledEnd = length - LANES + 1; i < unrolledEnd; i += LANES) {
+      max0 = Math.max(max0, values[i]);
+      max1 = Math.max(max1, values[i + 1]);
+      max2 = Math.max(max2, values[i + 2]);
+      max3 = Math.max(max3, values[i + 3]);
+    }
+    for (; i < length; i++) {
+      max0 = Math.max(max0, values[i]);
+    }
+    return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+  }
+
+  public static double dot(double[] values, double[] otherValues, int length) {
+    double sum0 = 0;
+    double sum1 = 0;
+    double sum2 = 0;
+    double sum3 = 0;
+    int i = 0;
+    for (int unrolledEnd = length - LANES + 1; i < unrolledEnd; i += LANES) {
+      sum0 += values[i] * otherValues[i];
+      sum1 += values[i + 1] * otherValues[i + 1];
+      sum2 += values[i + 2] * otherValues[i + 2];
+      sum3 += values[i + 3] * otherValues[i + 3];
+    }
+    for (; i < length; i++) {
+      sum0 += values[i] * otherValues[i];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+}
@@ -0,0 +1,83 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This type implements the storage of fixed size records in direct buffers, outside the java heap.<br>
+ * Records are appended to chunks of about 1MB that never move, so growing doesn't copy the previous records
+ * and no record crosses a chunk boundary. Values use the native byte order
+ * <p>
+ * Date: 20/10/26 - 07:55
+ */
+public final class OffHeapRecords {
+
+  private static final int CHUNK_BYTES = 1 << 20;
+
+  private int recordSize;
+  private int recordsPerChunk;
+  /**
+   * The buffers with the records, or null once released
+   */
+  private volatile List<ByteBuffer> chunks;
+  private long count;
+
+  public static OffHeapRecords create(int recordSize) {
+    if (recordSize < 1) {
+      throw new IllegalArgumentException("Records need at least 1 byte: " + recordSize);
+    }
+    OffHeapRecords records = new OffHeapRecords();
+    records.recordSize = recordSize;
+    records.recordsPerChunk = Math.max(1, CHUNK_BYTES / recordSize);
+    records.chunks = new ArrayList<>();
+    return records;
+  }
+
+  /**
+   * Adds a record with all its bytes in 0
+   *
+   * @return The index of the new record
+   */
+  public long append() {
+    if (count == (long) chunks.size() * recordsPerChunk) {
+      chunks.add(ByteBuffer.allocateDirect(recordsPerChunk * recordSize).order(ByteOrder.nativeOrder()));
+    }
+    return count++;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  /**
+   * @return The buffer where the record of the given index is stored
+   * @throws NaryException if the records were released
+   */
+  public ByteBuffer chunkOf(long index) throws NaryException {
+    List<ByteBuffer> currentChunks = chunks;
+    if (currentChunks == null) {
+      throw new NaryException("The off-heap nary was closed and its records released");
+    }
+    return currentChunks.get((int) (index / recordsPerChunk));
+  }
+
+  /**
+   * @return The position of the record of the given index inside its chunk
+   */
+  public int offsetOf(long index) {
+    return (int) (index % recordsPerChunk) * recordSize;
+  }
+
+  /**
+   * Drops the buffers, so their memory is returned once they are collected.
+   * Views that still reference a buffer keep it alive, but they can't be moved to other records
+   */
+  public void release() {
+    chunks = null;
+    count = 0;
+  }
+}
@@ -0,0 +1,249 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This type implements an immutable vector stored as a trie of 32-wide nodes, where the elements are
+ * kept in the leaves in index order.<br>
+ * The last (up to 32) elements are kept outside the trie in a tail node, so most appends only copy the
+ * tail. When the tail is full it's inserted in the trie copying only the path from the root to it, which
+ * leaves the rest of the nodes shared with the previous version
+ * <p>
+ * Date: 19/10/26 - 20:02
+ */
+public final class PersistentVector<T> {
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int NODE_WIDTH = 1 << BITS_PER_LEVEL;
+  private static final int INDEX_MASK = NODE_WIDTH - 1;
+
+  private static final PersistentVector<Object> EMPTY =
+    new PersistentVector<>(0, BITS_PER_LEVEL, new Object[NODE_WIDTH], new Object[0]);
+
+  private final int size;
+  /**
+   * Amount of bits to shift an index to get the position in the root node
+   */
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  @SuppressWarnings("unchecked") // The empty vector has no elements of any type
+  public static <T> PersistentVector<T> empty() {
+    return (PersistentVector<T>) EMPTY;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @SuppressWarnings("unchecked") // Only elements of type T are stored
+  public T get(int index) {
+    return (T) leafFor(index)[index & INDEX_MASK];
+  }
+
+  /**
+   * Creates a new vector with the elements of this one and the given at the end
+   *
+   * @param element The element to append
+   * @return The new version
+   */
+  public PersistentVector<T> append(T element) {
+    if (tail.length < NODE_WIDTH) {
+      Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+      newTail[tail.length] = element;
+      return new PersistentVector<>(size + 1, shift, root, newTail);
+    }
+    // The full tail goes into the trie and a new tail starts with the element
+    Object[] newRoot;
+    int newShift = shift;
+    if ((size >>> BITS_PER_LEVEL) > (1 << shift)) {
+      // The trie is full, it needs a new level
+      newRoot = new Object[NODE_WIDTH];
+      newRoot[0] = root;
+      newRoot[1] = newPath(shift, tail);
+      newShift += BITS_PER_LEVEL;
+    } else {
+      newRoot = pushTail(shift, root, tail);
+    }
+    return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+  }
+
+  /**
+   * Creates a new vector with the elements of this one followed by the given ones.<br>
+   * Elements are added in batches that fill the tail, so the tail is not copied for every element
+   *
+   * @param elements The elements to append
+   * @return The new version, or this instance if there are no elements
+   */
+  public PersistentVector<T> appendAll(Iterator<? extends T> elements) {
+    PersistentVector<T> result = this;
+    while (elements.hasNext()) {
+      result = result.appendBatch(elements);
+    }
+    return result;
+  }
+
+  private PersistentVector<T> appendBatch(Iterator<? extends T> elements) {
+    if (tail.length == NODE_WIDTH) {
+      return append(elements.next());
+    }
+    Object[] newTail = Arrays.copyOf(tail, NODE_WIDTH);
+    int tailLength = tail.length;
+    while (tailLength < NODE_WIDTH && elements.hasNext()) {
+      newTail[tailLength++] = elements.next();
+    }
+    if (tailLength < NODE_WIDTH) {
+      newTail = Arrays.copyOf(newTail, tailLength);
+    }
+    return new PersistentVector<>(size - tail.length + tailLength, shift, root, newTail);
+  }
+
+  /**
+   * Copies the path from the given node to the position of the last tail, inserting the tail as a leaf
+   */
+  private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+    int childIndex = ((size - 1) >>> level) & INDEX_MASK;
+    Object[] copy = parent.clone();
+    Object[] nodeToInsert;
+    if (level == BITS_PER_LEVEL) {
+      nodeToInsert = tailNode;
+    } else {
+      Object[] child = (Object[]) parent[childIndex];
+      nodeToInsert = child != null ?
+        pushTail(level - BITS_PER_LEVEL, child, tailNode) :
+        newPath(level - BITS_PER_LEVEL, tailNode);
+    }
+    copy[childIndex] = nodeToInsert;
+    return copy;
+  }
+
+  /**
+   * Creates the chain of nodes needed to reach the given leaf from the given level
+   */
+  private static Object[] newPath(int level, Object[] leaf) {
+    if (level == 0) {
+      return leaf;
+    }
+    Object[] node = new Object[NODE_WIDTH];
+    node[0] = newPath(level - BITS_PER_LEVEL, leaf);
+    return node;
+  }
+
+  /**
+   * Index of the first element stored in the tail
+   */
+  private int tailOffset() {
+    if (size < NODE_WIDTH) {
+      return 0;
+    }
+    return ((size - 1) >>> BITS_PER_LEVEL) << BITS_PER_LEVEL;
+  }
+
+  /**
+   * Returns the leaf node that contains the element at the given index
+   */
+  private Object[] leafFor(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " is not between 0 and " + (size - 1));
+    }
+    if (index >= tailOffset()) {
+      return tail;
+    }
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS_PER_LEVEL) {
+      node = (Object[]) node[(index >>> level) & INDEX_MASK];
+    }
+    return node;
+  }
+
+  /**
+   * @return A spliterator that traverses the elements leaf by leaf and splits by index ranges
+   */
+  public Spliterator<T> spliterator() {
+    return new RangeSpliterator(0, size);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ size: " + size + " }";
+  }
+
+  /**
+   * Spliterator over a range of indexes that looks up a leaf only when moving to the next one
+   */
+  private class RangeSpliterator implements Spliterator<T> {
+    private int nextIndex;
+    private final int endIndex;
+    private Object[] currentLeaf;
+
+    RangeSpliterator(int startIndex, int endIndex) {
+      this.nextIndex = startIndex;
+      this.endIndex = endIndex;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // Only elements of type T are stored
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (nextIndex >= endIndex) {
+        return false;
+      }
+      if (currentLeaf == null || (nextIndex & INDEX_MASK) == 0) {
+        currentLeaf = leafFor(nextIndex);
+      }
+      action.accept((T) currentLeaf[nextIndex & INDEX_MASK]);
+      nextIndex++;
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // Only elements of type T are stored
+    public void forEachRemaining(Consumer<? super T> action) {
+      while (nextIndex < endIndex) {
+        Object[] leaf = leafFor(nextIndex);
+        int leafEnd = Math.min(endIndex - (nextIndex & ~INDEX_MASK), leaf.length);
+        for (int i = nextIndex & INDEX_MASK; i < leafEnd; i++) {
+          action.accept((T) leaf[i]);
+        }
+        nextIndex += leafEnd - (nextIndex & INDEX_MASK);
+      }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      int remaining = endIndex - nextIndex;
+      if (remaining <= NODE_WIDTH) {
+        return null;
+      }
+      // Split at a leaf boundary so no leaf is looked up by both halves
+      int middle = (nextIndex + remaining / 2) & ~INDEX_MASK;
+      if (middle <= nextIndex) {
+        return null;
+      }
+      RangeSpliterator prefix = new RangeSpliterator(nextIndex, middle);
+      nextIndex = middle;
+      currentLeaf = null;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return endIndex - nextIndex;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+  }
+}
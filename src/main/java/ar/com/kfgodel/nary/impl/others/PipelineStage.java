@@ -0,0 +1,37 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * This type represents one step of a pipelined nary. It receives each element and pushes 0 or more
+ * results to the next stage
+ * <p>
+ * Date: 19/10/26 - 14:31
+ */
+public class PipelineStage {
+
+  private String name;
+  private BiConsumer<Object, Consumer<Object>> operation;
+
+  @SuppressWarnings("unchecked") // Stages are chained so each one receives the type produced by the previous
+  public static PipelineStage create(String name, BiConsumer<?, Consumer<Object>> operation) {
+    PipelineStage stage = new PipelineStage();
+    stage.name = name;
+    stage.operation = (BiConsumer<Object, Consumer<Object>>) operation;
+    return stage;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void process(Object element, Consumer<Object> nextStage) {
+    operation.accept(element, nextStage);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,163 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.paging.Page;
+import ar.com.kfgodel.nary.api.paging.PageFetcher;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * This type implements a spliterator that takes its elements from a paginated source.<br>
+ * While the elements of a page are being consumed the following pages are requested in background, but
+ * never more than the configured amount of in-flight pages. Pages are only requested as the consumer
+ * advances, so a short-circuiting operation stops fetching once it stops advancing
+ * <p>
+ * Date: 19/10/26 - 10:31
+ */
+public class PrefetchingPageSpliterator<C, T> implements Spliterator<T> {
+
+  private PageFetcher<C, T> fetcher;
+  private Executor executor;
+  private int maxInFlightPages;
+  /**
+   * Pages requested but not yet consumed, in the order they are going to be consumed.
+   * A page completed with null indicates there are no more pages
+   */
+  private Deque<CompletableFuture<Page<C, T>>> requestedPages;
+  private CompletableFuture<Page<C, T>> lastRequested;
+  private List<T> currentElements;
+  private int nextIndex;
+  private boolean exhausted;
+  private volatile boolean cancelled;
+
+  public static <C, T> PrefetchingPageSpliterator<C, T> create(PageFetcher<C, T> fetcher, int maxInFlightPages, Executor executor) {
+    if (maxInFlightPages < 1) {
+      throw new IllegalArgumentException("At least 1 in-flight page is needed to fetch elements: " + maxInFlightPages);
+    }
+    PrefetchingPageSpliterator<C, T> spliterator = new PrefetchingPageSpliterator<>();
+    spliterator.fetcher = fetcher;
+    spliterator.executor = executor;
+    spliterator.maxInFlightPages = maxInFlightPages;
+    spliterator.requestedPages = new ArrayDeque<>(maxInFlightPages);
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    while (!hasCurrentElements()) {
+      if (!moveToNextPage()) {
+        return false;
+      }
+    }
+    T element = currentElements.get(nextIndex++);
+    action.accept(element);
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    do {
+      while (hasCurrentElements()) {
+        action.accept(currentElements.get(nextIndex++));
+      }
+    } while (moveToNextPage());
+  }
+
+  /**
+   * Splits the remaining elements of the current page, so they can be processed in parallel while
+   * this instance keeps waiting for the following pages
+   */
+  @Override
+  public Spliterator<T> trySplit() {
+    if (!hasCurrentElements()) {
+      return null;
+    }
+    List<T> remaining = currentElements.subList(nextIndex, currentElements.size());
+    currentElements = null;
+    return remaining.spliterator();
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return Spliterator.ORDERED;
+  }
+
+  /**
+   * Stops requesting pages and tries to cancel the ones already requested.<br>
+   * A fetch that is already running is allowed to complete, but its result is discarded
+   */
+  public void cancel() {
+    cancelled = true;
+    for (CompletableFuture<Page<C, T>> requestedPage : requestedPages) {
+      requestedPage.cancel(false);
+    }
+    requestedPages.clear();
+  }
+
+  private boolean hasCurrentElements() {
+    return currentElements != null && nextIndex < currentElements.size();
+  }
+
+  private boolean moveToNextPage() {
+    currentElements = null;
+    if (exhausted || cancelled) {
+      return false;
+    }
+    requestMorePages();
+    Page<C, T> nextPage = waitFor(requestedPages.poll());
+    if (nextPage == null) {
+      exhausted = true;
+      return false;
+    }
+    currentElements = nextPage.elements();
+    nextIndex = 0;
+    // Next pages are fetched while this one is consumed
+    requestMorePages();
+    return true;
+  }
+
+  private void requestMorePages() {
+    while (requestedPages.size() < maxInFlightPages) {
+      if (lastRequested == null) {
+        lastRequested = CompletableFuture.supplyAsync(() -> fetcher.fetch(Nary.empty()), executor);
+      } else {
+        lastRequested = lastRequested.thenApplyAsync(this::fetchAfter, executor);
+      }
+      requestedPages.add(lastRequested);
+    }
+  }
+
+  private Page<C, T> fetchAfter(Page<C, T> previous) {
+    if (previous == null || cancelled || previous.continuation().isAbsent()) {
+      // There's nothing more to fetch
+      return null;
+    }
+    return fetcher.fetch(previous.continuation());
+  }
+
+  private Page<C, T> waitFor(CompletableFuture<Page<C, T>> requestedPage) {
+    try {
+      return requestedPage.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new NaryException("Failed to fetch the next page", cause);
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This type implements a spliterator that allows looking at the next elements of a source without
+ * removing them.<br>
+ * Looked elements are kept in a buffer and given before the rest of the source, so only the elements
+ * that were looked at are buffered. Skipping the first element is deferred until it's needed, so the
+ * source is not read ahead of its consumption
+ * <p>
+ * Date: 19/10/26 - 22:10
+ */
+public class PushbackSpliterator<T> implements Spliterator<T> {
+
+  private Spliterator<T> source;
+  private List<T> buffer;
+  private int nextBuffered;
+  private long pendingSkips;
+
+  public static <T> PushbackSpliterator<T> create(Spliterator<T> source) {
+    PushbackSpliterator<T> spliterator = new PushbackSpliterator<>();
+    spliterator.source = source;
+    spliterator.buffer = new ArrayList<>(1);
+    return spliterator;
+  }
+
+  /**
+   * Returns up to the given amount of next elements, without removing them from this spliterator
+   *
+   * @param amount The maximum number of elements to look at
+   * @return The next elements, or less if the source has no more
+   */
+  public List<T> peek(int amount) {
+    applyPendingSkips();
+    Consumer<T> buffering = buffer::add;
+    while (buffered() < amount && source.tryAdvance(buffering)) {
+      // Each advance adds an element to the buffer
+    }
+    int peekedCount = Math.min(amount, buffered());
+    return new ArrayList<>(buffer.subList(nextBuffered, nextBuffered + peekedCount));
+  }
+
+  /**
+   * Removes the next element. If it was not looked at, it's removed when the next element is needed
+   */
+  public void skipNext() {
+    if (buffered() > 0) {
+      takeBuffered();
+    } else {
+      pendingSkips++;
+    }
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    applyPendingSkips();
+    if (buffered() > 0) {
+      action.accept(takeBuffered());
+      return true;
+    }
+    return source.tryAdvance(action);
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    applyPendingSkips();
+    while (buffered() > 0) {
+      action.accept(takeBuffered());
+    }
+    source.forEachRemaining(action);
+  }
+
+  /**
+   * Buffered elements come first, so they are split as the prefix. Once they're consumed, splits are
+   * delegated to the source
+   */
+  @Override
+  public Spliterator<T> trySplit() {
+    applyPendingSkips();
+    if (buffered() == 0) {
+      return source.trySplit();
+    }
+    List<T> prefix = new ArrayList<>(buffer.subList(nextBuffered, buffer.size()));
+    buffer.clear();
+    nextBuffered = 0;
+    return prefix.spliterator();
+  }
+
+  @Override
+  public long estimateSize() {
+    long sourceSize = source.estimateSize();
+    if (sourceSize == Long.MAX_VALUE) {
+      return sourceSize;
+    }
+    return Math.max(0, sourceSize + buffered() - pendingSkips);
+  }
+
+  @Override
+  public int characteristics() {
+    return source.characteristics();
+  }
+
+  @Override
+  public Comparator<? super T> getComparator() {
+    return source.getComparator();
+  }
+
+  private int buffered() {
+    return buffer.size() - nextBuffered;
+  }
+
+  private T takeBuffered() {
+    T element = buffer.get(nextBuffered);
+    buffer.set(nextBuffered++, null);
+    if (nextBuffered == buffer.size()) {
+      buffer.clear();
+      nextBuffered = 0;
+    }
+    return element;
+  }
+
+  private void applyPendingSkips() {
+    while (pendingSkips > 0) {
+      pendingSkips--;
+      if (buffered() > 0) {
+        takeBuffered();
+      } else if (!source.tryAdvance(this::ignore)) {
+        pendingSkips = 0;
+      }
+    }
+  }
+
+  private void ignore(T element) {
+    // Skipped elements are discarded
+  }
+}
@@ -0,0 +1,151 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This type implements a spliterator that takes its elements from a blocking queue.<br>
+ * When all the elements are consumed, the available ones are moved in batches with a single
+ * {@link BlockingQueue#drainTo(java.util.Collection, int)}, so the lock of the queue is taken once per batch
+ * instead of once per element. Short-circuiting consumers advance one element at a time, and then elements
+ * are taken one by one, so the ones they don't ask for stay in the queue. Only when the queue is empty it
+ * waits for the next element, up to the poll timeout.<br>
+ * The elements end when the poison pill is taken, or when no element arrives during the timeout. Elements
+ * taken but not consumed (the ones after the poison pill, or the rest of a batch if the consumer fails) are
+ * offered back at the tail of the queue, for other consumers. The spliterator doesn't wait for room to return
+ * them (it may be the only consumer), so if a bounded queue was refilled meanwhile the elements that don't fit
+ * are discarded and reported with a {@link NaryException} (suppressed by the failure of the consumer, if any)
+ * <p>
+ * Date: 20/10/26 - 15:05
+ */
+public class QueueDrainSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  private static final int BATCH_SIZE = 256;
+
+  private BlockingQueue<? extends T> queue;
+  private long pollTimeoutNanos;
+  private T poisonPill;
+  private boolean ended;
+
+  public static <T> QueueDrainSpliterator<T> create(BlockingQueue<? extends T> queue, Duration pollTimeout, T poisonPill) {
+    QueueDrainSpliterator<T> spliterator = new QueueDrainSpliterator<>();
+    spliterator.queue = queue;
+    spliterator.pollTimeoutNanos = pollTimeout.toNanos();
+    spliterator.poisonPill = poisonPill;
+    return spliterator;
+  }
+
+  private QueueDrainSpliterator() {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (ended) {
+      return false;
+    }
+    T element = queue.poll();
+    if (element == null) {
+      element = waitForElement();
+    }
+    if (element == null || Objects.equals(element, poisonPill)) {
+      ended = true;
+      return false;
+    }
+    action.accept(element);
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    List<T> batch = new ArrayList<>(BATCH_SIZE);
+    while (!ended) {
+      takeBatch(batch);
+      if (batch.isEmpty()) {
+        ended = true;
+        return;
+      }
+      int nextIndex = 0;
+      try {
+        while (nextIndex < batch.size()) {
+          T element = batch.get(nextIndex++);
+          if (Objects.equals(element, poisonPill)) {
+            ended = true;
+            break;
+          }
+          action.accept(element);
+        }
+      } catch (RuntimeException | Error e) {
+        int discarded = returnToQueue(batch, nextIndex);
+        if (discarded > 0) {
+          e.addSuppressed(discardedElementsException(discarded));
+        }
+        throw e;
+      }
+      int discarded = returnToQueue(batch, nextIndex);
+      if (discarded > 0) {
+        throw discardedElementsException(discarded);
+      }
+    }
+  }
+
+  /**
+   * Moves the available elements to the batch, waiting for the first one if there are none.
+   * The batch is left empty if no element arrived in time
+   */
+  private void takeBatch(List<T> batch) {
+    batch.clear();
+    queue.drainTo(batch, BATCH_SIZE);
+    if (!batch.isEmpty()) {
+      return;
+    }
+    T first = waitForElement();
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    // Elements that arrived with the first one are taken together
+    queue.drainTo(batch, BATCH_SIZE - 1);
+  }
+
+  private T waitForElement() {
+    try {
+      return queue.poll(pollTimeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new NaryException("Interrupted while waiting for an element of the queue", e);
+    }
+  }
+
+  /**
+   * Offers back the elements of the batch from the given index, which were taken but not consumed.
+   * Blocking until there's room could hang forever if this is the only consumer of the queue
+   *
+   * @return The amount of elements that didn't fit in the queue
+   */
+  @SuppressWarnings("unchecked") // The elements came from the queue, so they are of its type
+  private int returnToQueue(List<T> batch, int fromIndex) {
+    BlockingQueue<T> source = (BlockingQueue<T>) queue;
+    int discarded = 0;
+    for (int i = fromIndex; i < batch.size(); i++) {
+      if (!source.offer(batch.get(i))) {
+        discarded++;
+      }
+    }
+    batch.clear();
+    return discarded;
+  }
+
+  private NaryException discardedElementsException(int discarded) {
+    return new NaryException(discarded + " elements taken from the queue couldn't be returned because it was full");
+  }
+}
@@ -0,0 +1,121 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.offheap.RecordLayout;
+import ar.com.kfgodel.nary.api.offheap.RecordView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This type implements a view of an off-heap record that can be moved to other records, so one instance
+ * serves for a whole traversal.<br>
+ * Fields are read and written with absolute accesses on the chunk buffer, without copying the record
+ * <p>
+ * Date: 20/10/26 - 08:06
+ */
+public class RecordFlyweight implements RecordView {
+
+  private RecordLayout layout;
+  private OffHeapRecords records;
+  private long index;
+  private ByteBuffer chunk;
+  private int recordOffset;
+
+  public static RecordFlyweight create(RecordLayout layout, OffHeapRecords records) {
+    RecordFlyweight flyweight = new RecordFlyweight();
+    flyweight.layout = layout;
+    flyweight.records = records;
+    return flyweight;
+  }
+
+  /**
+   * Places this view on the record of the given index
+   *
+   * @return This instance
+   */
+  public RecordFlyweight moveTo(long index) {
+    this.index = index;
+    this.chunk = records.chunkOf(index);
+    this.recordOffset = records.offsetOf(index);
+    return this;
+  }
+
+  @Override
+  public long index() {
+    return index;
+  }
+
+  @Override
+  public byte getByte(String field) {
+    return chunk.get(positionOf(field, byte.class));
+  }
+
+  @Override
+  public short getShort(String field) {
+    return chunk.getShort(positionOf(field, short.class));
+  }
+
+  @Override
+  public int getInt(String field) {
+    return chunk.getInt(positionOf(field, int.class));
+  }
+
+  @Override
+  public long getLong(String field) {
+    return chunk.getLong(positionOf(field, long.class));
+  }
+
+  @Override
+  public float getFloat(String field) {
+    return chunk.getFloat(positionOf(field, float.class));
+  }
+
+  @Override
+  public double getDouble(String field) {
+    return chunk.getDouble(positionOf(field, double.class));
+  }
+
+  @Override
+  public RecordView putByte(String field, byte value) {
+    chunk.put(positionOf(field, byte.class), value);
+    return this;
+  }
+
+  @Override
+  public RecordView putShort(String field, short value) {
+    chunk.putShort(positionOf(field, short.class), value);
+    return this;
+  }
+
+  @Override
+  public RecordView putInt(String field, int value) {
+    chunk.putInt(positionOf(field, int.class), value);
+    return this;
+  }
+
+  @Override
+  public RecordView putLong(String field, long value) {
+    chunk.putLong(positionOf(field, long.class), value);
+    return this;
+  }
+
+  @Override
+  public RecordView putFloat(String field, float value) {
+    chunk.putFloat(positionOf(field, float.class), value);
+    return this;
+  }
+
+  @Override
+  public RecordView putDouble(String field, double value) {
+    chunk.putDouble(positionOf(field, double.class), value);
+    return this;
+  }
+
+  private int positionOf(String field, Class<?> type) {
+    return recordOffset + layout.offsetOf(field, type);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{ index: " + index + ", layout: " + layout + " }";
+  }
+}
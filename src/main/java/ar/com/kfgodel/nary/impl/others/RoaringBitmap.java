@@ -0,0 +1,623 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+/**
+ * This type implements an immutable compressed set of ints, split in chunks of 2^16 values that share
+ * their 16 high bits (roaring bitmap style).<br>
+ * Each non empty chunk is stored in the container that takes less memory: a sorted array of the 16 low bits
+ * when it has up to 4096 values, or a bitmap of 2^16 bits otherwise. Chunks are kept sorted by their high
+ * bits, so membership is a binary search plus a container lookup, and set operations are merges that only
+ * combine containers of the same chunk.<br>
+ * The sign bit is flipped in the chunk keys so ints are kept in ascending signed order
+ * <p>
+ * Date: 20/10/26 - 03:58
+ */
+public final class RoaringBitmap {
+
+  /**
+   * Max cardinality of an array container. Past it, a bitmap container takes less memory
+   */
+  private static final int ARRAY_CONTAINER_MAX = 4096;
+  private static final int BITMAP_WORDS = (1 << 16) / Long.SIZE;
+  private static final int SIGN_FLIP = 0x8000;
+
+  private static final RoaringBitmap EMPTY = new RoaringBitmap(new char[0], new Container[0]);
+
+  private final char[] keys;
+  private final Container[] containers;
+  /**
+   * Amount of values before each container, with the total at the end
+   */
+  private final long[] ranks;
+
+  private RoaringBitmap(char[] keys, Container[] containers) {
+    this.keys = keys;
+    this.containers = containers;
+    this.ranks = new long[containers.length + 1];
+    for (int i = 0; i < containers.length; i++) {
+      ranks[i + 1] = ranks[i] + containers[i].cardinality();
+    }
+  }
+
+  public static RoaringBitmap empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a bitmap with the values of the given spliterator, ignoring repeated ones.<br>
+   * Values sorted in ascending order are added in one pass. Otherwise, the ones that come after a greater
+   * chunk are sorted before adding them
+   */
+  public static RoaringBitmap create(Spliterator.OfInt values) {
+    Builder builder = new Builder();
+    values.forEachRemaining((IntConsumer) builder);
+    return builder.build();
+  }
+
+  public long cardinality() {
+    return ranks[containers.length];
+  }
+
+  public boolean contains(int value) {
+    int index = Arrays.binarySearch(keys, highBitsOf(value));
+    return index >= 0 && containers[index].contains((char) value);
+  }
+
+  /**
+   * @return The smallest value, or null if empty
+   */
+  public Integer first() {
+    if (containers.length == 0) {
+      return null;
+    }
+    return valueOf(keys[0], containers[0].first());
+  }
+
+  /**
+   * @return The greatest value, or null if empty
+   */
+  public Integer last() {
+    if (containers.length == 0) {
+      return null;
+    }
+    int lastIndex = containers.length - 1;
+    return valueOf(keys[lastIndex], containers[lastIndex].last());
+  }
+
+  /**
+   * @return A new bitmap with the values present in both bitmaps
+   */
+  public RoaringBitmap and(RoaringBitmap other) {
+    int maxLength = Math.min(keys.length, other.keys.length);
+    char[] resultKeys = new char[maxLength];
+    Container[] resultContainers = new Container[maxLength];
+    int resultLength = 0;
+    int thisIndex = 0;
+    int otherIndex = 0;
+    while (thisIndex < keys.length && otherIndex < other.keys.length) {
+      int comparison = Character.compare(keys[thisIndex], other.keys[otherIndex]);
+      if (comparison < 0) {
+        thisIndex++;
+      } else if (comparison > 0) {
+        otherIndex++;
+      } else {
+        Container intersection = containers[thisIndex].and(other.containers[otherIndex]);
+        if (intersection != null) {
+          resultKeys[resultLength] = keys[thisIndex];
+          resultContainers[resultLength++] = intersection;
+        }
+        thisIndex++;
+        otherIndex++;
+      }
+    }
+    return created(resultKeys, resultContainers, resultLength);
+  }
+
+  /**
+   * @return A new bitmap with the values present in any of the bitmaps
+   */
+  public RoaringBitmap or(RoaringBitmap other) {
+    int maxLength = keys.length + other.keys.length;
+    char[] resultKeys = new char[maxLength];
+    Container[] resultContainers = new Container[maxLength];
+    int resultLength = 0;
+    int thisIndex = 0;
+    int otherIndex = 0;
+    while (thisIndex < keys.length || otherIndex < other.keys.length) {
+      int comparison = thisIndex == keys.length ? 1
+        : otherIndex == other.keys.length ? -1
+        : Character.compare(keys[thisIndex], other.keys[otherIndex]);
+      if (comparison < 0) {
+        resultKeys[resultLength] = keys[thisIndex];
+        // Containers are immutable, so they can be shared between bitmaps
+        resultContainers[resultLength++] = containers[thisIndex++];
+      } else if (comparison > 0) {
+        resultKeys[resultLength] = other.keys[otherIndex];
+        resultContainers[resultLength++] = other.containers[otherIndex++];
+      } else {
+        resultKeys[resultLength] = keys[thisIndex];
+        resultContainers[resultLength++] = containers[thisIndex++].or(other.containers[otherIndex++]);
+      }
+    }
+    return created(resultKeys, resultContainers, resultLength);
+  }
+
+  /**
+   * @return A new bitmap with the values of this bitmap that are not present in the other
+   */
+  public RoaringBitmap andNot(RoaringBitmap other) {
+    char[] resultKeys = new char[keys.length];
+    Container[] resultContainers = new Container[keys.length];
+    int resultLength = 0;
+    int otherIndex = 0;
+    for (int thisIndex = 0; thisIndex < keys.length; thisIndex++) {
+      while (otherIndex < other.keys.length && other.keys[otherIndex] < keys[thisIndex]) {
+        otherIndex++;
+      }
+      Container difference = containers[thisIndex];
+      if (otherIndex < other.keys.length && other.keys[otherIndex] == keys[thisIndex]) {
+        difference = difference.andNot(other.containers[otherIndex]);
+      }
+      if (difference != null) {
+        resultKeys[resultLength] = keys[thisIndex];
+        resultContainers[resultLength++] = difference;
+      }
+    }
+    return created(resultKeys, resultContainers, resultLength);
+  }
+
+  /**
+   * @return A spliterator over the values in ascending order, that splits at chunk boundaries
+   */
+  public Spliterator.OfInt spliterator() {
+    return new ChunkRangeSpliterator(0, containers.length, cardinality());
+  }
+
+  private static RoaringBitmap created(char[] keys, Container[] containers, int length) {
+    if (length == 0) {
+      return EMPTY;
+    }
+    return new RoaringBitmap(Arrays.copyOf(keys, length), Arrays.copyOf(containers, length));
+  }
+
+  private static char highBitsOf(int value) {
+    return (char) ((value >>> 16) ^ SIGN_FLIP);
+  }
+
+  private static int valueOf(char highBits, int lowBits) {
+    return ((highBits ^ SIGN_FLIP) << 16) | lowBits;
+  }
+
+  /**
+   * Creates the container that takes less memory for the set bits of the given words
+   *
+   * @return The container, or null if no bit is set
+   */
+  private static Container fromWords(long[] words) {
+    return fromWords(words, 0, BITMAP_WORDS - 1, false);
+  }
+
+  /**
+   * Creates the container for the set bits of the given words, knowing that only the words in the given
+   * range may have set bits
+   *
+   * @param copy Indicates if the words must be copied, instead of being kept by a bitmap container
+   * @return The container, or null if no bit is set
+   */
+  private static Container fromWords(long[] words, int firstWord, int lastWord, boolean copy) {
+    int cardinality = 0;
+    for (int wordIndex = firstWord; wordIndex <= lastWord; wordIndex++) {
+      cardinality += Long.bitCount(words[wordIndex]);
+    }
+    if (cardinality == 0) {
+      return null;
+    }
+    if (cardinality > ARRAY_CONTAINER_MAX) {
+      return new BitmapContainer(copy ? words.clone() : words, cardinality);
+    }
+    char[] values = new char[cardinality];
+    int length = 0;
+    for (int wordIndex = firstWord; wordIndex <= lastWord; wordIndex++) {
+      for (long word = words[wordIndex]; word != 0; word &= word - 1) {
+        values[length++] = (char) (wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word));
+      }
+    }
+    return new ArrayContainer(values);
+  }
+
+  /**
+   * The values of a chunk, represented only by their low bits
+   */
+  private abstract static class Container {
+    abstract int cardinality();
+
+    abstract boolean contains(char lowBits);
+
+    abstract int first();
+
+    abstract int last();
+
+    /**
+     * Passes the value at the given cursor to the action
+     *
+     * @return The cursor of the next value, or -1 if there are no more values from the cursor
+     */
+    abstract int advance(int cursor, char highBits, IntConsumer action);
+
+    abstract void forEachFrom(int cursor, char highBits, IntConsumer action);
+
+    /**
+     * @return The intersection, or null if empty
+     */
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    /**
+     * @return The difference, or null if empty
+     */
+    abstract Container andNot(Container other);
+
+    abstract long[] copyOfWords();
+  }
+
+  private static final class ArrayContainer extends Container {
+    private final char[] values;
+
+    ArrayContainer(char[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int cardinality() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(char lowBits) {
+      return Arrays.binarySearch(values, lowBits) >= 0;
+    }
+
+    @Override
+    int first() {
+      return values[0];
+    }
+
+    @Override
+    int last() {
+      return values[values.length - 1];
+    }
+
+    @Override
+    int advance(int cursor, char highBits, IntConsumer action) {
+      if (cursor >= values.length) {
+        return -1;
+      }
+      action.accept(valueOf(highBits, values[cursor]));
+      return cursor + 1;
+    }
+
+    @Override
+    void forEachFrom(int cursor, char highBits, IntConsumer action) {
+      for (int i = cursor; i < values.length; i++) {
+        action.accept(valueOf(highBits, values[i]));
+      }
+    }
+
+    @Override
+    Container and(Container other) {
+      return filtered(other, true);
+    }
+
+    @Override
+    Container or(Container other) {
+      if (other instanceof BitmapContainer) {
+        return other.or(this);
+      }
+      char[] otherValues = ((ArrayContainer) other).values;
+      char[] union = new char[values.length + otherValues.length];
+      int length = 0;
+      int thisIndex = 0;
+      int otherIndex = 0;
+      while (thisIndex < values.length || otherIndex < otherValues.length) {
+        if (otherIndex == otherValues.length || (thisIndex < values.length && values[thisIndex] < otherValues[otherIndex])) {
+          union[length++] = values[thisIndex++];
+        } else if (thisIndex == values.length || otherValues[otherIndex] < values[thisIndex]) {
+          union[length++] = otherValues[otherIndex++];
+        } else {
+          union[length++] = values[thisIndex++];
+          otherIndex++;
+        }
+      }
+      if (length > ARRAY_CONTAINER_MAX) {
+        return fromWords(wordsOf(union, length));
+      }
+      return new ArrayContainer(Arrays.copyOf(union, length));
+    }
+
+    @Override
+    Container andNot(Container other) {
+      return filtered(other, false);
+    }
+
+    @Override
+    long[] copyOfWords() {
+      return wordsOf(values, values.length);
+    }
+
+    /**
+     * Keeps only the values whose presence in the other container is the given
+     */
+    private Container filtered(Container other, boolean present) {
+      char[] kept = new char[values.length];
+      int length = 0;
+      for (char value : values) {
+        if (other.contains(value) == present) {
+          kept[length++] = value;
+        }
+      }
+      if (length == 0) {
+        return null;
+      }
+      if (length == values.length) {
+        return this;
+      }
+      return new ArrayContainer(Arrays.copyOf(kept, length));
+    }
+
+    private static long[] wordsOf(char[] values, int length) {
+      long[] words = new long[BITMAP_WORDS];
+      for (int i = 0; i < length; i++) {
+        words[values[i] >>> 6] |= 1L << values[i];
+      }
+      return words;
+    }
+  }
+
+  private static final class BitmapContainer extends Container {
+    private final long[] words;
+    private final int cardinality;
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char lowBits) {
+      return (words[lowBits >>> 6] & (1L << lowBits)) != 0;
+    }
+
+    @Override
+    int first() {
+      int wordIndex = 0;
+      while (words[wordIndex] == 0) {
+        wordIndex++;
+      }
+      return wordIndex * Long.SIZE + Long.numberOfTrailingZeros(words[wordIndex]);
+    }
+
+    @Override
+    int last() {
+      int wordIndex = words.length - 1;
+      while (words[wordIndex] == 0) {
+        wordIndex--;
+      }
+      return wordIndex * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[wordIndex]);
+    }
+
+    @Override
+    int advance(int cursor, char highBits, IntConsumer action) {
+      int wordIndex = cursor >>> 6;
+      if (wordIndex >= words.length) {
+        return -1;
+      }
+      long word = words[wordIndex] & (-1L << cursor);
+      while (word == 0) {
+        if (++wordIndex == words.length) {
+          return -1;
+        }
+        word = words[wordIndex];
+      }
+      int lowBits = wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+      action.accept(valueOf(highBits, lowBits));
+      return lowBits + 1;
+    }
+
+    @Override
+    void forEachFrom(int cursor, char highBits, IntConsumer action) {
+      for (int wordIndex = cursor >>> 6; wordIndex < words.length; wordIndex++) {
+        long word = wordIndex == cursor >>> 6 ? words[wordIndex] & (-1L << cursor) : words[wordIndex];
+        for (; word != 0; word &= word - 1) {
+          action.accept(valueOf(highBits, wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word)));
+        }
+      }
+    }
+
+    @Override
+    Container and(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.and(this);
+      }
+      long[] intersection = new long[BITMAP_WORDS];
+      long[] otherWords = ((BitmapContainer) other).words;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        intersection[i] = words[i] & otherWords[i];
+      }
+      return fromWords(intersection);
+    }
+
+    @Override
+    Container or(Container other) {
+      long[] union = other.copyOfWords();
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        union[i] |= words[i];
+      }
+      return fromWords(union);
+    }
+
+    @Override
+    Container andNot(Container other) {
+      long[] difference = other.copyOfWords();
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        difference[i] = words[i] & ~difference[i];
+      }
+      return fromWords(difference);
+    }
+
+    @Override
+    long[] copyOfWords() {
+      return words.clone();
+    }
+  }
+
+  /**
+   * Accumulates the values of each chunk in a bitmap of words, creating its container once a value of a
+   * following chunk is added. Values of previous chunks are kept apart and added at the end
+   */
+  private static class Builder implements IntConsumer {
+    private final long[] chunkWords = new long[BITMAP_WORDS];
+    private int firstUsedWord = BITMAP_WORDS;
+    private int lastUsedWord = -1;
+    private int chunkKey = -1;
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int length;
+    private int[] unsortedValues;
+    private int unsortedLength;
+
+    @Override
+    public void accept(int value) {
+      char highBits = highBitsOf(value);
+      if (highBits != chunkKey) {
+        if (highBits < chunkKey) {
+          addUnsorted(value);
+          return;
+        }
+        finishChunk();
+        chunkKey = highBits;
+      }
+      char lowBits = (char) value;
+      int wordIndex = lowBits >>> 6;
+      chunkWords[wordIndex] |= 1L << lowBits;
+      firstUsedWord = Math.min(firstUsedWord, wordIndex);
+      lastUsedWord = Math.max(lastUsedWord, wordIndex);
+    }
+
+    RoaringBitmap build() {
+      finishChunk();
+      RoaringBitmap sorted = created(keys, containers, length);
+      if (unsortedValues == null) {
+        return sorted;
+      }
+      int[] pending = Arrays.copyOf(unsortedValues, unsortedLength);
+      Arrays.sort(pending);
+      return sorted.or(create(Spliterators.spliterator(pending, Spliterator.SORTED)));
+    }
+
+    private void addUnsorted(int value) {
+      if (unsortedValues == null) {
+        unsortedValues = new int[16];
+      } else if (unsortedLength == unsortedValues.length) {
+        unsortedValues = Arrays.copyOf(unsortedValues, unsortedLength * 2);
+      }
+      unsortedValues[unsortedLength++] = value;
+    }
+
+    private void finishChunk() {
+      if (lastUsedWord < 0) {
+        return;
+      }
+      if (length == keys.length) {
+        keys = Arrays.copyOf(keys, length * 2);
+        containers = Arrays.copyOf(containers, length * 2);
+      }
+      keys[length] = (char) chunkKey;
+      // Only the used words are scanned and cleared, so sparse chunks are cheap
+      containers[length++] = fromWords(chunkWords, firstUsedWord, lastUsedWord, true);
+      Arrays.fill(chunkWords, firstUsedWord, lastUsedWord + 1, 0L);
+      firstUsedWord = BITMAP_WORDS;
+      lastUsedWord = -1;
+    }
+  }
+
+  /**
+   * Iterates the values of a range of chunks, splitting the range in halves
+   */
+  private class ChunkRangeSpliterator implements Spliterator.OfInt {
+    private int nextContainer;
+    private int endContainer;
+    private int cursor;
+    private long remaining;
+
+    ChunkRangeSpliterator(int startContainer, int endContainer, long size) {
+      this.nextContainer = startContainer;
+      this.endContainer = endContainer;
+      this.remaining = size;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      while (nextContainer < endContainer) {
+        cursor = containers[nextContainer].advance(cursor, keys[nextContainer], action);
+        if (cursor >= 0) {
+          remaining--;
+          return true;
+        }
+        nextContainer++;
+        cursor = 0;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      for (; nextContainer < endContainer; nextContainer++) {
+        containers[nextContainer].forEachFrom(cursor, keys[nextContainer], action);
+        cursor = 0;
+      }
+      remaining = 0;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+      if (endContainer - nextContainer < 2) {
+        return null;
+      }
+      int middle = (nextContainer + endContainer) >>> 1;
+      long suffixSize = ranks[endContainer] - ranks[middle];
+      ChunkRangeSpliterator prefix = new ChunkRangeSpliterator(nextContainer, middle, remaining - suffixSize);
+      prefix.cursor = cursor;
+      nextContainer = middle;
+      cursor = 0;
+      remaining = suffixSize;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+      // Natural order
+      return null;
+    }
+  }
+}
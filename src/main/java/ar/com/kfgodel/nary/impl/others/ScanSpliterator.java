@@ -0,0 +1,70 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * This type implements a spliterator that replaces each element of a source with the accumulation of
+ * all the elements up to it (an inclusive prefix scan).<br>
+ * Each result depends on the previous one, so this spliterator can't be split. The only state kept
+ * is the last accumulated value
+ * <p>
+ * Date: 20/10/26 - 03:05
+ */
+public class ScanSpliterator<T> implements Spliterator<T>, Consumer<T> {
+
+  private static final int KEPT_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT;
+
+  private Spliterator<T> source;
+  private BinaryOperator<T> operator;
+  private T accumulated;
+
+  public static <T> ScanSpliterator<T> create(Spliterator<T> source, T identity, BinaryOperator<T> operator) {
+    ScanSpliterator<T> spliterator = new ScanSpliterator<>();
+    spliterator.source = source;
+    spliterator.operator = operator;
+    spliterator.accumulated = identity;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (!source.tryAdvance(this)) {
+      return false;
+    }
+    action.accept(accumulated);
+    return true;
+  }
+
+  /**
+   * Accumulates an element of the source when advancing one by one
+   */
+  @Override
+  public void accept(T element) {
+    accumulated = operator.apply(accumulated, element);
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    source.forEachRemaining(element -> {
+      accumulated = operator.apply(accumulated, element);
+      action.accept(accumulated);
+    });
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return source.characteristics() & KEPT_CHARACTERISTICS;
+  }
+}
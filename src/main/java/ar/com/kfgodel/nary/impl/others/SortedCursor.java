@@ -0,0 +1,59 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This type represents a position on a sorted source, keeping the element at that position so it
+ * can be compared with the current element of other sources before being consumed
+ * <p>
+ * Date: 19/10/26 - 22:58
+ */
+public class SortedCursor<T> implements Consumer<T> {
+
+  private Spliterator<? extends T> source;
+  private T current;
+  private boolean exhausted;
+  private int sourceIndex;
+
+  public static <T> SortedCursor<T> create(Spliterator<? extends T> source, int sourceIndex) {
+    SortedCursor<T> cursor = new SortedCursor<>();
+    cursor.source = source;
+    cursor.sourceIndex = sourceIndex;
+    cursor.advance();
+    return cursor;
+  }
+
+  /**
+   * Moves to the next element of the source
+   *
+   * @return false if the source has no more elements
+   */
+  public boolean advance() {
+    if (!exhausted && !source.tryAdvance(this)) {
+      exhausted = true;
+      current = null;
+    }
+    return !exhausted;
+  }
+
+  @Override
+  public void accept(T element) {
+    current = element;
+  }
+
+  public T current() {
+    return current;
+  }
+
+  public boolean isExhausted() {
+    return exhausted;
+  }
+
+  /**
+   * @return The position of the source between all the merged ones, used to break ties in order
+   */
+  public int sourceIndex() {
+    return sourceIndex;
+  }
+}
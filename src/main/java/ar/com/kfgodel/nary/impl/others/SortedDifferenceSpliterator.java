@@ -0,0 +1,80 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This type implements a spliterator with the elements of a sorted source that are not present in any
+ * of other sources sorted by the same comparator.<br>
+ * The excluded sources are joined in a single sorted sequence that is advanced along with the main source,
+ * so every element is read once. Each remaining element is given only once, even if the source repeats it
+ * <p>
+ * Date: 19/10/26 - 23:27
+ */
+public class SortedDifferenceSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  private Comparator<? super T> comparator;
+  private Stream<? extends T> includedSource;
+  private Spliterator<? extends T> excludedSource;
+  private SortedCursor<T> included;
+  private SortedCursor<T> excluded;
+  private boolean hasLastGiven;
+  private T lastGiven;
+
+  private SortedDifferenceSpliterator() {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.SORTED);
+  }
+
+  public static <T> SortedDifferenceSpliterator<T> create(Comparator<? super T> comparator, Stream<? extends T> included, List<? extends Stream<? extends T>> excluded) {
+    SortedDifferenceSpliterator<T> spliterator = new SortedDifferenceSpliterator<>();
+    spliterator.comparator = comparator;
+    spliterator.includedSource = included;
+    spliterator.excludedSource = SortedMergeSpliterator.joining(comparator, excluded);
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (included == null) {
+      // Sources are not read until the first element is needed
+      included = SortedCursor.create(includedSource.spliterator(), 0);
+      excluded = SortedCursor.create(excludedSource, 1);
+    }
+    if (hasLastGiven) {
+      // Skipped only now to avoid reading ahead of the consumer
+      skipEqualTo(lastGiven);
+    }
+    while (!included.isExhausted()) {
+      T candidate = included.current();
+      while (!excluded.isExhausted() && comparator.compare(excluded.current(), candidate) < 0) {
+        excluded.advance();
+      }
+      if (excluded.isExhausted() || comparator.compare(excluded.current(), candidate) != 0) {
+        hasLastGiven = true;
+        lastGiven = candidate;
+        action.accept(candidate);
+        return true;
+      }
+      skipEqualTo(candidate);
+    }
+    return false;
+  }
+
+  /**
+   * Moves the included cursor after the given element, so repeated elements are given only once
+   */
+  private void skipEqualTo(T element) {
+    while (!included.isExhausted() && comparator.compare(included.current(), element) == 0) {
+      included.advance();
+    }
+  }
+
+  @Override
+  public Comparator<? super T> getComparator() {
+    return comparator;
+  }
+}
@@ -0,0 +1,125 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This type implements a spliterator with the elements that are present in all of several sources
+ * sorted by the same comparator.<br>
+ * Each source is advanced until its current element reaches the greatest current element of all the
+ * sources, so every element is read once, and only the current element of each source is kept.
+ * Each common element is given only once, even if a source repeats it
+ * <p>
+ * Date: 19/10/26 - 23:16
+ */
+public class SortedIntersectionSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  private Comparator<? super T> comparator;
+  private List<? extends Stream<? extends T>> sources;
+  private List<SortedCursor<T>> cursors;
+  private boolean hasLastGiven;
+  private T lastGiven;
+
+  private SortedIntersectionSpliterator() {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.SORTED);
+  }
+
+  public static <T> SortedIntersectionSpliterator<T> create(Comparator<? super T> comparator, List<? extends Stream<? extends T>> sources) {
+    SortedIntersectionSpliterator<T> spliterator = new SortedIntersectionSpliterator<>();
+    spliterator.comparator = comparator;
+    spliterator.sources = sources;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (cursors == null) {
+      // Sources are not read until the first element is needed
+      cursors = startCursors();
+    }
+    if (cursors.isEmpty()) {
+      return false;
+    }
+    if (hasLastGiven) {
+      // Skipped only now to avoid reading ahead of the consumer
+      skipEqualTo(lastGiven);
+    }
+    while (!anyExhausted()) {
+      T greatest = greatestCurrent();
+      boolean allEqual = true;
+      for (SortedCursor<T> cursor : cursors) {
+        if (!advanceUntilReaching(cursor, greatest)) {
+          return false;
+        }
+        allEqual &= comparator.compare(cursor.current(), greatest) == 0;
+      }
+      if (allEqual) {
+        hasLastGiven = true;
+        lastGiven = greatest;
+        action.accept(greatest);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<SortedCursor<T>> startCursors() {
+    List<SortedCursor<T>> started = new ArrayList<>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      started.add(SortedCursor.create(sources.get(i).spliterator(), i));
+    }
+    return started;
+  }
+
+  private T greatestCurrent() {
+    SortedCursor<T> greatest = null;
+    for (SortedCursor<T> cursor : cursors) {
+      if (greatest == null || comparator.compare(cursor.current(), greatest.current()) > 0) {
+        greatest = cursor;
+      }
+    }
+    return greatest.current();
+  }
+
+  private boolean anyExhausted() {
+    for (SortedCursor<T> cursor : cursors) {
+      if (cursor.isExhausted()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Advances the cursor while its element is lower than the given one
+   *
+   * @return false if the cursor got exhausted
+   */
+  private boolean advanceUntilReaching(SortedCursor<T> cursor, T target) {
+    while (!cursor.isExhausted() && comparator.compare(cursor.current(), target) < 0) {
+      cursor.advance();
+    }
+    return !cursor.isExhausted();
+  }
+
+  /**
+   * Moves all the cursors after the given element, so repeated elements are given only once
+   */
+  private void skipEqualTo(T element) {
+    for (SortedCursor<T> cursor : cursors) {
+      while (!cursor.isExhausted() && comparator.compare(cursor.current(), element) == 0) {
+        cursor.advance();
+      }
+    }
+  }
+
+  @Override
+  public Comparator<? super T> getComparator() {
+    return comparator;
+  }
+}
@@ -0,0 +1,101 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This type implements a spliterator that merges several sources sorted by the same comparator into
+ * one sorted sequence.<br>
+ * Only the current element of each source is kept, in a heap ordered by the comparator (and by source
+ * position for equal elements, so the merge is stable). Optionally, elements equal to the previous one
+ * are discarded to produce the union of the sources
+ * <p>
+ * Date: 19/10/26 - 23:04
+ */
+public class SortedMergeSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  private Comparator<? super T> comparator;
+  private List<? extends Stream<? extends T>> sources;
+  private PriorityQueue<SortedCursor<T>> heads;
+  /**
+   * The source of the last given element, advanced only when the next element is needed
+   */
+  private SortedCursor<T> lastTaken;
+  private boolean distinct;
+  private boolean hasPrevious;
+  private T previous;
+
+  private SortedMergeSpliterator() {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.SORTED);
+  }
+
+  /**
+   * Creates a merge that keeps all the elements of the sources
+   */
+  public static <T> SortedMergeSpliterator<T> merging(Comparator<? super T> comparator, List<? extends Stream<? extends T>> sources) {
+    return create(comparator, sources, false);
+  }
+
+  /**
+   * Creates a merge that keeps only one of the elements that are equal according to the comparator
+   */
+  public static <T> SortedMergeSpliterator<T> joining(Comparator<? super T> comparator, List<? extends Stream<? extends T>> sources) {
+    return create(comparator, sources, true);
+  }
+
+  private static <T> SortedMergeSpliterator<T> create(Comparator<? super T> comparator, List<? extends Stream<? extends T>> sources, boolean distinct) {
+    SortedMergeSpliterator<T> spliterator = new SortedMergeSpliterator<>();
+    spliterator.comparator = comparator;
+    spliterator.sources = sources;
+    spliterator.distinct = distinct;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (heads == null) {
+      // Sources are not read until the first element is needed
+      heads = startHeads();
+    }
+    while (true) {
+      if (lastTaken != null && lastTaken.advance()) {
+        heads.add(lastTaken);
+      }
+      lastTaken = heads.poll();
+      if (lastTaken == null) {
+        return false;
+      }
+      T element = lastTaken.current();
+      if (distinct && hasPrevious && comparator.compare(previous, element) == 0) {
+        continue;
+      }
+      hasPrevious = true;
+      previous = element;
+      action.accept(element);
+      return true;
+    }
+  }
+
+  private PriorityQueue<SortedCursor<T>> startHeads() {
+    Comparator<SortedCursor<T>> byElement = (first, second) -> comparator.compare(first.current(), second.current());
+    Comparator<SortedCursor<T>> stableOrder = byElement.thenComparingInt(SortedCursor::sourceIndex);
+    PriorityQueue<SortedCursor<T>> queue = new PriorityQueue<>(Math.max(1, sources.size()), stableOrder);
+    for (int i = 0; i < sources.size(); i++) {
+      SortedCursor<T> cursor = SortedCursor.create(sources.get(i).spliterator(), i);
+      if (!cursor.isExhausted()) {
+        queue.add(cursor);
+      }
+    }
+    return queue;
+  }
+
+  @Override
+  public Comparator<? super T> getComparator() {
+    return comparator;
+  }
+}
@@ -0,0 +1,112 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This type implements a bounded lock-free queue for exactly one producer thread and one consumer thread.<br>
+ * Each side only writes its own index and publishes it with an ordered write, and keeps a cached copy of the
+ * other side index to avoid reading it on every operation. Null elements are not allowed
+ * <p>
+ * Date: 19/10/26 - 14:02
+ */
+public class SpscRingBuffer<E> {
+
+  private Object[] slots;
+  private int mask;
+  /**
+   * Index of the next slot to read. Only written by the consumer
+   */
+  private AtomicLong head;
+  /**
+   * Index of the next slot to write. Only written by the producer
+   */
+  private AtomicLong tail;
+  /**
+   * Producer view of the head index, refreshed only when the buffer seems full
+   */
+  private long cachedHead;
+  /**
+   * Consumer view of the tail index, refreshed only when the buffer seems empty
+   */
+  private long cachedTail;
+  private volatile long maxSize;
+
+  public static <E> SpscRingBuffer<E> create(int minCapacity) {
+    if (minCapacity < 1 || minCapacity > (1 << 30)) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + minCapacity);
+    }
+    int capacity = Integer.highestOneBit(minCapacity);
+    if (capacity < minCapacity) {
+      capacity <<= 1;
+    }
+    SpscRingBuffer<E> buffer = new SpscRingBuffer<>();
+    buffer.slots = new Object[capacity];
+    buffer.mask = capacity - 1;
+    buffer.head = new AtomicLong();
+    buffer.tail = new AtomicLong();
+    return buffer;
+  }
+
+  /**
+   * Adds the element at the end of this buffer if there's room for it. Only called from the producer thread
+   *
+   * @param element The non null element to add
+   * @return false if the buffer was full
+   */
+  public boolean offer(E element) {
+    long currentTail = tail.get();
+    if (currentTail - cachedHead >= slots.length) {
+      cachedHead = head.get();
+      if (currentTail - cachedHead >= slots.length) {
+        return false;
+      }
+    }
+    slots[(int) currentTail & mask] = element;
+    tail.lazySet(currentTail + 1);
+    long size = currentTail + 1 - cachedHead;
+    if (size > maxSize) {
+      maxSize = size;
+    }
+    return true;
+  }
+
+  /**
+   * Removes the first element of this buffer. Only called from the consumer thread
+   *
+   * @return The removed element or null if the buffer was empty
+   */
+  @SuppressWarnings("unchecked") // Only elements of type E are added to the slots
+  public E poll() {
+    long currentHead = head.get();
+    if (currentHead >= cachedTail) {
+      cachedTail = tail.get();
+      if (currentHead >= cachedTail) {
+        return null;
+      }
+    }
+    int index = (int) currentHead & mask;
+    E element = (E) slots[index];
+    slots[index] = null;
+    head.lazySet(currentHead + 1);
+    return element;
+  }
+
+  /**
+   * @return The amount of elements in this buffer. It may be stale if called while the buffer is being used
+   */
+  public int size() {
+    long currentHead = head.get();
+    return (int) (tail.get() - currentHead);
+  }
+
+  /**
+   * @return The biggest amount of elements this buffer had at the same time (approximated from the producer view)
+   */
+  public long maxSize() {
+    return maxSize;
+  }
+
+  public int capacity() {
+    return slots.length;
+  }
+}
@@ -0,0 +1,306 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.pipeline.StageMetrics;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * This type executes a sequence of stages over the elements of a source, running each stage
+ * (and the reading of the source) on its own thread of a shared pool.<br>
+ * Consecutive stages are connected by single-producer/single-consumer queues, so each queue keeps the
+ * order in which its producer generated the elements. The output of the last stage is offered as
+ * a spliterator to be consumed by the calling thread.<br>
+ * A thread that finds its queue empty (or full) spins and yields for a while, and then parks until the thread
+ * on the other side of the queue signals it, so idle stages don't consume cpu on slow or bursty sources.<br>
+ * The stages stop when the pipeline is cancelled, when the output is fully consumed, or when the output
+ * spliterator is garbage collected because its consumer abandoned it or short-circuited without closing it
+ * <p>
+ * Date: 19/10/26 - 14:40
+ */
+public class StagePipeline<T> {
+
+  private static final Object NULL_ELEMENT = new Object();
+  private static final Object END_OF_ELEMENTS = new Object();
+  private static final int SPIN_ATTEMPTS = 100;
+  private static final int YIELD_ATTEMPTS = 200;
+  /**
+   * Parked threads wake up at least this often to notice an abandoned output, which nobody signals
+   */
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final AtomicInteger STAGE_THREAD_COUNT = new AtomicInteger();
+  private static final ExecutorService STAGE_EXECUTOR = Executors.newCachedThreadPool(StagePipeline::createStageThread);
+
+  private Spliterator<?> source;
+  private List<PipelineStage> stages;
+  /**
+   * Output queue of each stage, where the first one is filled by the source reader
+   */
+  private List<SpscRingBuffer<Object>> queues;
+  private AtomicLongArray processedElements;
+  /**
+   * Thread parked waiting for elements on each queue
+   */
+  private AtomicReferenceArray<Thread> waitingConsumers;
+  /**
+   * Thread parked waiting for room on each queue
+   */
+  private AtomicReferenceArray<Thread> waitingProducers;
+  private volatile boolean cancelled;
+  private volatile Throwable failure;
+  /**
+   * The spliterator of the consumer, weakly referenced to notice when it's no longer used
+   */
+  private WeakReference<OutputSpliterator> output;
+
+  public static <T> StagePipeline<T> create(Spliterator<?> source, List<PipelineStage> stages, int queueCapacity) {
+    StagePipeline<T> pipeline = new StagePipeline<>();
+    pipeline.source = source;
+    pipeline.stages = stages;
+    pipeline.queues = new ArrayList<>(stages.size() + 1);
+    for (int i = 0; i <= stages.size(); i++) {
+      pipeline.queues.add(SpscRingBuffer.create(queueCapacity));
+    }
+    pipeline.processedElements = new AtomicLongArray(stages.size() + 1);
+    pipeline.waitingConsumers = new AtomicReferenceArray<>(stages.size() + 1);
+    pipeline.waitingProducers = new AtomicReferenceArray<>(stages.size() + 1);
+    return pipeline;
+  }
+
+  /**
+   * Starts one task per stage and returns the spliterator that consumes the results of the last one
+   *
+   * @return The spliterator to access the pipeline results in order
+   */
+  public Spliterator<T> start() {
+    OutputSpliterator outputSpliterator = new OutputSpliterator();
+    output = new WeakReference<>(outputSpliterator);
+    startStage("source", this::readSource);
+    for (int i = 0; i < stages.size(); i++) {
+      int stageIndex = i + 1;
+      startStage(stages.get(i).getName(), () -> runStage(stageIndex));
+    }
+    return outputSpliterator;
+  }
+
+  /**
+   * Stops all the stage tasks, discarding the elements in process
+   */
+  public void cancel() {
+    cancelled = true;
+    for (int i = 0; i < queues.size(); i++) {
+      signal(waitingConsumers, i);
+      signal(waitingProducers, i);
+    }
+  }
+
+  public List<StageMetrics> metrics() {
+    List<StageMetrics> metrics = new ArrayList<>(queues.size());
+    for (int i = 0; i < queues.size(); i++) {
+      SpscRingBuffer<Object> queue = queues.get(i);
+      String stageName = i == 0 ? "source" : stages.get(i - 1).getName();
+      metrics.add(StageMetrics.create(stageName, processedElements.get(i), queue.size(), queue.maxSize(), queue.capacity()));
+    }
+    return metrics;
+  }
+
+  private static Thread createStageThread(Runnable task) {
+    Thread thread = new Thread(task, "nary-pipeline-" + STAGE_THREAD_COUNT.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private void startStage(String stageName, Runnable stageTask) {
+    STAGE_EXECUTOR.execute(() -> {
+      Thread thread = Thread.currentThread();
+      String poolThreadName = thread.getName();
+      thread.setName("nary-pipeline-" + stageName);
+      try {
+        stageTask.run();
+      } catch (StageCancelledSignal e) {
+        // The pipeline was stopped, nothing else to do
+      } catch (Throwable e) { // NOSONAR squid:S1181 any failure must reach the consumer thread
+        failure = e;
+        cancel();
+      } finally {
+        thread.setName(poolThreadName);
+      }
+    });
+  }
+
+  private void readSource() {
+    Consumer<Object> reader = element -> {
+      processedElements.lazySet(0, processedElements.get(0) + 1);
+      put(0, element == null ? NULL_ELEMENT : element);
+    };
+    boolean hasMore = true;
+    while (hasMore) {
+      checkStopped();
+      hasMore = source.tryAdvance(reader);
+    }
+    put(0, END_OF_ELEMENTS);
+  }
+
+  private void runStage(int stageIndex) {
+    PipelineStage stage = stages.get(stageIndex - 1);
+    Consumer<Object> nextStage = result -> put(stageIndex, result == null ? NULL_ELEMENT : result);
+    Object element;
+    while ((element = take(stageIndex - 1)) != END_OF_ELEMENTS) {
+      checkStopped();
+      processedElements.lazySet(stageIndex, processedElements.get(stageIndex) + 1);
+      stage.process(element == NULL_ELEMENT ? null : element, nextStage);
+    }
+    put(stageIndex, END_OF_ELEMENTS);
+  }
+
+  private void put(int queueIndex, Object element) {
+    SpscRingBuffer<Object> queue = queues.get(queueIndex);
+    int attempt = 0;
+    while (!queue.offer(element)) {
+      checkStopped();
+      if (attempt < YIELD_ATTEMPTS) {
+        idle(attempt++);
+      } else {
+        awaitSignal(waitingProducers, queueIndex, () -> queue.size() < queue.capacity());
+      }
+    }
+    signal(waitingConsumers, queueIndex);
+  }
+
+  private Object take(int queueIndex) {
+    SpscRingBuffer<Object> queue = queues.get(queueIndex);
+    int attempt = 0;
+    Object element;
+    while ((element = queue.poll()) == null) {
+      checkStopped();
+      if (attempt < YIELD_ATTEMPTS) {
+        idle(attempt++);
+      } else {
+        awaitSignal(waitingConsumers, queueIndex, () -> queue.size() > 0);
+      }
+    }
+    signal(waitingProducers, queueIndex);
+    return element;
+  }
+
+  /**
+   * Parks the current thread until the other side of the queue signals it, or the max park time elapses.
+   * The thread is registered before checking the queue again, so a change made in between is not missed
+   */
+  private void awaitSignal(AtomicReferenceArray<Thread> waitingThreads, int queueIndex, BooleanSupplier queueReady) {
+    waitingThreads.set(queueIndex, Thread.currentThread());
+    if (!queueReady.getAsBoolean() && !cancelled) {
+      LockSupport.parkNanos(this, MAX_PARK_NANOS);
+    }
+    waitingThreads.set(queueIndex, null);
+  }
+
+  private static void signal(AtomicReferenceArray<Thread> waitingThreads, int queueIndex) {
+    Thread waitingThread = waitingThreads.get(queueIndex);
+    if (waitingThread != null) {
+      LockSupport.unpark(waitingThread);
+    }
+  }
+
+  /**
+   * Unwinds the current stage if the pipeline was cancelled or nobody will consume its output
+   */
+  private void checkStopped() {
+    if (!cancelled && output.get() == null) {
+      // The consumer spliterator was discarded without closing the pipeline
+      cancelled = true;
+    }
+    if (cancelled) {
+      throw StageCancelledSignal.INSTANCE;
+    }
+  }
+
+  private static void idle(int attempt) {
+    if (attempt >= SPIN_ATTEMPTS) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Spliterator that takes the results of the last stage on the consumer thread
+   */
+  private class OutputSpliterator implements Spliterator<T> {
+    private boolean finished;
+
+    @Override
+    @SuppressWarnings("unchecked") // The last stage produces elements of type T
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (finished) {
+        return false;
+      }
+      Object element;
+      try {
+        element = take(queues.size() - 1);
+      } catch (StageCancelledSignal e) {
+        finished = true;
+        throwFailureIfAny();
+        return false;
+      }
+      if (element == END_OF_ELEMENTS) {
+        finished = true;
+        cancel();
+        return false;
+      }
+      action.accept(element == NULL_ELEMENT ? null : (T) element);
+      return true;
+    }
+
+    private void throwFailureIfAny() {
+      Throwable stageFailure = failure;
+      if (stageFailure == null) {
+        return;
+      }
+      if (stageFailure instanceof RuntimeException) {
+        throw (RuntimeException) stageFailure;
+      }
+      if (stageFailure instanceof Error) {
+        throw (Error) stageFailure;
+      }
+      throw new NaryException("A pipeline stage failed", stageFailure);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      return null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED;
+    }
+  }
+
+  /**
+   * Signal used to unwind a stage thread once the pipeline is cancelled
+   */
+  private static class StageCancelledSignal extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private static final StageCancelledSignal INSTANCE = new StageCancelledSignal();
+
+    private StageCancelledSignal() {
+      super("The pipeline was cancelled", null, false, false);
+    }
+  }
+}
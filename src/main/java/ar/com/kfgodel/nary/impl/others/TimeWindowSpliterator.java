@@ -0,0 +1,108 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.windowing.TimeWindow;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * This type implements a spliterator that aggregates the elements of a source by the tumbling window of time
+ * in which they arrive, as told by a clock.<br>
+ * Windows are aligned to the epoch and only the accumulation of the open window is kept. A window is
+ * completed when the first element of a later window arrives (or the source ends), so windows without
+ * elements are not produced. The latest time seen acts as a watermark: if the clock goes back, the elements
+ * that arrive are considered on time for the open window instead of reopening a completed one
+ * <p>
+ * Date: 20/10/26 - 16:10
+ */
+public class TimeWindowSpliterator<T, A, R> implements Spliterator<TimeWindow<R>>, Consumer<T> {
+
+  private Spliterator<T> source;
+  private long windowMillis;
+  private Clock clock;
+  private Collector<? super T, A, R> collector;
+  private long watermark;
+  private long openWindowStart;
+  private A openWindow;
+  private TimeWindow<R> completedWindow;
+
+  public static <T, A, R> TimeWindowSpliterator<T, A, R> create(Spliterator<T> source, Duration windowSize, Clock clock,
+                                                                Collector<? super T, A, R> collector) {
+    if (windowSize.toMillis() < 1) {
+      throw new IllegalArgumentException("Time windows need to last at least 1 millisecond: " + windowSize);
+    }
+    if (!Duration.ofMillis(windowSize.toMillis()).equals(windowSize)) {
+      // The clock is read in millis, so a fraction of a millisecond would be silently dropped
+      throw new IllegalArgumentException("Time windows must last a whole amount of milliseconds: " + windowSize);
+    }
+    TimeWindowSpliterator<T, A, R> spliterator = new TimeWindowSpliterator<>();
+    spliterator.source = source;
+    spliterator.windowMillis = windowSize.toMillis();
+    spliterator.clock = clock;
+    spliterator.collector = collector;
+    spliterator.watermark = Long.MIN_VALUE;
+    return spliterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super TimeWindow<R>> action) {
+    while (completedWindow == null && source.tryAdvance(this)) {
+      // Elements of the open window are accumulated until one of a later window arrives
+    }
+    if (completedWindow == null && openWindow != null) {
+      // The source ended, so the open window is complete
+      completedWindow = complete();
+    }
+    if (completedWindow == null) {
+      return false;
+    }
+    TimeWindow<R> window = completedWindow;
+    completedWindow = null;
+    action.accept(window);
+    return true;
+  }
+
+  /**
+   * Adds an element of the source to the window of the time it arrived
+   */
+  @Override
+  public void accept(T element) {
+    watermark = Math.max(watermark, clock.millis());
+    long windowStart = watermark - Math.floorMod(watermark, windowMillis);
+    if (openWindow != null && windowStart != openWindowStart) {
+      completedWindow = complete();
+    }
+    if (openWindow == null) {
+      openWindow = collector.supplier().get();
+      openWindowStart = windowStart;
+    }
+    collector.accumulator().accept(openWindow, element);
+  }
+
+  private TimeWindow<R> complete() {
+    A accumulated = openWindow;
+    openWindow = null;
+    return TimeWindow.create(Instant.ofEpochMilli(openWindowStart), Instant.ofEpochMilli(openWindowStart + windowMillis),
+      collector.finisher().apply(accumulated));
+  }
+
+  @Override
+  public Spliterator<TimeWindow<R>> trySplit() {
+    // Windows depend on the arrival order of the elements
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+}
@@ -0,0 +1,79 @@
+package ar.com.kfgodel.nary.impl.others;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.impl.OneElementNary;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * This type accumulates the result of a sequential terminal operation that produces at most one element,
+ * so it can be returned as a {@link Unary} without creating an intermediate {@link java.util.Optional}.<br>
+ * As a {@link Consumer} it reduces every element it receives (or keeps the first one)
+ * <p>
+ * Date: 19/10/26 - 17:05
+ */
+public class UnaryAccumulator<T> implements Consumer<T> {
+
+  private BinaryOperator<T> reducer;
+  private Comparator<? super T> comparator;
+  private boolean found;
+  private T result;
+
+  public static <T> UnaryAccumulator<T> reducing(BinaryOperator<T> reducer) {
+    UnaryAccumulator<T> accumulator = new UnaryAccumulator<>();
+    accumulator.reducer = reducer;
+    return accumulator;
+  }
+
+  /**
+   * @param comparator The comparator that defines the order of the elements
+   * @return An accumulator that keeps the first of the smallest elements
+   */
+  public static <T> UnaryAccumulator<T> keepingMin(Comparator<? super T> comparator) {
+    UnaryAccumulator<T> accumulator = new UnaryAccumulator<>();
+    accumulator.comparator = comparator;
+    return accumulator;
+  }
+
+  /**
+   * @param comparator The comparator that defines the order of the elements
+   * @return An accumulator that keeps the first of the biggest elements
+   */
+  public static <T> UnaryAccumulator<T> keepingMax(Comparator<? super T> comparator) {
+    return keepingMin(comparator.reversed());
+  }
+
+  /**
+   * @return An accumulator that keeps the first element it receives, ignoring the rest
+   */
+  public static <T> UnaryAccumulator<T> keepingFirst() {
+    return new UnaryAccumulator<>();
+  }
+
+  @Override
+  public void accept(T element) {
+    if (!found) {
+      found = true;
+      result = element;
+    } else if (reducer != null) {
+      result = reducer.apply(result, element);
+    } else if (comparator != null && comparator.compare(element, result) < 0) {
+      result = element;
+    }
+  }
+
+  /**
+   * @return The accumulated element or empty if no element was received
+   * @throws NullPointerException if the accumulated element is null (as the native terminal operation does)
+   */
+  public Unary<T> toUnary() {
+    if (!found) {
+      return Nary.empty();
+    }
+    return OneElementNary.create(Objects.requireNonNull(result, "The result of the terminal operation is null"));
+  }
+}
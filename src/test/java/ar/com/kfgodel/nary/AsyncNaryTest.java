@@ -0,0 +1,147 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.async.AsyncNary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of a nary created from an asynchronous source
+ * Date: 19/10/26 - 16:45
+ */
+@RunWith(JavaSpecRunner.class)
+public class AsyncNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("an async nary", () -> {
+
+      it("composes operations without waiting for the elements", () -> {
+        CompletableFuture<List<Integer>> source = new CompletableFuture<>();
+        AtomicInteger mappings = new AtomicInteger();
+
+        CompletableFuture<List<Integer>> result = Nary.fromAsync(source)
+          .thenMap(number -> {
+            mappings.incrementAndGet();
+            return number * 10;
+          })
+          .thenFilter(number -> number > 10)
+          .thenCollectToList();
+
+        assertThat(result.isDone()).isFalse();
+        assertThat(mappings.get()).isEqualTo(0);
+
+        source.complete(Arrays.asList(1, 2, 3));
+
+        assertThat(result.join()).containsExactly(20, 30);
+      });
+
+      it("completes with the only element when #thenUnique() is used", () -> {
+        CompletableFuture<Unary<Integer>> result = Nary.fromAsync(CompletableFuture.completedFuture(Arrays.asList(1, 2, 3)))
+          .thenFilter(number -> number == 2)
+          .thenUnique();
+
+        assertThat(result.join().get()).isEqualTo(2);
+      });
+
+      it("completes exceptionally when #thenUnique() is used with more than one element", () -> {
+        CompletableFuture<Unary<Integer>> result = Nary.fromAsync(CompletableFuture.completedFuture(Arrays.asList(1, 2)))
+          .thenUnique();
+
+        try {
+          result.get();
+          failBecauseExceptionWasNotThrown(ExecutionException.class);
+        } catch (ExecutionException e) {
+          assertThat(e.getCause()).isInstanceOf(MoreThanOneElementException.class);
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+
+      it("completes with the first element when #thenFindFirst() is used", () -> {
+        CompletableFuture<Unary<Integer>> result = Nary.fromAsync(CompletableFuture.completedFuture(Arrays.asList(4, 5)))
+          .thenFindFirst();
+
+        assertThat(result.join().get()).isEqualTo(4);
+      });
+
+      it("can filter null mapping results out", () -> {
+        CompletableFuture<List<Integer>> result = Nary.fromAsync(CompletableFuture.completedFuture(Arrays.asList(1, 2, 3)))
+          .thenMapFilteringNullResult(number -> number == 2 ? null : number)
+          .thenCollectToList();
+
+        assertThat(result.join()).containsExactly(1, 3);
+      });
+
+      it("can be reduced with a collector", () -> {
+        CompletableFuture<String> result = Nary.fromAsync(CompletableFuture.completedFuture(Arrays.asList(1, 2, 3)))
+          .thenMap(String::valueOf)
+          .thenCollect(Collectors.joining(","));
+
+        assertThat(result.join()).isEqualTo("1,2,3");
+      });
+
+      describe("as a blocking nary", () -> {
+        it("doesn't wait for the elements until a terminal operation is used", () -> {
+          CompletableFuture<List<Integer>> source = new CompletableFuture<>();
+
+          Nary<Integer> nary = Nary.fromAsync(source).blocking().map(number -> number + 1);
+          source.complete(Arrays.asList(1, 2));
+
+          assertThat(nary.collectToList()).containsExactly(2, 3);
+        });
+
+        it("throws the failure of the source", () -> {
+          CompletableFuture<List<Integer>> source = new CompletableFuture<>();
+          source.completeExceptionally(new IllegalStateException("Source failed"));
+          AsyncNary<Integer> asyncNary = Nary.fromAsync(source);
+
+          try {
+            asyncNary.blocking().collectToList();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+          } catch (IllegalStateException e) {
+            assertThat(e).hasMessage("Source failed");
+          }
+        });
+
+        it("throws a nary exception when the source completes with null", () -> {
+          CompletableFuture<List<Integer>> source = CompletableFuture.completedFuture(null);
+          AsyncNary<Integer> asyncNary = Nary.fromAsync(source);
+
+          try {
+            asyncNary.blocking().collectToList();
+            failBecauseExceptionWasNotThrown(NaryException.class);
+          } catch (NaryException e) {
+            assertThat(e).hasMessage("The asynchronous source completed without elements (null iterable)");
+          }
+        });
+
+        it("throws the errors of the source as they are", () -> {
+          CompletableFuture<List<Integer>> source = new CompletableFuture<>();
+          source.completeExceptionally(new LinkageError("Source broke"));
+          AsyncNary<Integer> asyncNary = Nary.fromAsync(source);
+
+          try {
+            asyncNary.blocking().collectToList();
+            failBecauseExceptionWasNotThrown(LinkageError.class);
+          } catch (LinkageError e) {
+            assertThat(e).hasMessage("Source broke");
+          }
+        });
+      });
+    });
+  }
+}
@@ -0,0 +1,184 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.columnar.BatchNary;
+import ar.com.kfgodel.nary.api.columnar.BatchSchema;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of naries stored by columns
+ * Date: 20/10/26 - 06:40
+ */
+@RunWith(JavaSpecRunner.class)
+public class BatchNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    BatchSchema<Sale> schema = BatchSchema.<Sale>create(row -> new Sale(row.getLong("id"), row.getObject("product"), row.getInt("units"), row.getDouble("price")))
+      .withLong("id", sale -> sale.id)
+      .withObject("product", sale -> sale.product)
+      .withInt("units", sale -> sale.units)
+      .withDouble("price", sale -> sale.price);
+
+    describe("a batch nary", () -> {
+      BatchNary<Sale> sales = Nary.from(Stream.of(
+        new Sale(1, "pen", 3, 1.5),
+        new Sale(2, "book", 1, 20.0),
+        new Sale(3, "pen", 10, 1.25),
+        new Sale(4, "mug", 2, 7.0)))
+        .toBatch(schema);
+
+      it("has a row for each element", () -> {
+        assertThat(sales.size()).isEqualTo(4);
+        assertThat(sales.count()).isEqualTo(4);
+      });
+
+      it("sums a column without creating the elements", () -> {
+        assertThat(sales.sumLong("units")).isEqualTo(16);
+        assertThat(sales.sumDouble("price")).isEqualTo(29.75);
+      });
+
+      it("streams the values of a column", () -> {
+        assertThat(sales.longs("id").boxed().collect(Collectors.toList())).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(sales.doubles("price").max().getAsDouble()).isEqualTo(20.0);
+      });
+
+      it("filters by a column keeping the selected rows", () -> {
+        BatchNary<Sale> bulk = sales.whereInt("units", units -> units > 1);
+
+        assertThat(bulk.size()).isEqualTo(3);
+        assertThat(bulk.longs("id").boxed().collect(Collectors.toList())).containsExactly(1L, 3L, 4L);
+        assertThat(bulk.sumDouble("units")).isEqualTo(15.0);
+      });
+
+      it("combines filters", () -> {
+        BatchNary<Sale> cheapBulk = sales.whereInt("units", units -> units > 1)
+          .whereDouble("price", price -> price < 5);
+
+        assertThat(cheapBulk.ints("units").sum()).isEqualTo(13);
+      });
+
+      it("creates the elements from their rows when used as a nary", () -> {
+        List<String> products = sales.whereLong("id", id -> id % 2 == 0)
+          .map(Sale::toString)
+          .collectToList();
+
+        assertThat(products).containsExactly("2 book x1 at 20.0", "4 mug x2 at 7.0");
+      });
+
+      it("can be operated multiple times", () -> {
+        assertThat(sales.map(sale -> sale.units).collectToList()).containsExactly(3, 1, 10, 2);
+        assertThat(sales.findLast().get().product).isEqualTo("mug");
+      });
+
+      it("aggregates double columns", () -> {
+        assertThat(sales.minDouble("price").getAsDouble()).isEqualTo(1.25);
+        assertThat(sales.maxDouble("price").getAsDouble()).isEqualTo(20.0);
+        assertThat(sales.whereInt("units", units -> units == 3).maxDouble("price").getAsDouble()).isEqualTo(1.5);
+        assertThat(sales.whereInt("units", units -> units > 100).minDouble("price").isPresent()).isFalse();
+      });
+
+      it("fails when a column is used with another type", () -> {
+        try {
+          sales.sumLong("price");
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("The batch column 'price' is not of type int or long: [id:long, product:Object, units:int, price:double]");
+        }
+      });
+
+      it("fails when a column doesn't exist", () -> {
+        try {
+          sales.ints("discount");
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("The batch has no column named 'discount': [id:long, product:Object, units:int, price:double]");
+        }
+      });
+
+      it("fails when a column doesn't exist even if no row is selected", () -> {
+        BatchNary<Sale> none = sales.whereInt("units", units -> units > 100);
+        try {
+          none.maxDouble("discount");
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("The batch has no column named 'discount': [id:long, product:Object, units:int, price:double]");
+        }
+      });
+    });
+
+    it("stores large naries growing its columns", () -> {
+      BatchNary<Sale> sales = Nary.from(IntStream.range(0, 100_000).mapToObj(id -> new Sale(id, "item", 1, id)).iterator())
+        .toBatch(schema);
+
+      assertThat(sales.size()).isEqualTo(100_000);
+      assertThat(sales.sumLong("id")).isEqualTo(99_999L * 100_000 / 2);
+    });
+
+    it("gives the same aggregations with and without selected rows", () -> {
+      BatchSchema<double[]> pairs = BatchSchema.<double[]>create(row -> new double[]{row.getDouble("x"), row.getDouble("y")})
+        .withDouble("x", pair -> pair[0])
+        .withDouble("y", pair -> pair[1]);
+      BatchNary<double[]> all = Nary.from(IntStream.range(0, 1_003).mapToObj(i -> new double[]{i % 17, i % 5 - 2}).iterator())
+        .toBatch(pairs);
+      BatchNary<double[]> selected = all.whereDouble("x", x -> true);
+
+      assertThat(all.dotProduct("x", "y")).isEqualTo(selected.dotProduct("x", "y"));
+      assertThat(all.sumDouble("y")).isEqualTo(selected.sumDouble("y"));
+      assertThat(all.minDouble("y")).isEqualTo(selected.minDouble("y"));
+      assertThat(all.maxDouble("x").getAsDouble()).isEqualTo(16.0);
+    });
+
+    it("sums doubles of mixed magnitudes the same with and without selected rows and as a stream", () -> {
+      BatchSchema<Double> values = BatchSchema.<Double>create(row -> row.getDouble("value"))
+        .withDouble("value", value -> value);
+      BatchNary<Double> all = Nary.from(IntStream.range(0, 1_003).mapToObj(BatchNaryTest::mixedMagnitude).iterator())
+        .toBatch(values);
+      BatchNary<Double> selected = all.whereDouble("value", value -> true);
+
+      double streamSum = all.doubles("value").sum();
+      assertThat(all.sumDouble("value")).isEqualTo(streamSum);
+      assertThat(selected.sumDouble("value")).isEqualTo(streamSum);
+      assertThat(selected.doubles("value").sum()).isEqualTo(streamSum);
+    });
+  }
+
+  private static double mixedMagnitude(int index) {
+    switch (index % 3) {
+      case 0:
+        return 1e15 + index * 0.1;
+      case 1:
+        return 0.1 * index;
+      default:
+        return 1e-3 / (index + 1);
+    }
+  }
+
+  private static class Sale {
+    private final long id;
+    private final String product;
+    private final int units;
+    private final double price;
+
+    Sale(long id, String product, int units, double price) {
+      this.id = id;
+      this.product = product;
+      this.units = units;
+      this.price = price;
+    }
+
+    @Override
+    public String toString() {
+      return id + " " + product + " x" + units + " at " + price;
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.BinaryFormat;
+import ar.com.kfgodel.nary.api.io.Codec;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of writing naries to binary files and reading them back
+ * Date: 20/10/26 - 10:32
+ */
+@RunWith(JavaSpecRunner.class)
+public class BinaryFileTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#writeTo()", () -> {
+      it("returns the number of written elements", () -> {
+        long written = Nary.from(Stream.of("a", "b", "c")).writeTo(createTempFile(), Codec.utf8());
+
+        assertThat(written).isEqualTo(3);
+      });
+
+      it("keeps the previous file if an element can't be encoded", () -> {
+        Path directory = createTempDirectory();
+        Path file = directory.resolve("checkpoint.nary");
+        file.toFile().deleteOnExit();
+        Nary.from(Stream.of("previous")).writeTo(file, Codec.utf8());
+        try {
+          Nary.from(Stream.of("a", null)).writeTo(file, Codec.utf8());
+          failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException e) {
+          assertThat(Nary.read(file, Codec.utf8()).collectToList()).containsExactly("previous");
+          assertThat(directory.toFile().list()).containsExactly("checkpoint.nary");
+        }
+      });
+
+      it("replaces the previous file once finished", () -> {
+        Path file = createTempFile();
+        Nary.from(Stream.of("previous")).writeTo(file, Codec.utf8());
+
+        Nary.from(Stream.of("next", "one")).writeTo(file, Codec.utf8());
+
+        assertThat(Nary.read(file, Codec.utf8()).collectToList()).containsExactly("next", "one");
+      });
+    });
+
+    describe("#read()", () -> {
+      it("reads back the elements in the order they were written", () -> {
+        Path file = createTempFile();
+        Nary.from(Stream.of("one", "two", "three")).writeTo(file, Codec.utf8());
+
+        assertThat(Nary.read(file, Codec.utf8()).collectToList()).containsExactly("one", "two", "three");
+      });
+
+      it("reads back compressed blocks", () -> {
+        Path file = createTempFile();
+        Nary.from(LongStream.range(0, 50_000).boxed()).writeTo(file, Codec.longs(), BinaryFormat.deflated());
+
+        List<Long> result = Nary.read(file, Codec.longs()).collectToList();
+
+        assertThat(result).isEqualTo(LongStream.range(0, 50_000).boxed().collect(Collectors.toList()));
+        assertThat(file.toFile().length()).isLessThan(50_000 * 8);
+      });
+
+      it("is empty for a file without elements", () -> {
+        Path file = createTempFile();
+        Nary.from(Stream.<String>empty()).writeTo(file, Codec.utf8());
+
+        assertThat(Nary.read(file, Codec.utf8()).count()).isEqualTo(0);
+      });
+
+      it("keeps the order when read in parallel by blocks", () -> {
+        Path file = createTempFile();
+        Nary.from(LongStream.range(0, 10_000).boxed()).writeTo(file, Codec.longs(), BinaryFormat.uncompressed().withBlockSize(100));
+
+        List<Long> result = Nary.read(file, Codec.longs()).parallel()
+          .map(number -> number * 2)
+          .collect(Collectors.toList());
+
+        assertThat(result).isEqualTo(LongStream.range(0, 10_000).map(number -> number * 2).boxed()
+          .collect(Collectors.toList()));
+      });
+
+      it("can be traversed more than once", () -> {
+        Path file = createTempFile();
+        Nary.from(Stream.of(1, 2, 3)).writeTo(file, Codec.ints());
+        Nary<Integer> numbers = Nary.read(file, Codec.ints());
+
+        assertThat(numbers.count()).isEqualTo(3);
+        assertThat(numbers.collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("fails for a file that was not written by a nary", () -> {
+        Path file = createTempFile();
+        writeBytes(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30});
+        try {
+          Nary.read(file, Codec.ints());
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("The file " + file + " is not a nary binary file");
+        }
+      });
+    });
+
+    describe("#skip()", () -> {
+      it("starts reading at the element after the skipped ones", () -> {
+        Path file = createTempFile();
+        Nary.from(LongStream.range(0, 1_000).boxed()).writeTo(file, Codec.longs(), BinaryFormat.deflated().withBlockSize(64));
+
+        List<Long> result = Nary.read(file, Codec.longs()).skip(637).limit(3).collectToList();
+
+        assertThat(result).containsExactly(637L, 638L, 639L);
+      });
+
+      it("is empty when skipping more elements than written", () -> {
+        Path file = createTempFile();
+        Nary.from(Stream.of(1, 2, 3)).writeTo(file, Codec.ints());
+
+        assertThat(Nary.read(file, Codec.ints()).skip(10).count()).isEqualTo(0);
+      });
+
+      it("finds the last element without decoding the rest", () -> {
+        Path file = createTempFile();
+        Nary.from(LongStream.range(0, 1_000).boxed()).writeTo(file, Codec.longs(), BinaryFormat.uncompressed().withBlockSize(64));
+
+        assertThat(Nary.read(file, Codec.longs()).findLast().get()).isEqualTo(999L);
+      });
+    });
+  }
+
+  private static Path createTempFile() {
+    try {
+      Path file = Files.createTempFile("binary-file-test", ".nary");
+      file.toFile().deleteOnExit();
+      return file;
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't create the test file", e);
+    }
+  }
+
+  private static Path createTempDirectory() {
+    try {
+      Path directory = Files.createTempDirectory("binary-file-test");
+      directory.toFile().deleteOnExit();
+      return directory;
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't create the test directory", e);
+    }
+  }
+
+  private static void writeBytes(Path file, byte[] bytes) {
+    try {
+      Files.write(file, bytes);
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't write " + file, e);
+    }
+  }
+}
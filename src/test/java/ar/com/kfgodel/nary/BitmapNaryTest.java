@@ -0,0 +1,155 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.bitmap.BitmapNary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of the naries backed by a compressed bitmap
+ * Date: 20/10/26 - 05:02
+ */
+@RunWith(JavaSpecRunner.class)
+public class BitmapNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a bitmap nary", () -> {
+      it("contains each id once in ascending order", () -> {
+        BitmapNary ids = Nary.from(new int[]{70_000, 5, -3, 5, 131_072, 0});
+
+        assertThat(ids.collectToList()).containsExactly(-3, 0, 5, 70_000, 131_072);
+        assertThat(ids.count()).isEqualTo(5);
+      });
+
+      it("can be operated multiple times", () -> {
+        BitmapNary ids = Nary.from(new int[]{1, 2, 3});
+
+        assertThat(ids.map(id -> id * 2).collectToList()).containsExactly(2, 4, 6);
+        assertThat(ids.ints().sum()).isEqualTo(6);
+      });
+
+      it("answers if it contains an id", () -> {
+        BitmapNary ids = Nary.bitmapFrom(IntStream.range(0, 10_000).map(id -> id * 3));
+
+        assertThat(ids.contains(29_997)).isTrue();
+        assertThat(ids.contains(29_998)).isFalse();
+        assertThat(ids.contains(-3)).isFalse();
+      });
+
+      it("keeps dense and sparse chunks", () -> {
+        TreeSet<Integer> expected = randomIds(new Random(7), 200_000, 1_000_000);
+        expected.addAll(IntStream.range(300_000, 400_000).boxed().collect(Collectors.toList()));
+
+        BitmapNary ids = Nary.bitmapFrom(expected.stream().mapToInt(Integer::intValue));
+
+        assertThat(ids.count()).isEqualTo(expected.size());
+        assertThat(ids.collectToList()).isEqualTo(new ArrayList<>(expected));
+      });
+
+      it("accepts ids in any order", () -> {
+        TreeSet<Integer> expected = new TreeSet<>();
+        List<Integer> shuffled = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+          int id = random.nextInt(5_000_000) - 1_000_000;
+          expected.add(id);
+          shuffled.add(id);
+        }
+
+        BitmapNary ids = Nary.bitmapFrom(shuffled.stream().mapToInt(Integer::intValue));
+
+        assertThat(ids.collectToList()).isEqualTo(new ArrayList<>(expected));
+      });
+
+      it("is split by chunks when processed in parallel", () -> {
+        BitmapNary ids = Nary.bitmapFrom(IntStream.range(0, 1_000_000));
+
+        List<Integer> even = ids.parallel()
+          .filter(id -> id % 2 == 0)
+          .collect(Collectors.toList());
+
+        assertThat(even).isEqualTo(IntStream.range(0, 500_000).map(id -> id * 2).boxed().collect(Collectors.toList()));
+      });
+
+      it("returns its first and last ids", () -> {
+        BitmapNary ids = Nary.from(new int[]{9, 4, 100_000});
+
+        assertThat(ids.findFirstNary().get()).isEqualTo(4);
+        assertThat(ids.findLast().get()).isEqualTo(100_000);
+      });
+
+      it("behaves as a unary when it has at most one id", () -> {
+        assertThat(Nary.from(new int[]{42}).unique().get()).isEqualTo(42);
+        assertThat(Nary.from(new int[0]).unique().isPresent()).isFalse();
+        try {
+          Nary.from(new int[]{2, 1}).unique();
+          failBecauseExceptionWasNotThrown(MoreThanOneElementException.class);
+        } catch (MoreThanOneElementException e) {
+          assertThat(e).hasMessage("Expecting only 1 element in the stream to treat it as an optional but found at least 2: [1, 2]");
+        }
+      });
+    });
+
+    describe("set operations", () -> {
+      Random random = new Random(3);
+      TreeSet<Integer> first = randomIds(random, 50_000, 300_000);
+      first.addAll(IntStream.range(100_000, 120_000).boxed().collect(Collectors.toList()));
+      TreeSet<Integer> second = randomIds(random, 50_000, 300_000);
+      second.addAll(IntStream.range(110_000, 180_000).boxed().collect(Collectors.toList()));
+      BitmapNary firstIds = Nary.bitmapFrom(first.stream().mapToInt(Integer::intValue));
+      BitmapNary secondIds = Nary.bitmapFrom(second.stream().mapToInt(Integer::intValue));
+
+      it("intersects two bitmap naries", () -> {
+        TreeSet<Integer> expected = new TreeSet<>(first);
+        expected.retainAll(second);
+
+        assertThat(firstIds.and(secondIds).collectToList()).isEqualTo(new ArrayList<>(expected));
+      });
+
+      it("unites two bitmap naries", () -> {
+        TreeSet<Integer> expected = new TreeSet<>(first);
+        expected.addAll(second);
+
+        BitmapNary union = firstIds.or(secondIds);
+
+        assertThat(union.count()).isEqualTo(expected.size());
+        assertThat(union.collectToList()).isEqualTo(new ArrayList<>(expected));
+      });
+
+      it("subtracts a bitmap nary from other", () -> {
+        TreeSet<Integer> expected = new TreeSet<>(first);
+        expected.removeAll(second);
+
+        assertThat(firstIds.andNot(secondIds).collectToList()).isEqualTo(new ArrayList<>(expected));
+      });
+
+      it("doesn't modify the operands", () -> {
+        firstIds.and(secondIds);
+        firstIds.andNot(secondIds);
+
+        assertThat(firstIds.count()).isEqualTo(first.size());
+        assertThat(secondIds.count()).isEqualTo(second.size());
+      });
+    });
+  }
+
+  private static TreeSet<Integer> randomIds(Random random, int amount, int bound) {
+    TreeSet<Integer> ids = new TreeSet<>();
+    for (int i = 0; i < amount; i++) {
+      ids.add(random.nextInt(bound));
+    }
+    return ids;
+  }
+}
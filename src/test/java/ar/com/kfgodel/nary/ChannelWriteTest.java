@@ -0,0 +1,187 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.ChannelWriteOptions;
+import ar.com.kfgodel.nary.api.io.Codec;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of writing naries to byte channels
+ * Date: 20/10/26 - 11:48
+ */
+@RunWith(JavaSpecRunner.class)
+public class ChannelWriteTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#writeTo(WritableByteChannel)", () -> {
+      it("writes the encoded elements one after the other", () -> {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        long written = Nary.from(IntStream.range(0, 1_000).boxed()).writeTo(Channels.newChannel(bytes), Codec.ints());
+
+        assertThat(written).isEqualTo(1_000);
+        assertThat(readInts(bytes.toByteArray())).isEqualTo(range(1_000));
+      });
+
+      it("writes in batches instead of once per element", () -> {
+        CountingChannel channel = new CountingChannel();
+
+        Nary.from(IntStream.range(0, 10_000).boxed()).writeTo(channel, Codec.ints(), ChannelWriteOptions.inBatchesOf(4096));
+
+        assertThat(channel.writes.get()).isEqualTo(10);
+        assertThat(readInts(channel.bytes.toByteArray())).isEqualTo(range(10_000));
+      });
+
+      it("uses gathering writes on file channels", () -> {
+        Path file = createTempFile();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+          Nary.from(IntStream.range(0, 100_000).boxed()).writeTo(channel, Codec.ints(), ChannelWriteOptions.inBatchesOf(200_000));
+        } catch (IOException e) {
+          throw new AssertionError("Couldn't write " + file, e);
+        }
+
+        assertThat(readInts(file.toFile())).isEqualTo(range(100_000));
+      });
+
+      it("keeps the order of parallel naries when writing in background", () -> {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChannelWriteOptions options = ChannelWriteOptions.inBatchesOf(1024).writingInBackground();
+
+        Nary.from(IntStream.range(0, 50_000).boxed().parallel()).writeTo(Channels.newChannel(bytes), Codec.ints(), options);
+
+        assertThat(readInts(bytes.toByteArray())).isEqualTo(range(50_000));
+      });
+
+      it("fails if the channel fails", () -> {
+        CountingChannel channel = new CountingChannel();
+        channel.failing = true;
+        try {
+          Nary.from(IntStream.range(0, 10).boxed()).writeTo(channel, Codec.ints());
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("Failed to write a batch of elements to the channel");
+        }
+      });
+
+      it("fails if the channel fails while writing in background", () -> {
+        CountingChannel channel = new CountingChannel();
+        channel.failing = true;
+        ChannelWriteOptions options = ChannelWriteOptions.inBatchesOf(16).writingInBackground();
+        try {
+          Nary.from(IntStream.range(0, 1_000).boxed()).writeTo(channel, Codec.ints(), options);
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("Failed to write a batch of elements to the channel");
+        }
+      });
+
+      it("fails instead of blocking if the channel throws an unchecked exception while writing in background", () -> {
+        CountingChannel channel = new CountingChannel();
+        channel.failingUnchecked = true;
+        ChannelWriteOptions options = ChannelWriteOptions.inBatchesOf(16).writingInBackground();
+        try {
+          Nary.from(IntStream.range(0, 1_000).boxed()).writeTo(channel, Codec.ints(), options);
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("Failed to write a batch of elements to the channel");
+          assertThat(e.getCause()).isInstanceOf(NonWritableChannelException.class);
+        }
+      });
+    });
+  }
+
+  private static List<Integer> range(int count) {
+    return IntStream.range(0, count).boxed().collect(Collectors.toList());
+  }
+
+  private static List<Integer> readInts(File file) {
+    try {
+      return readInts(Files.readAllBytes(file.toPath()));
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't read " + file, e);
+    }
+  }
+
+  private static List<Integer> readInts(byte[] bytes) {
+    List<Integer> numbers = new ArrayList<>();
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      while (input.available() > 0) {
+        numbers.add(input.readInt());
+      }
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't read the written bytes", e);
+    }
+    return numbers;
+  }
+
+  private static Path createTempFile() {
+    try {
+      Path file = Files.createTempFile("channel-write-test", ".bin");
+      file.toFile().deleteOnExit();
+      return file;
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't create the test file", e);
+    }
+  }
+
+  /**
+   * A channel that keeps the written bytes and counts the calls to write
+   */
+  private static class CountingChannel implements WritableByteChannel {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final AtomicInteger writes = new AtomicInteger();
+    private boolean failing;
+    private boolean failingUnchecked;
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+      if (failing) {
+        throw new IOException("Broken channel");
+      }
+      if (failingUnchecked) {
+        throw new NonWritableChannelException();
+      }
+      writes.incrementAndGet();
+      int written = source.remaining();
+      while (source.hasRemaining()) {
+        bytes.write(source.get());
+      }
+      return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release
+    }
+  }
+}
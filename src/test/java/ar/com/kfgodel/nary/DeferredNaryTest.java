@@ -0,0 +1,107 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of a nary that opens its source only when needed
+ * Date: 19/10/26 - 21:20
+ */
+@RunWith(JavaSpecRunner.class)
+public class DeferredNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a deferred nary", () -> {
+
+      it("doesn't open its source until a terminal operation is used", () -> {
+        AtomicInteger openings = new AtomicInteger();
+
+        Nary<Integer> mapped = Nary.defer(() -> {
+          openings.incrementAndGet();
+          return Stream.of(1, 2, 3);
+        }).map(number -> number * 2);
+
+        assertThat(openings.get()).isEqualTo(0);
+        assertThat(mapped.collectToList()).containsExactly(2, 4, 6);
+        assertThat(openings.get()).isEqualTo(1);
+      });
+
+      it("opens the source again on each traversal", () -> {
+        AtomicInteger openings = new AtomicInteger();
+        Nary<Integer> nary = Nary.defer(() -> {
+          openings.incrementAndGet();
+          return Stream.of(1, 2, 3);
+        });
+
+        List<Integer> first = nary.collectToList();
+        long count = nary.count();
+        List<Integer> filtered = nary.filter(number -> number > 1).collectToList();
+
+        assertThat(first).containsExactly(1, 2, 3);
+        assertThat(count).isEqualTo(3);
+        assertThat(filtered).containsExactly(2, 3);
+        assertThat(openings.get()).isEqualTo(3);
+      });
+
+      it("can be coerced to a unary", () -> {
+        Nary<String> nary = Nary.defer(() -> Stream.of("only"));
+
+        assertThat(nary.unique().get()).isEqualTo("only");
+        assertThat(nary.unique().get()).isEqualTo("only");
+      });
+
+      it("closes the opened sources when closed", () -> {
+        AtomicInteger closings = new AtomicInteger();
+        Nary<Integer> nary = Nary.defer(() -> Arrays.asList(1, 2).stream().onClose(closings::incrementAndGet));
+
+        nary.collectToList();
+        nary.collectToList();
+        nary.close();
+
+        assertThat(closings.get()).isEqualTo(2);
+      });
+
+      it("closes the source of a traversal once all its elements are consumed", () -> {
+        AtomicInteger closings = new AtomicInteger();
+        Nary<Integer> nary = Nary.defer(() -> Arrays.asList(1, 2).stream().onClose(closings::incrementAndGet));
+
+        nary.count();
+        nary.forEach(number -> { });
+        assertThat(closings.get()).isEqualTo(2);
+
+        nary.close();
+        assertThat(closings.get()).isEqualTo(2);
+      });
+
+      it("closes the source of a parallel traversal once all its parts are consumed", () -> {
+        AtomicInteger closings = new AtomicInteger();
+        Nary<Integer> nary = Nary.defer(() -> IntStream.range(0, 10_000).boxed().onClose(closings::incrementAndGet));
+
+        assertThat(nary.parallel().mapToInt(Integer::intValue).sum()).isEqualTo(49_995_000);
+        assertThat(closings.get()).isEqualTo(1);
+      });
+
+      it("closes the source of a traversal when its stream is closed", () -> {
+        AtomicInteger closings = new AtomicInteger();
+        Nary<Integer> nary = Nary.defer(() -> Arrays.asList(1, 2).stream().onClose(closings::incrementAndGet));
+
+        try (Nary<Integer> mapped = nary.map(number -> number + 1)) {
+          assertThat(mapped.collectToList()).containsExactly(2, 3);
+        }
+        nary.close();
+
+        assertThat(closings.get()).isEqualTo(1);
+      });
+    });
+  }
+}
@@ -0,0 +1,142 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.delimited.DelimitedSchema;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of naries created from delimited text files
+ * Date: 20/10/26 - 13:30
+ */
+@RunWith(JavaSpecRunner.class)
+public class DelimitedFileTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#fromDelimited()", () -> {
+      it("creates an element for each record", () -> {
+        Path file = createFile("1,apple,0.5\n2,banana,1.25\n");
+
+        List<String> result = Nary.fromDelimited(file, DelimitedSchema.csv(record ->
+          record.getLong(0) + ":" + record.getString(1) + ":" + record.getDouble(2)))
+          .collectToList();
+
+        assertThat(result).containsExactly("1:apple:0.5", "2:banana:1.25");
+      });
+
+      it("reads quoted fields with delimiters, line breaks and escaped quotes", () -> {
+        Path file = createFile("\"a,b\",\"line\nbreak\",\"say \"\"hi\"\"\"\n");
+
+        List<String> result = Nary.fromDelimited(file, DelimitedSchema.csv(record ->
+          record.getString(0) + "|" + record.getString(1) + "|" + record.getString(2)))
+          .collectToList();
+
+        assertThat(result).containsExactly("a,b|line\nbreak|say \"hi\"");
+      });
+
+      it("ignores the header, carriage returns and blank lines", () -> {
+        Path file = createFile("id,name\r\n1,one\r\n\r\n2,two");
+
+        List<String> result = Nary.fromDelimited(file, DelimitedSchema.csv(record -> record.getString(1)).skippingHeader())
+          .collectToList();
+
+        assertThat(result).containsExactly("one", "two");
+      });
+
+      it("reads tab separated fields", () -> {
+        Path file = createFile("1\t\"quoted\"\t\n");
+
+        List<String> result = Nary.fromDelimited(file, DelimitedSchema.tsv(record ->
+          record.fieldCount() + ":" + record.getString(1) + ":" + record.isEmpty(2)))
+          .collectToList();
+
+        assertThat(result).containsExactly("3:\"quoted\":true");
+      });
+
+      it("parses large files in parallel keeping their order", () -> {
+        StringBuilder content = new StringBuilder();
+        IntStream.range(0, 200_000).forEach(number ->
+          content.append(number).append(",\"note\nfor ").append(number).append("\",").append(number * 2).append('\n'));
+        Path file = createFile(content.toString());
+
+        List<Integer> result = Nary.fromDelimited(file, DelimitedSchema.csv(record -> {
+          assertThat(record.getString(1)).isEqualTo("note\nfor " + record.getInt(0));
+          return record.getInt(2);
+        })).collectToList();
+
+        assertThat(result).isEqualTo(IntStream.range(0, 200_000).map(number -> number * 2).boxed()
+          .collect(Collectors.toList()));
+      });
+
+      it("splits large files with stray and embedded quotes at record boundaries", () -> {
+        StringBuilder content = new StringBuilder();
+        IntStream.range(0, 60_000).forEach(number -> content
+          .append(number).append(",").append(number % 7).append("\" tall,")
+          .append("\"said \"\"hi\"\",\nthen ").append(number).append("\",")
+          .append("an \"unclosed quote\n"));
+        Path file = createFile(content.toString());
+        assertThat(file.toFile().length()).isGreaterThan(2 * 1024 * 1024);
+        DelimitedSchema<String> schema = DelimitedSchema.csv(record ->
+          record.fieldCount() + "|" + record.getString(0) + "|" + record.getString(1) + "|" + record.getString(2));
+
+        List<String> parallel = Nary.fromDelimited(file, schema).collectToList();
+        List<String> sequential = Nary.fromDelimited(file, schema).sequential().collect(Collectors.toList());
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel).hasSize(60_000);
+        assertThat(parallel.get(59_999)).isEqualTo("4|59999|2\" tall|said \"hi\",\nthen 59999");
+      });
+
+      it("can be traversed more than once", () -> {
+        Path file = createFile("1\n2\n3\n");
+        Nary<Integer> numbers = Nary.fromDelimited(file, DelimitedSchema.csv(record -> record.getInt(0)));
+
+        assertThat(numbers.count()).isEqualTo(3);
+        assertThat(numbers.collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("fails when a field is not a number", () -> {
+        Path file = createFile("1,abc\n");
+        try {
+          Nary.fromDelimited(file, DelimitedSchema.csv(record -> record.getLong(1))).collectToList();
+          failBecauseExceptionWasNotThrown(NumberFormatException.class);
+        } catch (NumberFormatException e) {
+          assertThat(e).hasMessage("The field 1 is not a long: 'abc'");
+        }
+      });
+
+      it("fails when the record has no such field", () -> {
+        Path file = createFile("1,2\n");
+        try {
+          Nary.fromDelimited(file, DelimitedSchema.csv(record -> record.getString(2))).collectToList();
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("The record has no field 2, it has 2 fields");
+        }
+      });
+    });
+  }
+
+  private static Path createFile(String content) {
+    try {
+      Path file = Files.createTempFile("delimited-file-test", ".csv");
+      file.toFile().deleteOnExit();
+      Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+      return file;
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't create the test file", e);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.impl.FourElementNary;
+import ar.com.kfgodel.nary.impl.StreamBasedNary;
+import ar.com.kfgodel.nary.impl.ThreeElementNary;
+import ar.com.kfgodel.nary.impl.TwoElementNary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of the naries that store a few elements in fields
+ * Date: 19/10/26 - 19:24
+ */
+@RunWith(JavaSpecRunner.class)
+public class FixedArityNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a nary with a few elements", () -> {
+
+      it("is created with fields by the varargs and array factories", () -> {
+        assertThat(Nary.ofNonNullable(1, 2).getClass()).isEqualTo(TwoElementNary.class);
+        assertThat(Nary.ofNonNullable(1, 2, 3).getClass()).isEqualTo(ThreeElementNary.class);
+        assertThat(Nary.ofNonNullable(1, 2, 3, 4).getClass()).isEqualTo(FourElementNary.class);
+        assertThat(Nary.from(new Integer[]{1, 2}).getClass()).isEqualTo(TwoElementNary.class);
+        assertThat(Nary.from(new Integer[]{1, 2, 3}).getClass()).isEqualTo(ThreeElementNary.class);
+        assertThat(Nary.from(new Integer[]{1, 2, 3, 4}).getClass()).isEqualTo(FourElementNary.class);
+      });
+
+      it("is not used for more than four elements", () -> {
+        assertThat(Nary.ofNonNullable(1, 2, 3, 4, 5).getClass()).isEqualTo(StreamBasedNary.class);
+        assertThat(Nary.from(new Integer[]{1, 2, 3, 4, 5}).getClass()).isEqualTo(StreamBasedNary.class);
+      });
+
+      it("keeps the elements in order", () -> {
+        assertThat(Nary.ofNonNullable(1, 2, 3).collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("counts its elements without traversing them", () -> {
+        assertThat(Nary.ofNonNullable("a", "b", "c", "d").count()).isEqualTo(4);
+      });
+
+      it("can be operated more than once", () -> {
+        Nary<Integer> nary = Nary.ofNonNullable(1, 2, 3);
+
+        List<Integer> first = nary.map(number -> number * 2).collectToList();
+        List<Integer> second = nary.collect(Collectors.toList());
+
+        assertThat(first).containsExactly(2, 4, 6);
+        assertThat(second).containsExactly(1, 2, 3);
+      });
+
+      it("applies element-wise operations lazily", () -> {
+        List<Integer> visited = new ArrayList<>();
+
+        Nary<String> operated = Nary.ofNonNullable(1, 2, 3, 4)
+          .peek(visited::add)
+          .filter(number -> number % 2 == 0)
+          .map(String::valueOf);
+
+        assertThat(visited).isEmpty();
+        assertThat(operated.collectToList()).containsExactly("2", "4");
+        assertThat(visited).containsExactly(1, 2, 3, 4);
+      });
+
+      it("returns its last element", () -> {
+        assertThat(Nary.ofNonNullable(1, 2, 3, 4).findLast().get()).isEqualTo(4);
+      });
+
+      it("fails like a stream when its last element is null", () -> {
+        try {
+          Nary.from(new Integer[]{1, null}).findLast();
+          failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException e) {
+          assertThat(e).hasMessage("The last element can't be null");
+        }
+      });
+
+      it("is equal to other naries with the same elements", () -> {
+        Nary<Integer> nary = Nary.ofNonNullable(1, 2, 3);
+
+        assertThat(nary.equals(Nary.from(Arrays.asList(1, 2, 3)))).isTrue();
+        assertThat(nary.hashCode()).isEqualTo(Arrays.asList(1, 2, 3).hashCode());
+      });
+
+      it("can be concatenated", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2)
+          .concat(Nary.ofNonNullable(3, 4))
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 2, 3, 4);
+      });
+
+      it("returns a representation with its elements when #toString() is called", () -> {
+        assertThat(Nary.ofNonNullable(1, 2).toString()).isEqualTo("TwoElementNary{ 1, 2 }");
+      });
+    });
+  }
+}
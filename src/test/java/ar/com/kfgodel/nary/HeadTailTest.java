@@ -0,0 +1,133 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of looking at the first elements of a nary without consuming them
+ * Date: 19/10/26 - 22:34
+ */
+@RunWith(JavaSpecRunner.class)
+public class HeadTailTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a stream based nary", () -> {
+
+      it("returns its first element as head without consuming it", () -> {
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2, 3));
+
+        assertThat(nary.head().get()).isEqualTo(1);
+        assertThat(nary.collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("returns the rest of the elements as tail", () -> {
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2, 3));
+
+        assertThat(nary.tail().collectToList()).containsExactly(2, 3);
+      });
+
+      it("allows branching on the head and processing the tail", () -> {
+        Nary<String> nary = Nary.from(Stream.of("header", "a", "b"));
+
+        String first = nary.head().get();
+        List<String> rest = nary.tail().collectToList();
+
+        assertThat(first).isEqualTo("header");
+        assertThat(rest).containsExactly("a", "b");
+      });
+
+      it("only reads the elements that are looked at", () -> {
+        AtomicInteger reads = new AtomicInteger();
+        Nary<Integer> nary = Nary.from(Stream.iterate(1, number -> number + 1).peek(number -> reads.incrementAndGet()));
+
+        List<Integer> peeked = nary.peekAhead(3);
+        List<Integer> again = nary.peekAhead(2);
+
+        assertThat(peeked).containsExactly(1, 2, 3);
+        assertThat(again).containsExactly(1, 2);
+        assertThat(reads.get()).isEqualTo(3);
+      });
+
+      it("doesn't read the source when the tail is created", () -> {
+        AtomicInteger reads = new AtomicInteger();
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2, 3).peek(number -> reads.incrementAndGet()));
+
+        Nary<Integer> tail = nary.tail();
+
+        assertThat(reads.get()).isEqualTo(0);
+        assertThat(tail.findFirstNary().get()).isEqualTo(2);
+      });
+
+      it("can't be used again once its tail is taken", () -> {
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2, 3));
+        Nary<Integer> tail = nary.tail();
+        try {
+          nary.tail();
+          failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+          assertThat(e).hasMessage("stream has already been operated upon or closed");
+        }
+
+        assertThat(tail.collectToList()).containsExactly(2, 3);
+      });
+
+      it("takes the tail of a tail without losing elements", () -> {
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2, 3, 4));
+
+        assertThat(nary.tail().tail().collectToList()).containsExactly(3, 4);
+      });
+
+      it("returns fewer elements if it doesn't have enough", () -> {
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2));
+
+        assertThat(nary.peekAhead(5)).containsExactly(1, 2);
+        assertThat(nary.count()).isEqualTo(2);
+      });
+
+      it("has an empty head and tail when empty", () -> {
+        Nary<Integer> nary = Nary.from(Stream.<Integer>empty());
+
+        assertThat(nary.head().isPresent()).isFalse();
+        assertThat(nary.tail().count()).isEqualTo(0);
+      });
+
+      it("keeps the tail splittable for parallel processing", () -> {
+        Nary<Integer> nary = Nary.from(IntStream.range(0, 10_000).boxed().parallel());
+
+        Integer first = nary.head().get();
+        List<Integer> rest = nary.tail()
+          .map(number -> number * 2)
+          .collect(Collectors.toList());
+
+        assertThat(first).isEqualTo(0);
+        assertThat(rest).isEqualTo(IntStream.range(1, 10_000).map(number -> number * 2).boxed().collect(Collectors.toList()));
+      });
+    });
+
+    describe("a reusable nary", () -> {
+      it("returns its head and tail", () -> {
+        Nary<Integer> nary = Nary.ofNonNullable(1, 2, 3);
+
+        assertThat(nary.head().get()).isEqualTo(1);
+        assertThat(nary.tail().collectToList()).containsExactly(2, 3);
+        assertThat(nary.peekAhead(2)).containsExactly(1, 2);
+      });
+
+      it("returns an empty tail when it has one element", () -> {
+        assertThat(Nary.ofNonNullable(1).tail().count()).isEqualTo(0);
+        assertThat(Nary.empty().tail().count()).isEqualTo(0);
+      });
+    });
+  }
+}
@@ -0,0 +1,86 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import ar.com.kfgodel.nary.api.indexing.NaryIndex;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of indexing the elements of a nary by key
+ * Date: 20/10/26 - 02:44
+ */
+@RunWith(JavaSpecRunner.class)
+public class IndexByTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("an index", () -> {
+      NaryIndex<Character, String> index = Nary.from(Stream.of("apple", "banana", "avocado", null))
+        .indexBy(word -> word == null ? null : word.charAt(0));
+
+      it("returns the elements of a key in their original order", () -> {
+        assertThat(index.lookup('a').collectToList()).containsExactly("apple", "avocado");
+      });
+
+      it("returns an empty nary for a missing key", () -> {
+        assertThat(index.lookup('z').count()).isEqualTo(0);
+      });
+
+      it("can be queried multiple times", () -> {
+        assertThat(index.lookup('b').collectToList()).containsExactly("banana");
+        assertThat(index.lookup('b').collectToList()).containsExactly("banana");
+      });
+
+      it("accepts null as key", () -> {
+        assertThat(index.containsKey(null)).isTrue();
+        assertThat(index.lookup(null).count()).isEqualTo(1);
+      });
+
+      it("returns its keys in the order they first appeared", () -> {
+        assertThat(index.keys().collectToList()).containsExactly('a', 'b', null);
+        assertThat(index.keyCount()).isEqualTo(3);
+        assertThat(index.size()).isEqualTo(4);
+      });
+
+      describe("#lookupUnique()", () -> {
+        it("returns the only element of the key", () -> {
+          assertThat(index.lookupUnique('b').get()).isEqualTo("banana");
+        });
+
+        it("returns empty for a missing key", () -> {
+          assertThat(index.lookupUnique('z').isPresent()).isFalse();
+        });
+
+        it("fails if the key has more than one element", () -> {
+          try {
+            index.lookupUnique('a');
+            failBecauseExceptionWasNotThrown(MoreThanOneElementException.class);
+          } catch (MoreThanOneElementException e) {
+            assertThat(e).hasMessage("Expecting only 1 element in the stream to treat it as an optional but found at least 2: [apple, avocado]");
+          }
+        });
+      });
+    });
+
+    it("is built in parallel keeping the original order of each key", () -> {
+      NaryIndex<Integer, Integer> index = Nary.from(IntStream.range(0, 100_000).boxed().parallel())
+        .indexBy(number -> number % 7);
+
+      List<Integer> expected = IntStream.range(0, 100_000)
+        .filter(number -> number % 7 == 3)
+        .boxed()
+        .collect(Collectors.toList());
+      assertThat(index.lookup(3).collectToList()).isEqualTo(expected);
+      assertThat(index.keys().collectToList()).containsExactly(0, 1, 2, 3, 4, 5, 6);
+    });
+  }
+}
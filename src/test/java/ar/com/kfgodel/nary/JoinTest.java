@@ -0,0 +1,148 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.joining.CoGroup;
+import ar.com.kfgodel.nary.api.joining.JoinOptions;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of joining two naries by key
+ * Date: 20/10/26 - 01:48
+ */
+@RunWith(JavaSpecRunner.class)
+public class JoinTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#join()", () -> {
+      it("combines the elements of both naries that share a key", () -> {
+        List<String> result = Nary.from(Stream.of("apple", "banana", "cherry"))
+          .join(Nary.from(Stream.of("a1", "b1", "a2", "z1")),
+            word -> word.charAt(0),
+            code -> code.charAt(0),
+            (word, code) -> word + "-" + code)
+          .collectToList();
+
+        assertThat(result).containsExactly("apple-a1", "apple-a2", "banana-b1");
+      });
+
+      it("keeps the order and parallelism of this nary", () -> {
+        Nary<Integer> numbers = Nary.from(IntStream.range(0, 10_000).boxed().parallel());
+        Nary<Integer> remainders = Nary.from(Stream.of(0, 1, 2));
+
+        List<Integer> result = numbers.join(remainders, number -> number % 3, remainder -> remainder,
+          (number, remainder) -> number * 10 + remainder)
+          .collect(Collectors.toList());
+
+        assertThat(result).isEqualTo(IntStream.range(0, 10_000).map(number -> number * 10 + number % 3).boxed()
+          .collect(Collectors.toList()));
+      });
+
+      it("joins partition by partition when the other nary exceeds the memory budget", () -> {
+        JoinOptions options = JoinOptions.spillingAfter(2).withPartitions(4);
+
+        List<String> result = Nary.from(IntStream.range(0, 20).boxed())
+          .join(Nary.from(IntStream.range(0, 10).boxed()), number -> number % 10, number -> number,
+            (number, match) -> number + ":" + match, options)
+          .sorted()
+          .collect(Collectors.toList());
+
+        assertThat(result).isEqualTo(IntStream.range(0, 20)
+          .mapToObj(number -> number + ":" + number % 10)
+          .sorted()
+          .collect(Collectors.toList()));
+      });
+
+      it("deletes the spilled files once the result is consumed", () -> {
+        Path spillDirectory = createTempDirectory();
+        JoinOptions options = JoinOptions.spillingAfter(1).withPartitions(2).spillingTo(spillDirectory);
+
+        Nary<Integer> joined = Nary.from(Stream.of(1, 2, 3))
+          .join(Nary.from(Stream.of(1, 2, 3)), number -> number, number -> number, Integer::sum, options);
+
+        assertThat(countFilesIn(spillDirectory)).isEqualTo(4);
+        assertThat(joined.collectToList()).containsOnly(2, 4, 6);
+        assertThat(countFilesIn(spillDirectory)).isEqualTo(0);
+      });
+
+      it("doesn't spill when the other nary fits in the budget", () -> {
+        Path spillDirectory = createTempDirectory();
+        JoinOptions options = JoinOptions.spillingAfter(10).spillingTo(spillDirectory);
+
+        List<Integer> result = Nary.from(Stream.of(3, 1, 2))
+          .join(Nary.from(Stream.of(1, 2, 3)), number -> number, number -> number, Integer::sum, options)
+          .collectToList();
+
+        assertThat(result).containsExactly(6, 2, 4);
+        assertThat(countFilesIn(spillDirectory)).isEqualTo(0);
+      });
+    });
+
+    describe("#leftJoin()", () -> {
+      it("combines the elements without a match with an empty unary", () -> {
+        List<String> result = Nary.from(Stream.of("apple", "banana", "cherry"))
+          .leftJoin(Nary.from(Stream.of("a1", "b1")),
+            word -> word.charAt(0),
+            code -> code.charAt(0),
+            (word, code) -> word + "-" + code.orElse("none"))
+          .collectToList();
+
+        assertThat(result).containsExactly("apple-a1", "banana-b1", "cherry-none");
+      });
+
+      it("also combines the elements without a match when spilling", () -> {
+        JoinOptions options = JoinOptions.spillingAfter(1).withPartitions(3);
+
+        List<String> result = Nary.from(Stream.of(1, 2, 3))
+          .leftJoin(Nary.from(Stream.of(1, 3)), number -> number, number -> number,
+            (number, match) -> number + ":" + match.map(String::valueOf).orElse("none"), options)
+          .collectToList();
+
+        assertThat(result).containsOnly("1:1", "2:none", "3:3");
+      });
+    });
+
+    describe("#coGroup()", () -> {
+      it("creates a group for each key with the elements of both naries", () -> {
+        List<String> result = Nary.from(Stream.of("apple", "avocado", "banana"))
+          .coGroup(Nary.from(Stream.of("c1", "a1")), word -> word.charAt(0), code -> code.charAt(0))
+          .map(CoGroup::toString)
+          .collectToList();
+
+        assertThat(result).containsExactly(
+          "CoGroup{key=a, elements=[apple, avocado], otherElements=[a1]}",
+          "CoGroup{key=b, elements=[banana], otherElements=[]}",
+          "CoGroup{key=c, elements=[], otherElements=[c1]}");
+      });
+    });
+  }
+
+  private static Path createTempDirectory() {
+    try {
+      Path directory = Files.createTempDirectory("join-test");
+      directory.toFile().deleteOnExit();
+      return directory;
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't create the test directory", e);
+    }
+  }
+
+  private static long countFilesIn(Path directory) {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't list " + directory, e);
+    }
+  }
+}
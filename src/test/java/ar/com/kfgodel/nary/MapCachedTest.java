@@ -0,0 +1,157 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.caching.CacheSpec;
+import ar.com.kfgodel.nary.api.caching.CacheStats;
+import ar.com.kfgodel.nary.api.caching.MemoizedFunction;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of mapping with cached results
+ * Date: 19/10/26 - 13:05
+ */
+@RunWith(JavaSpecRunner.class)
+public class MapCachedTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#mapCached()", () -> {
+
+      it("maps each element as #map() does", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2, 1)
+          .mapCached(number -> number * 10, CacheSpec.maximumSize(10))
+          .collectToList();
+
+        assertThat(result).containsExactly(10, 20, 10);
+      });
+
+      it("computes repeated elements only once", () -> {
+        AtomicInteger computations = new AtomicInteger();
+
+        Nary.ofNonNullable(1, 2, 1, 2, 1)
+          .mapCached(number -> computations.incrementAndGet(), CacheSpec.maximumSize(10))
+          .collectToList();
+
+        assertThat(computations.get()).isEqualTo(2);
+      });
+
+      it("reuses results between naries when a memoized function is shared", () -> {
+        MemoizedFunction<Integer, String> memoized = MemoizedFunction.create(String::valueOf, CacheSpec.maximumSize(10));
+
+        Nary.ofNonNullable(1, 2).mapCached(memoized).collectToList();
+        Nary.ofNonNullable(2, 3).mapCached(memoized).collectToList();
+
+        CacheStats stats = memoized.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(3);
+      });
+
+      it("discards the least recently used result when full", () -> {
+        AtomicInteger computations = new AtomicInteger();
+        CacheSpec spec = CacheSpec.maximumSize(2).withStripes(1);
+        MemoizedFunction<Integer, Integer> memoized = MemoizedFunction.create(number -> {
+          computations.incrementAndGet();
+          return number;
+        }, spec);
+
+        // 2 is discarded when 3 is added because 1 was used more recently
+        Nary.ofNonNullable(1, 2, 1, 3, 1, 2).mapCached(memoized).collectToList();
+
+        assertThat(computations.get()).isEqualTo(4);
+        assertThat(memoized.stats().evictionCount()).isEqualTo(2);
+      });
+
+      it("discards results older than the expiration time", () -> {
+        MutableClock clock = new MutableClock();
+        AtomicInteger computations = new AtomicInteger();
+        MemoizedFunction<Integer, Integer> memoized = MemoizedFunction.create(number -> computations.incrementAndGet(),
+          CacheSpec.maximumSize(10).expiringAfterWrite(Duration.ofMinutes(1)).withClock(clock));
+
+        memoized.apply(1);
+        clock.advance(Duration.ofSeconds(30));
+        memoized.apply(1);
+        clock.advance(Duration.ofSeconds(30));
+        memoized.apply(1);
+
+        assertThat(computations.get()).isEqualTo(2);
+      });
+
+      it("discards expired results even if they were used recently", () -> {
+        MutableClock clock = new MutableClock();
+        MemoizedFunction<Integer, Integer> memoized = MemoizedFunction.create(number -> number,
+          CacheSpec.maximumSize(10).withStripes(1).expiringAfterWrite(Duration.ofMinutes(1)).withClock(clock));
+
+        memoized.apply(1);
+        clock.advance(Duration.ofSeconds(10));
+        memoized.apply(2);
+        clock.advance(Duration.ofSeconds(10));
+        // 1 becomes the most recently used, but it's still the oldest written
+        memoized.apply(1);
+        clock.advance(Duration.ofSeconds(45));
+        memoized.apply(3);
+
+        assertThat(memoized.stats().evictionCount()).isEqualTo(1);
+      });
+
+      it("can be used from a parallel nary computing each key once", () -> {
+        MemoizedFunction<Integer, Long> memoized = MemoizedFunction.create(MapCachedTest::slowSquare, CacheSpec.maximumSize(1000));
+
+        long sum = Nary.from(IntStream.range(0, 10_000).parallel().boxed())
+          .map(number -> number % 100)
+          .mapCached(memoized)
+          .mapToLong(Long::longValue)
+          .sum();
+
+        assertThat(sum).isEqualTo(100 * IntStream.range(0, 100).mapToLong(number -> number * number).sum());
+        assertThat(memoized.stats().missCount()).isEqualTo(100);
+      });
+    });
+  }
+
+  private static Long slowSquare(Integer number) {
+    try {
+      Thread.sleep(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return (long) number * number;
+  }
+
+  /**
+   * Clock whose time is only changed by the test
+   */
+  private static class MutableClock extends Clock {
+    private Instant now = Instant.EPOCH;
+
+    public void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
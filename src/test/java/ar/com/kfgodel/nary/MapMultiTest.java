@@ -0,0 +1,112 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of replacing each element with the results pushed by a mapper
+ * Date: 19/10/26 - 18:32
+ */
+@RunWith(JavaSpecRunner.class)
+public class MapMultiTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#mapMulti()", () -> {
+
+      it("replaces each element with the pushed results in order", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2, 3)
+          .mapMulti((Integer number, Consumer<Integer> downstream) -> {
+            downstream.accept(number);
+            downstream.accept(-number);
+          })
+          .collectToList();
+
+        assertThat(result).containsExactly(1, -1, 2, -2, 3, -3);
+      });
+
+      it("removes elements for which nothing is pushed", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2, 3, 4)
+          .mapMulti((Integer number, Consumer<Integer> downstream) -> {
+            if (number % 2 == 0) {
+              downstream.accept(number);
+            }
+          })
+          .collectToList();
+
+        assertThat(result).containsExactly(2, 4);
+      });
+
+      it("keeps the null results that are pushed", () -> {
+        List<String> result = Nary.ofNonNullable(1)
+          .mapMulti((Integer number, Consumer<String> downstream) -> downstream.accept(null))
+          .collectToList();
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isNull();
+      });
+
+      it("is empty for an empty nary", () -> {
+        Nary<Object> result = Nary.empty()
+          .mapMulti((Object element, Consumer<Object> downstream) -> downstream.accept(element));
+
+        assertThat(result.count()).isEqualTo(0);
+      });
+
+      it("only processes the elements that are needed", () -> {
+        List<Integer> result = Nary.from(Stream.iterate(1, number -> number + 1))
+          .mapMulti((Integer number, Consumer<Integer> downstream) -> {
+            downstream.accept(number);
+            downstream.accept(number);
+          })
+          .limit(3)
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 1, 2);
+      });
+
+      it("preserves the encounter order when parallel", () -> {
+        List<Integer> result = Nary.from(IntStream.range(0, 1000).boxed().parallel())
+          .mapMulti((Integer number, Consumer<Integer> downstream) -> {
+            downstream.accept(number * 2);
+            downstream.accept(number * 2 + 1);
+          })
+          .collectToList();
+
+        assertThat(result).isEqualTo(IntStream.range(0, 2000).boxed().collect(Collectors.toList()));
+      });
+
+      it("can be used as a pipeline stage", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2)
+          .pipelined()
+          .mapMulti((Integer number, Consumer<Integer> downstream) -> {
+            downstream.accept(number);
+            downstream.accept(number * 10);
+          })
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 10, 2, 20);
+      });
+    });
+
+    describe("#flatMapOptional()", () -> {
+      it("keeps only the present results", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2, 3)
+          .flatMapOptional(number -> number == 2 ? Optional.<Integer>empty() : Optional.of(number))
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 3);
+      });
+    });
+  }
+}
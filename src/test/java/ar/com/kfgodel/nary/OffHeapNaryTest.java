@@ -0,0 +1,135 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.offheap.OffHeapNary;
+import ar.com.kfgodel.nary.api.offheap.RecordLayout;
+import ar.com.kfgodel.nary.api.offheap.RecordView;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of naries of records stored off-heap
+ * Date: 20/10/26 - 08:42
+ */
+@RunWith(JavaSpecRunner.class)
+public class OffHeapNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    RecordLayout eventLayout = RecordLayout.create()
+      .withLong("timestamp")
+      .withInt("type")
+      .withDouble("value");
+
+    describe("an off-heap nary", () -> {
+      it("stores each element as a record with the fields of the layout", () -> {
+        assertThat(eventLayout.recordSize()).isEqualTo(20);
+
+        OffHeapNary events = Nary.from(IntStream.range(0, 3).boxed())
+          .toOffHeap(eventLayout, (number, record) -> record
+            .putLong("timestamp", 1000L + number)
+            .putInt("type", number % 2)
+            .putDouble("value", number * 1.5));
+
+        List<String> values = events.map(event -> event.getLong("timestamp") + "/" + event.getInt("type") + "/" + event.getDouble("value"))
+          .collectToList();
+        assertThat(values).containsExactly("1000/0/0.0", "1001/1/1.5", "1002/0/3.0");
+      });
+
+      it("can be operated multiple times", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.range(0, 10));
+
+        assertThat(events.count()).isEqualTo(10);
+        assertThat(events.mapToLong(event -> event.getLong("timestamp")).sum()).isEqualTo(45);
+        assertThat(events.recordAt(7).getLong("timestamp")).isEqualTo(7);
+      });
+
+      it("reuses one view while iterating", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.range(0, 3));
+
+        List<RecordView> iterated = events.collect(Collectors.toList());
+        List<RecordView> fixed = events.collectToList();
+
+        assertThat(iterated.get(0)).isSameAs(iterated.get(2));
+        assertThat(fixed.get(0).getLong("timestamp")).isEqualTo(0);
+        assertThat(fixed.get(2).getLong("timestamp")).isEqualTo(2);
+      });
+
+      it("stores more records than fit in one chunk", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.range(0, 200_000));
+
+        assertThat(events.count()).isEqualTo(200_000);
+        assertThat(events.findLast().get().getLong("timestamp")).isEqualTo(199_999);
+      });
+
+      it("is split at record boundaries when processed in parallel", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.range(0, 200_000));
+
+        List<Long> timestamps = events.parallel()
+          .map(event -> event.getLong("timestamp"))
+          .collect(Collectors.toList());
+
+        assertThat(timestamps).isEqualTo(LongStream.range(0, 200_000).boxed().collect(Collectors.toList()));
+      });
+
+      it("fails when a field is read with another type", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.of(1));
+        try {
+          events.recordAt(0).getInt("timestamp");
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("The record has no int field named 'timestamp': " +
+            "RecordLayout{timestamp:long@0, type:int@8, value:double@12}");
+        }
+      });
+
+      it("releases its records when closed", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.range(0, 5));
+
+        events.close();
+
+        assertThat(events.isClosed()).isTrue();
+        try {
+          events.count();
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("The off-heap nary was closed and its records released");
+        }
+      });
+
+      it("fails a traversal in progress once closed", () -> {
+        OffHeapNary events = storeTimestamps(LongStream.range(0, 5));
+        Iterator<RecordView> iterator = events.iterator();
+        iterator.next();
+
+        events.close();
+
+        try {
+          iterator.next();
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("The off-heap nary was closed and its records released");
+        }
+      });
+    });
+  }
+
+  private static OffHeapNary storeTimestamps(LongStream timestamps) {
+    RecordLayout layout = RecordLayout.create()
+      .withLong("timestamp")
+      .withInt("type")
+      .withDouble("value");
+    return Nary.from(timestamps.boxed())
+      .toOffHeap(layout, (timestamp, record) -> record.putLong("timestamp", timestamp));
+  }
+}
@@ -0,0 +1,104 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import ar.com.kfgodel.nary.api.paging.Page;
+import ar.com.kfgodel.nary.api.paging.PageFetcher;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of a nary created from a paginated source
+ * Date: 19/10/26 - 11:02
+ */
+@RunWith(JavaSpecRunner.class)
+public class PagedNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a paged nary", () -> {
+
+      it("contains the elements of all the pages in order", () -> {
+        List<Integer> result = Nary.paged(new InMemoryFetcher(3)).collectToList();
+
+        assertThat(result).containsExactly(0, 1, 10, 11, 20, 21);
+      });
+
+      it("is empty if the first page is empty", () -> {
+        PageFetcher<Integer, Integer> emptySource = continuation -> Page.last(Collections.emptyList());
+        Nary<Integer> nary = Nary.paged(emptySource);
+
+        assertThat(nary.count()).isEqualTo(0);
+      });
+
+      it("doesn't fetch any page until an element is needed", () -> {
+        InMemoryFetcher fetcher = new InMemoryFetcher(3);
+
+        Nary.paged(fetcher, 2, Runnable::run);
+
+        assertThat(fetcher.fetchCount()).isEqualTo(0);
+      });
+
+      it("never has more than the max in-flight pages requested ahead of the consumed one", () -> {
+        InMemoryFetcher fetcher = new InMemoryFetcher(10);
+
+        Nary.paged(fetcher, 2, Runnable::run).findFirstNary();
+
+        // The consumed page plus 2 prefetched ones
+        assertThat(fetcher.fetchCount()).isEqualTo(3);
+      });
+
+      it("stops fetching pages when a short-circuiting operation is satisfied", () -> {
+        InMemoryFetcher fetcher = new InMemoryFetcher(10);
+
+        boolean found = Nary.paged(fetcher, 1, Runnable::run).anyMatch(number -> number == 11);
+
+        assertThat(found).isTrue();
+        assertThat(fetcher.fetchCount()).isEqualTo(3);
+      });
+
+      it("can be consumed in parallel", () -> {
+        int sum = Nary.paged(new InMemoryFetcher(5))
+          .parallel()
+          .mapToInt(Integer::intValue)
+          .sum();
+
+        assertThat(sum).isEqualTo(0 + 1 + 10 + 11 + 20 + 21 + 30 + 31 + 40 + 41);
+      });
+    });
+  }
+
+  /**
+   * Fake paginated source with pages of 2 elements, where the continuation is the next page number
+   */
+  private static class InMemoryFetcher implements PageFetcher<Integer, Integer> {
+    private final int pageCount;
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    public InMemoryFetcher(int pageCount) {
+      this.pageCount = pageCount;
+    }
+
+    @Override
+    public Page<Integer, Integer> fetch(Unary<Integer> continuation) {
+      fetchCount.incrementAndGet();
+      int pageNumber = continuation.orElse(0);
+      List<Integer> elements = Arrays.asList(pageNumber * 10, pageNumber * 10 + 1);
+      if (pageNumber + 1 < pageCount) {
+        return Page.of(elements, pageNumber + 1);
+      }
+      return Page.last(elements);
+    }
+
+    public int fetchCount() {
+      return fetchCount.get();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.persistent.PersistentNary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of the nary that can be extended without modifying it
+ * Date: 19/10/26 - 20:48
+ */
+@RunWith(JavaSpecRunner.class)
+public class PersistentNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a persistent nary", () -> {
+
+      it("contains the elements it was created with", () -> {
+        PersistentNary<Integer> nary = Nary.persistent(1, 2, 3);
+
+        assertThat(nary.size()).isEqualTo(3);
+        assertThat(nary.collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("is not modified when elements are added", () -> {
+        PersistentNary<Integer> original = Nary.persistent(1, 2);
+
+        PersistentNary<Integer> extended = original.add(3);
+
+        assertThat(original.collectToList()).containsExactly(1, 2);
+        assertThat(extended.collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("allows unrelated derivations from the same value", () -> {
+        PersistentNary<Integer> prefix = Nary.persistent();
+        for (int i = 0; i < 100; i++) {
+          prefix = prefix.add(i);
+        }
+
+        PersistentNary<Integer> withA = prefix.add(-1);
+        PersistentNary<Integer> withB = prefix.addAll(Arrays.asList(-2, -3));
+
+        assertThat(withA.size()).isEqualTo(101);
+        assertThat(withA.elementAt(100)).isEqualTo(-1);
+        assertThat(withB.size()).isEqualTo(102);
+        assertThat(withB.elementAt(100)).isEqualTo(-2);
+        assertThat(prefix.size()).isEqualTo(100);
+      });
+
+      it("can be used as the value of a fold", () -> {
+        PersistentNary<Integer> folded = Stream.of(1, 2, 3)
+          .reduce(Nary.persistent(), PersistentNary::add, (first, second) -> first.concat(second));
+
+        assertThat(folded.collectToList()).containsExactly(1, 2, 3);
+      });
+
+      it("accesses any element by its index", () -> {
+        // Enough elements to need several levels of nodes
+        int size = 40_000;
+        PersistentNary<Integer> nary = Nary.<Integer>persistent().concat(IntStream.range(0, size).boxed());
+        PersistentNary<Integer> oneByOne = Nary.persistent();
+        for (int i = 0; i < size; i++) {
+          oneByOne = oneByOne.add(i);
+        }
+
+        for (int i = 0; i < size; i++) {
+          assertThat(nary.elementAt(i)).isEqualTo(i);
+          assertThat(oneByOne.elementAt(i)).isEqualTo(i);
+        }
+        assertThat(nary.collectToList()).isEqualTo(IntStream.range(0, size).boxed().collect(Collectors.toList()));
+      });
+
+      it("fails when accessing an index out of its bounds", () -> {
+        try {
+          Nary.persistent(1, 2).elementAt(2);
+          failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+        } catch (IndexOutOfBoundsException e) {
+          assertThat(e).hasMessage("Index 2 is not between 0 and 1");
+        }
+      });
+
+      it("returns the same persistent type when concatenated", () -> {
+        PersistentNary<Integer> concatenated = Nary.persistent(1)
+          .concat(Stream.of(2, 3))
+          .concat(Optional.of(4))
+          .concat(Optional.empty());
+
+        assertThat(concatenated.collectToList()).containsExactly(1, 2, 3, 4);
+      });
+
+      it("can be operated more than once", () -> {
+        PersistentNary<Integer> nary = Nary.persistent(1, 2, 3);
+
+        assertThat(nary.map(number -> number * 2).collectToList()).containsExactly(2, 4, 6);
+        assertThat(nary.count()).isEqualTo(3);
+        assertThat(nary.findLast().get()).isEqualTo(3);
+      });
+
+      it("can be consumed in parallel", () -> {
+        PersistentNary<Integer> nary = Nary.<Integer>persistent().concat(IntStream.range(0, 10_000).boxed());
+
+        List<Integer> result = nary.parallel()
+          .map(number -> number + 1)
+          .collect(Collectors.toList());
+
+        assertThat(result).isEqualTo(IntStream.range(1, 10_001).boxed().collect(Collectors.toList()));
+      });
+    });
+  }
+}
@@ -0,0 +1,210 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.pipeline.PipelinedNary;
+import ar.com.kfgodel.nary.api.pipeline.StageMetrics;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of a nary whose operations are executed as a pipeline of threads
+ * Date: 19/10/26 - 15:40
+ */
+@RunWith(JavaSpecRunner.class)
+public class PipelinedNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("a pipelined nary", () -> {
+
+      it("preserves the order of the elements", () -> {
+        List<Integer> result = Nary.from(IntStream.range(0, 10_000).boxed())
+          .pipelined(16)
+          .map(number -> number * 2)
+          .filter(number -> number % 3 == 0)
+          .collectToList();
+
+        List<Integer> expected = IntStream.range(0, 10_000)
+          .map(number -> number * 2)
+          .filter(number -> number % 3 == 0)
+          .boxed()
+          .collect(Collectors.toList());
+        assertThat(result).isEqualTo(expected);
+      });
+
+      it("executes each stage on its own thread", () -> {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        Nary.ofNonNullable(1, 2, 3)
+          .pipelined()
+          .peek(number -> threadNames.add(Thread.currentThread().getName()))
+          .map(number -> number + 1)
+          .peek(number -> threadNames.add(Thread.currentThread().getName()))
+          .collectToList();
+
+        assertThat(threadNames).hasSize(2);
+        assertThat(threadNames).doesNotContain(Thread.currentThread().getName());
+      });
+
+      it("keeps null results as elements", () -> {
+        List<Object> result = Nary.ofNonNullable(1, 2)
+          .pipelined()
+          .map(number -> null)
+          .collectToList();
+
+        assertThat(result).containsExactly(null, null);
+      });
+
+      it("filters null results out when #mapFilteringNullResult() is used", () -> {
+        List<Integer> result = Nary.ofNonNullable(1, 2, 3)
+          .pipelined()
+          .mapFilteringNullResult(number -> number == 2 ? null : number)
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 3);
+      });
+
+      it("can be short-circuited", () -> {
+        Integer result = Nary.from(IntStream.range(0, 1_000_000).boxed())
+          .pipelined(8)
+          .map(number -> number + 1)
+          .findFirstNary()
+          .get();
+
+        assertThat(result).isEqualTo(1);
+      });
+
+      it("stops its stages when the consumer abandons it without closing it", () -> {
+        Thread sourceThread = consumeFirstAndAbandon();
+
+        for (int attempt = 0; attempt < 100 && sourceThread.getName().equals("nary-pipeline-source"); attempt++) {
+          System.gc();
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertThat(sourceThread.getName()).isNotEqualTo("nary-pipeline-source");
+      });
+
+      it("parks its idle stages until the previous stage publishes an element", () -> {
+        CountDownLatch sourceRelease = new CountDownLatch(1);
+        AtomicReference<Thread> stageThread = new AtomicReference<>();
+        Stream<Integer> slowSource = Stream.of(1, 2).peek(number -> {
+          if (number == 2) {
+            awaitRelease(sourceRelease);
+          }
+        });
+
+        CompletableFuture<List<Integer>> result = CompletableFuture.supplyAsync(() -> Nary.from(slowSource)
+          .pipelined()
+          .peek(number -> stageThread.set(Thread.currentThread()))
+          .collectToList());
+
+        for (int attempt = 0; attempt < 100 && !isParked(stageThread.get()); attempt++) {
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertThat(isParked(stageThread.get())).isTrue();
+
+        sourceRelease.countDown();
+        assertThat(result.join()).containsExactly(1, 2);
+      });
+
+      it("throws the failure of a stage on the consuming thread", () -> {
+        try {
+          Nary.ofNonNullable(1, 2, 3)
+            .pipelined()
+            .map(number -> {
+              throw new IllegalArgumentException("Kaboom");
+            })
+            .collectToList();
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("Kaboom");
+        }
+      });
+
+      it("has no metrics before being consumed", () -> {
+        PipelinedNary<Integer> nary = Nary.ofNonNullable(1, 2, 3).pipelined().map(number -> number);
+
+        assertThat(nary.stageMetrics()).isEmpty();
+      });
+
+      it("reports the activity of each stage", () -> {
+        PipelinedNary<Integer> nary = Nary.from(IntStream.range(0, 100).boxed())
+          .pipelined(4)
+          .filter(number -> number % 2 == 0)
+          .map(number -> number + 1);
+        nary.collectToList();
+
+        List<StageMetrics> metrics = nary.stageMetrics();
+        assertThat(metrics.stream().map(StageMetrics::stageName).collect(Collectors.toList()))
+          .containsExactly("source", "filter#1", "map#2");
+        assertThat(metrics.stream().map(StageMetrics::processedElements).collect(Collectors.toList()))
+          .containsExactly(100L, 100L, 50L);
+        assertThat(metrics.get(0).outputQueueCapacity()).isEqualTo(4);
+        assertThat(metrics.get(0).maxOutputQueueDepth()).isLessThanOrEqualTo(4);
+      });
+
+      it("can't be consumed twice", () -> {
+        PipelinedNary<Integer> nary = Nary.ofNonNullable(1, 2, 3).pipelined();
+        nary.collectToList();
+        try {
+          nary.collectToList();
+          failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+          assertThat(e).hasMessage("stream has already been operated upon or closed");
+        }
+      });
+    });
+  }
+
+  /**
+   * Starts an endless pipeline and drops its iterator after the first element
+   *
+   * @return The thread that reads the source of the pipeline
+   */
+  private static Thread consumeFirstAndAbandon() {
+    AtomicReference<Thread> sourceThread = new AtomicReference<>();
+    Iterator<Integer> iterator = Nary.from(Stream.generate(() -> {
+      sourceThread.set(Thread.currentThread());
+      return 1;
+    }))
+      .pipelined(4)
+      .map(number -> number + 1)
+      .iterator();
+
+    assertThat(iterator.next()).isEqualTo(2);
+    return sourceThread.get();
+  }
+
+  /**
+   * @return true if the thread is parked by the pipeline, waiting for a signal
+   */
+  private static boolean isParked(Thread thread) {
+    return thread != null && thread.getState() == Thread.State.TIMED_WAITING && LockSupport.getBlocker(thread) != null;
+  }
+
+  private static void awaitRelease(CountDownLatch release) {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
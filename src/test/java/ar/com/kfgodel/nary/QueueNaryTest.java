@@ -0,0 +1,149 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of naries connected to blocking queues
+ * Date: 20/10/26 - 15:30
+ */
+@RunWith(JavaSpecRunner.class)
+public class QueueNaryTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    Duration timeout = Duration.ofSeconds(5);
+
+    describe("#fromQueue()", () -> {
+      it("takes the elements until the poison pill", () -> {
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        Stream.of("a", "b", "END", "c", "END").forEach(queue::add);
+
+        List<String> result = Nary.fromQueue(queue, timeout, "END").collectToList();
+
+        assertThat(result).containsExactly("a", "b");
+      });
+
+      it("puts back the elements taken after the poison pill", () -> {
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        Stream.of("a", "END", "b", "END").forEach(queue::add);
+
+        Nary.fromQueue(queue, timeout, "END").collectToList();
+
+        assertThat(new ArrayList<>(queue)).containsExactly("b", "END");
+      });
+
+      it("leaves in the queue the elements not asked by a short-circuiting operation", () -> {
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        Stream.of("a", "b", "c", "END").forEach(queue::add);
+
+        List<String> result = Nary.fromQueue(queue, timeout, "END").limit(1).collectToList();
+
+        assertThat(result).containsExactly("a");
+        assertThat(new ArrayList<>(queue)).containsExactly("b", "c", "END");
+      });
+
+      it("puts back the rest of the batch if the consumer fails", () -> {
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        Stream.of("a", "b", "c").forEach(queue::add);
+        try {
+          Nary.fromQueue(queue, timeout, "END").forEach(element -> {
+            if ("b".equals(element)) {
+              throw new IllegalStateException("Failing consumer");
+            }
+          });
+          failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+          assertThat(new ArrayList<>(queue)).containsExactly("c");
+        }
+      });
+
+      it("reports the elements that can't be returned to a full queue instead of waiting for room", () -> {
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(3);
+        Stream.of("a", "b", "c").forEach(queue::add);
+        try {
+          Nary.fromQueue(queue, timeout, "END").forEach(element -> {
+            // A producer fills the queue while the batch is being consumed
+            Stream.of("x", "y", "z").forEach(queue::add);
+            throw new IllegalStateException("Failing consumer");
+          });
+          failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+          assertThat(e).hasMessage("Failing consumer");
+          assertThat(e.getSuppressed()).hasSize(1);
+          assertThat(e.getSuppressed()[0])
+            .isInstanceOf(NaryException.class)
+            .hasMessage("2 elements taken from the queue couldn't be returned because it was full");
+          assertThat(new ArrayList<>(queue)).containsExactly("x", "y", "z");
+        }
+      });
+
+      it("ends when no element arrives during the poll timeout", () -> {
+        BlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+        queue.add(1);
+
+        List<Integer> result = Nary.fromQueue(queue, Duration.ofMillis(10), -1).collectToList();
+
+        assertThat(result).containsExactly(1);
+      });
+
+      it("waits for the elements added by a producer", () -> {
+        BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(10);
+        CompletableFuture.runAsync(() -> {
+          IntStream.range(0, 1_000).forEach(number -> put(queue, number));
+          put(queue, -1);
+        });
+
+        List<Integer> result = Nary.fromQueue(queue, timeout, -1).collectToList();
+
+        assertThat(result).isEqualTo(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()));
+      });
+    });
+
+    describe("#drainInto()", () -> {
+      it("adds the elements to the queue in order", () -> {
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+
+        long added = Nary.from(Stream.of("a", "b", "c")).drainInto(queue);
+
+        assertThat(added).isEqualTo(3);
+        assertThat(new ArrayList<>(queue)).containsExactly("a", "b", "c");
+      });
+
+      it("waits for room when the queue is full", () -> {
+        BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(2);
+        CompletableFuture<List<Integer>> consumed = CompletableFuture.supplyAsync(() ->
+          Nary.fromQueue(queue, timeout, -1).collectToList());
+
+        Nary.from(IntStream.range(0, 1_000).boxed()).drainInto(queue);
+        put(queue, -1);
+
+        assertThat(consumed.join()).isEqualTo(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()));
+      });
+    });
+  }
+
+  private static <T> void put(BlockingQueue<T> queue, T element) {
+    try {
+      queue.put(element);
+    } catch (InterruptedException e) {
+      throw new AssertionError("Interrupted while adding to the queue", e);
+    }
+  }
+}
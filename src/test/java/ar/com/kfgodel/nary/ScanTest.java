@@ -0,0 +1,93 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of the prefix scan operations
+ * Date: 20/10/26 - 03:34
+ */
+@RunWith(JavaSpecRunner.class)
+public class ScanTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#scan()", () -> {
+      it("replaces each element with the accumulation up to it", () -> {
+        List<String> result = Nary.from(Stream.of("a", "b", "c"))
+          .scan(">", String::concat)
+          .collectToList();
+
+        assertThat(result).containsExactly(">a", ">ab", ">abc");
+      });
+
+      it("is empty for an empty nary", () -> {
+        assertThat(Nary.<Integer>empty().scan(0, Integer::sum).count()).isEqualTo(0);
+        assertThat(Nary.from(Stream.<Integer>empty()).scan(0, Integer::sum).count()).isEqualTo(0);
+      });
+
+      it("only reads the elements needed when sequential", () -> {
+        AtomicInteger reads = new AtomicInteger();
+        Nary<Integer> infinite = Nary.from(Stream.iterate(1, number -> number + 1).peek(number -> reads.incrementAndGet()));
+
+        List<Integer> result = infinite.scan(0, Integer::sum)
+          .limit(4)
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 3, 6, 10);
+        assertThat(reads.get()).isEqualTo(4);
+      });
+
+      it("scans in parallel keeping the order of the elements", () -> {
+        List<Integer> result = Nary.from(IntStream.range(0, 100_000).boxed().parallel())
+          .scan(5, (first, second) -> first + second)
+          .collect(Collectors.toList());
+
+        assertThat(result.size()).isEqualTo(100_000);
+        assertThat(result.get(0)).isEqualTo(5);
+        assertThat(result.get(99_999)).isEqualTo(5 + 99_999 * 100_000 / 2);
+      });
+    });
+
+    describe("#scanLong()", () -> {
+      it("accumulates the running totals of the values", () -> {
+        List<Long> result = Nary.from(Stream.of("a", "bb", "ccc"))
+          .scanLong(0, String::length, Long::sum)
+          .collectToList();
+
+        assertThat(result).containsExactly(1L, 3L, 6L);
+      });
+
+      it("gives the same results in parallel", () -> {
+        List<Long> sequential = Nary.from(LongStream.rangeClosed(1, 50_000).boxed())
+          .scanLong(1, Long::longValue, Math::max)
+          .collectToList();
+        List<Long> parallel = Nary.from(LongStream.rangeClosed(1, 50_000).boxed().parallel())
+          .scanLong(1, Long::longValue, Math::max)
+          .collect(Collectors.toList());
+
+        assertThat(parallel).isEqualTo(sequential);
+      });
+    });
+
+    describe("#scanDouble()", () -> {
+      it("accumulates the running results of the values", () -> {
+        List<Double> result = Nary.from(Stream.of(2, 3, 4))
+          .scanDouble(1.0, Integer::doubleValue, (first, second) -> first * second)
+          .collectToList();
+
+        assertThat(result).containsExactly(2.0, 6.0, 24.0);
+      });
+    });
+  }
+}
@@ -0,0 +1,126 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This type verifies the behavior of the operations that combine sorted naries
+ * Date: 19/10/26 - 23:41
+ */
+@RunWith(JavaSpecRunner.class)
+public class SortedAlgebraTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    Comparator<Integer> natural = Comparator.naturalOrder();
+
+    describe("#mergeSorted()", () -> {
+      it("merges the sources keeping all their elements sorted", () -> {
+        List<Integer> result = Nary.mergeSorted(natural,
+          Nary.from(Stream.of(1, 4, 7)),
+          Nary.from(Stream.of(2, 4, 8)),
+          Nary.from(Stream.of(3)))
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 2, 3, 4, 4, 7, 8);
+      });
+
+      it("keeps the order of the sources for equal elements", () -> {
+        Comparator<String> byLength = Comparator.comparing(String::length);
+        List<String> result = Nary.mergeSorted(byLength,
+          Nary.from(Stream.of("a", "bb")),
+          Nary.from(Stream.of("c", "dd")))
+          .collectToList();
+
+        assertThat(result).containsExactly("a", "c", "bb", "dd");
+      });
+
+      it("is empty without sources", () -> {
+        assertThat(Nary.<Integer>mergeSorted(natural).count()).isEqualTo(0);
+      });
+
+      it("only reads the elements needed by a short-circuiting operation", () -> {
+        AtomicInteger reads = new AtomicInteger();
+        Nary<Integer> infinite = Nary.from(Stream.iterate(0, number -> number + 2).peek(number -> reads.incrementAndGet()));
+
+        List<Integer> result = Nary.mergeSorted(natural, infinite, Nary.from(Stream.of(1, 3)))
+          .limit(3)
+          .collectToList();
+
+        assertThat(result).containsExactly(0, 1, 2);
+        assertThat(reads.get()).isLessThan(5);
+      });
+    });
+
+    describe("#unionSorted()", () -> {
+      it("includes each element present in any source once", () -> {
+        List<Integer> result = Nary.unionSorted(natural,
+          Nary.from(Stream.of(1, 2, 2, 5)),
+          Nary.from(Stream.of(2, 3, 5)))
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 2, 3, 5);
+      });
+    });
+
+    describe("#intersectSorted()", () -> {
+      it("includes each element present in all the sources once", () -> {
+        List<Integer> result = Nary.intersectSorted(natural,
+          Nary.from(Stream.of(1, 2, 2, 3, 5, 8)),
+          Nary.from(Stream.of(2, 3, 4, 8, 9)),
+          Nary.from(Stream.of(0, 2, 2, 8)))
+          .collectToList();
+
+        assertThat(result).containsExactly(2, 8);
+      });
+
+      it("is empty if any source is empty", () -> {
+        Nary<Integer> intersection = Nary.intersectSorted(natural,
+          Nary.from(Stream.of(1, 2)),
+          Nary.from(Stream.<Integer>empty()));
+
+        assertThat(intersection.count()).isEqualTo(0);
+      });
+
+      it("stops reading once the first common element is found", () -> {
+        AtomicInteger reads = new AtomicInteger();
+        Nary<Integer> multiplesOf2 = Nary.from(Stream.iterate(2, number -> number + 2).peek(number -> reads.incrementAndGet()));
+        Nary<Integer> multiplesOf3 = Nary.from(Stream.iterate(3, number -> number + 3));
+
+        Integer first = Nary.intersectSorted(natural, multiplesOf2, multiplesOf3)
+          .findFirstNary()
+          .get();
+
+        assertThat(first).isEqualTo(6);
+        assertThat(reads.get()).isEqualTo(3);
+      });
+    });
+
+    describe("#differenceSorted()", () -> {
+      it("includes each element of the first source that is not in the others", () -> {
+        List<Integer> result = Nary.differenceSorted(natural,
+          Nary.from(Stream.of(1, 2, 3, 3, 4, 5, 6)),
+          Nary.from(Stream.of(2, 6)),
+          Nary.from(Stream.of(0, 4, 10)))
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 3, 5);
+      });
+
+      it("includes all the elements when there's nothing to exclude", () -> {
+        List<Integer> result = Nary.differenceSorted(natural, Nary.from(Stream.of(1, 2)))
+          .collectToList();
+
+        assertThat(result).containsExactly(1, 2);
+      });
+    });
+  }
+}
@@ -0,0 +1,162 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.Unary;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies that terminal operations returning {@link Unary} behave as the native terminals
+ * whose {@link Optional} results they replace, both for sequential and parallel naries, and that they
+ * allocate less memory per call than converting those results.<br>
+ * Allocations are measured after warming up both call sites, and the smallest of several rounds is kept,
+ * so the transient allocations of the JIT compilation don't affect the comparison
+ * Date: 19/10/26 - 17:40
+ */
+@RunWith(JavaSpecRunner.class)
+public class UnaryTerminalTest extends JavaSpec<NaryTestContext> {
+
+  private static final List<Integer> ELEMENTS = Arrays.asList(3, 1, 2);
+  private static final int WARMUP_CALLS = 50_000;
+  private static final int MEASURED_ROUNDS = 5;
+  private static final int CALLS_PER_ROUND = 10_000;
+
+  private Object lastResult;
+
+  @Override
+  public void define() {
+    describe("a unary returning terminal", () -> {
+
+      it("produces the same results as the native terminals", () -> {
+        assertThat(Nary.from(ELEMENTS.stream()).reduceNary(Integer::sum).get()).isEqualTo(6);
+        assertThat(Nary.from(ELEMENTS.stream()).minNary(Comparator.naturalOrder()).get()).isEqualTo(1);
+        assertThat(Nary.from(ELEMENTS.stream()).maxNary(Comparator.naturalOrder()).get()).isEqualTo(3);
+        assertThat(Nary.from(ELEMENTS.stream()).findFirstNary().get()).isEqualTo(3);
+        assertThat(ELEMENTS).contains(Nary.from(ELEMENTS.stream()).findAnyNary().get());
+      });
+
+      it("produces the same results for parallel naries", () -> {
+        assertThat(Nary.from(ELEMENTS.parallelStream()).reduceNary(Integer::sum).get()).isEqualTo(6);
+        assertThat(Nary.from(ELEMENTS.parallelStream()).minNary(Comparator.naturalOrder()).get()).isEqualTo(1);
+        assertThat(Nary.from(ELEMENTS.parallelStream()).maxNary(Comparator.naturalOrder()).get()).isEqualTo(3);
+      });
+
+      it("is empty when there are no elements", () -> {
+        assertThat(Nary.<Integer>from(Stream.empty()).reduceNary(Integer::sum).isAbsent()).isTrue();
+        assertThat(Nary.<Integer>from(Stream.empty()).minNary(Comparator.naturalOrder()).isAbsent()).isTrue();
+        assertThat(Nary.<Integer>from(Stream.empty()).maxNary(Comparator.naturalOrder()).isAbsent()).isTrue();
+      });
+
+      it("keeps the first of the equal elements as the native #min() and #max() do", () -> {
+        Comparator<String> byLength = Comparator.comparing(String::length);
+
+        assertThat(Nary.from(Stream.of("bb", "a", "c", "dd")).minNary(byLength).get()).isEqualTo("a");
+        assertThat(Nary.from(Stream.of("bb", "a", "c", "dd")).maxNary(byLength).get()).isEqualTo("bb");
+      });
+
+      it("fails when the result is null as the native #reduce() does", () -> {
+        try {
+          Nary.from(Stream.of(1, 2)).reduceNary((first, second) -> null);
+          failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException e) {
+          assertThat(e).hasMessage("The result of the terminal operation is null");
+        }
+      });
+
+      it("fails when the first element is null as the native #findFirst() does", () -> {
+        try {
+          Nary.from(Stream.of((Integer) null, 2)).findFirstNary();
+          failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException e) {
+          assertThat(e).hasMessage("The result of the terminal operation is null");
+        }
+      });
+
+      it("only takes the first element when #findFirstNary() is used", () -> {
+        List<Integer> taken = new ArrayList<>();
+
+        Nary.from(ELEMENTS.stream()).peek(taken::add).findFirstNary();
+
+        assertThat(taken).containsExactly(3);
+      });
+
+      describe("allocations", () -> {
+        it("are fewer than converting the optional returned by #reduce()", () -> {
+          assertAllocatesLess(
+            () -> Nary.from(ELEMENTS.stream()).reduceNary(Integer::sum),
+            () -> convertedAsBefore(Nary.from(ELEMENTS.stream()).reduce(Integer::sum)));
+        });
+
+        it("are fewer than converting the optional returned by #min()", () -> {
+          assertAllocatesLess(
+            () -> Nary.from(ELEMENTS.stream()).minNary(Comparator.naturalOrder()),
+            () -> convertedAsBefore(Nary.from(ELEMENTS.stream()).min(Comparator.naturalOrder())));
+        });
+
+        it("are fewer than converting the optional returned by #max()", () -> {
+          assertAllocatesLess(
+            () -> Nary.from(ELEMENTS.stream()).maxNary(Comparator.naturalOrder()),
+            () -> convertedAsBefore(Nary.from(ELEMENTS.stream()).max(Comparator.naturalOrder())));
+        });
+
+        it("are fewer than converting the optional returned by #findFirst()", () -> {
+          assertAllocatesLess(
+            () -> Nary.from(ELEMENTS.stream()).findFirstNary(),
+            () -> convertedAsBefore(Nary.from(ELEMENTS.stream()).findFirst()));
+        });
+
+        it("are fewer than converting the optional returned by #findAny()", () -> {
+          assertAllocatesLess(
+            () -> Nary.from(ELEMENTS.stream()).findAnyNary(),
+            () -> convertedAsBefore(Nary.from(ELEMENTS.stream()).findAny()));
+        });
+      });
+    });
+  }
+
+  /**
+   * The conversion previously used to create a {@link Unary} from a native terminal result
+   */
+  private static <T> Unary<T> convertedAsBefore(Optional<? extends T> nativeOptional) {
+    return nativeOptional
+      .<Unary<T>>map(Nary::ofNonNullable)
+      .orElseGet(Nary::empty);
+  }
+
+  private void assertAllocatesLess(Supplier<Object> naryTerminal, Supplier<Object> nativeTerminal) {
+    for (int i = 0; i < WARMUP_CALLS; i++) {
+      lastResult = naryTerminal.get();
+      lastResult = nativeTerminal.get();
+    }
+    long naryBytes = Long.MAX_VALUE;
+    long nativeBytes = Long.MAX_VALUE;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      naryBytes = Math.min(naryBytes, bytesPerCall(naryTerminal));
+      nativeBytes = Math.min(nativeBytes, bytesPerCall(nativeTerminal));
+    }
+    assertThat(naryBytes).isLessThan(nativeBytes);
+  }
+
+  private long bytesPerCall(Supplier<Object> operation) {
+    com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long initialBytes = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < CALLS_PER_ROUND; i++) {
+      lastResult = operation.get();
+    }
+    return (threadBean.getThreadAllocatedBytes(threadId) - initialBytes) / CALLS_PER_ROUND;
+  }
+}
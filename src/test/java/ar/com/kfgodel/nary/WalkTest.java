@@ -0,0 +1,124 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.NaryException;
+import ar.com.kfgodel.nary.api.io.WalkOptions;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of naries that walk directory trees
+ * Date: 20/10/26 - 14:40
+ */
+@RunWith(JavaSpecRunner.class)
+public class WalkTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    describe("#walk()", () -> {
+      it("includes the paths of the tree in the same order as Files.walk", () -> {
+        Path root = createTree("a/1.txt", "a/2.java", "b/c/3.java", "d.txt");
+
+        assertThat(Nary.walk(root).collectToList()).isEqualTo(filesWalk(root));
+      });
+
+      it("keeps the order when walked in parallel", () -> {
+        Path root = createWideTree();
+
+        List<Path> result = Nary.walk(root).parallel().collect(Collectors.toList());
+
+        assertThat(result).isEqualTo(filesWalk(root));
+      });
+
+      it("keeps the order with a single directory open at a time", () -> {
+        Path root = createWideTree();
+
+        List<Path> result = Nary.walk(root, WalkOptions.unlimited().withMaxOpenDirectories(1))
+          .parallel()
+          .collect(Collectors.toList());
+
+        assertThat(result).isEqualTo(filesWalk(root));
+      });
+
+      it("only visits the levels up to the max depth", () -> {
+        Path root = createTree("a/1.txt", "b/c/3.java");
+
+        List<String> result = Nary.walk(root, WalkOptions.unlimited().withMaxDepth(1))
+          .map(path -> root.relativize(path).toString())
+          .sorted()
+          .collectToList();
+
+        assertThat(result).containsExactly("", "a", "b");
+      });
+
+      it("only includes the paths whose names match the glob", () -> {
+        Path root = createTree("a/1.txt", "a/2.java", "b/c/3.java", "d.txt");
+
+        List<String> result = Nary.walk(root, WalkOptions.unlimited().matching("*.java"))
+          .map(path -> path.getFileName().toString())
+          .sorted()
+          .collectToList();
+
+        assertThat(result).containsExactly("2.java", "3.java");
+      });
+
+      it("can be traversed more than once", () -> {
+        Path root = createTree("a/1.txt");
+        Nary<Path> paths = Nary.walk(root);
+
+        assertThat(paths.count()).isEqualTo(3);
+        assertThat(paths.count()).isEqualTo(3);
+      });
+
+      it("fails if the path doesn't exist", () -> {
+        Path missing = createTree().resolve("missing");
+        try {
+          Nary.walk(missing).collectToList();
+          failBecauseExceptionWasNotThrown(NaryException.class);
+        } catch (NaryException e) {
+          assertThat(e).hasMessage("The path to walk doesn't exist: " + missing);
+        }
+      });
+    });
+  }
+
+  private static Path createWideTree() {
+    String[] files = new String[200];
+    for (int i = 0; i < files.length; i++) {
+      files[i] = "dir" + i % 10 + "/sub" + i % 7 + "/file" + i + ".txt";
+    }
+    return createTree(files);
+  }
+
+  private static Path createTree(String... files) {
+    try {
+      Path root = Files.createTempDirectory("walk-test");
+      for (String file : files) {
+        Path path = root.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.createFile(path);
+      }
+      return root;
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't create the test tree", e);
+    }
+  }
+
+  private static List<Path> filesWalk(Path root) {
+    try (Stream<Path> paths = Files.walk(root)) {
+      return paths.collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new AssertionError("Couldn't walk " + root, e);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package ar.com.kfgodel.nary;
+
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.windowing.TimeWindow;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies the behavior of the operations that aggregate elements by windows
+ * Date: 20/10/26 - 16:40
+ */
+@RunWith(JavaSpecRunner.class)
+public class WindowTest extends JavaSpec<NaryTestContext> {
+  @Override
+  public void define() {
+    Duration oneSecond = Duration.ofSeconds(1);
+
+    describe("#windowByTime()", () -> {
+      it("groups the elements by the window of time in which they arrive", () -> {
+        Clock clock = SteppingClock.ofMillis(0, 500, 1000, 2500);
+
+        List<String> result = Nary.from(Stream.of("a", "b", "c", "d"))
+          .windowByTime(oneSecond, clock)
+          .map(TimeWindow::toString)
+          .collectToList();
+
+        assertThat(result).containsExactly(
+          "TimeWindow{start=1970-01-01T00:00:00Z, end=1970-01-01T00:00:01Z, value=[a, b]}",
+          "TimeWindow{start=1970-01-01T00:00:01Z, end=1970-01-01T00:00:02Z, value=[c]}",
+          "TimeWindow{start=1970-01-01T00:00:02Z, end=1970-01-01T00:00:03Z, value=[d]}");
+      });
+
+      it("produces the windows lazily from infinite naries", () -> {
+        Clock clock = new SteppingClock(call -> call * 400);
+
+        List<List<Integer>> result = Nary.from(Stream.iterate(0, number -> number + 1))
+          .windowByTime(oneSecond, clock)
+          .limit(2)
+          .map(TimeWindow::value)
+          .collectToList();
+
+        assertThat(result.get(0)).containsExactly(0, 1, 2);
+        assertThat(result.get(1)).containsExactly(3, 4);
+      });
+
+      it("adds late elements to the open window", () -> {
+        Clock clock = SteppingClock.ofMillis(1000, 2100, 1500, 2200);
+
+        List<List<String>> result = Nary.from(Stream.of("a", "b", "late", "c"))
+          .windowByTime(oneSecond, clock)
+          .map(TimeWindow::value)
+          .collectToList();
+
+        assertThat(result.get(0)).containsExactly("a");
+        assertThat(result.get(1)).containsExactly("b", "late", "c");
+      });
+
+      it("fails when the window size has a fraction of a millisecond", () -> {
+        Duration withNanos = Duration.ofMillis(1500).plusNanos(1);
+        try {
+          Nary.from(Stream.of(1, 2)).windowByTime(withNanos, Clock.systemUTC());
+          failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+          assertThat(e).hasMessage("Time windows must last a whole amount of milliseconds: PT1.500000001S");
+        }
+      });
+    });
+
+    describe("#tumblingAggregate(Duration)", () -> {
+      it("aggregates the elements of each window of time", () -> {
+        Clock clock = SteppingClock.ofMillis(100, 200, 1100, 1200, 1300);
+
+        List<Long> result = Nary.from(Stream.of(1, 2, 3, 4, 5))
+          .tumblingAggregate(oneSecond, clock, Collectors.counting())
+          .map(TimeWindow::value)
+          .collectToList();
+
+        assertThat(result).containsExactly(2L, 3L);
+      });
+    });
+
+    describe("#windowByCount()", () -> {
+      it("groups each consecutive amount of elements", () -> {
+        List<List<Integer>> result = Nary.from(Stream.of(1, 2, 3, 4, 5))
+          .windowByCount(2)
+          .collectToList();
+
+        assertThat(result.get(0)).containsExactly(1, 2);
+        assertThat(result.get(1)).containsExactly(3, 4);
+        assertThat(result.get(2)).containsExactly(5);
+      });
+    });
+
+    describe("#tumblingAggregate(int)", () -> {
+      it("aggregates each consecutive amount of elements", () -> {
+        List<Integer> result = Nary.from(Stream.of(1, 2, 3, 4, 5))
+          .tumblingAggregate(2, Collectors.summingInt(Integer::intValue))
+          .collectToList();
+
+        assertThat(result).containsExactly(3, 7, 5);
+      });
+    });
+  }
+
+  /**
+   * A clock whose time is calculated from the number of times it was asked
+   */
+  private static class SteppingClock extends Clock {
+    private final LongUnaryOperator millisOfCall;
+    private long calls;
+
+    SteppingClock(LongUnaryOperator millisOfCall) {
+      this.millisOfCall = millisOfCall;
+    }
+
+    static SteppingClock ofMillis(long... millis) {
+      return new SteppingClock(call -> millis[(int) call]);
+    }
+
+    @Override
+    public long millis() {
+      return millisOfCall.applyAsLong(calls++);
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package ar.com.kfgodel.nary.bugs;
+
+import ar.com.kfgodel.nary.NaryTestContext;
+import ar.com.kfgodel.nary.api.Nary;
+import ar.com.kfgodel.nary.api.exceptions.MoreThanOneElementException;
+import info.kfgodel.jspek.api.JavaSpec;
+import info.kfgodel.jspek.api.JavaSpecRunner;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * This type verifies that a stream based nary can be coerced and reused from several threads at the same time
+ * Date: 19/10/26 - 21:48
+ */
+@RunWith(JavaSpecRunner.class)
+public class ConcurrentMonoCoercionTest extends JavaSpec<NaryTestContext> {
+
+  private static final int THREADS = 4;
+  private static final int ROUNDS = 2_000;
+
+  @Override
+  public void define() {
+    describe("a stream based nary shared between threads", () -> {
+
+      it("consumes its stream only once when coerced concurrently", () -> {
+        assertEveryRoundConsumesOnce(nary -> nary.unique().get(), false);
+      });
+
+      it("can be used as a stream by other threads once coerced", () -> {
+        assertEveryRoundConsumesOnce(nary -> nary.collectToList().get(0), true);
+      });
+
+      it("fails the same way on every coercion when it has more than 1 element", () -> {
+        Nary<Integer> nary = Nary.from(Stream.of(1, 2));
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+          try {
+            nary.unique();
+            failBecauseExceptionWasNotThrown(MoreThanOneElementException.class);
+          } catch (MoreThanOneElementException e) {
+            messages.add(e.getMessage());
+          }
+        }
+        assertThat(messages).containsExactly(
+          "Expecting only 1 element in the stream to treat it as an optional but found at least 2: [1, 2]",
+          "Expecting only 1 element in the stream to treat it as an optional but found at least 2: [1, 2]"
+        );
+      });
+    });
+  }
+
+  /**
+   * Shares a new nary between all the threads on each round, making them use it at the same time.
+   * If coercedBefore is true, the nary is coerced by the current thread before sharing it
+   */
+  private void assertEveryRoundConsumesOnce(Function<Nary<Integer>, Integer> usage, boolean coercedBefore) {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (int round = 0; round < ROUNDS; round++) {
+        AtomicInteger consumptions = new AtomicInteger();
+        Nary<Integer> shared = Nary.from(Stream.of(round).peek(element -> consumptions.incrementAndGet()));
+        if (coercedBefore) {
+          shared.unique();
+        }
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>(THREADS);
+        for (int thread = 0; thread < THREADS; thread++) {
+          results.add(executor.submit(() -> {
+            startSignal.await();
+            return usage.apply(shared);
+          }));
+        }
+        startSignal.countDown();
+        for (Future<Integer> result : results) {
+          assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(round);
+        }
+        assertThat(consumptions.get()).isEqualTo(1);
+      }
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      throw new AssertionError("The nary could not be used concurrently", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}